@@ -0,0 +1,78 @@
+package Benchmarks;
+
+import Algorithms.BellmanFord;
+import Algorithms.DAG;
+import Algorithms.Dijkstra;
+import Algorithms.PrimJarnik;
+import Graph.DirectedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every algorithm in the Algorithms package on the generated graphs
+ *
+ * Each solver answers one query at a time and the Vertex methods mark the graph they were given, so every
+ * benchmark runs in a single thread against its own solver.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class AlgorithmBenchmark {
+
+    private Dijkstra<Integer> dijkstra;
+    private BellmanFord<Integer> bellmanFord;
+    private DAG<Integer> dag;
+    private PrimJarnik<Integer> primJarnik;
+
+    @Setup(Level.Trial)
+    public void setUp(GraphState state){
+        dijkstra = new Dijkstra<>(state.undirected);
+        bellmanFord = new BellmanFord<>(state.directed);
+        dag = new DAG<>(state.directed);
+        primJarnik = new PrimJarnik<>(state.undirected);
+    }
+
+    @Benchmark
+    public Object dijkstraShortestPath(GraphState state){
+        int q = state.nextQuery();
+        return dijkstra.shortestPath(state.queryFrom(q), state.queryTo(q));
+    }
+
+    @Benchmark
+    public Object bellmanFordShortestPath(GraphState state){
+        int q = state.nextQuery();
+        return bellmanFord.shortestPath(state.queryFrom(q), state.queryTo(q));
+    }
+
+    @Benchmark
+    public Object dagShortestPath(GraphState state){
+        int q = state.nextQuery();
+        return dag.shortestPath(state.queryFrom(q), state.queryTo(q));
+    }
+
+    @Benchmark
+    public Integer primJarnikMinSpanningTree(GraphState state){
+        int q = state.nextQuery();
+        return primJarnik.minSpanningTreeCost(state.queryFrom(q));
+    }
+
+    @Benchmark
+    public LinkedList<DirectedGraph.Vertex<Integer>> topologicalOrder(GraphState state){
+        return state.directed.getTopologicalOrder();
+    }
+}
@@ -0,0 +1,34 @@
+package Benchmarks;
+
+import Graph.DirectedGraph;
+import Graph.UndirectedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a DirectedGraph and an UndirectedGraph from the generated edges
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConstructionBenchmark {
+
+    @Benchmark
+    public DirectedGraph<Integer> directed(GraphState state){
+        return state.buildDirected();
+    }
+
+    @Benchmark
+    public UndirectedGraph<Integer> undirected(GraphState state){
+        return state.buildUndirected();
+    }
+}
@@ -0,0 +1,113 @@
+package Benchmarks;
+
+import Graph.DirectedGraph;
+import Graph.UndirectedGraph;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded random graphs shared by the benchmarks
+ *
+ * There are a quarter as many vertices as edges. Directed edges always go from a lower to a higher vertex
+ * number so the directed graph is a DAG that every directed algorithm accepts. Labels are boxed once and
+ * reused, since the graphs compare labels with ==. Only small graphs are built by default, larger ones are asked
+ * for with -Pedges since the list based graphs take minutes to build at a million edges.
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+
+    private static final long SEED = 42;
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "10000"})
+    public int edges;
+
+    public int vertexCount;
+    public Integer[] labels;
+    public int[] from;
+    public int[] to;
+    public int[] weight;
+
+    public DirectedGraph<Integer> directed;
+    public UndirectedGraph<Integer> undirected;
+
+    private int[] queryFrom;
+    private int[] queryTo;
+    private int nextQuery;
+
+    @Setup(Level.Trial)
+    public void generate(){
+        vertexCount = Math.max(16, edges / 4);
+        labels = new Integer[vertexCount];
+        for(int i = 0; i < vertexCount; i++) labels[i] = i;
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        from = new int[edges];
+        to = new int[edges];
+        weight = new int[edges];
+        HashSet<Long> seen = new HashSet<>();
+        for(int e = 0; e < edges; ){
+            int a = random.nextInt(vertexCount);
+            int b = random.nextInt(vertexCount);
+            if(a == b) continue;
+            if(a > b){
+                int temp = a;
+                a = b;
+                b = temp;
+            }
+            if(!seen.add(((long) a << 32) | b)) continue;
+            from[e] = a;
+            to[e] = b;
+            weight[e++] = 1 + random.nextInt(100);
+        }
+
+        directed = buildDirected();
+        undirected = buildUndirected();
+
+        queryFrom = new int[QUERIES];
+        queryTo = new int[QUERIES];
+        for(int q = 0; q < QUERIES; q++){
+            int a = random.nextInt(vertexCount);
+            int b = random.nextInt(vertexCount);
+            queryFrom[q] = Math.min(a, b);  //lower to higher so the DAG has a chance of a path
+            queryTo[q] = Math.max(a, b);
+        }
+    }
+
+    public DirectedGraph<Integer> buildDirected(){
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        for(Integer label : labels) graph.addVertex(label);
+        for(int e = 0; e < edges; e++) graph.addEdge(labels[from[e]], labels[to[e]], weight[e]);
+        return graph;
+    }
+
+    public UndirectedGraph<Integer> buildUndirected(){
+        UndirectedGraph<Integer> graph = new UndirectedGraph<>();
+        for(Integer label : labels) graph.addVertex(label);
+        for(int e = 0; e < edges; e++) graph.addEdge(labels[from[e]], labels[to[e]], weight[e]);
+        return graph;
+    }
+
+    /**
+     * Moves on to the next query pair, they repeat after QUERIES calls
+     * @return  the index of the query
+     */
+    public int nextQuery(){
+        nextQuery = (nextQuery + 1) % QUERIES;
+        return nextQuery;
+    }
+
+    public Integer queryFrom(int q){
+        return labels[queryFrom[q]];
+    }
+
+    public Integer queryTo(int q){
+        return labels[queryTo[q]];
+    }
+}
@@ -0,0 +1,310 @@
+package Algorithms;
+
+import Graph.Adjacency;
+import Graph.CompactGraph;
+import Graph.CompressedGraph;
+import Graph.GraphInterface;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs many shortest path queries at the same time against a read only copy of a graph
+ *
+ * Every worker keeps its distances in its own ShortestPathSearch, so the graph is only ever read. Workers pull the next query from a shared counter so a few slow
+ * queries do not hold up the rest of the batch. A batch given a Deadline stops every worker once it passes, the
+ * queries it cut short or never started say so in their status.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class BatchShortestPaths<T extends Comparable<T>> {
+
+    private final Adjacency<T> graph;
+    private final int[] components;     //queries across components are answered without searching | null to find them every batch
+    private final int parallelism;
+
+    /**
+     * Takes a read only copy of a directed or undirected graph, later changes to the graph are not seen. The copy
+     * is renumbered with CompactGraph.ordered
+     *
+     * Runtime : O( V + E log(deg) )
+     *
+     * @param graph the graph to query
+     */
+    public BatchShortestPaths(GraphInterface<T> graph){
+        this(CompactGraph.ordered(graph));
+    }
+
+    /**
+     * Queries a graph that is already compact, or a view of one, using one worker per processor
+     * @param graph the graph to query
+     */
+    public BatchShortestPaths(Adjacency<T> graph){
+        this(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Queries a graph that is already compact, or a view of one. A graph that can be changed is copied with
+     * CompactGraph.ordered first, like the GraphInterface constructor does. A view may show more or less of its graph
+     * from one batch to the next, so its components are found again for every batch
+     *
+     * Runtime : O( (V + E) alpha(V) ) to find its components
+     *
+     * @param graph the graph to query
+     * @param parallelism   the most queries that run at once
+     */
+    public BatchShortestPaths(Adjacency<T> graph, int parallelism){
+        if(parallelism < 1) throw new IllegalArgumentException("The parallelism must be at least 1");
+        this.graph = (graph instanceof GraphInterface) ? CompactGraph.ordered((GraphInterface<T>) graph) : graph;
+        this.components = (this.graph instanceof CompactGraph || this.graph instanceof CompressedGraph) ? Components.connected(this.graph) : null;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Answers a batch of queries on a fresh executor from QueryExecutors
+     * @param queries   the start and end of every query
+     * @return  the answers in the same order as the queries
+     */
+    public Batch<T> shortestPaths(List<Query<T>> queries){
+        return shortestPaths(queries, Deadline.NONE);
+    }
+
+    /**
+     * Answers a batch of queries on a fresh executor from QueryExecutors, giving up once the deadline passes
+     * @param queries   the start and end of every query
+     * @param deadline  when to give up on the queries still running or waiting
+     * @return  the answers in the same order as the queries
+     */
+    public Batch<T> shortestPaths(List<Query<T>> queries, Deadline deadline){
+        ExecutorService executor = QueryExecutors.newQueryExecutor();
+        try {
+            return shortestPaths(queries, executor, deadline);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Answers a batch of queries on the given executor
+     *
+     * Runtime : O( Q * (V + E) log(V) / parallelism )
+     *
+     * @param queries   the start and end of every query
+     * @param executor  runs the workers, it is not shut down
+     * @return  the answers in the same order as the queries
+     */
+    public Batch<T> shortestPaths(List<Query<T>> queries, ExecutorService executor){
+        return shortestPaths(queries, executor, Deadline.NONE);
+    }
+
+    /**
+     * Answers a batch of queries on the given executor, giving up once the deadline passes
+     *
+     * Runtime : O( Q * (V + E) log(V) / parallelism ) at most
+     *
+     * @param queries   the start and end of every query
+     * @param executor  runs the workers, it is not shut down
+     * @param deadline  when to give up on the queries still running or waiting
+     * @return  the answers in the same order as the queries
+     */
+    public Batch<T> shortestPaths(List<Query<T>> queries, ExecutorService executor, Deadline deadline){
+        long start = System.nanoTime();
+        List<Query<T>> work = new ArrayList<>(queries);
+        List<Result<T>> results = new ArrayList<>(Collections.nCopies(work.size(), null));  //only set, never resized, while the workers run
+        int[] components = (this.components != null) ? this.components : Components.connected(graph);
+        AtomicInteger next = new AtomicInteger();
+
+        int workers = Math.min(parallelism, work.size());
+        List<Future<?>> running = new ArrayList<>(workers);
+        for(int i = 0; i < workers; i++){
+            running.add(executor.submit(() -> {
+                ShortestPathSearch<T> search = new ShortestPathSearch<>(graph);
+                for(int q = next.getAndIncrement(); q < work.size() && !deadline.isExpired(); q = next.getAndIncrement()){
+                    results.set(q, answer(search, components, work.get(q), deadline));
+                }
+            }));
+        }
+
+        try {
+            for(Future<?> f : running) f.get();
+        } catch (InterruptedException e) {
+            for(Future<?> f : running) f.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The batch was interrupted", e);
+        } catch (ExecutionException e) {
+            for(Future<?> f : running) f.cancel(true);
+            if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+
+        for(int q = 0; q < results.size(); q++) if(results.get(q) == null) results.set(q, new Result<>(work.get(q), QueryResult.Status.TIMED_OUT, null, null));   //never started
+        return new Batch<>(results, System.nanoTime() - start, workers);
+    }
+
+    /**
+     * Answers a single query with the given search. A stopped search only gives a partial path when it was
+     * running Dijkstra, the parents of a stopped Bellman-Ford can still loop through a negative cycle
+     */
+    private Result<T> answer(ShortestPathSearch<T> search, int[] components, Query<T> query, Deadline deadline){
+        int from = graph.indexOf(query.getFrom());
+        int to = graph.indexOf(query.getTo());
+        if(from == -1 || to == -1 || components[from] != components[to]) return new Result<>(query, QueryResult.Status.COMPLETE, null, null);
+        boolean reached = search.search(from, to, deadline);
+        if(search.wasStopped()){
+            if(!reached || graph.hasNegativeWeights()) return new Result<>(query, QueryResult.Status.TIMED_OUT, null, null);
+            return new Result<>(query, QueryResult.Status.PARTIAL, search.getPath(to), search.getDistance(to));
+        }
+        if(!reached) return new Result<>(query, QueryResult.Status.COMPLETE, null, null);
+        return new Result<>(query, QueryResult.Status.COMPLETE, search.getPath(to), search.getDistance(to));
+    }
+
+    /**
+     * Retrieves the graph being queried
+     * @return  the graph
+     */
+    public Adjacency<T> getGraph(){
+        return graph;
+    }
+
+
+    /**
+     * A single shortest path question
+     * @param <T>   The type for the graph
+     */
+    public static class Query<T> {
+        private final T from;
+        private final T to;
+
+        /**
+         * Creates a query
+         * @param from  the start vertex data and or label
+         * @param to    the end vertex data and or label
+         */
+        public Query(T from, T to){
+            this.from = from;
+            this.to = to;
+        }
+
+        public T getFrom(){
+            return from;
+        }
+
+        public T getTo(){
+            return to;
+        }
+
+        @Override
+        public String toString(){
+            return from + " -> " + to;
+        }
+    }
+
+
+    /**
+     * The answer to a single query
+     * @param <T>   The type for the graph
+     */
+    public static class Result<T> {
+        private final Query<T> query;
+        private final QueryResult.Status status;
+        private final LinkedList<T> path;
+        private final Long cost;
+
+        private Result(Query<T> query, QueryResult.Status status, LinkedList<T> path, Long cost){
+            this.query = query;
+            this.status = status;
+            this.path = path;
+            this.cost = cost;
+        }
+
+        public Query<T> getQuery(){
+            return query;
+        }
+
+        /**
+         * Retrieves how the query ended
+         * @return  COMPLETE | PARTIAL when the path is the best found before the deadline | TIMED_OUT
+         */
+        public QueryResult.Status getStatus(){
+            return status;
+        }
+
+        /**
+         * Retrieves the path
+         * @return  the data and or labels from start to end | null when there is no path
+         */
+        public LinkedList<T> getPath(){
+            return path;
+        }
+
+        /**
+         * Retrieves the cost of the path
+         * @return  the cost | null when there is no path
+         */
+        public Long getCost(){
+            return cost;
+        }
+
+        @Override
+        public String toString(){
+            String answer = (path == null) ? "no path" : path + " (" + cost + ")";
+            return query + " : " + ((status == QueryResult.Status.COMPLETE) ? answer : status + " " + answer);
+        }
+    }
+
+
+    /**
+     * The answers to a batch of queries along with how long they took
+     * @param <T>   The type for the graph
+     */
+    public static class Batch<T> {
+        private final List<Result<T>> results;
+        private final long elapsedNanos;
+        private final int workers;
+
+        private Batch(List<Result<T>> results, long elapsedNanos, int workers){
+            this.results = results;
+            this.elapsedNanos = elapsedNanos;
+            this.workers = workers;
+        }
+
+        /**
+         * Retrieves the answers
+         * @return  one answer per query in the order the queries were given
+         */
+        public List<Result<T>> getResults(){
+            return results;
+        }
+
+        /**
+         * Retrieves the wall time of the whole batch
+         * @return  the time in nanoseconds
+         */
+        public long getElapsedNanos(){
+            return elapsedNanos;
+        }
+
+        /**
+         * Retrieves the number of workers that ran the batch
+         * @return  the number of workers
+         */
+        public int getWorkers(){
+            return workers;
+        }
+
+        /**
+         * Retrieves the number of queries answered per second
+         * @return  the throughput
+         */
+        public double getQueriesPerSecond(){
+            return (elapsedNanos == 0) ? 0 : results.size() * 1e9 / elapsedNanos;
+        }
+    }
+}
@@ -1,103 +1,247 @@
 package Algorithms;
 
+import Graph.Adjacency;
 import Graph.DirectedGraph;
-import Graph.DirectedGraph.Edge;
 import Graph.DirectedGraph.Vertex;
-import Graph.EDGESTATE;
-import Graph.GraphInterface;
+import Graph.NeighborCursor;
 
+import java.util.Arrays;
 import java.util.LinkedList;
+
+/**
+ * Bellman Ford Path Finding Algorithm
+ *
+ * Walks the graph through its NeighborCursor, so the same kernel runs over directed, undirected, compact and
+ * compressed graphs. An undirected edge with a negative weight is a negative cycle on its own. Distances are kept
+ * in arrays owned by this instance, one instance answers one query at a time. The label methods and the cost only
+ * read the graph. Over a DirectedGraph the Vertex methods also write the distances and EDGESTATE of the search into
+ * the graph, so printing it shows the search. A query given a Deadline checks it while relaxing edges and stops
+ * early, which keeps a slow run from holding its thread.
+ *
+ * @version 1.0
+ * @param <T>
+ */
 public class BellmanFord<T extends Comparable<T>> {
 
-    private final LinkedList<Vertex<T>> vertices;
-    private final DirectedGraph<T> graph;
+    private static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final Adjacency<T> graph;
+    private final DirectedGraph<T> linked;  //the same graph when it is a DirectedGraph, the Vertex methods mark it | null
+    private final NeighborCursor cursor;
+    private final Probe probe = new Probe("BellmanFord");
+    private final PathBuffer<T> buffer = new PathBuffer<>();    //backs the list based methods
+    private final PathBuffer<Vertex<T>> vertexBuffer = new PathBuffer<>();
+
+    private long[] distance;
+    private int[] parent;
 
     /**
      * Bellman Ford algorithm implementation
-     * @param graph
+     * @param graph the directed or undirected graph to search
      */
-    public BellmanFord(GraphInterface<T> graph){
-        if(graph.getClass() != DirectedGraph.class) throw new IllegalArgumentException("The graph must be Directed");
-        this.graph = (DirectedGraph<T>) graph;
-        vertices = this.graph.getVertices();
+    public BellmanFord(Adjacency<T> graph){
+        this.graph = graph;
+        this.linked = (graph instanceof DirectedGraph) ? (DirectedGraph<T>) graph : null;
+        this.cursor = graph.cursor();
+        allocate(Math.max(1, graph.size()));
+    }
+
+    private void allocate(int n){
+        distance = new long[n];
+        parent = new int[n];
     }
 
 
     /**
-     * Finds the shortest path from vertex start label to vertex end label
+     * Finds the shortest path from vertex start label to vertex end label, marking the vertices and edges of the graph
      *
-     * Runtime : O(V + E)
+     * Runtime : O(V * E)
      *
-     * @param from
-     * @param to
-     * @return
+     * @param from  the start vertex label
+     * @param to    the end vertex label
+     * @return  the path from start to end | null when there is no path
+     * @throws IllegalStateException    when the graph is not a DirectedGraph, use shortestPathLabels
      */
     public LinkedList<Vertex<T>> shortestPath(T from, T to){
+        return (shortestPath(from, to, vertexBuffer) == -1) ? null : vertexBuffer.toList();
+    }
 
-        LinkedList<Vertex<T>> path = new LinkedList<>();
-        Vertex<T> cur = graph.getVertex(to);
-        Vertex<T> start = graph.getVertex(from);
-
-        if(cur == null || start == null) return null;
+    /**
+     * Finds the shortest path from vertex start label to vertex end label, marking the vertices and edges of the graph
+     * and writing the path into a buffer that can be reused
+     *
+     * Runtime : O(V * E)
+     *
+     * @param from  the start vertex label
+     * @param to    the end vertex label
+     * @param path  filled with the path from start to end, empty when there is none
+     * @return  the number of vertices on the path | -1 when there is no path
+     * @throws IllegalStateException    when the graph is not a DirectedGraph, use shortestPathLabels
+     */
+    public int shortestPath(T from, T to, PathBuffer<Vertex<T>> path){
+        DirectedGraph<T> linked = linked();
+        probe.start(from, to);
+        try {
+            path.clear();
+            int start = graph.indexOf(from);
+            int end = graph.indexOf(to);
+            if(end == -1 || start == -1) return -1;
+
+            search(start, Deadline.NONE);
+            EdgeStates.mark(linked, distance, parent);
+            if(distance[end] == UNREACHABLE) return -1;
+            return path.trace(parent, end, linked::getVertexAt, graph.size());
+        } finally {
+            probe.finish();
+        }
+    }
 
-        boolean isComplete = false;
-        reset();
+    /**
+     * Finds the shortest path from vertex start label to vertex end label, only reading the graph
+     *
+     * Runtime : O(V * E)
+     *
+     * @param from  the start vertex label
+     * @param to    the end vertex label
+     * @return  the data and or labels from start to end | null when there is no path
+     */
+    public LinkedList<T> shortestPathLabels(T from, T to){
+        return (shortestPathLabels(from, to, buffer) == -1) ? null : buffer.toList();
+    }
 
-        start.setDistance(0, null, null);
-        start.setVisited(true);
+    /**
+     * Finds the shortest path from vertex start label to vertex end label, only reading the graph and writing the
+     * path into a buffer that can be reused
+     *
+     * Runtime : O(V * E)
+     *
+     * @param from  the start vertex label
+     * @param to    the end vertex label
+     * @param path  filled with the data and or labels from start to end, empty when there is none
+     * @return  the number of vertices on the path | -1 when there is no path
+     */
+    public int shortestPathLabels(T from, T to, PathBuffer<T> path){
+        probe.start(from, to);
+        try {
+            path.clear();
+            int start = graph.indexOf(from);
+            int end = graph.indexOf(to);
+            if(end == -1 || start == -1) return -1;
+
+            search(start, Deadline.NONE);
+            if(distance[end] == UNREACHABLE) return -1;
+            return path.trace(parent, end, graph::getLabel, graph.size());
+        } finally {
+            probe.finish();
+        }
+    }
 
-        while(!isComplete) {
+    /**
+     * Relaxes the edges of every reached vertex in rounds until no distance from the start improves
+     *
+     * Runtime : O(V * E)
+     *
+     * @param deadline  checked every Deadline.CHECK_EVERY edges
+     * @return  true when it finished, false when it was stopped
+     * @throws IllegalStateException    when a distance still improves after V rounds
+     */
+    private boolean search(int start, Deadline deadline){
+        int n = graph.size();
+        if(n > distance.length) allocate(n);
+        Arrays.fill(distance, 0, n, UNREACHABLE);
+        distance[start] = 0;
+        parent[start] = -1;
+
+        int budget = Deadline.CHECK_EVERY;
+        boolean isComplete = false;
+        for(int round = 0; !isComplete; round++){
+            if(round == n) throw new IllegalStateException("The graph contains a negative cycle");   //a shortest path has at most V - 1 edges
             isComplete = true;
-
-            for (Vertex<T> v : vertices) if (v.getIsVisited()) {
-                for (Edge<T> e : v.getEdgeList()) if (e.getEdgeState() == EDGESTATE.UNEXPLORED) {   //for all edges of the current vertex
-                    Vertex<T> next = e.getTo(); //the edge it is pointing to
-                    e.setEdgeState(EDGESTATE.EXPLORED);
-                    if (next.getDistance() > v.getDistance() + e.getWeight()) {   //if new path is better
-                        if (next.getShortestEdge() != null)
-                            next.getShortestEdge().setEdgeState(EDGESTATE.RELAXED);  //old edge relaxed
-                        next.setDistance(v.getDistance() + e.getWeight(), v, e);    //saves current path
-                        next.getShortestEdge().setEdgeState(EDGESTATE.PATH);    //new path is set as the current best path
+            probe.iterations++;
+
+            for(int v = 0; v < n; v++){
+                long d = distance[v];
+                if(d == UNREACHABLE) continue;  //not reached yet, nothing to relax
+                cursor.reset(v);
+                while(cursor.next()){
+                    if(--budget == 0){
+                        budget = Deadline.CHECK_EVERY;
+                        if(deadline.isExpired()) return false;
+                    }
+                    int next = cursor.getTarget();
+                    long candidate = d + cursor.getWeight();
+                    if(candidate < distance[next]){     //if new path is better
+                        distance[next] = candidate;
+                        parent[next] = v;
                         isComplete = false; //a new loop will need to be done
-                        next.setVisited(true);
-                    } else if (next.getDistance() < v.getDistance() + e.getWeight())
-                        e.setEdgeState(EDGESTATE.RELAXED); //old path is better
+                        probe.relaxed++;
+                    }
                 }
             }
         }
-
-        do{
-           path.addFirst(cur);
-           cur = cur.getShortestVertex();   //back tracking to
-        }while(cur != start && cur != null);
-        if(cur != null) path.addFirst(cur);
-
-        return (path.getFirst() == start) ? path : null;    //returns the list only if it found the start vertex
+        return true;
     }
 
     /**
-     * Solves for the cost of the graph path from start to finish
+     * Solves for the cost of the graph path from start to finish without building the path
      *
-     * Runtime O(V + E)
+     * Runtime O(V * E)
      *
      * @param start vertex start label
      * @param end   vertex end label
-     * @return  path cost
+     * @return  path cost | null when there is no path
      */
     public Integer shortestPathCost(T start, T end){
-        return (shortestPath(start, end) != null) ? graph.getVertex(end).getDistance() - graph.getVertex(start).getDistance()  : null;
+        probe.start(start, end);
+        try {
+            int s = graph.indexOf(start);
+            int e = graph.indexOf(end);
+            if(s == -1 || e == -1) return null;
+
+            search(s, Deadline.NONE);
+            return (distance[e] == UNREACHABLE) ? null : Math.toIntExact(distance[e]);
+        } finally {
+            probe.finish();
+        }
     }
 
     /**
+     * Finds the shortest path from vertex start label to vertex end label, giving up once the deadline passes
+     *
+     * Runtime : O(V * E) at most
+     *
+     * @param from  the start vertex label
+     * @param to    the end vertex label
+     * @param deadline  when to give up
+     * @return  COMPLETE with the path | PARTIAL with the best path found so far | TIMED_OUT when none was found
+     * @throws IllegalStateException    when the graph has a negative cycle that is found in time
+     */
+    public QueryResult<T> shortestPath(T from, T to, Deadline deadline){
+        probe.start(from, to);
+        try {
+            int start = graph.indexOf(from);
+            int end = graph.indexOf(to);
+            if(end == -1 || start == -1) return QueryResult.of(true, null, null);
+
+            boolean finished = search(start, deadline);
+            if(distance[end] == UNREACHABLE || buffer.trace(parent, end, graph::getLabel, graph.size()) == -1) return QueryResult.of(finished, null, null);   //parents can loop when stopped inside a negative cycle
+            return QueryResult.of(finished, buffer.toList(), distance[end]);
+        } finally {
+            probe.finish();
+        }
+    }
+
+    /**
+     * Resets the vertices and edges of the graph the Vertex methods marked
+     *
      * Runtime : O(V + E)
      */
     public void reset(){
-        for(Vertex<T> v : vertices){
-            for(Edge<T> e : v.getEdgeList()){
-                e.setEdgeState(EDGESTATE.UNEXPLORED);
-            }
-            v.setDistance(Integer.MAX_VALUE, null, null);
-            v.setVisited(false);
-        }
+        if(linked != null) EdgeStates.reset(linked);
+    }
+
+    private DirectedGraph<T> linked(){
+        if(linked == null) throw new IllegalStateException("Only a DirectedGraph has vertices to mark, use shortestPathLabels");
+        return linked;
     }
 }
@@ -0,0 +1,312 @@
+package Algorithms;
+
+import Graph.Adjacency;
+import Graph.CompactGraph;
+import Graph.GraphInterface;
+import Graph.NeighborCursor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Betweenness centrality with Brandes' algorithm, run against a read only copy of a graph
+ *
+ * Every source needs its own single source search followed by a pass back over the vertices it reached. The
+ * sources are handed out to workers through a shared counter, and each worker adds into its own scores so the
+ * only shared write is summing them at the end. Unweighted graphs are searched breadth first and weighted ones with
+ * Dijkstra. Scores of undirected graphs are halved since every path is found from both of its ends.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class Betweenness<T extends Comparable<T>> {
+
+    private final Adjacency<T> graph;
+    private final boolean weighted;
+    private final int parallelism;
+
+    /**
+     * Takes a read only copy of a directed or undirected graph, later changes to the graph are not seen. The copy
+     * is renumbered with CompactGraph.ordered, scores are still indexed by the numbers of getGraph()
+     *
+     * Runtime : O( V + E log(deg) )
+     *
+     * @param graph the graph
+     * @param weighted  true to measure paths by their weights, false to count edges
+     */
+    public Betweenness(GraphInterface<T> graph, boolean weighted){
+        this(CompactGraph.ordered(graph), weighted, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Uses a graph that is already compact, or a view of one
+     * @param graph the graph
+     * @param weighted  true to measure paths by their weights, false to count edges
+     * @param parallelism   the most sources searched at once
+     */
+    public Betweenness(Adjacency<T> graph, boolean weighted, int parallelism){
+        if(parallelism < 1) throw new IllegalArgumentException("The parallelism must be at least 1");
+        if(weighted){
+            NeighborCursor cursor = graph.cursor();
+            for(int v = 0; v < graph.size(); v++){
+                cursor.reset(v);
+                while(cursor.next()) if(cursor.getWeight() <= 0) throw new IllegalArgumentException("Weighted betweenness needs every weight to be above 0");
+            }
+        }
+        this.graph = graph;
+        this.weighted = weighted;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Computes the exact centrality of every vertex on a fresh executor from QueryExecutors
+     *
+     * Runtime : O( V * E ) unweighted, O( V * E log(V) ) weighted, divided across the workers
+     *
+     * @return  the centrality of every vertex number
+     */
+    public double[] exact(){
+        return exact(Deadline.NONE);
+    }
+
+    /**
+     * Same as exact but gives up once the deadline passes, scores from only some of the sources are not returned
+     * @param deadline  checked every Deadline.CHECK_EVERY edges by every worker
+     * @return  the centrality of every vertex number | null when the deadline passed first
+     */
+    public double[] exact(Deadline deadline){
+        int[] sources = new int[graph.size()];
+        for(int v = 0; v < sources.length; v++) sources[v] = v;
+        return run(sources, 1, deadline);
+    }
+
+    /**
+     * Estimates the centrality of every vertex from a random sample of sources, scaled up as if every vertex had
+     * been a source
+     *
+     * Runtime : O( k * E ) unweighted, O( k * E log(V) ) weighted, divided across the workers
+     *
+     * @param samples   the number of sources k, the exact answer is computed when it covers every vertex
+     * @param seed  seeds the choice of sources
+     * @return  the estimated centrality of every vertex number
+     */
+    public double[] sampled(int samples, long seed){
+        return sampled(samples, seed, Deadline.NONE);
+    }
+
+    /**
+     * Same as sampled but gives up once the deadline passes
+     * @param samples   the number of sources k, the exact answer is computed when it covers every vertex
+     * @param seed  seeds the choice of sources
+     * @param deadline  checked every Deadline.CHECK_EVERY edges by every worker
+     * @return  the estimated centrality of every vertex number | null when the deadline passed first
+     */
+    public double[] sampled(int samples, long seed, Deadline deadline){
+        if(samples < 1) throw new IllegalArgumentException("At least 1 source must be sampled");
+        int n = graph.size();
+        if(samples >= n) return exact(deadline);
+
+        int[] all = new int[n];     //partial Fisher-Yates, the first k entries end up a uniform sample
+        for(int v = 0; v < n; v++) all[v] = v;
+        SplittableRandom random = new SplittableRandom(seed);
+        for(int i = 0; i < samples; i++){
+            int j = i + random.nextInt(n - i);
+            int temp = all[i];
+            all[i] = all[j];
+            all[j] = temp;
+        }
+        int[] sources = new int[samples];
+        System.arraycopy(all, 0, sources, 0, samples);
+        return run(sources, (double) n / samples, deadline);
+    }
+
+    /**
+     * Runs the given sources on a fresh executor and sums what the workers found
+     * @return  the scores | null when the deadline stopped a worker
+     */
+    private double[] run(int[] sources, double scale, Deadline deadline){
+        ExecutorService executor = QueryExecutors.newQueryExecutor();
+        try {
+            return run(sources, scale, executor, deadline);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private double[] run(int[] sources, double scale, ExecutorService executor, Deadline deadline){
+        int n = graph.size();
+        AtomicInteger next = new AtomicInteger();
+        AtomicBoolean stopped = new AtomicBoolean();
+        int workers = Math.max(1, Math.min(parallelism, sources.length));
+        List<Future<double[]>> running = new ArrayList<>(workers);
+        for(int i = 0; i < workers; i++){
+            running.add(executor.submit(() -> {
+                Worker worker = new Worker(n, deadline);
+                for(int s = next.getAndIncrement(); s < sources.length && !stopped.get(); s = next.getAndIncrement()){
+                    if(!worker.accumulate(sources[s])) stopped.set(true);
+                }
+                return worker.scores;
+            }));
+        }
+
+        double[] scores = new double[n];
+        try {
+            for(Future<double[]> f : running){
+                double[] partial = f.get();
+                for(int v = 0; v < n; v++) scores[v] += partial[v];
+            }
+        } catch (InterruptedException e) {
+            for(Future<?> f : running) f.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The centrality run was interrupted", e);
+        } catch (ExecutionException e) {
+            for(Future<?> f : running) f.cancel(true);
+            if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+
+        if(stopped.get()) return null;
+        if(!graph.isDirected()) scale /= 2;
+        if(scale != 1) for(int v = 0; v < n; v++) scores[v] *= scale;
+        return scores;
+    }
+
+    /**
+     * Retrieves the graph being measured
+     * @return  the graph
+     */
+    public Adjacency<T> getGraph(){
+        return graph;
+    }
+
+    public boolean isWeighted(){
+        return weighted;
+    }
+
+
+    /**
+     * The arrays one worker reuses for every source it is given
+     */
+    private class Worker {
+        private final double[] scores;
+        private final long[] distance;  //-1 when not reached
+        private final double[] paths;   //number of shortest paths from the source, a double so it can not overflow
+        private final double[] dependency;
+        private final int[] order;      //vertices in the order they were settled
+        private final IndexHeap heap;
+        private final NeighborCursor cursor = graph.cursor();
+        private final Deadline deadline;
+        private int budget = Deadline.CHECK_EVERY;     //edges left before the deadline is read again
+
+        Worker(int n, Deadline deadline){
+            this.deadline = deadline;
+            scores = new double[n];
+            distance = new long[n];
+            paths = new double[n];
+            dependency = new double[n];
+            order = new int[n];
+            heap = weighted ? new IndexHeap(n) : null;
+            Arrays.fill(distance, -1);
+        }
+
+        /**
+         * Adds the dependencies of every vertex on one source into the scores
+         *
+         * Runtime : O(E) unweighted, O( E log(V) ) weighted
+         *
+         * @return  false when the deadline stopped it, the worker is then left part way through a source
+         */
+        boolean accumulate(int source){
+            int settled = weighted ? dijkstra(source) : breadthFirst(source);
+            if(settled == -1) return false;
+
+            for(int i = settled - 1; i >= 0; i--){  //farthest first, so every successor is finished before its predecessors
+                int v = order[i];
+                double sum = 0;
+                cursor.reset(v);
+                while(cursor.next()){
+                    if(expired()) return false;
+                    int w = cursor.getTarget();
+                    if(distance[w] == distance[v] + (weighted ? cursor.getWeight() : 1)) sum += (1 + dependency[w]) / paths[w];
+                }
+                dependency[v] = paths[v] * sum;
+                if(v != source) scores[v] += dependency[v];
+            }
+
+            for(int i = 0; i < settled; i++){   //only the vertices touched need resetting
+                int v = order[i];
+                distance[v] = -1;
+                paths[v] = 0;
+                dependency[v] = 0;
+            }
+            return true;
+        }
+
+        /**
+         * Reads the deadline once every Deadline.CHECK_EVERY calls
+         */
+        private boolean expired(){
+            if(--budget > 0) return false;
+            budget = Deadline.CHECK_EVERY;
+            return deadline.isExpired();
+        }
+
+        /**
+         * @return  the number of vertices settled into order | -1 when the deadline stopped it
+         */
+        private int breadthFirst(int source){
+            int head = 0, tail = 0;
+            order[tail++] = source;
+            distance[source] = 0;
+            paths[source] = 1;
+            while(head < tail){
+                int v = order[head++];
+                cursor.reset(v);
+                while(cursor.next()){
+                    if(expired()) return -1;
+                    int w = cursor.getTarget();
+                    if(distance[w] == -1){
+                        distance[w] = distance[v] + 1;
+                        order[tail++] = w;
+                    }
+                    if(distance[w] == distance[v] + 1) paths[w] += paths[v];
+                }
+            }
+            return tail;
+        }
+
+        /**
+         * @return  the number of vertices settled into order | -1 when the deadline stopped it
+         */
+        private int dijkstra(int source){
+            int settled = 0;
+            distance[source] = 0;
+            paths[source] = 1;
+            heap.push(source, 0);
+            while(!heap.isEmpty()){
+                int v = heap.poll();
+                order[settled++] = v;
+                cursor.reset(v);
+                while(cursor.next()){
+                    if(expired()) return -1;
+                    int w = cursor.getTarget();
+                    long candidate = distance[v] + cursor.getWeight();
+                    if(distance[w] == -1 || candidate < distance[w]){
+                        distance[w] = candidate;
+                        paths[w] = paths[v];
+                        heap.push(w, candidate);
+                    }
+                    else if(candidate == distance[w]) paths[w] += paths[v];
+                }
+            }
+            return settled;
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package Algorithms;
+
+import Graph.CompactGraph;
+import Graph.GraphInterface;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Direction optimizing breadth first search for graphs where every edge counts as one hop
+ *
+ * Small frontiers are expanded top down, every frontier vertex claims its unvisited neighbors. Once the edges
+ * leaving the frontier outnumber a share of the unexplored edges it switches to bottom up, every unvisited vertex
+ * looks through its incoming edges for a frontier vertex and stops at the first one. It switches back when the
+ * frontier shrinks. Visited vertices and bottom up frontiers are bitsets, and large levels are split over the
+ * common fork join pool. Edge weights are ignored.
+ *
+ * A search given a Deadline checks it before every chunk of frontier vertices or bitset words and stops early.
+ * Every vertex it reached by then still has its fewest hops, since a level is only started once the one before
+ * it is whole. One instance runs one search at a time, create one per thread to search concurrently.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class BreadthFirstSearch<T extends Comparable<T>> {
+
+    private static final int ALPHA = 14;    //go bottom up once frontier edges > unexplored edges / ALPHA
+    private static final int BETA = 24;     //go back top down once frontier vertices < V / BETA
+    private static final int VERTEX_CHUNK = 1024;   //frontier vertices per parallel task when top down
+    private static final int WORD_CHUNK = 256;      //bitset words per parallel task when bottom up
+
+    private final CompactGraph<T> graph;
+    private final CompactGraph<T> reverse;
+    private final boolean parallel;
+
+    private final int[] hops;
+    private final int[] parent;
+    private final AtomicLongArray visited;
+
+    private int[] frontier;
+    private int[] next;
+    private int frontierSize;
+    private long[] frontierBits;
+    private long[] nextBits;
+    private volatile boolean stopped;   //set by whichever task first sees the deadline pass
+
+    /**
+     * Takes a read only copy of a directed or undirected graph
+     * @param graph the graph to search
+     */
+    public BreadthFirstSearch(GraphInterface<T> graph){
+        this(CompactGraph.of(graph), true);
+    }
+
+    /**
+     * Searches a compact graph
+     * @param graph the graph to search
+     * @param parallel  true to split large levels across threads
+     */
+    public BreadthFirstSearch(CompactGraph<T> graph, boolean parallel){
+        this.graph = graph;
+        this.reverse = graph.reverse();
+        this.parallel = parallel;
+        int n = graph.size();
+        int words = (n + 63) >>> 6;
+        hops = new int[n];
+        parent = new int[n];
+        visited = new AtomicLongArray(words);
+        frontier = new int[n];
+        next = new int[n];
+        frontierBits = new long[words];
+        nextBits = new long[words];
+    }
+
+    /**
+     * Finds the number of hops from one vertex to every vertex it can reach
+     *
+     * Runtime : O(V + E)
+     *
+     * @param from  the number of the start vertex
+     * @param to    the number of the end vertex, the search stops after the level that reaches it | -1 to reach everything
+     * @return  true when the end vertex was reached
+     */
+    public boolean search(int from, int to){
+        return search(from, to, Deadline.NONE);
+    }
+
+    /**
+     * Same as search but gives up once the deadline passes, see wasStopped
+     *
+     * Runtime : O(V + E) at most
+     *
+     * @param from  the number of the start vertex
+     * @param to    the number of the end vertex, the search stops after the level that reaches it | -1 to reach everything
+     * @param deadline  checked before every VERTEX_CHUNK frontier vertices or WORD_CHUNK bitset words
+     * @return  true when the end vertex was reached
+     */
+    public boolean search(int from, int to, Deadline deadline){
+        int n = graph.size();
+        stopped = false;
+        for(int i = 0; i < visited.length(); i++) visited.set(i, 0);
+
+        claim(from);
+        hops[from] = 0;
+        parent[from] = -1;
+        frontier[0] = from;
+        frontierSize = 1;
+
+        boolean topDown = true;
+        long unexplored = graph.edgeCount();
+        int level = 0;
+
+        while(frontierSize > 0 && (to == -1 || !isVisited(to)) && !stopped){
+            if(topDown){
+                long frontierEdges = 0;
+                for(int i = 0; i < frontierSize; i++) frontierEdges += graph.degree(frontier[i]);
+                unexplored -= frontierEdges;
+                if(frontierEdges > unexplored / ALPHA){
+                    topDown = false;
+                    toBits();
+                    bottomUp(level, deadline);
+                }
+                else topDown(level, deadline);
+            }
+            else {
+                if(frontierSize < n / BETA){
+                    topDown = true;
+                    toArray();
+                    topDown(level, deadline);
+                }
+                else bottomUp(level, deadline);
+            }
+            level++;
+        }
+        return to == -1 || isVisited(to);
+    }
+
+    /**
+     * Checks if the search was stopped by another task or the deadline has passed
+     */
+    private boolean expired(Deadline deadline){
+        if(!stopped && deadline.isExpired()) stopped = true;
+        return stopped;
+    }
+
+    /**
+     * Expands the frontier array into the next frontier array
+     */
+    private void topDown(int level, Deadline deadline){
+        if(!parallel || frontierSize < 2 * VERTEX_CHUNK){
+            int size = 0;
+            for(int i = 0; i < frontierSize; i++){
+                if(i % VERTEX_CHUNK == 0 && expired(deadline)) break;
+                size = expand(frontier[i], level, next, size);
+            }
+            swapArrays(size);
+            return;
+        }
+
+        int chunks = (frontierSize + VERTEX_CHUNK - 1) / VERTEX_CHUNK;
+        int[][] found = new int[chunks][];
+        int[] sizes = new int[chunks];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int start = c * VERTEX_CHUNK;
+            int end = expired(deadline) ? start : Math.min(frontierSize, start + VERTEX_CHUNK);
+            long edges = 0;
+            for(int i = start; i < end; i++) edges += graph.degree(frontier[i]);
+            int[] buffer = new int[(int) Math.min(edges, graph.size())];
+            int size = 0;
+            for(int i = start; i < end; i++) size = expand(frontier[i], level, buffer, size);
+            found[c] = buffer;
+            sizes[c] = size;
+        });
+
+        int size = 0;
+        for(int c = 0; c < chunks; c++){
+            System.arraycopy(found[c], 0, next, size, sizes[c]);
+            size += sizes[c];
+        }
+        swapArrays(size);
+    }
+
+    /**
+     * Claims the unvisited neighbors of one frontier vertex
+     * @return  the new size of the buffer
+     */
+    private int expand(int v, int level, int[] buffer, int size){
+        for(int e = graph.firstEdge(v), end = graph.lastEdge(v); e < end; e++){
+            int u = graph.getTarget(e);
+            if(!isVisited(u) && claim(u)){
+                hops[u] = level + 1;
+                parent[u] = v;
+                buffer[size++] = u;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Lets every unvisited vertex look for a parent in the frontier bitset
+     */
+    private void bottomUp(int level, Deadline deadline){
+        int words = frontierBits.length;
+        Arrays.fill(nextBits, 0);
+        if(!parallel || words < 2 * WORD_CHUNK) frontierSize = adopt(0, words, level, deadline);
+        else {
+            int chunks = (words + WORD_CHUNK - 1) / WORD_CHUNK;
+            frontierSize = IntStream.range(0, chunks).parallel()
+                    .map(c -> adopt(c * WORD_CHUNK, Math.min(words, (c + 1) * WORD_CHUNK), level, deadline)).sum();
+        }
+        long[] temp = frontierBits;
+        frontierBits = nextBits;
+        nextBits = temp;
+    }
+
+    /**
+     * Bottom up step for the vertices in a range of bitset words, each word is only written by one task
+     * @return  the number of vertices added to the next frontier
+     */
+    private int adopt(int fromWord, int toWord, int level, Deadline deadline){
+        int n = graph.size();
+        int count = 0;
+        for(int w = fromWord; w < toWord; w++){
+            if((w - fromWord) % WORD_CHUNK == 0 && expired(deadline)) break;
+            long seen = visited.get(w);
+            if(seen == -1L) continue;
+            long added = 0;
+            for(int v = w << 6, end = Math.min(n, (w + 1) << 6); v < end; v++){
+                long bit = 1L << v;
+                if((seen & bit) != 0) continue;
+                for(int e = reverse.firstEdge(v), last = reverse.lastEdge(v); e < last; e++){
+                    int u = reverse.getTarget(e);
+                    if((frontierBits[u >>> 6] & (1L << u)) != 0){
+                        hops[v] = level + 1;
+                        parent[v] = u;
+                        added |= bit;
+                        count++;
+                        break;
+                    }
+                }
+            }
+            if(added != 0){
+                visited.set(w, seen | added);
+                nextBits[w] = added;
+            }
+        }
+        return count;
+    }
+
+    private void swapArrays(int size){
+        int[] temp = frontier;
+        frontier = next;
+        next = temp;
+        frontierSize = size;
+    }
+
+    private void toBits(){
+        Arrays.fill(frontierBits, 0);
+        for(int i = 0; i < frontierSize; i++) frontierBits[frontier[i] >>> 6] |= 1L << frontier[i];
+    }
+
+    private void toArray(){
+        int size = 0;
+        for(int w = 0; w < frontierBits.length; w++){
+            for(long bits = frontierBits[w]; bits != 0; bits &= bits - 1){
+                frontier[size++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        frontierSize = size;
+    }
+
+    private boolean isVisited(int v){
+        return (visited.get(v >>> 6) & (1L << v)) != 0;
+    }
+
+    /**
+     * Marks a vertex visited
+     * @return  false when another thread got to it first
+     */
+    private boolean claim(int v){
+        int w = v >>> 6;
+        long bit = 1L << v;
+        while(true){
+            long current = visited.get(w);
+            if((current & bit) != 0) return false;
+            if(visited.compareAndSet(w, current, current | bit)) return true;
+        }
+    }
+
+    /**
+     * Checks if the deadline stopped the last search, the vertices it reached still have their fewest hops but
+     * others it would have reached were not
+     * @return  true when it was stopped
+     */
+    public boolean wasStopped(){
+        return stopped;
+    }
+
+    /**
+     * Retrieves the number of hops found by the last search
+     * @param v the number of the vertex
+     * @return  the hops | -1 when the last search did not reach it
+     */
+    public int getHops(int v){
+        return isVisited(v) ? hops[v] : -1;
+    }
+
+    /**
+     * Retrieves the vertex before this one on the path found by the last search
+     * @param v the number of the vertex
+     * @return  the number of the vertex before | -1 for the start vertex or when not reached
+     */
+    public int getParent(int v){
+        return isVisited(v) ? parent[v] : -1;
+    }
+
+    /**
+     * Retrieves the path found by the last search
+     *
+     * Runtime : O(V)
+     *
+     * @param to    the number of the end vertex
+     * @return  the data and or labels from start to end | null when not reached
+     */
+    public LinkedList<T> getPath(int to){
+        if(!isVisited(to)) return null;
+        LinkedList<T> path = new LinkedList<>();
+        for(int v = to; v != -1; v = parent[v]) path.addFirst(graph.getLabel(v));
+        return path;
+    }
+
+    /**
+     * Writes the vertex numbers of the path found by the last search into the caller's array
+     * @param to    the number of the end vertex
+     * @param path  filled from index 0, room for every vertex always fits
+     * @return  the number of vertices on the path | -1 when not reached
+     */
+    public int getPath(int to, int[] path){
+        if(!isVisited(to)) return -1;
+        return PathBuffer.trace(parent, to, path);
+    }
+
+    /**
+     * Finds the fewest hops from one vertex to another
+     * @param from  the start vertex data and or label
+     * @param to    the end vertex data and or label
+     * @return  the hops | null when there is no path
+     */
+    public Integer hops(T from, T to){
+        int f = graph.indexOf(from);
+        int t = graph.indexOf(to);
+        if(f == -1 || t == -1 || !search(f, t)) return null;
+        return hops[t];
+    }
+
+    /**
+     * Finds a path with the fewest hops from one vertex to another
+     * @param from  the start vertex data and or label
+     * @param to    the end vertex data and or label
+     * @return  the data and or labels from start to end | null when there is no path
+     */
+    public LinkedList<T> shortestPath(T from, T to){
+        int f = graph.indexOf(from);
+        int t = graph.indexOf(to);
+        if(f == -1 || t == -1 || !search(f, t)) return null;
+        return getPath(t);
+    }
+
+    /**
+     * Finds a path with the fewest hops from one vertex to another, giving up once the deadline passes. A path
+     * found before then always has the fewest hops, so there is no PARTIAL answer
+     * @param from  the start vertex data and or label
+     * @param to    the end vertex data and or label
+     * @param deadline  when to give up
+     * @return  COMPLETE with the path and its hops as the cost | TIMED_OUT when none was found in time
+     */
+    public QueryResult<T> shortestPath(T from, T to, Deadline deadline){
+        int f = graph.indexOf(from);
+        int t = graph.indexOf(to);
+        if(f == -1 || t == -1) return QueryResult.of(true, null, null);
+        if(!search(f, t, deadline)) return QueryResult.of(!stopped, null, null);
+        return QueryResult.of(true, getPath(t), (long) hops[t]);
+    }
+}
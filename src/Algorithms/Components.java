@@ -0,0 +1,383 @@
+package Algorithms;
+
+import Graph.Adjacency;
+import Graph.CompactGraph;
+import Graph.NeighborCursor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Connected and strongly connected components of a CompactGraph
+ *
+ * Every method returns an array with one entry per vertex number holding the id of its component. Ids run from 0
+ * to the number of components - 1, so two vertices can be compared in O(1). None of the methods recurse, so deep
+ * graphs can not overflow the stack.
+ *
+ * @version 1.0
+ */
+public class Components {
+
+    private static final int SEQUENTIAL_THRESHOLD = 4096;   //sets smaller than this are finished with Tarjan
+
+    private Components(){}
+
+    /**
+     * Finds the connected components with union-find, edge direction is ignored so directed graphs get their
+     * weakly connected components
+     *
+     * Runtime : O( (V + E) alpha(V) )
+     *
+     * @param graph the graph, or a view of one
+     * @return  the component id of every vertex
+     */
+    public static int[] connected(Adjacency<?> graph){
+        return connected(graph, Deadline.NONE);
+    }
+
+    /**
+     * Same as connected but gives up once the deadline passes
+     * @param graph the graph, or a view of one
+     * @param deadline  checked every Deadline.CHECK_EVERY edges
+     * @return  the component id of every vertex | null when the deadline passed first
+     */
+    public static int[] connected(Adjacency<?> graph, Deadline deadline){
+        int n = graph.size();
+        int[] parent = new int[n];
+        for(int v = 0; v < n; v++) parent[v] = v;
+
+        NeighborCursor cursor = graph.cursor();
+        int budget = Deadline.CHECK_EVERY;
+        for(int v = 0; v < n; v++){
+            cursor.reset(v);
+            while(cursor.next()){
+                if(--budget == 0){
+                    budget = Deadline.CHECK_EVERY;
+                    if(deadline.isExpired()) return null;
+                }
+                int a = find(parent, v);
+                int b = find(parent, cursor.getTarget());
+                if(a < b) parent[b] = a;    //the lower number always becomes the root
+                else if(b < a) parent[a] = b;
+            }
+        }
+
+        int[] ids = new int[n];
+        int count = 0;
+        for(int v = 0; v < n; v++) ids[v] = (parent[v] == v) ? count++ : ids[find(parent, v)];
+        return ids;
+    }
+
+    private static int find(int[] parent, int v){
+        while(parent[v] != v){
+            parent[v] = parent[parent[v]];  //path halving
+            v = parent[v];
+        }
+        return v;
+    }
+
+    /**
+     * Same as connected but the edges are split across the common fork join pool, roots are linked with
+     * compare and set so no locks are taken
+     *
+     * Runtime : O( (V + E) alpha(V) / threads )
+     *
+     * @param graph the graph
+     * @return  the component id of every vertex
+     */
+    public static int[] connectedParallel(CompactGraph<?> graph){
+        int n = graph.size();
+        AtomicIntegerArray parent = new AtomicIntegerArray(n);
+        for(int v = 0; v < n; v++) parent.set(v, v);
+
+        IntStream.range(0, n).parallel().forEach(v -> {
+            for(int e = graph.firstEdge(v), end = graph.lastEdge(v); e < end; e++){
+                int w = graph.getTarget(e);
+                while(true){
+                    int a = find(parent, v);
+                    int b = find(parent, w);
+                    if(a == b) break;
+                    if(a < b){  //always hang the higher root under the lower one so no cycles can form
+                        int temp = a;
+                        a = b;
+                        b = temp;
+                    }
+                    if(parent.compareAndSet(a, a, b)) break;
+                }
+            }
+        });
+
+        int[] ids = new int[n];
+        int count = 0;
+        for(int v = 0; v < n; v++) ids[v] = (parent.get(v) == v) ? count++ : ids[find(parent, v)];
+        return ids;
+    }
+
+    private static int find(AtomicIntegerArray parent, int v){
+        while(true){
+            int p = parent.get(v);
+            if(p == v) return v;
+            int grand = parent.get(p);
+            if(grand != p) parent.compareAndSet(v, p, grand);
+            v = grand;
+        }
+    }
+
+    /**
+     * Finds the strongly connected components with an iterative version of Tarjan's algorithm, ids come out in
+     * reverse topological order of the components
+     *
+     * Runtime : O(V + E)
+     *
+     * @param graph the directed graph
+     * @return  the component id of every vertex
+     */
+    public static int[] stronglyConnected(CompactGraph<?> graph){
+        return stronglyConnected(graph, Deadline.NONE);
+    }
+
+    /**
+     * Same as stronglyConnected but gives up once the deadline passes
+     * @param graph the directed graph
+     * @param deadline  checked every Deadline.CHECK_EVERY edges
+     * @return  the component id of every vertex | null when the deadline passed first
+     */
+    public static int[] stronglyConnected(CompactGraph<?> graph, Deadline deadline){
+        int n = graph.size();
+        int[] ids = new int[n];
+        int[] index = new int[n];
+        Arrays.fill(index, -1);
+        Tarjan tarjan = new Tarjan(graph, ids, null, new AtomicInteger(), index, new int[n], new boolean[n], n);
+        for(int v = 0; v < n; v++) if(!tarjan.run(v, 0, deadline)) return null;
+        return ids;
+    }
+
+    /**
+     * Finds the strongly connected components with forward-backward decomposition. The component of a pivot is
+     * where its forward and backward reachable sets meet, and the three sets left over are split into parallel
+     * tasks. Small sets finish with Tarjan.
+     *
+     * Runtime : O( V * (V + E) ) worst case, O( (V + E) log(V) ) expected
+     *
+     * @param graph the directed graph
+     * @return  the component id of every vertex
+     */
+    public static int[] stronglyConnectedParallel(CompactGraph<?> graph){
+        int n = graph.size();
+        int[] ids = new int[n];
+        int[] all = new int[n];
+        for(int v = 0; v < n; v++) all[v] = v;
+        new Split(new SplitState(graph, ids), all, 0).invoke();
+        return ids;
+    }
+
+    /**
+     * Counts the components in an array returned by this class
+     * @param ids   the component ids
+     * @return  the number of components
+     */
+    public static int count(int[] ids){
+        int max = -1;
+        for(int id : ids) max = Math.max(max, id);
+        return max + 1;
+    }
+
+
+    /**
+     * Iterative Tarjan that can be limited to the vertices of one color
+     */
+    private static class Tarjan {
+        private final CompactGraph<?> graph;
+        private final int[] ids;
+        private final int[] color;      //null to use every vertex
+        private final AtomicInteger components;
+
+        private final int[] index;      //these three can be shared by instances that work on different vertices
+        private final int[] low;
+        private final boolean[] onStack;
+
+        private final int[] stack;      //vertices not yet given a component
+        private final int[] calls;      //emulates recursion
+        private final int[] nextEdge;   //where each call left off
+        private int counter;
+        private int budget = Deadline.CHECK_EVERY;     //edges left before the deadline is read again
+
+        Tarjan(CompactGraph<?> graph, int[] ids, int[] color, AtomicInteger components, int[] index, int[] low, boolean[] onStack, int capacity){
+            this.graph = graph;
+            this.ids = ids;
+            this.color = color;
+            this.components = components;
+            this.index = index;
+            this.low = low;
+            this.onStack = onStack;
+            stack = new int[capacity];
+            calls = new int[capacity];
+            nextEdge = new int[capacity];
+        }
+
+        /**
+         * @return  false when the deadline stopped it part way through
+         */
+        boolean run(int root, int c, Deadline deadline){
+            if(index[root] != -1) return true;
+            int top = 0;
+            int size = 0;
+            calls[top] = root;
+            nextEdge[top++] = graph.firstEdge(root);
+            index[root] = low[root] = counter++;
+            stack[size++] = root;
+            onStack[root] = true;
+
+            while(top > 0){
+                int v = calls[top - 1];
+                int e = nextEdge[top - 1];
+                if(e < graph.lastEdge(v)){
+                    if(--budget == 0){
+                        budget = Deadline.CHECK_EVERY;
+                        if(deadline.isExpired()) return false;
+                    }
+                    nextEdge[top - 1]++;
+                    int w = graph.getTarget(e);
+                    if(color != null && color[w] != c) continue;
+                    if(index[w] == -1){     //descend into w
+                        index[w] = low[w] = counter++;
+                        stack[size++] = w;
+                        onStack[w] = true;
+                        calls[top] = w;
+                        nextEdge[top++] = graph.firstEdge(w);
+                    }
+                    else if(onStack[w]) low[v] = Math.min(low[v], index[w]);
+                    continue;
+                }
+
+                top--;  //done with v
+                if(low[v] == index[v]){
+                    int id = components.getAndIncrement();
+                    int w;
+                    do{
+                        w = stack[--size];
+                        onStack[w] = false;
+                        ids[w] = id;
+                    }while(w != v);
+                }
+                if(top > 0) low[calls[top - 1]] = Math.min(low[calls[top - 1]], low[v]);
+            }
+            return true;
+        }
+    }
+
+
+    /**
+     * Arrays shared by every forward-backward task, each task only writes the entries of its own vertices
+     */
+    private static class SplitState {
+        private final CompactGraph<?> graph;
+        private final CompactGraph<?> reverse;
+        private final int[] color;      //vertices that still share a color have not been told apart yet
+        private final AtomicInteger colors = new AtomicInteger(1);
+        private final int[] ids;
+        private final AtomicInteger components = new AtomicInteger();
+        private final int[] index;
+        private final int[] low;
+        private final boolean[] onStack;
+
+        SplitState(CompactGraph<?> graph, int[] ids){
+            this.graph = graph;
+            this.reverse = graph.reverse();
+            this.ids = ids;
+            int n = graph.size();
+            color = new int[n];
+            index = new int[n];
+            low = new int[n];
+            onStack = new boolean[n];
+        }
+    }
+
+
+    /**
+     * One forward-backward step over the vertices that share a color
+     */
+    private static class Split extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int DONE = -1;
+        private static final int NONE = -2;
+
+        private final SplitState state;
+        private final int[] members;
+        private final int c;
+
+        Split(SplitState state, int[] members, int c){
+            this.state = state;
+            this.members = members;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute(){
+            int[] color = state.color;
+            if(members.length < SEQUENTIAL_THRESHOLD){
+                for(int v : members) state.index[v] = -1;
+                Tarjan tarjan = new Tarjan(state.graph, state.ids, color, state.components, state.index, state.low, state.onStack, members.length);
+                for(int v : members) tarjan.run(v, c, Deadline.NONE);
+                return;
+            }
+
+            int forward = state.colors.getAndIncrement();
+            int backward = state.colors.getAndIncrement();
+            int pivot = members[0];
+            int[] queue = new int[members.length];
+
+            reach(state.graph, pivot, forward, NONE, queue);        //everything the pivot reaches turns forward
+            reach(state.reverse, pivot, backward, forward, queue);  //everything reaching the pivot turns backward, or done when also forward
+
+            int id = state.components.getAndIncrement();
+            int f = 0, b = 0, r = 0;
+            for(int v : members){
+                if(color[v] == DONE) state.ids[v] = id;
+                else if(color[v] == forward) f++;
+                else if(color[v] == backward) b++;
+                else r++;
+            }
+            int[] forwardSet = new int[f], backwardSet = new int[b], rest = new int[r];
+            f = b = r = 0;
+            for(int v : members){
+                if(color[v] == forward) forwardSet[f++] = v;
+                else if(color[v] == backward) backwardSet[b++] = v;
+                else if(color[v] == c) rest[r++] = v;
+            }
+
+            List<Split> tasks = new ArrayList<>(3);
+            if(f > 0) tasks.add(new Split(state, forwardSet, forward));
+            if(b > 0) tasks.add(new Split(state, backwardSet, backward));
+            if(r > 0) tasks.add(new Split(state, rest, c));
+            ForkJoinTask.invokeAll(tasks);
+        }
+
+        /**
+         * Breadth first pass from the pivot. Vertices of color c turn into the given color, vertices of color
+         * meet are also walked through and turn DONE
+         */
+        private void reach(CompactGraph<?> g, int pivot, int into, int meet, int[] queue){
+            int[] color = state.color;
+            int head = 0, tail = 0;
+            queue[tail++] = pivot;
+            color[pivot] = (meet == NONE) ? into : DONE;
+            while(head < tail){
+                int v = queue[head++];
+                for(int e = g.firstEdge(v), end = g.lastEdge(v); e < end; e++){
+                    int w = g.getTarget(e);
+                    if(color[w] == c) color[w] = into;
+                    else if(meet != NONE && color[w] == meet) color[w] = DONE;
+                    else continue;
+                    queue[tail++] = w;
+                }
+            }
+        }
+    }
+}
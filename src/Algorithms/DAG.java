@@ -1,97 +1,272 @@
 package Algorithms;
 
-import Graph.EDGESTATE;
-import Graph.GraphInterface;
+import Graph.Adjacency;
 import Graph.DirectedGraph;
-import Graph.DirectedGraph.Edge;
 import Graph.DirectedGraph.Vertex;
+import Graph.NeighborCursor;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 
 /**
- * Bellman-Ford Path Finding Algorithm
+ * Shortest paths of a directed acyclic graph, relaxing every vertex once in topological order
+ *
+ * Walks the graph through its NeighborCursor, so the same kernel runs over directed, compact and compressed graphs.
+ * The order is found with Kahn's algorithm on every query, since the graph may have changed since the last one.
+ * The label methods and the cost only read the graph. Over a DirectedGraph the Vertex methods also write the
+ * distances and EDGESTATE of the search into the graph, so printing it shows the search. A query given a Deadline
+ * checks it while relaxing edges and stops early.
+ *
  * @author Riberiko Niyomwungere
  * @version 1.0
  * @param <T>
  */
 public class DAG<T extends Comparable<T>> {
 
-    DirectedGraph<T> graph;
-    LinkedList<Vertex<T>> vertices;
+    private static final long UNREACHABLE = Long.MAX_VALUE;
 
-    public DAG(GraphInterface<T> graph){
-        if(graph.getClass() == DirectedGraph.class){
-            this.graph = (DirectedGraph<T>) graph;
-            vertices = this.graph.getVertices();
-        } else throw new IllegalArgumentException("The graph must be Directed");
+    private final Adjacency<T> graph;
+    private final DirectedGraph<T> linked;  //the same graph when it is a DirectedGraph, the Vertex methods mark it | null
+    private final NeighborCursor cursor;
+    private final Probe probe = new Probe("DAG");
+    private final PathBuffer<T> buffer = new PathBuffer<>();    //backs the list based methods
+    private final PathBuffer<Vertex<T>> vertexBuffer = new PathBuffer<>();
+
+    private long[] distance;
+    private int[] parent;
+    private int[] inDegree;     //edges into each vertex not yet walked
+    private int[] order;        //the topological order, also the queue that builds it
+
+    /**
+     * Creates a solver for a directed graph
+     * @param graph the graph to search
+     */
+    public DAG(Adjacency<T> graph){
+        if(!graph.isDirected()) throw new IllegalArgumentException("The graph must be Directed");
+        this.graph = graph;
+        this.linked = (graph instanceof DirectedGraph) ? (DirectedGraph<T>) graph : null;
+        this.cursor = graph.cursor();
+        allocate(Math.max(1, graph.size()));
+    }
+
+    private void allocate(int n){
+        distance = new long[n];
+        parent = new int[n];
+        inDegree = new int[n];
+        order = new int[n];
     }
 
 
     /**
-     * Solves for the shortest path using the dag algorithm
+     * Solves for the shortest path using the dag algorithm, marking the vertices and edges of the graph
      * @param from  the vertex label for the start point
      * @param to    the vertex label for the end point
-     * @return  the path to get from start to finish
+     * @return  the path to get from start to finish | null when there is no path
+     * @throws IllegalStateException    when the graph is not a DirectedGraph, use shortestPathLabels
      */
     public LinkedList<Vertex<T>> shortestPath(T from, T to){
-        reset();
+        return (shortestPath(from, to, vertexBuffer) == -1) ? null : vertexBuffer.toList();
+    }
 
-        Vertex<T> f = graph.getVertex(from);
-        Vertex<T> t = graph.getVertex(to);
+    /**
+     * Solves for the shortest path using the dag algorithm, marking the vertices and edges of the graph and writing
+     * the path into a buffer that can be reused
+     * @param from  the vertex label for the start point
+     * @param to    the vertex label for the end point
+     * @param path  filled with the path from start to finish, empty when there is none
+     * @return  the number of vertices on the path | -1 when there is no path
+     * @throws IllegalStateException    when the graph is not a DirectedGraph, use shortestPathLabels
+     */
+    public int shortestPath(T from, T to, PathBuffer<Vertex<T>> path){
+        DirectedGraph<T> linked = linked();
+        probe.start(from, to);
+        try {
+            path.clear();
+            int f = graph.indexOf(from);
+            int t = graph.indexOf(to);
+            if(f == -1 || t == -1) return -1;   //when the vertices do not exist
 
-        if(f == null || t == null) return null; //when the vertices do not exist
+            search(f, Deadline.NONE);
+            EdgeStates.mark(linked, distance, parent);
+            if(distance[t] == UNREACHABLE) return -1;
+            return path.trace(parent, t, linked::getVertexAt, graph.size());
+        } finally {
+            probe.finish();
+        }
+    }
 
-        LinkedList<Vertex<T>> order = graph.getTopologicalOrder();  //gets the topological order
-        if(order.size() == 0) return null;  //when the graph is empty
-        order.get(0).setDistance(0, null, null);
+    /**
+     * Solves for the shortest path using the dag algorithm, only reading the graph
+     * @param from  the vertex label for the start point
+     * @param to    the vertex label for the end point
+     * @return  the data and or labels to get from start to finish | null when there is no path
+     */
+    public LinkedList<T> shortestPathLabels(T from, T to){
+        return (shortestPathLabels(from, to, buffer) == -1) ? null : buffer.toList();
+    }
 
-        for(Vertex<T> v : order){   //going in topological order
-            v.setVisited(true);
-            for(Edge<T> e : v.getEdgeList()){   //all the current vertices edges
-                e.setEdgeState(EDGESTATE.EXPLORED); //we have begun exporting them
-                if(e.getTo().getDistance() > v.getDistance() + e.getWeight()){  //the current path to this node is better than the previous
-                    if(e.getTo().getShortestEdge() != null) e.getTo().getShortestEdge().setEdgeState(EDGESTATE.RELAXED);    //when old edge exist set to relaxed
-                    e.getTo().setDistance(v.getDistance() + e.getWeight(), v, e);   //sets new distances for the current vertex at the end of this edge
-                    e.getTo().getShortestEdge().setEdgeState(EDGESTATE.PATH);   //flags this current edge as the best to get to this vertex so far
-                }
-                else e.setEdgeState(EDGESTATE.RELAXED); //when the old vertex is better, this edge will relax
-            }
+    /**
+     * Solves for the shortest path using the dag algorithm, only reading the graph and writing the path into a
+     * buffer that can be reused
+     * @param from  the vertex label for the start point
+     * @param to    the vertex label for the end point
+     * @param path  filled with the data and or labels from start to finish, empty when there is none
+     * @return  the number of vertices on the path | -1 when there is no path
+     */
+    public int shortestPathLabels(T from, T to, PathBuffer<T> path){
+        probe.start(from, to);
+        try {
+            path.clear();
+            int f = graph.indexOf(from);
+            int t = graph.indexOf(to);
+            if(f == -1 || t == -1) return -1;   //when the vertices do not exist
+
+            search(f, Deadline.NONE);
+            if(distance[t] == UNREACHABLE) return -1;
+            return path.trace(parent, t, graph::getLabel, graph.size());
+        } finally {
+            probe.finish();
         }
+    }
 
-        //Returns the path going from designation to beginning
-        LinkedList<Vertex<T>> path = new LinkedList<>();
-        Vertex<T> cur = t;
+    /**
+     * Relaxes the edges of every vertex in topological order
+     *
+     * Runtime : O(V + E)
+     *
+     * @param deadline  checked every Deadline.CHECK_EVERY edges
+     * @return  true when it finished, false when it was stopped
+     * @throws IllegalStateException    when the graph has a cycle, it has no topological order
+     */
+    private boolean search(int f, Deadline deadline){
+        int n = graph.size();
+        if(n > distance.length) allocate(n);
+        Arrays.fill(distance, 0, n, UNREACHABLE);
+        Arrays.fill(inDegree, 0, n, 0);
+        distance[f] = 0;
+        parent[f] = -1;
+        probe.iterations++;
 
-        do{
-            path.addFirst(cur);
-            cur = cur.getShortestVertex();
-            if(cur == null) return null;    //we never found the start vertex
-        }while(cur != f);
-        path.addFirst(f);   //adds the start
+        for(int v = 0; v < n; v++){
+            cursor.reset(v);
+            while(cursor.next()) inDegree[cursor.getTarget()]++;
+        }
+        int head = 0, tail = 0;
+        for(int v = 0; v < n; v++) if(inDegree[v] == 0) order[tail++] = v;
 
-        return path;
+        int budget = Deadline.CHECK_EVERY;
+        while(head < tail){     //going in topological order
+            int v = order[head++];
+            long d = distance[v];
+            if(d != UNREACHABLE) probe.settled++;
+            cursor.reset(v);
+            while(cursor.next()){   //all the current vertices edges
+                if(--budget == 0){
+                    budget = Deadline.CHECK_EVERY;
+                    if(deadline.isExpired()) return false;
+                }
+                int next = cursor.getTarget();
+                if(--inDegree[next] == 0) order[tail++] = next;
+                if(d == UNREACHABLE) continue;  //not reachable from the start, nothing to relax
+                long candidate = d + cursor.getWeight();
+                if(candidate < distance[next]){     //the current path to this node is better than the previous
+                    distance[next] = candidate;
+                    parent[next] = v;
+                    probe.relaxed++;
+                }
+            }
+        }
+        if(tail < n) throw new IllegalStateException("The graph contains a cycle, it has no topological order");   //the vertices on a cycle never ran out of edges into them
+        return true;
     }
 
     /**
-     * Returns the total cost of the path start to finish
+     * Returns the total cost of the path start to finish, only the distances are read so no path is built
      * @param from  the start vertex label
      * @param to    the end vertex label
-     * @return  the cost
+     * @return  the cost | null when there is no path
      */
     public Integer shortestPathCost(T from, T to){
-        LinkedList<Vertex<T>> path = shortestPath(from, to);
-        return path.getLast().getDistance() - path.getFirst().getDistance();
+        probe.start(from, to);
+        try {
+            int f = graph.indexOf(from);
+            int t = graph.indexOf(to);
+            if(f == -1 || t == -1) return null;
+
+            search(f, Deadline.NONE);
+            return (distance[t] == UNREACHABLE) ? null : Math.toIntExact(distance[t]);
+        } finally {
+            probe.finish();
+        }
     }
 
     /**
-     * Resets the graph
+     * Solves for the shortest path using the dag algorithm, giving up once the deadline passes
+     *
+     * Runtime : O(V + E) at most
+     *
+     * @param from  the vertex label for the start point
+     * @param to    the vertex label for the end point
+     * @param deadline  when to give up
+     * @return  COMPLETE with the path | PARTIAL with the best path found so far | TIMED_OUT when none was found
      */
-    public void reset(){
-        for(Vertex<T> v : vertices) {
-            v.setDistance(Integer.MAX_VALUE, null, null);
-            v.setVisited(false);
-            for (Edge<T> e : v.getEdgeList()) e.setEdgeState(EDGESTATE.UNEXPLORED);
+    public QueryResult<T> shortestPath(T from, T to, Deadline deadline){
+        probe.start(from, to);
+        try {
+            int f = graph.indexOf(from);
+            int t = graph.indexOf(to);
+            if(f == -1 || t == -1) return QueryResult.of(true, null, null);
+
+            boolean finished = search(f, deadline);
+            if(distance[t] == UNREACHABLE || buffer.trace(parent, t, graph::getLabel, graph.size()) == -1) return QueryResult.of(finished, null, null);
+            return QueryResult.of(finished, buffer.toList(), distance[t]);
+        } finally {
+            probe.finish();
+        }
+    }
+
+    /**
+     * Solves for an order of the vertices where every edge points forward, using Kahn's algorithm
+     *
+     * Runtime : O(V + E)
+     *
+     * @return  the data and or labels in topological order
+     * @throws IllegalStateException    when the graph has a cycle, it has no topological order
+     */
+    public LinkedList<T> topologicalOrder(){
+        int n = graph.size();
+        if(n > distance.length) allocate(n);
+        Arrays.fill(inDegree, 0, n, 0);
+        for(int v = 0; v < n; v++){
+            cursor.reset(v);
+            while(cursor.next()) inDegree[cursor.getTarget()]++;
         }
+        int head = 0, tail = 0;
+        for(int v = 0; v < n; v++) if(inDegree[v] == 0) order[tail++] = v;
+
+        LinkedList<T> sorted = new LinkedList<>();
+        while(head < tail){
+            int v = order[head++];
+            sorted.addLast(graph.getLabel(v));
+            cursor.reset(v);
+            while(cursor.next()) if(--inDegree[cursor.getTarget()] == 0) order[tail++] = cursor.getTarget();
+        }
+        if(tail < n) throw new IllegalStateException("The graph contains a cycle, it has no topological order");
+        return sorted;
     }
 
+
+    /**
+     * Resets the vertices and edges of the graph the Vertex methods marked
+     *
+     * Runtime : O(V + E)
+     */
+    public void reset(){
+        if(linked != null) EdgeStates.reset(linked);
+    }
+
+    private DirectedGraph<T> linked(){
+        if(linked == null) throw new IllegalStateException("Only a DirectedGraph has vertices to mark, use shortestPathLabels");
+        return linked;
+    }
 }
@@ -0,0 +1,83 @@
+package Algorithms;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time after which a query should give up, which can also be cancelled by hand
+ *
+ * The algorithms only read the clock once every CHECK_EVERY edges, so checking costs next to nothing. One deadline
+ * can be shared by any number of queries, cancelling it stops all of them. Interrupting the thread running a query
+ * stops it as well, so cancelling its Future frees the worker.
+ *
+ * @version 1.0
+ */
+public class Deadline {
+
+    /**
+     * Never expires and can not be cancelled, used by the methods that take no deadline
+     */
+    public static final Deadline NONE = new Deadline(0, false);
+
+    static final int CHECK_EVERY = 1024;    //edges walked between two checks
+
+    private final long end;     //System.nanoTime value
+    private final boolean bounded;
+    private volatile boolean cancelled;
+
+    private Deadline(long end, boolean bounded){
+        this.end = end;
+        this.bounded = bounded;
+    }
+
+    /**
+     * Creates a deadline a fixed time from now
+     * @param timeout   how long queries may run
+     * @param unit  the unit of timeout
+     * @return  the deadline
+     */
+    public static Deadline after(long timeout, TimeUnit unit){
+        if(timeout < 0) throw new IllegalArgumentException("The timeout can not be negative");
+        long nanos = unit.toNanos(timeout);
+        if(nanos == Long.MAX_VALUE) return cancellable();   //too far away to ever be reached
+        return new Deadline(System.nanoTime() + nanos, true);
+    }
+
+    /**
+     * Creates a deadline with no time limit that only expires once cancelled
+     * @return  the deadline
+     */
+    public static Deadline cancellable(){
+        return new Deadline(0, false);
+    }
+
+    /**
+     * Stops every query using this deadline at its next check
+     */
+    public void cancel(){
+        if(this == NONE) throw new IllegalStateException("Deadline.NONE can not be cancelled");
+        cancelled = true;
+    }
+
+    public boolean isCancelled(){
+        return cancelled;
+    }
+
+    /**
+     * Checks if a query should stop
+     * @return  true once cancelled, past the deadline or when the calling thread has been interrupted
+     */
+    public boolean isExpired(){
+        if(this == NONE) return false;
+        return cancelled || Thread.currentThread().isInterrupted() || (bounded && System.nanoTime() - end >= 0);
+    }
+
+    /**
+     * Retrieves the time left
+     * @return  the time in nanoseconds, 0 once expired | Long.MAX_VALUE when there is no time limit
+     */
+    public long getRemainingNanos(){
+        if(cancelled) return 0;
+        if(!bounded) return Long.MAX_VALUE;
+        return Math.max(0, end - System.nanoTime());
+    }
+}
@@ -1,133 +1,243 @@
 package Algorithms;
 
-import Graph.EDGESTATE;
-import Graph.GraphInterface;
+import Graph.Adjacency;
+import Graph.NeighborCursor;
 import Graph.UndirectedGraph;
-import Graph.UndirectedGraph.Edge;
 import Graph.UndirectedGraph.Vertex;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.LinkedList;
 
 /**
  * Dijkstra Path Finding Algorithm
  *
+ * Walks the graph through its NeighborCursor, so the same kernel runs over directed, undirected, compact and
+ * compressed graphs. Distances are kept in arrays owned by this instance, one instance answers one query at a time.
+ * The label methods and the cost only read the graph. Over an UndirectedGraph the Vertex methods also write the
+ * distances and EDGESTATE of the search into the graph, so printing it shows the search. A query given a Deadline
+ * checks it while relaxing edges and stops early.
+ *
  * @author Riberiko Niyomwungere
  * @version 1.0
  * @param <T>
  */
 public class Dijkstra <T extends Comparable<T>> {
 
-    private final PriorityQueue<Vertex<T>> hold;    //ensure that the closest vertex comes next
+    private static final long UNREACHABLE = Long.MAX_VALUE;
 
-    UndirectedGraph<T> graph;
-    LinkedList<Vertex<T>> vertices;
-    LinkedList<Edge<T>> edges;
+    private final Adjacency<T> graph;
+    private final UndirectedGraph<T> linked;    //the same graph when it is an UndirectedGraph, the Vertex methods mark it | null
+    private final NeighborCursor cursor;
+    private final Probe probe = new Probe("Dijkstra");
+    private final PathBuffer<T> buffer = new PathBuffer<>();    //backs the list based methods
+    private final PathBuffer<Vertex<T>> vertexBuffer = new PathBuffer<>();
 
-    public Dijkstra(GraphInterface<T> graph){
-        if (graph.getClass() == UndirectedGraph.class){
-            this.graph = (UndirectedGraph<T>) graph;
-            hold = new PriorityQueue<>();
-            vertices = this.graph.getVertices();
-            edges = this.graph.getEdges();
-        }else throw new IllegalArgumentException("The graph must be Undirected");
-    }
+    private long[] distance;
+    private int[] parent;
+    private IndexHeap hold;     //ensure that the closest vertex comes next
 
     /**
-     * Runtime : O(E)
+     * Creates a solver, vertices added to the graph later are picked up by the next query
+     * @param graph the directed or undirected graph to search
      */
-    private void ensureWeights(){   //ensures that no weights for the graph are under 1
-        for (Edge<T> e : edges) if (e.getWeight() < 1) throw new IllegalStateException("There can be no weights below 1 for Dijkstra's Algorithm");
+    public Dijkstra(Adjacency<T> graph){
+        this.graph = graph;
+        this.linked = (graph instanceof UndirectedGraph) ? (UndirectedGraph<T>) graph : null;
+        this.cursor = graph.cursor();
+        allocate(Math.max(1, graph.size()));
+    }
+
+    private void allocate(int n){
+        distance = new long[n];
+        parent = new int[n];
+        hold = new IndexHeap(n);
     }
 
     /**
-     * Solves for the shortest path using the dijkstra algorithm
+     * Solves for the shortest path using the dijkstra algorithm, stopping once the end vertex is settled
      *
      * Runtime : O( (V+E) log(V) )
      *
-     * @param from  the starting vertex
+     * @param from  the number of the starting vertex
+     * @param to    the number of the ending vertex | -1 to settle every vertex
+     * @param deadline  checked every Deadline.CHECK_EVERY edges
+     * @return  true when it finished, false when it was stopped
      */
-    private void shortestPath(Vertex<T> from) {
+    private boolean shortestPath(int from, int to, Deadline deadline) {
+        if(graph.hasNegativeWeights()) throw new IllegalStateException("There can be no weights below 0 for Dijkstra's Algorithm");
+        int n = graph.size();
+        if(n > distance.length) allocate(n);
+        Arrays.fill(distance, 0, n, UNREACHABLE);   //all the other vertices are infinite distance away, and our starting point is zero
         hold.clear();
-        reset();
-        ensureWeights();
 
-        from.setDistance(0, null, null); //all the other vertices are infinite distance away, and our starting point is zero
-        from.setVisited(true);
-        hold.add(from);
+        distance[from] = 0;
+        parent[from] = -1;
+        hold.push(from, 0);
+        probe.pushes++;
+        probe.iterations++;
 
-        Vertex<T> current;
-        Vertex<T> next;
-        //O(n) all vertex
+        int budget = Deadline.CHECK_EVERY;
         while(!hold.isEmpty()){
-            current = hold.poll();
-            current.setVisited(true);
-            //O(m) all edges
-            for(Edge<T> e : edges) if (e.getA() == current || e.getB() == current){
-
-                if (e.getA() == current)  next = e.getB(); else next = e.getA();    //ensure the next vertex is not the one we were just looking at
-
-                if(e.getState() != EDGESTATE.UNEXPLORED) continue;  //we only are interested in edges we haven't seen
-
-                e.setState(EDGESTATE.EXPLORED);
-
-                //current path is better than old
-                if(current.getDistance()+e.getWeight() < next.getDistance()){
-                    if(next.getShortestEdge() != null) next.getShortestEdge().setState(EDGESTATE.RELAXED);  //in the event that
-                    e.setState(EDGESTATE.PATH);
-                    next.setDistance(current.getDistance()+e.getWeight(), current, e);
+            int current = hold.poll();
+            probe.pops++;
+            probe.settled++;
+            if(current == to) return true;  //settled, nothing left can improve it
+
+            long d = distance[current];
+            cursor.reset(current);
+            while(cursor.next()){
+                if(--budget == 0){
+                    budget = Deadline.CHECK_EVERY;
+                    if(deadline.isExpired()) return false;
+                }
+                int next = cursor.getTarget();
+                long candidate = d + cursor.getWeight();
+                if(candidate < distance[next]){     //current path is better than old
+                    if(distance[next] == UNREACHABLE) probe.pushes++;   //the heap lowers the key of the ones it already holds
+                    distance[next] = candidate;
+                    parent[next] = current;
+                    hold.push(next, candidate);
+                    probe.relaxed++;
                 }
-                else e.setState(EDGESTATE.RELAXED); //old path is better
-
-
-                //only adds next once if we haven't seen it
-                if (!next.getIsVisited()) hold.add(next);
-                next.setVisited(true);
             }
-
         }
+        return true;
     }
 
     /**
-     * Solves for the shortest path using the dijkstra algorithm
+     * Solves for the shortest path using the dijkstra algorithm, marking the vertices and edges of the graph
+     *
+     * Runtime : O( (V+E) log(V) )
+     *
      * @param from  starting vertex label
      * @param to    ending vertex label
-     * @return  the path from to finish
+     * @return  the path from start to finish | null when there is no path
+     * @throws IllegalStateException    when the graph is not an UndirectedGraph, use shortestPathLabels
      */
     public LinkedList<Vertex<T>> shortestPath(T from, T to) {
+        return (shortestPath(from, to, vertexBuffer) == -1) ? null : vertexBuffer.toList();
+    }
 
-        Vertex<T> cur = graph.getVertex(to);
-        Vertex<T> start = graph.getVertex(from);
-
-        if(cur == null || start == null) return null;
-
-        shortestPath(start); //finds the distances of every vertex from the beginning vertex
-        LinkedList<Vertex<T>> path = new LinkedList<>();
+    /**
+     * Solves for the shortest path using the dijkstra algorithm, marking the vertices and edges of the graph and
+     * writing the path into a buffer that can be reused
+     *
+     * Runtime : O( (V+E) log(V) )
+     *
+     * @param from  starting vertex label
+     * @param to    ending vertex label
+     * @param path  filled with the path from start to finish, empty when there is none
+     * @return  the number of vertices on the path | -1 when there is no path
+     * @throws IllegalStateException    when the graph is not an UndirectedGraph, use shortestPathLabels
+     */
+    public int shortestPath(T from, T to, PathBuffer<Vertex<T>> path) {
+        UndirectedGraph<T> linked = linked();
+        probe.start(from, to);
+        try {
+            path.clear();
+            int start = graph.indexOf(from);
+            int end = graph.indexOf(to);
+            if(end == -1 || start == -1) return -1;
+
+            shortestPath(start, -1, Deadline.NONE);     //every vertex is settled so every edge can be marked
+            EdgeStates.mark(linked, distance, parent);
+            if(distance[end] == UNREACHABLE) return -1;
+            return path.trace(parent, end, linked::getVertexAt, graph.size());
+        } finally {
+            probe.finish();
+        }
+    }
 
-        do{
-            path.addFirst(cur);
-            cur = cur.getShortestVertex();
-        }while(cur != null && cur.getShortestVertex() != start);
-        if (cur != null && cur.getShortestVertex() == start) path.addFirst(start);  //Resolves fence post issue
+    /**
+     * Solves for the shortest path using the dijkstra algorithm, only reading the graph
+     * @param from  starting vertex label
+     * @param to    ending vertex label
+     * @return  the data and or labels from start to finish | null when there is no path
+     */
+    public LinkedList<T> shortestPathLabels(T from, T to) {
+        return (shortestPathLabels(from, to, buffer) == -1) ? null : buffer.toList();
+    }
 
-        return (path.getFirst() == start) ? path : null;    //only returns the path when one exists
+    /**
+     * Solves for the shortest path using the dijkstra algorithm, only reading the graph and writing the path into a
+     * buffer that can be reused
+     * @param from  starting vertex label
+     * @param to    ending vertex label
+     * @param path  filled with the data and or labels from start to finish, empty when there is none
+     * @return  the number of vertices on the path | -1 when there is no path
+     */
+    public int shortestPathLabels(T from, T to, PathBuffer<T> path) {
+        probe.start(from, to);
+        try {
+            path.clear();
+            int start = graph.indexOf(from);
+            int end = graph.indexOf(to);
+            if(end == -1 || start == -1) return -1;
+
+            shortestPath(start, end, Deadline.NONE);
+            if(distance[end] == UNREACHABLE) return -1;
+            return path.trace(parent, end, graph::getLabel, graph.size());
+        } finally {
+            probe.finish();
+        }
     }
 
+    /**
+     * Solves for the cost of the shortest path without building the path
+     * @param from  starting vertex label
+     * @param to    ending vertex label
+     * @return  the cost | null when there is no path
+     */
     public Integer shortestPathCost(T from, T to){
-        LinkedList<Vertex<T>> path = shortestPath(from, to);
-        if(path == null) return null;
-        return path.getLast().getDistance();
+        probe.start(from, to);
+        try {
+            int start = graph.indexOf(from);
+            int end = graph.indexOf(to);
+            if(end == -1 || start == -1) return null;
+
+            shortestPath(start, end, Deadline.NONE);
+            return (distance[end] == UNREACHABLE) ? null : Math.toIntExact(distance[end]);
+        } finally {
+            probe.finish();
+        }
     }
 
     /**
-     * Resets the graph
+     * Solves for the shortest path using the dijkstra algorithm, giving up once the deadline passes
+     *
+     * Runtime : O( (V+E) log(V) ) at most
      *
-     * Runtime : O(n)
+     * @param from  starting vertex label
+     * @param to    ending vertex label
+     * @param deadline  when to give up
+     * @return  COMPLETE with the path | PARTIAL with the best path found so far | TIMED_OUT when none was found
      */
-    public void reset(){
-        for(Vertex<T> v : vertices) {
-            v.setDistance(Integer.MAX_VALUE, null, null);
-            v.setVisited(false);
+    public QueryResult<T> shortestPath(T from, T to, Deadline deadline){
+        probe.start(from, to);
+        try {
+            int start = graph.indexOf(from);
+            int end = graph.indexOf(to);
+            if(end == -1 || start == -1) return QueryResult.of(true, null, null);
+
+            boolean finished = shortestPath(start, end, deadline);
+            if(distance[end] == UNREACHABLE || buffer.trace(parent, end, graph::getLabel, graph.size()) == -1) return QueryResult.of(finished, null, null);
+            return QueryResult.of(finished, buffer.toList(), distance[end]);
+        } finally {
+            probe.finish();
         }
-        for(Edge<T> e : edges) e.setState(EDGESTATE.UNEXPLORED);
+    }
+
+    /**
+     * Resets the vertices and edges of the graph the Vertex methods marked
+     *
+     * Runtime : O(V + E)
+     */
+    public void reset(){
+        if(linked != null) EdgeStates.reset(linked);
+    }
+
+    private UndirectedGraph<T> linked(){
+        if(linked == null) throw new IllegalStateException("Only an UndirectedGraph has vertices to mark, use shortestPathLabels");
+        return linked;
     }
 }
@@ -0,0 +1,471 @@
+package Algorithms;
+
+import Graph.EDGESTATE;
+import Graph.GraphInterface;
+import Graph.UndirectedGraph;
+import Graph.UndirectedGraph.Edge;
+import Graph.UndirectedGraph.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.TreeSet;
+
+/**
+ * Minimum spanning tree that is kept up to date while edges are inserted, removed or reweighted
+ *
+ * The tree is stored in a link-cut tree where every edge is its own node, so the heaviest edge on the
+ * path between two vertices can be found in O(log V). Inserting an edge swaps it with that heaviest edge
+ * when it is lighter. Removing a tree edge looks for the lightest non tree edge that reconnects the two halves.
+ * When the graph is not connected this maintains a minimum spanning forest.
+ *
+ * Edges are found through the incident lists of their ends, so inserts and reweights cost O(V + deg) to find the
+ * vertex and edge plus O(log(V)) for the tree. The replacement search is the worst case. It walks the non tree
+ * edges lightest first until one crosses the cut, which is O( E log(V) ) when a bridge is removed and nothing
+ * reconnects the halves, or when the only replacement is the heaviest edge. Graphs that mostly lose edges that
+ * have cheap replacements, or edges off the tree, stay close to O(log(V)) per update.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class DynamicMST<T extends Comparable<T>> {
+
+    private static final int NIL = -1;
+
+    private final UndirectedGraph<T> graph;
+
+    private final IdentityHashMap<Vertex<T>, Integer> vertexNodes;
+    private final IdentityHashMap<Edge<T>, Integer> edgeNodes;
+    private final ArrayList<Edge<T>> nodeEdges;     //the edge each node stands for | null for vertex nodes
+    private final TreeSet<Edge<T>> nonTreeEdges;    //lightest first, used to find replacements
+    private long cost;
+
+    //link-cut tree
+    private int[] left, right, parent, value, best;
+    private boolean[] flip;
+    private boolean[] inTree;   //only set for edge nodes
+    private int[] chain;    //scratch space for splay
+    private int size;
+    private int[] free;
+    private int freeSize;
+
+    /**
+     * Builds the minimum spanning tree of the graph and keeps it current from here on
+     *
+     * Runtime : O( E log(V) )
+     *
+     * @param graph the undirected graph, changes to it should be made through this object
+     */
+    public DynamicMST(GraphInterface<T> graph){
+        if(graph.isDirected()) throw new IllegalArgumentException("The graph must be Undirected");
+        if(!(graph instanceof UndirectedGraph)) throw new IllegalArgumentException("The graph must be an UndirectedGraph, the tree is kept with its edges");
+        this.graph = (UndirectedGraph<T>) graph;
+
+        vertexNodes = new IdentityHashMap<>();
+        edgeNodes = new IdentityHashMap<>();
+        nodeEdges = new ArrayList<>();
+        nonTreeEdges = new TreeSet<>(Comparator.<Edge<T>>comparingInt(Edge::getWeight).thenComparingInt(edgeNodes::get));
+
+        int capacity = Math.max(16, this.graph.getVertices().size() + this.graph.getEdges().size());
+        left = new int[capacity];
+        right = new int[capacity];
+        parent = new int[capacity];
+        value = new int[capacity];
+        best = new int[capacity];
+        flip = new boolean[capacity];
+        inTree = new boolean[capacity];
+        chain = new int[capacity];
+        free = new int[16];
+
+        for(Vertex<T> v : this.graph.getVertices()) vertexNodes.put(v, newNode(Integer.MIN_VALUE, null));
+        for(Edge<T> e : this.graph.getEdges()) e.setState(EDGESTATE.UNEXPLORED);
+
+        ArrayList<Edge<T>> sorted = new ArrayList<>(this.graph.getEdges());
+        sorted.sort(null);
+        for(Edge<T> e : sorted) insert(e);
+    }
+
+    /**
+     * Adds a vertex to the graph, it starts as its own tree
+     * @param data  the data and or label of the new vertex
+     */
+    public void addVertex(T data){
+        graph.addVertex(data);
+        vertexNodes.put(graph.getVertex(data), newNode(Integer.MIN_VALUE, null));
+    }
+
+    /**
+     * Removes a vertex and all of its edges from the graph
+     *
+     * Runtime : O( V + E + deg(v) log(V) + k log(V) ) where k is the number of non tree edges checked for a
+     * replacement, the O(V + E) is the graph removing it
+     *
+     * @param data  the data and or label of the vertex
+     */
+    public void removeVertex(T data){
+        Vertex<T> v = graph.getVertex(data);
+        if(v == null) return;
+        int split = 0;  //tree edges taken out, each one split off a piece of the tree
+        for(Edge<T> e : v.incidentEdges()) if(take(e)) split++;
+        reconnect(split - 1);   //every piece but the vertex itself may have a way back
+        graph.removeVertex(data);
+        releaseNode(vertexNodes.remove(v));
+    }
+
+    /**
+     * Adds an edge with a weight of 1
+     * @param a the vertex data and or label
+     * @param b the vertex data and or label
+     * @return  true when the edge was added to the graph
+     */
+    public boolean addEdge(T a, T b){
+        return addEdge(a, b, 1);
+    }
+
+    /**
+     * Adds an edge to the graph and updates the tree
+     *
+     * Runtime : O(V) to add it to the graph, O( log(V) ) to update the tree
+     *
+     * @param a the vertex data and or label
+     * @param b the vertex data and or label
+     * @param weight    the weight of the edge
+     * @return  true when the edge was added to the graph
+     */
+    public boolean addEdge(T a, T b, int weight){
+        if(!graph.addEdge(a, b, weight)) return false;
+        insert(graph.getEdges().getLast());
+        return true;
+    }
+
+    /**
+     * Removes an edge from the graph and updates the tree
+     *
+     * Runtime : O( V + deg ) to find the edge, O(E) to remove it from the graph's edge list, O( k log(V) ) to
+     * update the tree where k is the number of non tree edges checked for a replacement
+     *
+     * @param a the vertex data and or label
+     * @param b the vertex data and or label
+     */
+    public void removeEdge(T a, T b){
+        Edge<T> e = graph.getEdge(a, b);
+        if(e == null) return;
+        delete(e);
+        graph.removeEdge(a, b);
+    }
+
+    /**
+     * Changes the weight of an edge and updates the tree
+     *
+     * Runtime : O( V + deg ) to find the edge, O( log(V) ) to update the tree unless a tree edge got heavier, then
+     * O( k log(V) ) where k is the number of non tree edges checked for a replacement
+     *
+     * @param a the vertex data and or label
+     * @param b the vertex data and or label
+     * @param weight    the new weight
+     */
+    public void setEdgeWeight(T a, T b, int weight){
+        Edge<T> e = graph.getEdge(a, b);
+        if(e == null) return;
+        Integer node = edgeNodes.get(e);
+
+        if(node != null && inTree[node] && weight <= e.getWeight()){  //a lighter tree edge stays in the tree
+            splay(node);
+            cost += (long) weight - e.getWeight();
+            e.setWeight(weight);
+            value[node] = weight;
+            pull(node);
+            return;
+        }
+        delete(e);
+        e.setWeight(weight);
+        insert(e);
+    }
+
+    /**
+     * Retrieves the edges currently in the tree
+     *
+     * Runtime : O(E)
+     *
+     * @return  the tree edges
+     */
+    public LinkedList<Edge<T>> minSpanningTree(){
+        LinkedList<Edge<T>> tree = new LinkedList<>();
+        for(Edge<T> e : graph.getEdges()) {
+            Integer node = edgeNodes.get(e);
+            if(node != null && inTree[node]) tree.add(e);
+        }
+        return tree;
+    }
+
+    /**
+     * Retrieves the total weight of the tree
+     *
+     * Runtime : O(1)
+     *
+     * @return  the cost
+     */
+    public long minSpanningTreeCost(){
+        return cost;
+    }
+
+    /**
+     * Checks if two vertices are in the same tree
+     *
+     * Runtime : O( V + log(V) )
+     *
+     * @param a the vertex data and or label
+     * @param b the vertex data and or label
+     * @return  true when there is a path between them
+     */
+    public boolean connected(T a, T b){
+        Vertex<T> va = graph.getVertex(a);
+        Vertex<T> vb = graph.getVertex(b);
+        if(va == null || vb == null) return false;
+        return findRoot(vertexNodes.get(va)) == findRoot(vertexNodes.get(vb));
+    }
+
+    /**
+     * Puts an edge into the tree when it is lighter than the heaviest edge on the cycle it closes
+     *
+     * Runtime : O( log(V) ) amortized
+     */
+    private void insert(Edge<T> e){
+        if(e.getA() == e.getB()) return;    //self loops are never part of a tree
+        int a = vertexNodes.get(e.getA());
+        int b = vertexNodes.get(e.getB());
+        int node = newNode(e.getWeight(), e);
+        edgeNodes.put(e, node);
+
+        if(findRoot(a) != findRoot(b)){
+            attach(e, node, a, b);
+            return;
+        }
+
+        int heaviest = pathMax(a, b);
+        if(value[heaviest] > e.getWeight()){    //the new edge is a better way across this cycle
+            Edge<T> old = nodeEdges.get(heaviest);
+            detach(old, heaviest);
+            nonTreeEdges.add(old);
+            attach(e, node, a, b);
+        }
+        else{
+            e.setState(EDGESTATE.RELAXED);
+            nonTreeEdges.add(e);
+        }
+    }
+
+    /**
+     * Takes an edge out of the structure, reconnecting the tree with the lightest replacement when needed
+     *
+     * Runtime : O( k log(V) ) amortized where k is the number of non tree edges checked
+     */
+    private void delete(Edge<T> e){
+        if(take(e)) reconnect(1);
+    }
+
+    /**
+     * Takes an edge out of the structure without looking for a replacement
+     *
+     * Runtime : O( log(V) ) amortized
+     *
+     * @return  true when it was a tree edge, the tree is split in two
+     */
+    private boolean take(Edge<T> e){
+        Integer node = edgeNodes.get(e);
+        if(node == null) return false;
+
+        boolean tree = inTree[node];
+        if(tree) detach(e, node);
+        else nonTreeEdges.remove(e);
+        e.setState(EDGESTATE.UNEXPLORED);
+        edgeNodes.remove(e);
+        releaseNode(node);
+        return tree;
+    }
+
+    /**
+     * Joins pieces of the tree with the lightest non tree edges between them, like Kruskal over the non tree edges
+     *
+     * Runtime : O( k log(V) ) amortized where k is the number of non tree edges checked, up to every one of them
+     *
+     * @param pieces    the most joins there can be, the search stops once they are made
+     */
+    private void reconnect(int pieces){
+        for(Iterator<Edge<T>> it = nonTreeEdges.iterator(); pieces > 0 && it.hasNext(); ){   //lightest first, so the first one across a cut is the best
+            Edge<T> candidate = it.next();
+            int a = vertexNodes.get(candidate.getA());
+            int b = vertexNodes.get(candidate.getB());
+            if(findRoot(a) != findRoot(b)){
+                it.remove();
+                attach(candidate, edgeNodes.get(candidate), a, b);
+                pieces--;
+            }
+        }
+    }
+
+    private void attach(Edge<T> e, int node, int a, int b){
+        link(a, node);
+        link(node, b);
+        inTree[node] = true;
+        e.setState(EDGESTATE.PATH);
+        cost += e.getWeight();
+    }
+
+    private void detach(Edge<T> e, int node){
+        cut(vertexNodes.get(e.getA()), node);
+        cut(node, vertexNodes.get(e.getB()));
+        inTree[node] = false;
+        e.setState(EDGESTATE.RELAXED);
+        cost -= e.getWeight();
+    }
+
+    /**
+     * Creates a node in the link-cut tree, reusing released ones first
+     */
+    private int newNode(int weight, Edge<T> edge){
+        int node;
+        if(freeSize > 0) node = free[--freeSize];
+        else {
+            node = size++;
+            if(node == left.length) grow();
+            nodeEdges.add(null);
+        }
+        left[node] = right[node] = parent[node] = NIL;
+        flip[node] = false;
+        inTree[node] = false;
+        value[node] = weight;
+        best[node] = node;
+        nodeEdges.set(node, edge);
+        return node;
+    }
+
+    private void releaseNode(Integer node){
+        if(node == null) return;
+        nodeEdges.set(node, null);
+        if(freeSize == free.length) free = Arrays.copyOf(free, freeSize * 2);
+        free[freeSize++] = node;
+    }
+
+    private void grow(){
+        int capacity = left.length * 2;
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        value = Arrays.copyOf(value, capacity);
+        best = Arrays.copyOf(best, capacity);
+        flip = Arrays.copyOf(flip, capacity);
+        inTree = Arrays.copyOf(inTree, capacity);
+        chain = new int[capacity];
+    }
+
+    private boolean isRoot(int x){
+        int p = parent[x];
+        return p == NIL || (left[p] != x && right[p] != x);
+    }
+
+    private void push(int x){
+        if(!flip[x]) return;
+        int temp = left[x];
+        left[x] = right[x];
+        right[x] = temp;
+        if(left[x] != NIL) flip[left[x]] ^= true;
+        if(right[x] != NIL) flip[right[x]] ^= true;
+        flip[x] = false;
+    }
+
+    private void pull(int x){
+        best[x] = x;
+        if(left[x] != NIL && value[best[left[x]]] > value[best[x]]) best[x] = best[left[x]];
+        if(right[x] != NIL && value[best[right[x]]] > value[best[x]]) best[x] = best[right[x]];
+    }
+
+    private void rotate(int x){
+        int p = parent[x];
+        int g = parent[p];
+        if(!isRoot(p)){
+            if(left[g] == p) left[g] = x;
+            else right[g] = x;
+        }
+        parent[x] = g;
+
+        if(left[p] == x){
+            left[p] = right[x];
+            if(right[x] != NIL) parent[right[x]] = p;
+            right[x] = p;
+        }
+        else {
+            right[p] = left[x];
+            if(left[x] != NIL) parent[left[x]] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        pull(p);
+        pull(x);
+    }
+
+    private void splay(int x){
+        int depth = 0;  //pending flips have to be pushed from the top of this splay tree down
+        chain[depth] = x;
+        for(int y = x; !isRoot(y); y = parent[y]) chain[++depth] = parent[y];
+        for(int i = depth; i >= 0; i--) push(chain[i]);
+
+        while(!isRoot(x)){
+            int p = parent[x];
+            if(!isRoot(p)){
+                int g = parent[p];
+                rotate(((left[p] == x) == (left[g] == p)) ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void access(int x){
+        int last = NIL;
+        for(int y = x; y != NIL; y = parent[y]){
+            splay(y);
+            right[y] = last;
+            pull(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private void makeRoot(int x){
+        access(x);
+        flip[x] ^= true;
+    }
+
+    private int findRoot(int x){
+        access(x);
+        push(x);
+        while(left[x] != NIL){
+            x = left[x];
+            push(x);
+        }
+        splay(x);
+        return x;
+    }
+
+    private void link(int x, int y){
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    private void cut(int x, int y){
+        makeRoot(x);
+        access(y);  //x is now the only node left of y
+        left[y] = NIL;
+        parent[x] = NIL;
+        pull(y);
+    }
+
+    private int pathMax(int x, int y){
+        makeRoot(x);
+        access(y);
+        return best[y];
+    }
+}
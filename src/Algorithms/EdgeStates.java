@@ -0,0 +1,100 @@
+package Algorithms;
+
+import Graph.DirectedGraph;
+import Graph.EDGESTATE;
+import Graph.UndirectedGraph;
+
+/**
+ * Writes the result of a search into the vertices and edges of a linked graph, so printing the graph shows it
+ *
+ * Every vertex gets its distance, the vertex and edge it was reached through and whether it was reached. An edge is
+ * PATH when a vertex was reached through it, RELAXED when it was looked at but a better way was kept, and
+ * UNEXPLORED when the search never reached it.
+ *
+ * @version 1.0
+ */
+final class EdgeStates {
+
+    static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private EdgeStates(){}
+
+    /**
+     * Runtime : O(V + E)
+     *
+     * @param distance  the distance of every vertex number | UNREACHABLE
+     * @param parent    the vertex number before every reached vertex | -1 at the start
+     */
+    static <T extends Comparable<T>> void mark(DirectedGraph<T> graph, long[] distance, int[] parent){
+        int n = graph.size();
+        for(int i = 0; i < n; i++) setDistance(graph.getVertexAt(i), distance[i], (distance[i] == UNREACHABLE || parent[i] == -1) ? null : graph.getVertexAt(parent[i]));
+        for(int i = 0; i < n; i++){
+            DirectedGraph.Vertex<T> v = graph.getVertexAt(i);
+            for(DirectedGraph.Edge<T> e : v.getEdgeList()){
+                DirectedGraph.Vertex<T> to = e.getTo();
+                if(!v.getIsVisited()) e.setEdgeState(EDGESTATE.UNEXPLORED);
+                else if(to.getShortestVertex() == v && to.getShortestEdge() == null && (long) v.getDistance() + e.getWeight() == to.getDistance()){
+                    to.setDistance(to.getDistance(), v, e);     //the first edge that gives the distance, there may be parallel ones
+                    e.setEdgeState(EDGESTATE.PATH);
+                }
+                else e.setEdgeState(EDGESTATE.RELAXED);
+            }
+        }
+    }
+
+    /**
+     * Runtime : O(V + E)
+     *
+     * @param distance  the distance of every vertex number | UNREACHABLE
+     * @param parent    the vertex number before every reached vertex | -1 at the start
+     */
+    static <T extends Comparable<T>> void mark(UndirectedGraph<T> graph, long[] distance, int[] parent){
+        int n = graph.size();
+        for(int i = 0; i < n; i++) setDistance(graph.getVertexAt(i), distance[i], (distance[i] == UNREACHABLE || parent[i] == -1) ? null : graph.getVertexAt(parent[i]));
+        for(UndirectedGraph.Edge<T> e : graph.getEdges()){
+            if(reachedThrough(e, e.getA(), e.getB()) || reachedThrough(e, e.getB(), e.getA())) e.setState(EDGESTATE.PATH);
+            else if(e.getA().getIsVisited() || e.getB().getIsVisited()) e.setState(EDGESTATE.RELAXED);
+            else e.setState(EDGESTATE.UNEXPLORED);
+        }
+    }
+
+    /**
+     * Checks if the edge is the way the search went from one end to the other, and records it when it is
+     */
+    private static <T extends Comparable<T>> boolean reachedThrough(UndirectedGraph.Edge<T> e, UndirectedGraph.Vertex<T> from, UndirectedGraph.Vertex<T> to){
+        if(to.getShortestVertex() != from || to.getShortestEdge() != null || (long) from.getDistance() + e.getWeight() != to.getDistance()) return false;
+        to.setDistance(to.getDistance(), from, e);
+        return true;
+    }
+
+    private static <T extends Comparable<T>> void setDistance(DirectedGraph.Vertex<T> v, long distance, DirectedGraph.Vertex<T> before){
+        v.setDistance((distance == UNREACHABLE) ? Integer.MAX_VALUE : Math.toIntExact(distance), before, null);
+        v.setVisited(distance != UNREACHABLE);
+    }
+
+    private static <T extends Comparable<T>> void setDistance(UndirectedGraph.Vertex<T> v, long distance, UndirectedGraph.Vertex<T> before){
+        v.setDistance((distance == UNREACHABLE) ? Integer.MAX_VALUE : Math.toIntExact(distance), before, null);
+        v.setVisited(distance != UNREACHABLE);
+    }
+
+    /**
+     * Puts every vertex back at an infinite distance and every edge back to UNEXPLORED
+     *
+     * Runtime : O(V + E)
+     */
+    static <T extends Comparable<T>> void reset(DirectedGraph<T> graph){
+        for(DirectedGraph.Vertex<T> v : graph.getVertices()){
+            v.setDistance(Integer.MAX_VALUE, null, null);
+            v.setVisited(false);
+            for(DirectedGraph.Edge<T> e : v.getEdgeList()) e.setEdgeState(EDGESTATE.UNEXPLORED);
+        }
+    }
+
+    static <T extends Comparable<T>> void reset(UndirectedGraph<T> graph){
+        for(UndirectedGraph.Vertex<T> v : graph.getVertices()){
+            v.setDistance(Integer.MAX_VALUE, null, null);
+            v.setVisited(false);
+        }
+        for(UndirectedGraph.Edge<T> e : graph.getEdges()) e.setState(EDGESTATE.UNEXPLORED);
+    }
+}
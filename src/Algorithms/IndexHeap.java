@@ -0,0 +1,124 @@
+package Algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Binary min heap of vertex numbers ordered by a long key, with decrease key
+ *
+ * Backed by plain arrays so pushing and polling does not allocate.
+ *
+ * @version 1.0
+ */
+public class IndexHeap {
+
+    private final int[] heap;       //vertex numbers in heap order
+    private final int[] position;   //where each vertex sits in the heap | -1 when it is not in the heap
+    private final long[] key;
+    private int size;
+
+    /**
+     * Creates an empty heap that can hold the vertices 0 to capacity - 1
+     * @param capacity  the number of vertices
+     */
+    public IndexHeap(int capacity){
+        heap = new int[capacity];
+        position = new int[capacity];
+        key = new long[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Adds a vertex or lowers its key when it is already in the heap
+     *
+     * Runtime : O( log(V) )
+     *
+     * @param v the vertex number
+     * @param k the key | ignored when higher than the key already held
+     */
+    public void push(int v, long k){
+        int i = position[v];
+        if(i == -1){
+            i = size++;
+            heap[i] = v;
+            position[v] = i;
+        }
+        else if(k >= key[v]) return;
+        key[v] = k;
+        siftUp(i);
+    }
+
+    /**
+     * Removes the vertex with the lowest key
+     *
+     * Runtime : O( log(V) )
+     *
+     * @return  the vertex number
+     */
+    public int poll(){
+        int top = heap[0];
+        position[top] = -1;
+        if(--size > 0){
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Retrieves the key of a vertex that is or was in the heap
+     * @param v the vertex number
+     * @return  the key
+     */
+    public long getKey(int v){
+        return key[v];
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Empties the heap
+     *
+     * Runtime : O(size)
+     */
+    public void clear(){
+        for(int i = 0; i < size; i++) position[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int i){
+        int v = heap[i];
+        long k = key[v];
+        while(i > 0){
+            int p = (i - 1) >>> 1;
+            if(key[heap[p]] <= k) break;
+            heap[i] = heap[p];
+            position[heap[i]] = i;
+            i = p;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+
+    private void siftDown(int i){
+        int v = heap[i];
+        long k = key[v];
+        int half = size >>> 1;
+        while(i < half){
+            int c = 2 * i + 1;
+            if(c + 1 < size && key[heap[c + 1]] < key[heap[c]]) c++;
+            if(key[heap[c]] >= k) break;
+            heap[i] = heap[c];
+            position[heap[i]] = i;
+            i = c;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+}
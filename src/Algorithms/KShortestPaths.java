@@ -0,0 +1,367 @@
+package Algorithms;
+
+import Graph.CompactGraph;
+import Graph.GraphInterface;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds the k shortest loopless paths between two vertices with Yen's algorithm
+ *
+ * One shortest path tree towards the end vertex is built per query on the reversed graph. Its distances guide every
+ * spur search as an A* estimate, and when the tree path from a spur vertex avoids everything that is masked off it is
+ * taken as is without searching at all. Vertices on the root path and edges used by earlier paths are masked with
+ * stamps instead of being removed from a copy of the graph. The spur searches of one round run in parallel.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class KShortestPaths<T extends Comparable<T>> {
+
+    private static final long UNREACHABLE = ShortestPathSearch.UNREACHABLE;
+
+    private final CompactGraph<T> graph;
+    private final CompactGraph<T> reverse;
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    private final ConcurrentLinkedQueue<SpurSearch> idle;   //spur searches are reused between rounds and queries
+
+    /**
+     * Takes a read only copy of a directed or undirected graph, renumbered with CompactGraph.ordered
+     * @param graph the graph to search
+     */
+    public KShortestPaths(GraphInterface<T> graph){
+        this(CompactGraph.ordered(graph));
+    }
+
+    /**
+     * Searches a compact graph, running spur searches on the common fork join pool
+     * @param graph the graph to search
+     */
+    public KShortestPaths(CompactGraph<T> graph){
+        this(graph, ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Searches a compact graph
+     * @param graph the graph to search
+     * @param executor  runs the spur searches
+     * @param parallelism   the most spur searches that run at once
+     */
+    public KShortestPaths(CompactGraph<T> graph, ExecutorService executor, int parallelism){
+        if(graph.hasNegativeWeights()) throw new IllegalStateException("There can be no weights below 0 for Yen's Algorithm");
+        if(parallelism < 1) throw new IllegalArgumentException("The parallelism must be at least 1");
+        this.graph = graph;
+        this.reverse = graph.reverse();
+        this.executor = executor;
+        this.parallelism = parallelism;
+        idle = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Finds up to k loopless paths from start to end, shortest first
+     *
+     * Runtime : O( k * V * (V + E) log(V) ) worst case, spur searches that can use the tree are O(V)
+     *
+     * @param from  the start vertex data and or label
+     * @param to    the end vertex data and or label
+     * @param k     the number of paths wanted
+     * @return  the paths, fewer than k when there are not that many | empty when there is no path
+     */
+    public List<Path<T>> shortestPaths(T from, T to, int k){
+        return shortestPaths(from, to, k, Deadline.NONE);
+    }
+
+    /**
+     * Same as shortestPaths but gives up once the deadline passes. The paths found before then are still the
+     * shortest ones in order, there are just fewer of them
+     *
+     * Runtime : O( k * V * (V + E) log(V) ) at most
+     *
+     * @param from  the start vertex data and or label
+     * @param to    the end vertex data and or label
+     * @param k     the number of paths wanted
+     * @param deadline  checked every Deadline.CHECK_EVERY edges of every search
+     * @return  the paths, fewer than k when there are not that many or the deadline passed first
+     */
+    public List<Path<T>> shortestPaths(T from, T to, int k, Deadline deadline){
+        List<Path<T>> found = new ArrayList<>();
+        int source = graph.indexOf(from);
+        int target = graph.indexOf(to);
+        if(source == -1 || target == -1 || k < 1) return found;
+
+        ShortestPathSearch<T> tree = new ShortestPathSearch<>(reverse);
+        tree.search(target, -1, deadline);  //distance from every vertex to the end
+        if(tree.wasStopped() || tree.getDistance(source) == UNREACHABLE) return found;
+
+        List<Candidate> accepted = new ArrayList<>();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        HashSet<Candidate> seen = new HashSet<>();
+
+        Candidate first = treePath(tree, new int[]{source}, new long[]{0}, 0);
+        accepted.add(first);
+        seen.add(first);
+
+        while(accepted.size() < k){
+            Candidate last = accepted.get(accepted.size() - 1);
+            List<Candidate> round = spurRound(tree, accepted, last, target, deadline);
+            if(round == null) break;    //a spur search was stopped, the next shortest path could be missing
+            for(Candidate c : round) if(seen.add(c)) candidates.add(c);
+            if(candidates.isEmpty()) break;
+            accepted.add(candidates.poll());
+        }
+
+        for(Candidate c : accepted){
+            LinkedList<T> path = new LinkedList<>();
+            for(int v : c.vertices) path.add(graph.getLabel(v));
+            found.add(new Path<>(path, c.cost));
+        }
+        return found;
+    }
+
+    /**
+     * Runs one spur search for every vertex of the last accepted path except the end
+     * @return  the candidates found | null when the deadline stopped a spur search
+     */
+    private List<Candidate> spurRound(ShortestPathSearch<T> tree, List<Candidate> accepted, Candidate last, int target, Deadline deadline){
+        int spurs = last.vertices.length - 1;
+        Candidate[] results = new Candidate[spurs];
+        AtomicInteger next = new AtomicInteger();
+        AtomicBoolean stopped = new AtomicBoolean();
+        Runnable worker = () -> {
+            SpurSearch search = idle.poll();
+            if(search == null) search = new SpurSearch();
+            try {
+                for(int i = next.getAndIncrement(); i < spurs && !stopped.get(); i = next.getAndIncrement()) {
+                    results[i] = search.spur(tree, accepted, last, i, target, deadline, stopped);
+                }
+            } finally {
+                idle.add(search);
+            }
+        };
+
+        int workers = Math.min(parallelism, spurs);
+        if(workers <= 1) worker.run();
+        else {
+            List<Future<?>> running = new ArrayList<>(workers - 1);
+            for(int i = 1; i < workers; i++) running.add(executor.submit(worker));
+            worker.run();   //the calling thread does its share
+            try {
+                for(Future<?> f : running) f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("The search was interrupted", e);
+            } catch (ExecutionException e) {
+                if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        if(stopped.get()) return null;
+        List<Candidate> list = new ArrayList<>(spurs);
+        for(Candidate c : results) if(c != null) list.add(c);
+        return list;
+    }
+
+    /**
+     * Extends a root path to the end by following the shortest path tree
+     *
+     * Runtime : O(V)
+     */
+    private Candidate treePath(ShortestPathSearch<T> tree, int[] root, long[] rootCosts, int spurIndex){
+        int spur = root[spurIndex];
+        long spurCost = rootCosts[spurIndex];
+        long toEnd = tree.getDistance(spur);
+
+        int length = spurIndex + 1;
+        for(int v = spur; tree.getParent(v) != -1; v = tree.getParent(v)) length++;
+
+        int[] vertices = Arrays.copyOf(root, length);
+        long[] costs = Arrays.copyOf(rootCosts, length);
+        int i = spurIndex;
+        for(int v = tree.getParent(spur); v != -1; v = tree.getParent(v)){
+            vertices[++i] = v;
+            costs[i] = spurCost + toEnd - tree.getDistance(v);
+        }
+        return new Candidate(vertices, costs);
+    }
+
+
+    /**
+     * The scratch space one worker needs for spur searches, sized to the graph once
+     */
+    private class SpurSearch {
+        private final long[] distance = new long[graph.size()];
+        private final int[] parent = new int[graph.size()];
+        private final int[] reached = new int[graph.size()];
+        private final int[] settled = new int[graph.size()];
+        private final int[] blockedVertex = new int[graph.size()];
+        private final int[] blockedNext = new int[graph.size()];    //edges leaving the spur vertex towards these are masked
+        private final IndexHeap heap = new IndexHeap(graph.size());
+        private int mark;
+        private int budget = Deadline.CHECK_EVERY;     //edges left before the deadline is read again
+
+        /**
+         * Finds the best path that follows the last path up to its i-th vertex and then leaves it
+         *
+         * Runtime : O( (V + E) log(V) ), O(V) when the tree path can be used
+         *
+         * @return  the candidate | null when there is none or the search was stopped, which sets stopped
+         */
+        Candidate spur(ShortestPathSearch<T> tree, List<Candidate> accepted, Candidate last, int i, int target, Deadline deadline, AtomicBoolean stopped){
+            mark++;
+            int spur = last.vertices[i];
+            for(int r = 0; r < i; r++) blockedVertex[last.vertices[r]] = mark;
+            for(Candidate p : accepted){    //no repeating a path that shares this root
+                if(p.vertices.length > i + 1 && Arrays.equals(p.vertices, 0, i + 1, last.vertices, 0, i + 1)) {
+                    blockedNext[p.vertices[i + 1]] = mark;
+                }
+            }
+
+            if(treeIsClear(tree, spur)) return treePath(tree, last.vertices, last.costs, i);
+            if(!aStar(tree, spur, target, deadline, stopped)) return null;
+
+            int length = i + 1;
+            for(int v = target; v != spur; v = parent[v]) length++;
+            int[] vertices = Arrays.copyOf(last.vertices, length);
+            long[] costs = Arrays.copyOf(last.costs, length);
+            long rootCost = last.costs[i];
+            int j = length - 1;
+            for(int v = target; v != spur; v = parent[v], j--){
+                vertices[j] = v;
+                costs[j] = rootCost + distance[v];
+            }
+            return new Candidate(vertices, costs);
+        }
+
+        /**
+         * Checks if the tree path from the spur vertex avoids every masked vertex and edge
+         */
+        private boolean treeIsClear(ShortestPathSearch<T> tree, int spur){
+            if(tree.getDistance(spur) == UNREACHABLE) return false;
+            int first = tree.getParent(spur);
+            if(first != -1 && blockedNext[first] == mark) return false;
+            for(int v = first; v != -1; v = tree.getParent(v)) if(blockedVertex[v] == mark) return false;
+            return true;
+        }
+
+        /**
+         * A* from the spur vertex to the end guided by the tree distances, skipping masked vertices and edges
+         */
+        private boolean aStar(ShortestPathSearch<T> tree, int spur, int target, Deadline deadline, AtomicBoolean stopped){
+            heap.clear();
+            distance[spur] = 0;
+            reached[spur] = mark;
+            heap.push(spur, tree.getDistance(spur));
+            while(!heap.isEmpty()){
+                int v = heap.poll();
+                if(v == target) return true;
+                settled[v] = mark;
+                long d = distance[v];
+                for(int e = graph.firstEdge(v), end = graph.lastEdge(v); e < end; e++){
+                    if(--budget == 0){
+                        budget = Deadline.CHECK_EVERY;
+                        if(deadline.isExpired()){
+                            stopped.set(true);
+                            return false;
+                        }
+                    }
+                    int next = graph.getTarget(e);
+                    if(blockedVertex[next] == mark || settled[next] == mark) continue;
+                    if(v == spur && blockedNext[next] == mark) continue;
+                    long estimate = tree.getDistance(next);
+                    if(estimate == UNREACHABLE) continue;   //the end can not be reached from there
+                    long candidate = d + graph.getWeight(e);
+                    if(reached[next] != mark || candidate < distance[next]){
+                        reached[next] = mark;
+                        distance[next] = candidate;
+                        parent[next] = v;
+                        heap.push(next, candidate + estimate);
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+
+    /**
+     * A path waiting to be accepted, ordered by cost then by length
+     */
+    private static class Candidate implements Comparable<Candidate> {
+        private final int[] vertices;
+        private final long[] costs;     //cost from the start to each vertex on the path
+        private final long cost;
+
+        Candidate(int[] vertices, long[] costs){
+            this.vertices = vertices;
+            this.costs = costs;
+            cost = costs[costs.length - 1];
+        }
+
+        @Override
+        public int compareTo(Candidate c){
+            int compare = Long.compare(cost, c.cost);
+            return (compare != 0) ? compare : Integer.compare(vertices.length, c.vertices.length);
+        }
+
+        @Override
+        public boolean equals(Object o){
+            return o instanceof Candidate && Arrays.equals(vertices, ((Candidate) o).vertices);
+        }
+
+        @Override
+        public int hashCode(){
+            return Arrays.hashCode(vertices);
+        }
+    }
+
+
+    /**
+     * One of the k paths
+     * @param <T>   The type for the graph
+     */
+    public static class Path<T> {
+        private final LinkedList<T> path;
+        private final long cost;
+
+        private Path(LinkedList<T> path, long cost){
+            this.path = path;
+            this.cost = cost;
+        }
+
+        /**
+         * Retrieves the path
+         * @return  the data and or labels from start to end
+         */
+        public LinkedList<T> getPath(){
+            return path;
+        }
+
+        /**
+         * Retrieves the cost of the path
+         * @return  the cost
+         */
+        public long getCost(){
+            return cost;
+        }
+
+        @Override
+        public String toString(){
+            return path + " (" + cost + ")";
+        }
+    }
+}
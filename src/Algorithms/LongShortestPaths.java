@@ -0,0 +1,169 @@
+package Algorithms;
+
+import Graph.LongWeightedGraph;
+
+import java.util.LinkedList;
+
+/**
+ * Shortest paths over a LongWeightedGraph with long distances that never box or overflow
+ *
+ * Dijkstra is used when every weight is at least 0, otherwise a queue based Bellman-Ford. Unreachable vertices
+ * stay at LongWeightedGraph.INFINITY and sums saturate there, so a path can never wrap around to a negative cost.
+ * One instance runs one search at a time. The loops are shared with ShortestPathSearch through SearchKernel.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class LongShortestPaths<T extends Comparable<T>> extends SearchKernel {
+
+    private static final long INFINITY = LongWeightedGraph.INFINITY;
+
+    private final LongWeightedGraph<T> graph;
+
+    private long[] distance;
+    private long d;     //distance of the vertex whose edges are being walked
+    private int opened; //the vertex whose edges are being walked
+    private int arc;    //the edge being walked | -2 before the first
+
+    /**
+     * Creates a search over the graph, vertices added later are picked up by the next search
+     * @param graph the graph to search
+     */
+    public LongShortestPaths(LongWeightedGraph<T> graph){
+        this.graph = graph;
+        allocate(Math.max(1, graph.size()));
+    }
+
+    @Override
+    void allocate(int n){
+        super.allocate(n);
+        distance = new long[n];
+    }
+
+    /**
+     * Finds the shortest distances from one vertex
+     *
+     * Runtime : O( (V + E) log(V) ) with Dijkstra, O( V * E ) with Bellman-Ford
+     *
+     * @param from  the number of the start vertex
+     * @param to    the number of the end vertex, the search may stop once it is settled | -1 to reach everything
+     * @return  true when the end vertex was reached
+     */
+    public boolean search(int from, int to){
+        walk(from, to, Deadline.NONE);
+        return to == -1 || getDistance(to) != INFINITY;
+    }
+
+    /**
+     * Retrieves the distance found by the last search
+     * @param v the number of the vertex
+     * @return  the distance | INFINITY when the last search did not reach it
+     */
+    public long getDistance(int v){
+        return reached(v) ? distance[v] : INFINITY;
+    }
+
+    /**
+     * Retrieves the vertex before this one on the path found by the last search
+     * @param v the number of the vertex
+     * @return  the number of the vertex before | -1 for the start vertex or when not reached
+     */
+    public int getParent(int v){
+        return parentOf(v);
+    }
+
+    /**
+     * Retrieves the path found by the last search
+     *
+     * Runtime : O(V)
+     *
+     * @param to    the number of the end vertex
+     * @return  the data and or labels from start to end | null when not reached or a stopped search left it in a negative cycle
+     */
+    public LinkedList<T> getPath(int to){
+        return reached(to) ? path(to, graph::getLabel) : null;
+    }
+
+    /**
+     * Writes the vertex numbers of the path found by the last search into the caller's array
+     * @param to    the number of the end vertex
+     * @param path  filled from index 0, room for every vertex always fits
+     * @return  the number of vertices on the path | -1 when not reached or a stopped search left it in a negative cycle
+     */
+    public int getPath(int to, int[] path){
+        return reached(to) ? path(to, path) : -1;
+    }
+
+    /**
+     * Solves for the shortest path between two vertices
+     * @param from  the start vertex data and or label
+     * @param to    the end vertex data and or label
+     * @return  the data and or labels from start to end | null when there is no path
+     */
+    public LinkedList<T> shortestPath(T from, T to){
+        int f = graph.indexOf(from);
+        int t = graph.indexOf(to);
+        if(f == -1 || t == -1 || !search(f, t)) return null;
+        return getPath(t);
+    }
+
+    /**
+     * Solves for the cost of the shortest path between two vertices
+     * @param from  the start vertex data and or label
+     * @param to    the end vertex data and or label
+     * @return  the cost | INFINITY when there is no path
+     */
+    public long shortestPathCost(T from, T to){
+        int f = graph.indexOf(from);
+        int t = graph.indexOf(to);
+        if(f == -1 || t == -1 || !search(f, t)) return INFINITY;
+        return getDistance(t);
+    }
+
+
+    @Override
+    int size(){
+        return graph.size();
+    }
+
+    @Override
+    boolean hasNegativeWeights(){
+        return graph.hasNegativeWeights();
+    }
+
+    @Override
+    void open(int v){
+        d = distance[v];
+        arc = -2;   //advance starts from the first arc
+        opened = v;
+    }
+
+    @Override
+    boolean advance(){
+        arc = (arc == -2) ? graph.firstArc(opened) : graph.nextArc(arc);
+        return arc != -1;
+    }
+
+    @Override
+    int target(){
+        return graph.getTarget(arc);
+    }
+
+    @Override
+    void setZero(int v){
+        distance[v] = 0;
+    }
+
+    @Override
+    boolean improve(int next, boolean reached){
+        long candidate = LongWeightedGraph.add(d, graph.getWeight(arc));
+        if(candidate >= (reached ? distance[next] : INFINITY)) return false;
+        distance[next] = candidate;
+        return true;
+    }
+
+    @Override
+    long key(int v){
+        return distance[v];
+    }
+}
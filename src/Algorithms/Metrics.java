@@ -0,0 +1,189 @@
+package Algorithms;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals of the work done by Dijkstra, BellmanFord, DAG and PrimJarnik queries
+ *
+ * Off by default. While off a query only bumps a few int fields of its own algorithm, nothing is shared and the
+ * clock is not read. Once on, every finished query adds its counts here, where they can be polled by name. Every
+ * query is also a QueryEvent for Java Flight Recorder, which is controlled by the recording rather than by this.
+ *
+ * @version 1.0
+ */
+public class Metrics {
+
+    private static volatile boolean enabled;
+    private static final ConcurrentHashMap<String, Counters> counters = new ConcurrentHashMap<>();
+
+    private Metrics(){}
+
+    public static boolean isEnabled(){
+        return enabled;
+    }
+
+    /**
+     * Turns the totals on or off, the totals kept so far are not cleared
+     * @param on    true to start adding up queries
+     */
+    public static void setEnabled(boolean on){
+        enabled = on;
+    }
+
+    /**
+     * Clears every total
+     */
+    public static void reset(){
+        for(Counters c : counters.values()) c.reset();
+    }
+
+    /**
+     * Retrieves the totals of one algorithm
+     * @param algorithm the simple class name, for example Dijkstra
+     * @return  the totals so far, all zero when it has not run
+     */
+    public static Snapshot get(String algorithm){
+        return counters(algorithm).snapshot(algorithm);
+    }
+
+    /**
+     * Retrieves the totals of every algorithm that has been created
+     * @return  the totals by algorithm name
+     */
+    public static Map<String, Snapshot> getAll(){
+        Map<String, Snapshot> all = new TreeMap<>();
+        counters.forEach((name, c) -> all.put(name, c.snapshot(name)));
+        return all;
+    }
+
+    static Counters counters(String algorithm){
+        return counters.computeIfAbsent(algorithm, name -> new Counters());
+    }
+
+
+    /**
+     * The live totals of one algorithm, LongAdders so queries on many threads do not fight over one value
+     */
+    static class Counters {
+        private final LongAdder queries = new LongAdder();
+        private final LongAdder settled = new LongAdder();
+        private final LongAdder relaxed = new LongAdder();
+        private final LongAdder pushes = new LongAdder();
+        private final LongAdder pops = new LongAdder();
+        private final LongAdder iterations = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(Probe probe, long elapsed){
+            queries.increment();
+            settled.add(probe.settled);
+            relaxed.add(probe.relaxed);
+            pushes.add(probe.pushes);
+            pops.add(probe.pops);
+            iterations.add(probe.iterations);
+            nanos.add(elapsed);
+            maxNanos.accumulate(elapsed);
+        }
+
+        private void reset(){
+            queries.reset();
+            settled.reset();
+            relaxed.reset();
+            pushes.reset();
+            pops.reset();
+            iterations.reset();
+            nanos.reset();
+            maxNanos.reset();
+        }
+
+        private Snapshot snapshot(String algorithm){
+            return new Snapshot(algorithm, queries.sum(), settled.sum(), relaxed.sum(), pushes.sum(), pops.sum(), iterations.sum(), nanos.sum(), maxNanos.get());
+        }
+    }
+
+
+    /**
+     * The totals of one algorithm at the time they were polled
+     */
+    public static class Snapshot {
+        private final String algorithm;
+        private final long queries;
+        private final long settled;
+        private final long relaxed;
+        private final long pushes;
+        private final long pops;
+        private final long iterations;
+        private final long nanos;
+        private final long maxNanos;
+
+        private Snapshot(String algorithm, long queries, long settled, long relaxed, long pushes, long pops, long iterations, long nanos, long maxNanos){
+            this.algorithm = algorithm;
+            this.queries = queries;
+            this.settled = settled;
+            this.relaxed = relaxed;
+            this.pushes = pushes;
+            this.pops = pops;
+            this.iterations = iterations;
+            this.nanos = nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public String getAlgorithm(){
+            return algorithm;
+        }
+
+        public long getQueries(){
+            return queries;
+        }
+
+        public long getVerticesSettled(){
+            return settled;
+        }
+
+        public long getEdgesRelaxed(){
+            return relaxed;
+        }
+
+        public long getHeapPushes(){
+            return pushes;
+        }
+
+        public long getHeapPops(){
+            return pops;
+        }
+
+        /**
+         * Retrieves the passes over the edges, only Bellman-Ford makes more than one
+         * @return  the number of passes
+         */
+        public long getIterations(){
+            return iterations;
+        }
+
+        /**
+         * Retrieves the wall time of every query added together
+         * @return  the time in nanoseconds
+         */
+        public long getTotalNanos(){
+            return nanos;
+        }
+
+        /**
+         * Retrieves the wall time of the slowest query
+         * @return  the time in nanoseconds
+         */
+        public long getMaxNanos(){
+            return maxNanos;
+        }
+
+        @Override
+        public String toString(){
+            return algorithm + " : " + queries + " queries, " + settled + " settled, " + relaxed + " relaxed, " + pushes + " pushes, "
+                    + pops + " pops, " + iterations + " iterations, " + nanos + " ns total, " + maxNanos + " ns max";
+        }
+    }
+}
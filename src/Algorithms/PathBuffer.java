@@ -0,0 +1,111 @@
+package Algorithms;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.function.IntFunction;
+
+/**
+ * A path that can be filled again and again without allocating
+ *
+ * Pass the same buffer to every query. It only grows when a path is longer than any before it, so once it has
+ * reached the longest path no more memory is taken.
+ *
+ * @param <V>   The type of the vertices on the path
+ * @version 1.0
+ */
+public class PathBuffer<V> {
+
+    private Object[] items;
+    private int size;
+
+    public PathBuffer(){
+        this(16);
+    }
+
+    /**
+     * Creates an empty buffer
+     * @param capacity  the number of vertices it can hold before it grows
+     */
+    public PathBuffer(int capacity){
+        items = new Object[Math.max(1, capacity)];
+    }
+
+    /**
+     * Retrieves a vertex of the path
+     * @param i the position, 0 is the start
+     * @return  the vertex
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int i){
+        if(i < 0 || i >= size) throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + size);
+        return (V) items[i];
+    }
+
+    public int size(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    public void clear(){
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Copies the path into a new list, for callers of the list based methods
+     * @return  the vertices from start to end
+     */
+    public LinkedList<V> toList(){
+        LinkedList<V> list = new LinkedList<>();
+        for(int i = 0; i < size; i++) list.add(get(i));
+        return list;
+    }
+
+    /**
+     * Fills the buffer with the data and or labels found by following a parent array back from the end
+     *
+     * Runtime : O(path)
+     *
+     * @param parent    the vertex before every vertex | -1 at the start
+     * @param to    the number of the end vertex
+     * @param label gives the data and or label of a vertex number
+     * @param limit the most vertices a path can have, guards against parents that loop
+     * @return  the number of vertices on the path | -1 when it is longer than the limit
+     */
+    int trace(int[] parent, int to, IntFunction<V> label, int limit){
+        clear();
+        for(int v = to; v != -1; v = parent[v]) if(++size > limit){
+            size = 0;
+            return -1;
+        }
+        if(size > items.length) items = new Object[Math.max(size, items.length * 2)];
+        for(int v = to, i = size; v != -1; v = parent[v]) items[--i] = label.apply(v);
+        return size;
+    }
+
+    /**
+     * Writes the path to a vertex into an array by following a parent array
+     *
+     * Runtime : O(path)
+     *
+     * @param parent    the vertex before every vertex | -1 at the start
+     * @param to    the number of the end vertex
+     * @param path  filled from index 0 with the numbers from start to end
+     * @return  the number of vertices on the path
+     */
+    static int trace(int[] parent, int to, int[] path){
+        int length = 0;
+        for(int v = to; v != -1; v = parent[v]) length++;
+        if(length > path.length) throw new IllegalArgumentException("The path has " + length + " vertices, the buffer only holds " + path.length);
+        for(int v = to, i = length; v != -1; v = parent[v]) path[--i] = v;
+        return length;
+    }
+
+    @Override
+    public String toString(){
+        return Arrays.toString(Arrays.copyOf(items, size));
+    }
+}
@@ -1,104 +1,204 @@
 package Algorithms;
 
-import Graph.EDGESTATE;
-import Graph.GraphInterface;
+import Graph.Adjacency;
+import Graph.NeighborCursor;
 import Graph.UndirectedGraph;
 import Graph.UndirectedGraph.Vertex;
-import Graph.UndirectedGraph.Edge;
 
+import java.util.Arrays;
 import java.util.LinkedList;
-import java.util.PriorityQueue;
 
+/**
+ * Prim Jarnik Minimum Spanning Tree Algorithm
+ *
+ * Walks the graph through its NeighborCursor, so the same kernel runs over undirected, compact and compressed
+ * graphs. Every vertex not yet in the tree is kept in the heap once, keyed by the lightest edge reaching it from the
+ * tree. One instance answers one query at a time. The label methods and the cost only read the graph. Over an
+ * UndirectedGraph the Vertex method also writes the tree into the graph, its edges marked PATH, so printing it shows
+ * the tree. A query given a Deadline checks it while walking edges and stops early with the part of the tree grown
+ * so far.
+ *
+ * @version 1.0
+ * @param <T>
+ */
 public class PrimJarnik<T extends Comparable<T>> {
 
-    private final UndirectedGraph<T> graph;
-    private final LinkedList<Vertex<T>> vertices;
-    private final LinkedList<Edge<T>> edges;
+    private static final long UNREACHABLE = Long.MAX_VALUE;
 
-    private final PriorityQueue<Edge<T>> hold;
+    private final Adjacency<T> graph;
+    private final UndirectedGraph<T> linked;    //the same graph when it is an UndirectedGraph, the Vertex method marks it | null
+    private final NeighborCursor cursor;
+    private final Probe probe = new Probe("PrimJarnik");
 
+    private long[] key;     //weight of the lightest edge from the tree
+    private int[] parent;   //the tree end of that edge | -1 for the start
+    private int[] joined;   //the vertices in the order they joined the tree
+    private int count;      //the number of them
+    private boolean[] inTree;
+    private IndexHeap hold;
+    private long cost;
+    private boolean stopped;    //the last tree was cut short by its deadline
 
-    public PrimJarnik(GraphInterface<T> graph){
-        if(graph.getClass() != UndirectedGraph.class) throw new IllegalArgumentException("The graph must be Undirected");
-        this.graph = (UndirectedGraph<T>) graph;
-        vertices = this.graph.getVertices();
-        edges = this.graph.getEdges();
-        hold = new PriorityQueue<>();
+
+    /**
+     * Creates a solver for an undirected graph
+     * @param graph the graph to span
+     */
+    public PrimJarnik(Adjacency<T> graph){
+        if(graph.isDirected()) throw new IllegalArgumentException("The graph must be Undirected");
+        this.graph = graph;
+        this.linked = (graph instanceof UndirectedGraph) ? (UndirectedGraph<T>) graph : null;
+        this.cursor = graph.cursor();
+        allocate(Math.max(1, graph.size()));
+    }
+
+    private void allocate(int n){
+        key = new long[n];
+        parent = new int[n];
+        joined = new int[n];
+        inTree = new boolean[n];
+        hold = new IndexHeap(n);
     }
 
     /**
-     *Solves for the shortest path using the Prim Jerkin's algorithm
+     *Solves for the minimum spanning tree using the Prim Jarnik algorithm, marking the vertices and edges of the graph
      *
      * Runtime : O( E log(V) )
      *
      * @param start the start vertex label
-     * @return  the minimum spanning tree path
+     * @return  the vertices in the order they joined the tree | null when the start does not exist
+     * @throws IllegalStateException    when the graph is not an UndirectedGraph, use minSpanningTreeLabels
      */
-    public LinkedList<Vertex<T>>  minSpanningTree(T start){
-        Vertex<T> v = graph.getVertex(start);
-        if(v == null) return null;
-        LinkedList<Vertex<T>> path = new LinkedList<>();
-        v.setDistance(0, null, null);
-        getEdges(v);
-        path.add(v);
-
-        while(!hold.isEmpty()){
-            Edge<T> currentEdge = hold.poll();
-
-            //when both vertices have been visited we already have the best path for them
-            if(currentEdge.getA().getIsVisited() && currentEdge.getB().getIsVisited()) {
-                currentEdge.setState(EDGESTATE.RELAXED);
-                continue;
+    public LinkedList<Vertex<T>> minSpanningTree(T start){
+        if(linked == null) throw new IllegalStateException("Only an UndirectedGraph has vertices to mark, use minSpanningTreeLabels");
+        probe.start(start, null);
+        try {
+            if(spanningTree(start, Deadline.NONE) == null) return null;
+
+            long[] along = new long[graph.size()];  //the distance from the start through the tree, what the vertices hold
+            Arrays.fill(along, EdgeStates.UNREACHABLE);
+            LinkedList<Vertex<T>> tree = new LinkedList<>();
+            for(int i = 0; i < count; i++){
+                int v = joined[i];
+                along[v] = (parent[v] == -1) ? 0 : along[parent[v]] + key[v];
+                tree.addLast(linked.getVertexAt(v));
             }
+            EdgeStates.mark(linked, along, parent);
+            return tree;
+        } finally {
+            probe.finish();
+        }
+    }
 
-            Vertex<T> from = (currentEdge.getA().getIsVisited()) ? currentEdge.getA() : currentEdge.getB();
-            Vertex<T> to = (from == currentEdge.getB()) ? currentEdge.getA() : currentEdge.getB();
+    /**
+     *Solves for the minimum spanning tree using the Prim Jarnik algorithm, only reading the graph
+     *
+     * Runtime : O( E log(V) )
+     *
+     * @param start the start vertex label
+     * @return  the data and or labels in the order they joined the tree | null when the start does not exist
+     */
+    public LinkedList<T> minSpanningTreeLabels(T start){
+        probe.start(start, null);
+        try {
+            return spanningTree(start, Deadline.NONE);
+        } finally {
+            probe.finish();
+        }
+    }
 
-            if(from.getDistance() + currentEdge.getWeight() < to.getDistance()) {
-                to.setDistance(from.getDistance() + currentEdge.getWeight(), from, currentEdge);
-                currentEdge.setState(EDGESTATE.PATH);
+    /**
+     * Grows the tree from the start, stopped is set when the deadline ran out first
+     */
+    private LinkedList<T> spanningTree(T start, Deadline deadline){
+        int s = graph.indexOf(start);
+        if(s == -1) return null;
+        int n = graph.size();
+        if(n > key.length) allocate(n);
+        Arrays.fill(key, 0, n, UNREACHABLE);
+        Arrays.fill(inTree, 0, n, false);
+        hold.clear();
+        cost = 0;
+        count = 0;
+        stopped = false;
+
+        LinkedList<T> tree = new LinkedList<>();
+        key[s] = 0;
+        parent[s] = -1;
+        hold.push(s, 0);
+        probe.pushes++;
+        probe.iterations++;
+
+        int budget = Deadline.CHECK_EVERY;
+        while(!hold.isEmpty()){
+            int v = hold.poll();
+            probe.pops++;
+            probe.settled++;
+            inTree[v] = true;
+            joined[count++] = v;
+            cost += key[v];
+            tree.addLast(graph.getLabel(v));
+
+            cursor.reset(v);
+            while(cursor.next()){
+                if(--budget == 0){
+                    budget = Deadline.CHECK_EVERY;
+                    if(deadline.isExpired()){
+                        stopped = true;
+                        return tree;
+                    }
+                }
+                int next = cursor.getTarget();
+                int weight = cursor.getWeight();
+                if(inTree[next] || weight >= key[next]) continue;   //when both ends are in the tree we already have the best edge for them
+                if(key[next] == UNREACHABLE) probe.pushes++;
+                key[next] = weight;
+                parent[next] = v;
+                hold.push(next, weight);
+                probe.relaxed++;
             }
-            getEdges(to);
-            path.addLast(to);
         }
 
-        return path;
+        return tree;
     }
 
     /**
-     * Retrieves all the edges for this vertex
+     * Solves for the total weight of the minimum spanning tree of the vertices reachable from the start
      *
-     * Runtime : O(E)
+     * Runtime : O( E log(V) )
      *
-     * @param vertex    the vertex of the nodes you want
+     * @param start the start vertex label
+     * @return  the cost | null when the start does not exist
      */
-    private void getEdges(Vertex<T> vertex){
-        vertex.setVisited(true);    //flags this vertex
-        for(Edge<T> e : edges) if (e.getState() == EDGESTATE.UNEXPLORED && (e.getA() == vertex || e.getB() == vertex)){
-            e.setState(EDGESTATE.EXPLORED);
-            hold.add(e);
-        }
-    }
-
     public Integer minSpanningTreeCost(T start){
-        reset();
-        LinkedList<Vertex<T>> path = minSpanningTree(start);
-        int cost = 0;
-        if(path == null) return null;
-        for(Edge<T> edge : edges) if (edge.getState() == EDGESTATE.PATH) cost += edge.getWeight();
-        return cost;
+        return (minSpanningTreeLabels(start) == null) ? null : Math.toIntExact(cost);
     }
 
-
     /**
-     * Runtime : O(V)
+     * Solves for the minimum spanning tree using the Prim Jarnik algorithm, giving up once the deadline passes
+     *
+     * Runtime : O( E log(V) ) at most
+     *
+     * @param start the start vertex label
+     * @param deadline  when to give up
+     * @return  COMPLETE with the tree and its cost | PARTIAL with the part of the tree grown so far
      */
-    private void reset(){
-        for(Vertex<T> v : vertices) {
-            v.setDistance(Integer.MAX_VALUE, null, null);
-            v.setVisited(false);
+    public QueryResult<T> minSpanningTree(T start, Deadline deadline){
+        probe.start(start, null);
+        try {
+            LinkedList<T> tree = spanningTree(start, deadline);
+            return QueryResult.of(!stopped, tree, (tree == null) ? null : cost);
+        } finally {
+            probe.finish();
         }
-        for(Edge<T> e : edges) e.setState(EDGESTATE.UNEXPLORED);
     }
 
+    /**
+     * Resets the vertices and edges of the graph the Vertex method marked
+     *
+     * Runtime : O(V + E)
+     */
+    public void reset(){
+        if(linked != null) EdgeStates.reset(linked);
+    }
 }
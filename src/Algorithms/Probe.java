@@ -0,0 +1,69 @@
+package Algorithms;
+
+/**
+ * Counts the work of the query an algorithm is running
+ *
+ * Each algorithm owns one and bumps the int fields directly. start and finish only read the clock or build an
+ * event when Metrics or a JFR recording wants the result.
+ *
+ * @version 1.0
+ */
+class Probe {
+
+    private final String algorithm;
+    private final Metrics.Counters counters;
+
+    int settled;
+    int relaxed;
+    int pushes;
+    int pops;
+    int iterations;
+
+    private boolean timed;
+    private long start;
+    private QueryEvent event;
+
+    Probe(String algorithm){
+        this.algorithm = algorithm;
+        this.counters = Metrics.counters(algorithm);
+    }
+
+    /**
+     * Clears the counts for a new query
+     * @param from  the start vertex data and or label
+     * @param to    the end vertex data and or label | null when there is none
+     */
+    void start(Object from, Object to){
+        settled = relaxed = pushes = pops = iterations = 0;
+        timed = Metrics.isEnabled();
+        if(timed) start = System.nanoTime();
+        QueryEvent e = new QueryEvent();
+        if(e.isEnabled()){
+            e.algorithm = algorithm;
+            e.from = String.valueOf(from);
+            e.to = String.valueOf(to);
+            e.begin();
+            event = e;
+        }
+    }
+
+    /**
+     * Publishes the counts of the query, also when it ended with an exception
+     */
+    void finish(){
+        if(timed) counters.record(this, System.nanoTime() - start);
+        timed = false;
+        if(event != null){
+            event.end();
+            if(event.shouldCommit()){
+                event.settled = settled;
+                event.relaxed = relaxed;
+                event.pushes = pushes;
+                event.pops = pops;
+                event.iterations = iterations;
+                event.commit();
+            }
+            event = null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package Algorithms;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for one Dijkstra, BellmanFord, DAG or PrimJarnik query
+ *
+ * Enable Graph.Query in a recording, a threshold such as 10 ms keeps only the slow queries.
+ *
+ * @version 1.0
+ */
+@Name("Graph.Query")
+@Label("Graph Query")
+@Category("Graph")
+@Description("The work done by one query of a graph algorithm")
+@StackTrace(false)
+public class QueryEvent extends jdk.jfr.Event {
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("From")
+    String from;
+
+    @Label("To")
+    String to;
+
+    @Label("Vertices Settled")
+    int settled;
+
+    @Label("Edges Relaxed")
+    int relaxed;
+
+    @Label("Heap Pushes")
+    int pushes;
+
+    @Label("Heap Pops")
+    int pops;
+
+    @Label("Iterations")
+    int iterations;
+}
@@ -0,0 +1,70 @@
+package Algorithms;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors used to run queries concurrently
+ *
+ * @version 1.0
+ */
+public class QueryExecutors {
+
+    private QueryExecutors(){}
+
+    /**
+     * Creates an executor that starts a virtual thread per task when the running JDK has them (21 and up),
+     * and otherwise a fixed pool with one thread per processor
+     * @return  the executor, the caller is responsible for shutting it down
+     */
+    public static ExecutorService newQueryExecutor(){
+        try {
+            Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtual.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    /**
+     * Creates a fixed pool of daemon threads in front of a queue of limited length, so a burst of queries can not
+     * take an unbounded amount of memory. Once every thread is busy and the queue is full the handler decides
+     *
+     * @param threads   the number of threads
+     * @param queueDepth    the most tasks that can wait | 0 to hand tasks straight to an idle thread
+     * @param handler   called with every task that did not fit
+     * @return  the executor, the caller is responsible for shutting it down
+     */
+    public static ThreadPoolExecutor newBoundedExecutor(int threads, int queueDepth, RejectedExecutionHandler handler){
+        if(threads < 1) throw new IllegalArgumentException("There must be at least 1 thread");
+        if(queueDepth < 0) throw new IllegalArgumentException("The queue depth can not be negative");
+        BlockingQueue<Runnable> queue = (queueDepth == 0) ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueDepth);
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue, r -> {
+            Thread t = new Thread(r, "graph-query-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, handler);
+    }
+
+    /**
+     * Checks if newQueryExecutor hands out virtual threads
+     * @return  true when the JDK supports virtual threads
+     */
+    public static boolean hasVirtualThreads(){
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package Algorithms;
+
+import java.util.LinkedList;
+
+/**
+ * The answer to a query that was given a Deadline
+ *
+ * A query that finished is COMPLETE and its path is exact, or null when there is none. A query that was stopped
+ * is PARTIAL when it had already found some path, the best one so far which may not be the shortest, and TIMED_OUT
+ * when it had not. Cancelled queries are reported the same way as ones that ran past their deadline.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class QueryResult<T> {
+
+    public enum Status { COMPLETE, PARTIAL, TIMED_OUT }
+
+    private final Status status;
+    private final LinkedList<T> path;
+    private final Long cost;
+
+    private QueryResult(Status status, LinkedList<T> path, Long cost){
+        this.status = status;
+        this.path = path;
+        this.cost = cost;
+    }
+
+    /**
+     * Picks the status from how the query ended
+     * @param finished  true when the query was not stopped
+     * @param path  the path found | null when none was
+     * @param cost  the cost of the path
+     */
+    static <T> QueryResult<T> of(boolean finished, LinkedList<T> path, Long cost){
+        if(path == null) return new QueryResult<>(finished ? Status.COMPLETE : Status.TIMED_OUT, null, null);
+        return new QueryResult<>(finished ? Status.COMPLETE : Status.PARTIAL, path, cost);
+    }
+
+    public Status getStatus(){
+        return status;
+    }
+
+    public boolean isComplete(){
+        return status == Status.COMPLETE;
+    }
+
+    /**
+     * Retrieves the path, or the tree for a spanning tree query
+     * @return  the data and or labels from start to end | null when there is none or the query timed out
+     */
+    public LinkedList<T> getPath(){
+        return path;
+    }
+
+    /**
+     * Retrieves the cost of the path
+     * @return  the cost | null when there is no path
+     */
+    public Long getCost(){
+        return cost;
+    }
+
+    @Override
+    public String toString(){
+        return status + " : " + ((path == null) ? "no path" : path + " (" + cost + ")");
+    }
+}
@@ -0,0 +1,280 @@
+package Algorithms;
+
+import Graph.Adjacency;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Answers shortest path queries asynchronously on a bounded pool of threads
+ *
+ * Queries that ask the same algorithm for the same start and end while one is still waiting or running share that
+ * computation, so a burst of identical questions costs one search. Labels are compared with equals for this. Once
+ * every caller sharing a computation has cancelled, it is taken off the queue or its deadline is cancelled so the
+ * thread is freed. Each thread keeps its own solver of every algorithm, the graph is only read and must not change
+ * while the service is open. When every thread is busy and the queue is full the Overload policy decides what gives.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class QueryService<T extends Comparable<T>> implements AutoCloseable {
+
+    public enum Algorithm { DIJKSTRA, BELLMAN_FORD, DAG }
+
+    /**
+     * What to do with a query that arrives while every thread is busy and the queue is full
+     */
+    public enum Overload {
+        REJECT,         //the new query fails with a RejectedExecutionException
+        CALLER_RUNS,    //the thread asking runs the query itself, which slows down whoever is sending them
+        SHED_OLDEST     //the query that has waited longest fails instead, so the newest ones are answered
+    }
+
+    private final Adjacency<T> graph;
+    private final Overload overload;
+    private final long timeoutNanos;    //0 for no limit
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<Key<T>, Job<T>> inFlight = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Dijkstra<T>> dijkstra;
+    private final ThreadLocal<BellmanFord<T>> bellmanFord;
+    private final ThreadLocal<DAG<T>> dag;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a service with one thread per processor, room for 1024 waiting queries, a 10 second limit on each
+     * query and REJECT
+     * @param graph the graph to query
+     */
+    public QueryService(Adjacency<T> graph){
+        this(graph, Runtime.getRuntime().availableProcessors(), 1024, Overload.REJECT, 10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates a service
+     * @param graph the graph to query
+     * @param threads   the most queries that run at once
+     * @param queueDepth    the most queries that wait for a thread | 0 for none
+     * @param overload  what gives when the queue is full
+     * @param timeout   how long a query may run before it returns what it has | 0 for no limit
+     * @param unit  the unit of timeout
+     */
+    public QueryService(Adjacency<T> graph, int threads, int queueDepth, Overload overload, long timeout, TimeUnit unit){
+        if(timeout < 0) throw new IllegalArgumentException("The timeout can not be negative");
+        this.graph = graph;
+        this.overload = Objects.requireNonNull(overload);
+        this.timeoutNanos = unit.toNanos(timeout);
+        this.dijkstra = ThreadLocal.withInitial(() -> new Dijkstra<>(graph));
+        this.bellmanFord = ThreadLocal.withInitial(() -> new BellmanFord<>(graph));
+        this.dag = ThreadLocal.withInitial(() -> new DAG<>(graph));
+        this.executor = QueryExecutors.newBoundedExecutor(threads, queueDepth, (r, e) -> overflow((Job<?>) r, e));
+    }
+
+    /**
+     * Asks for a shortest path, joining the identical query already waiting or running when there is one
+     *
+     * Runtime : O(1) to submit
+     *
+     * @param algorithm which algorithm answers it
+     * @param from  the start vertex data and or label
+     * @param to    the end vertex data and or label
+     * @return  completes with the answer, or with the exception the algorithm threw or a RejectedExecutionException
+     *          when the service was overloaded or closed. Cancelling it does not affect the other callers, the
+     *          computation is only stopped once all of them have cancelled
+     */
+    public CompletableFuture<QueryResult<T>> shortestPath(Algorithm algorithm, T from, T to){
+        submitted.increment();
+        Key<T> key = new Key<>(algorithm, from, to);
+        while(true){
+            Job<T> job = new Job<>(this, key);
+            Job<T> existing = inFlight.putIfAbsent(key, job);
+            if(existing == null){
+                job.future.whenComplete((r, e) -> inFlight.remove(key, job));   //later queries start a new computation
+                CompletableFuture<QueryResult<T>> caller = job.join();
+                executor.execute(job);
+                return caller;
+            }
+            CompletableFuture<QueryResult<T>> caller = existing.join();
+            if(caller != null){
+                coalesced.increment();
+                return caller;
+            }
+            inFlight.remove(key, existing);     //every caller of it just gave up, start over
+        }
+    }
+
+    /**
+     * Runs one query on the calling thread with its solver
+     */
+    private QueryResult<T> answer(Key<T> key, Deadline deadline){
+        switch (key.algorithm){
+            case DIJKSTRA: return dijkstra.get().shortestPath(key.from, key.to, deadline);
+            case BELLMAN_FORD: return bellmanFord.get().shortestPath(key.from, key.to, deadline);
+            default: return dag.get().shortestPath(key.from, key.to, deadline);
+        }
+    }
+
+    /**
+     * Called by the executor with a job that did not fit
+     */
+    private void overflow(Job<?> job, ThreadPoolExecutor e){
+        if(e.isShutdown()){
+            job.future.completeExceptionally(new RejectedExecutionException("The query service has been closed"));
+            return;
+        }
+        if(overload == Overload.CALLER_RUNS){
+            job.run();
+            return;
+        }
+        if(overload == Overload.SHED_OLDEST){
+            Runnable oldest = e.getQueue().poll();
+            if(oldest != null){
+                rejected.increment();
+                ((Job<?>) oldest).future.completeExceptionally(new RejectedExecutionException("The query was shed to make room for a newer one"));
+            }
+            if(e.getQueue().offer(job)) return;
+        }
+        rejected.increment();
+        job.future.completeExceptionally(new RejectedExecutionException("The query queue is full"));
+    }
+
+    /**
+     * Retrieves the number of queries asked for
+     * @return  every call to shortestPath so far
+     */
+    public long getSubmitted(){
+        return submitted.sum();
+    }
+
+    /**
+     * Retrieves the number of queries that joined one already in flight instead of running
+     * @return  the number of queries
+     */
+    public long getCoalesced(){
+        return coalesced.sum();
+    }
+
+    /**
+     * Retrieves the number of queries turned away or shed because the service was overloaded
+     * @return  the number of queries
+     */
+    public long getRejected(){
+        return rejected.sum();
+    }
+
+    /**
+     * Retrieves the number of queries waiting for a thread
+     * @return  the queue length
+     */
+    public int getQueued(){
+        return executor.getQueue().size();
+    }
+
+    public Adjacency<T> getGraph(){
+        return graph;
+    }
+
+    /**
+     * Stops taking queries, the ones already waiting are still answered
+     */
+    @Override
+    public void close(){
+        executor.shutdown();
+    }
+
+
+    /**
+     * The queries that can share one computation
+     */
+    private static final class Key<T> {
+        private final Algorithm algorithm;
+        private final T from;
+        private final T to;
+
+        Key(Algorithm algorithm, T from, T to){
+            this.algorithm = Objects.requireNonNull(algorithm);
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object o){
+            if(!(o instanceof Key)) return false;
+            Key<?> k = (Key<?>) o;
+            return algorithm == k.algorithm && Objects.equals(from, k.from) && Objects.equals(to, k.to);
+        }
+
+        @Override
+        public int hashCode(){
+            return (algorithm.hashCode() * 31 + Objects.hashCode(from)) * 31 + Objects.hashCode(to);
+        }
+    }
+
+
+    /**
+     * One computation and the future every caller sharing it waits on
+     *
+     * @param <T>   The type for the graph
+     */
+    private static final class Job<T extends Comparable<T>> implements Runnable {
+        private final QueryService<T> service;
+        private final Key<T> key;
+        private final CompletableFuture<QueryResult<T>> future = new CompletableFuture<>();
+        private final AtomicInteger callers = new AtomicInteger();  //-1 once every caller has cancelled
+        private volatile Deadline deadline;     //set once it starts running
+
+        Job(QueryService<T> service, Key<T> key){
+            this.service = service;
+            this.key = key;
+        }
+
+        /**
+         * Adds a caller to the computation
+         * @return  the future the caller waits on | null when every caller has already cancelled
+         */
+        CompletableFuture<QueryResult<T>> join(){
+            for(int c = callers.get(); ; c = callers.get()){
+                if(c < 0) return null;
+                if(callers.compareAndSet(c, c + 1)) break;
+            }
+            CompletableFuture<QueryResult<T>> caller = future.copy();
+            caller.whenComplete((r, e) -> {
+                if(caller.isCancelled()) leave();
+            });
+            return caller;
+        }
+
+        private void leave(){
+            if(callers.decrementAndGet() != 0 || !callers.compareAndSet(0, -1)) return;
+            service.inFlight.remove(key, this);
+            Deadline d = deadline;
+            if(d != null) d.cancel();   //running, it stops at its next check
+            else if(service.executor.remove(this)) future.completeExceptionally(new CancellationException("Every caller cancelled the query"));
+        }
+
+        @Override
+        public void run(){
+            Deadline d = (service.timeoutNanos == 0) ? Deadline.cancellable() : Deadline.after(service.timeoutNanos, TimeUnit.NANOSECONDS);
+            deadline = d;
+            if(callers.get() < 0) d.cancel();   //given up on between being taken off the queue and starting
+            try {
+                future.complete(service.answer(key, d));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            } catch (Error e) {
+                future.completeExceptionally(e);    //otherwise the key would stay in flight for good
+                throw e;
+            }
+        }
+    }
+}
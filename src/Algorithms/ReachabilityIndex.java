@@ -0,0 +1,365 @@
+package Algorithms;
+
+import Graph.DirectedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Answers "can a reach b" on a directed acyclic graph without searching most of the time, GRAIL style
+ *
+ * Every vertex gets k intervals, one per randomized depth first pass. When a reaches b the intervals of b sit
+ * inside those of a, so a query whose intervals do not nest is answered false straight away. The rest are checked
+ * with a depth first search that only enters vertices whose intervals still hold b's, which on real DAGs touches
+ * a handful of vertices. Edges and vertices added through this object widen the intervals of the ancestors that
+ * need it instead of rebuilding.
+ *
+ * Queries can run on any number of threads at once, additions wait for them to finish.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class ReachabilityIndex<T extends Comparable<T>> {
+
+    private final DirectedGraph<T> graph;
+    private final int k;
+
+    private final HashMap<T, Integer> ids;
+    private final ArrayList<T> labels;
+    private int[][] out;    //successors of every vertex, only the first outDegree entries are used
+    private int[] outDegree;
+    private int[][] in;     //predecessors, used to widen the ancestors of a new edge
+    private int[] inDegree;
+    private int[] low;      //interval i of v is [ low[v * k + i], high[v * k + i] ]
+    private int[] high;
+    private int nextRank;   //ranks handed out to vertices added later, above every rank used so far
+    private int size;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Indexes a graph with 3 intervals per vertex
+     * @param graph the directed acyclic graph, later changes to it should be made through this object
+     */
+    public ReachabilityIndex(DirectedGraph<T> graph){
+        this(graph, 3, 42);
+    }
+
+    /**
+     * Indexes a graph
+     *
+     * Runtime : O( k * (V + E) )
+     *
+     * @param graph the directed acyclic graph, later changes to it should be made through this object
+     * @param k the number of intervals per vertex, more prune more false queries for more memory
+     * @param seed  seeds the order of the depth first passes
+     * @throws IllegalStateException    when the graph has a cycle
+     */
+    public ReachabilityIndex(DirectedGraph<T> graph, int k, long seed){
+        if(k < 1) throw new IllegalArgumentException("There must be at least 1 interval per vertex");
+        this.graph = graph;
+        this.k = k;
+        ids = new HashMap<>();
+        labels = new ArrayList<>();
+
+        int n = graph.getVertices().size();
+        out = new int[Math.max(16, n)][];
+        in = new int[out.length][];
+        outDegree = new int[out.length];
+        inDegree = new int[out.length];
+        IdentityHashMap<DirectedGraph.Vertex<T>, Integer> index = new IdentityHashMap<>();
+        for(DirectedGraph.Vertex<T> v : graph.getVertices()) index.put(v, newVertex(v.getData()));
+        for(DirectedGraph.Vertex<T> v : graph.getVertices()){
+            int from = index.get(v);
+            for(DirectedGraph.Edge<T> e : v.getEdgeList()) link(from, index.get(e.getTo()));
+        }
+        checkAcyclic();
+
+        low = new int[out.length * k];
+        high = new int[out.length * k];
+        SplittableRandom random = new SplittableRandom(seed);
+        for(int i = 0; i < k; i++) label(i, random.split());
+        nextRank = size + 1;
+    }
+
+    private int newVertex(T data){
+        if(ids.containsKey(data)) throw new IllegalArgumentException("A vertex with that value already exists");
+        if(size == out.length){
+            int capacity = size * 2;
+            out = Arrays.copyOf(out, capacity);
+            in = Arrays.copyOf(in, capacity);
+            outDegree = Arrays.copyOf(outDegree, capacity);
+            inDegree = Arrays.copyOf(inDegree, capacity);
+            if(low != null){
+                low = Arrays.copyOf(low, capacity * k);
+                high = Arrays.copyOf(high, capacity * k);
+            }
+        }
+        out[size] = new int[2];
+        in[size] = new int[2];
+        ids.put(data, size);
+        labels.add(data);
+        return size++;
+    }
+
+    private void link(int from, int to){
+        if(outDegree[from] == out[from].length) out[from] = Arrays.copyOf(out[from], outDegree[from] * 2);
+        out[from][outDegree[from]++] = to;
+        if(inDegree[to] == in[to].length) in[to] = Arrays.copyOf(in[to], inDegree[to] * 2);
+        in[to][inDegree[to]++] = from;
+    }
+
+    /**
+     * Kahn's algorithm, only used to make sure there is no cycle
+     */
+    private void checkAcyclic(){
+        int[] remaining = Arrays.copyOf(inDegree, size);
+        int[] queue = new int[size];
+        int head = 0, tail = 0;
+        for(int v = 0; v < size; v++) if(remaining[v] == 0) queue[tail++] = v;
+        while(head < tail){
+            int v = queue[head++];
+            for(int j = 0; j < outDegree[v]; j++) if(--remaining[out[v][j]] == 0) queue[tail++] = out[v][j];
+        }
+        if(tail != size) throw new IllegalStateException("The graph contains a cycle, reachability intervals need a DAG");
+    }
+
+    /**
+     * One randomized post order pass. The rank of a vertex is its place in the post order, and its interval runs
+     * from the lowest rank below it to its own
+     *
+     * Runtime : O(V + E)
+     */
+    private void label(int i, SplittableRandom random){
+        int[] roots = new int[size];
+        for(int v = 0; v < size; v++) roots[v] = v;
+        for(int v = size - 1; v > 0; v--){
+            int j = random.nextInt(v + 1);
+            int temp = roots[v];
+            roots[v] = roots[j];
+            roots[j] = temp;
+        }
+
+        boolean[] visited = new boolean[size];
+        int[] stack = new int[size];
+        int[] start = new int[size];    //each vertex walks its successors from a random place
+        int[] step = new int[size];
+        int rank = 1;
+        for(int root : roots){
+            if(visited[root]) continue;
+            int top = 0;
+            stack[top++] = root;
+            visited[root] = true;
+            start[root] = (outDegree[root] == 0) ? 0 : random.nextInt(outDegree[root]);
+            step[root] = 0;
+            low[root * k + i] = Integer.MAX_VALUE;
+            while(top > 0){
+                int v = stack[top - 1];
+                if(step[v] < outDegree[v]){
+                    int w = out[v][(start[v] + step[v]++) % outDegree[v]];
+                    if(!visited[w]){
+                        visited[w] = true;
+                        start[w] = (outDegree[w] == 0) ? 0 : random.nextInt(outDegree[w]);
+                        step[w] = 0;
+                        low[w * k + i] = Integer.MAX_VALUE;
+                        stack[top++] = w;
+                    }
+                    else low[v * k + i] = Math.min(low[v * k + i], low[w * k + i]);
+                    continue;
+                }
+                top--;
+                high[v * k + i] = rank;
+                low[v * k + i] = Math.min(low[v * k + i], rank++);
+                if(top > 0){
+                    int p = stack[top - 1];
+                    low[p * k + i] = Math.min(low[p * k + i], low[v * k + i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if there is a path from one vertex to another, every vertex reaches itself
+     *
+     * Runtime : O(k) when the intervals rule it out, otherwise a depth first search pruned by the intervals
+     *
+     * @param from  the start vertex data and or label
+     * @param to    the end vertex data and or label
+     * @return  true when there is a path | false when either vertex does not exist
+     */
+    public boolean reaches(T from, T to){
+        lock.readLock().lock();
+        try {
+            Integer a = ids.get(from);
+            Integer b = ids.get(to);
+            return a != null && b != null && reaches(a, b);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean reaches(int a, int b){
+        if(a == b) return true;
+        if(!contains(a, b)) return false;
+
+        Scratch s = scratch.get();
+        int run = s.next(size);
+        int top = 0;
+        s.stack[top++] = a;
+        s.seen[a] = run;
+        while(top > 0){
+            int v = s.stack[--top];
+            for(int j = 0; j < outDegree[v]; j++){
+                int w = out[v][j];
+                if(w == b) return true;
+                if(s.seen[w] == run || !contains(w, b)) continue;
+                s.seen[w] = run;
+                s.stack[top++] = w;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if every interval of b sits inside the matching interval of a
+     */
+    private boolean contains(int a, int b){
+        for(int i = 0; i < k; i++){
+            if(low[a * k + i] > low[b * k + i] || high[b * k + i] > high[a * k + i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Adds a vertex to the graph and the index
+     *
+     * Runtime : O(V) to add it to the graph, O(k) to the index
+     *
+     * @param data  the data and or label of the new vertex
+     */
+    public void addVertex(T data){
+        lock.writeLock().lock();
+        try {
+            if(ids.containsKey(data)) throw new IllegalArgumentException("A vertex with that value already exists");
+            graph.addVertex(data);
+            int v = newVertex(data);
+            int rank = nextRank++;
+            for(int i = 0; i < k; i++) low[v * k + i] = high[v * k + i] = rank;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds an edge with a weight of 1
+     * @param from  the vertex data and or label
+     * @param to    the vertex data and or label
+     * @return  true when the edge was added to the graph
+     */
+    public boolean addEdge(T from, T to){
+        return addEdge(from, to, 1);
+    }
+
+    /**
+     * Adds an edge to the graph and widens the intervals of from and every ancestor of it that do not already
+     * hold the intervals of to
+     *
+     * Runtime : O(V) to add it to the graph, O( k * the ancestors widened ) to the index
+     *
+     * @param from  the vertex data and or label
+     * @param to    the vertex data and or label
+     * @param weight    the weight of the edge
+     * @return  true when the edge was added to the graph
+     * @throws IllegalStateException    when the edge would close a cycle
+     */
+    public boolean addEdge(T from, T to, int weight){
+        lock.writeLock().lock();
+        try {
+            Integer a = ids.get(from);
+            Integer b = ids.get(to);
+            if(a == null || b == null) return false;
+            if(reaches(b, a)) throw new IllegalStateException("The edge would create a cycle");
+            if(!graph.addEdge(from, to, weight)) return false;
+            link(a, b);
+
+            Scratch s = scratch.get();
+            int run = s.next(size);
+            int top = 0;
+            s.stack[top++] = a;
+            s.seen[a] = run;
+            while(top > 0){
+                int v = s.stack[--top];
+                if(!widen(v, b)) continue;     //already held b, so its ancestors do too
+                for(int j = 0; j < inDegree[v]; j++){
+                    int p = in[v][j];
+                    if(s.seen[p] == run) continue;
+                    s.seen[p] = run;
+                    s.stack[top++] = p;
+                }
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stretches the intervals of v to hold those of b
+     * @return  true when any interval changed
+     */
+    private boolean widen(int v, int b){
+        boolean changed = false;
+        for(int i = 0; i < k; i++){
+            if(low[b * k + i] < low[v * k + i]){
+                low[v * k + i] = low[b * k + i];
+                changed = true;
+            }
+            if(high[b * k + i] > high[v * k + i]){
+                high[v * k + i] = high[b * k + i];
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Retrieves the number of vertices indexed
+     * @return  the number of vertices
+     */
+    public int size(){
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Per thread arrays for the pruned searches, stamped per search so they are never cleared
+     */
+    private static class Scratch {
+        private int[] seen = new int[0];
+        private int[] stack = new int[0];
+        private int run;
+
+        int next(int n){
+            if(seen.length < n){
+                seen = new int[n * 2];
+                stack = new int[n * 2];
+                run = 0;
+            }
+            if(++run == 0){
+                Arrays.fill(seen, 0);
+                run = 1;
+            }
+            return run;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package Algorithms;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.function.IntFunction;
+
+/**
+ * The Dijkstra and queue based Bellman-Ford loops shared by the searches that keep all of their state to themselves
+ *
+ * A subclass owns the distances, in whatever type its weights add up in, and walks the edges of its graph. This
+ * class owns the rest: parents, the stamps that let a new search skip clearing O(V) arrays, the heap, the work queue
+ * and the edge counts that catch negative cycles. Arrays grow on the next search when the graph has grown.
+ *
+ * @version 1.0
+ */
+abstract class SearchKernel {
+
+    private int[] parent;
+    private int[] stamp;    //distance and parent of v belong to this run only when stamp[v] == run
+    private int run;
+    private IndexHeap heap;
+    private int[] queue;    //Bellman-Ford work queue
+    private boolean[] queued;
+    private int[] hops;     //edges on the best path found to a vertex, used to catch negative cycles
+
+    private int budget;     //edges left until the deadline is checked again
+    private boolean stopped;
+
+    /**
+     * Makes room for n vertices, a subclass makes room for its distances as well
+     * @param n the number of vertices
+     */
+    void allocate(int n){
+        parent = new int[n];
+        stamp = new int[n];
+        run = 0;
+        heap = new IndexHeap(n);
+        queue = new int[n + 1];
+        queued = new boolean[n];
+        hops = new int[n];
+    }
+
+    int capacity(){
+        return stamp.length;
+    }
+
+    abstract int size();
+
+    abstract boolean hasNegativeWeights();
+
+    /**
+     * Starts walking the edges leaving v, from the distance v has now
+     */
+    abstract void open(int v);
+
+    /**
+     * Moves to the next edge leaving the vertex opened
+     * @return  false when there are no more
+     */
+    abstract boolean advance();
+
+    abstract int target();
+
+    abstract void setZero(int v);
+
+    /**
+     * Tries the current edge as the way to reach its target, lowering the distance of the target when it is shorter
+     * @param next  the target
+     * @param reached   false when the target has no distance this run yet, it counts as unreachable
+     * @return  true when the distance was lowered
+     */
+    abstract boolean improve(int next, boolean reached);
+
+    /**
+     * Retrieves the heap key of a distance, the keys must sort the same way the distances do
+     */
+    abstract long key(int v);
+
+
+    /**
+     * Finds the shortest distances from one vertex, Dijkstra when every weight is at least 0, otherwise Bellman-Ford
+     *
+     * Runtime : O( (V + E) log(V) ) with Dijkstra, O( V * E ) with Bellman-Ford, at most
+     *
+     * @param from  the number of the start vertex
+     * @param to    the number of the end vertex, Dijkstra may stop once it is settled | -1 to reach everything
+     * @param deadline  checked every Deadline.CHECK_EVERY edges
+     * @throws IllegalStateException    when a negative cycle is reachable from the start
+     */
+    void walk(int from, int to, Deadline deadline){
+        if(size() > capacity()) allocate(size() * 2);
+        stopped = false;
+        budget = Deadline.CHECK_EVERY;
+        if(++run == 0){  //the stamp wrapped around, old stamps could look current
+            Arrays.fill(stamp, 0);
+            run = 1;
+        }
+        stamp[from] = run;
+        parent[from] = -1;
+        setZero(from);
+
+        if(hasNegativeWeights()) bellmanFord(from, deadline);
+        else dijkstra(from, to, deadline);
+    }
+
+    /**
+     * Runtime : O( (V + E) log(V) )
+     */
+    private void dijkstra(int from, int to, Deadline deadline){
+        heap.clear();
+        heap.push(from, key(from));
+        while(!heap.isEmpty()){
+            int v = heap.poll();
+            if(v == to) return;     //settled, nothing left can improve it
+            open(v);
+            while(advance()){
+                if(expired(deadline)) return;
+                int next = target();
+                if(improve(next, stamp[next] == run)){
+                    reach(next, v);
+                    heap.push(next, key(next));
+                }
+            }
+        }
+    }
+
+    /**
+     * Runtime : O( V * E )
+     */
+    private void bellmanFord(int from, Deadline deadline){
+        int n = size();
+        int head = 0, tail = 0;
+        queue[tail++] = from;
+        queued[from] = true;
+        hops[from] = 0;
+
+        try {
+            while(head != tail){
+                int v = queue[head];
+                head = (head + 1 == queue.length) ? 0 : head + 1;
+                queued[v] = false;
+                int h = hops[v] + 1;    //read with the distance open takes, a loop on v may change it
+                open(v);
+                while(advance()){
+                    if(expired(deadline)){
+                        clearQueue(head, tail);
+                        return;
+                    }
+                    int next = target();
+                    if(improve(next, stamp[next] == run)){
+                        reach(next, v);
+                        hops[next] = h;
+                        if(h == n) throw new IllegalStateException("The graph contains a negative cycle");   //a path of n edges repeats a vertex, and only a negative cycle makes that shorter
+                        if(!queued[next]){
+                            queued[next] = true;
+                            queue[tail] = next;
+                            tail = (tail + 1 == queue.length) ? 0 : tail + 1;
+                        }
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            clearQueue(head, tail);     //the flags outlive the run, a vertex left queued would never be queued again
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the deadline once every Deadline.CHECK_EVERY calls
+     */
+    private boolean expired(Deadline deadline){
+        if(--budget > 0) return false;
+        budget = Deadline.CHECK_EVERY;
+        stopped = deadline.isExpired();
+        return stopped;
+    }
+
+    private void clearQueue(int head, int tail){
+        for(int i = head; i != tail; i = (i + 1 == queue.length) ? 0 : i + 1) queued[queue[i]] = false;
+    }
+
+    private void reach(int v, int p){
+        stamp[v] = run;
+        parent[v] = p;
+    }
+
+    boolean wasStopped(){
+        return stopped;
+    }
+
+    /**
+     * Checks if the last search gave the vertex a distance
+     */
+    boolean reached(int v){
+        return v < stamp.length && stamp[v] == run;
+    }
+
+    int parentOf(int v){
+        return reached(v) ? parent[v] : -1;
+    }
+
+    /**
+     * Builds the path the last search found to a vertex it reached
+     * @return  the path | null when the parents loop
+     */
+    <T> LinkedList<T> path(int to, IntFunction<T> label){
+        if(length(to) == -1) return null;
+        LinkedList<T> path = new LinkedList<>();
+        for(int v = to; v != -1; v = parent[v]) path.addFirst(label.apply(v));
+        return path;
+    }
+
+    /**
+     * Writes the vertex numbers of the path the last search found to a vertex it reached
+     * @return  the number of vertices on the path | -1 when the parents loop
+     */
+    int path(int to, int[] path){
+        return length(to) == -1 ? -1 : PathBuffer.trace(parent, to, path);
+    }
+
+    /**
+     * Counts the vertices on the path to a vertex, giving up after size() of them. Only a Bellman-Ford stopped
+     * inside a negative cycle leaves parents that loop, a finished one throws instead
+     */
+    private int length(int to){
+        int n = size(), length = 0;
+        for(int v = to; v != -1; v = parent[v]) if(++length > n) return -1;
+        return length;
+    }
+}
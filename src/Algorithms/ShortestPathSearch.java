@@ -0,0 +1,177 @@
+package Algorithms;
+
+import Graph.Adjacency;
+import Graph.NeighborCursor;
+
+import java.util.LinkedList;
+
+/**
+ * Single source shortest path search over a CompactGraph or CompressedGraph that keeps all of its state to itself
+ *
+ * The graph is only read, so one search per thread can run against the same graph at the same time.
+ * Dijkstra is used when every weight is at least 0, otherwise a queue based Bellman-Ford.
+ * Distances are remembered per run with a stamp, so starting a new search does not clear O(V) arrays.
+ * A search given a Deadline checks it every Deadline.CHECK_EVERY edges and stops early. The loops themselves are
+ * shared with LongShortestPaths and DoubleShortestPaths through SearchKernel.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class ShortestPathSearch<T extends Comparable<T>> extends SearchKernel {
+
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final Adjacency<T> graph;
+    private final NeighborCursor cursor;
+
+    private long[] distance;
+    private long d;     //distance of the vertex whose edges are being walked
+
+    /**
+     * Creates a search over the graph
+     * @param graph the graph to search
+     */
+    public ShortestPathSearch(Adjacency<T> graph){
+        this.graph = graph;
+        this.cursor = graph.cursor();
+        allocate(Math.max(1, graph.size()));
+    }
+
+    @Override
+    void allocate(int n){
+        super.allocate(n);
+        distance = new long[n];
+    }
+
+    /**
+     * Retrieves the graph this searches
+     * @return  the graph
+     */
+    public Adjacency<T> getGraph(){
+        return graph;
+    }
+
+    /**
+     * Finds the shortest distances from one vertex
+     *
+     * Runtime : O( (V + E) log(V) ) with Dijkstra, O( V * E ) with Bellman-Ford
+     *
+     * @param from  the number of the start vertex
+     * @param to    the number of the end vertex, the search may stop once it is settled | -1 to reach everything
+     * @return  true when the end vertex was reached
+     */
+    public boolean search(int from, int to){
+        return search(from, to, Deadline.NONE);
+    }
+
+    /**
+     * Finds the shortest distances from one vertex, giving up once the deadline passes. When it gave up the
+     * distances found so far are upper bounds, see wasStopped
+     *
+     * Runtime : O( (V + E) log(V) ) with Dijkstra, O( V * E ) with Bellman-Ford, at most
+     *
+     * @param from  the number of the start vertex
+     * @param to    the number of the end vertex, the search may stop once it is settled | -1 to reach everything
+     * @param deadline  when to give up
+     * @return  true when the end vertex was reached
+     */
+    public boolean search(int from, int to, Deadline deadline){
+        walk(from, to, deadline);
+        return to == -1 || getDistance(to) != UNREACHABLE;
+    }
+
+    /**
+     * Checks if the last search gave up before it finished
+     * @return  true when it ran out of time or was cancelled
+     */
+    @Override
+    public boolean wasStopped(){
+        return super.wasStopped();
+    }
+
+    /**
+     * Retrieves the distance found by the last search
+     * @param v the number of the vertex
+     * @return  the distance | UNREACHABLE when the last search did not reach it
+     */
+    public long getDistance(int v){
+        return reached(v) ? distance[v] : UNREACHABLE;
+    }
+
+    /**
+     * Retrieves the vertex before this one on the path found by the last search
+     * @param v the number of the vertex
+     * @return  the number of the vertex before | -1 for the start vertex or when not reached
+     */
+    public int getParent(int v){
+        return parentOf(v);
+    }
+
+    /**
+     * Retrieves the path found by the last search
+     *
+     * Runtime : O(V)
+     *
+     * @param to    the number of the end vertex
+     * @return  the data and or labels from start to end | null when not reached or a stopped search left it in a negative cycle
+     */
+    public LinkedList<T> getPath(int to){
+        return reached(to) ? path(to, graph::getLabel) : null;
+    }
+
+    /**
+     * Same as getPath but writes vertex numbers into the caller's array, so a worker answering many queries
+     * allocates nothing per path
+     * @param to    the number of the end vertex
+     * @param path  filled from index 0, room for size() vertices always fits
+     * @return  the number of vertices on the path | -1 when not reached or a stopped search left it in a negative cycle
+     */
+    public int getPath(int to, int[] path){
+        return reached(to) ? path(to, path) : -1;
+    }
+
+
+    @Override
+    int size(){
+        return graph.size();
+    }
+
+    @Override
+    boolean hasNegativeWeights(){
+        return graph.hasNegativeWeights();
+    }
+
+    @Override
+    void open(int v){
+        d = distance[v];
+        cursor.reset(v);
+    }
+
+    @Override
+    boolean advance(){
+        return cursor.next();
+    }
+
+    @Override
+    int target(){
+        return cursor.getTarget();
+    }
+
+    @Override
+    void setZero(int v){
+        distance[v] = 0;
+    }
+
+    @Override
+    boolean improve(int next, boolean reached){
+        long candidate = d + cursor.getWeight();
+        if(reached && candidate >= distance[next]) return false;
+        distance[next] = candidate;
+        return true;
+    }
+
+    @Override
+    long key(int v){
+        return distance[v];
+    }
+}
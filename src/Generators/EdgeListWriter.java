@@ -0,0 +1,56 @@
+package Generators;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the generated graph as plain text, one edge per line
+ *
+ * The first line holds the number of vertices followed by directed or undirected, every line after that is
+ * "from to weight". Nothing is kept in memory, so this is the way to get graphs too large for a DirectedGraph.
+ *
+ * @version 1.0
+ */
+public class EdgeListWriter implements EdgeSink {
+
+    private final Appendable out;
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * Creates the sink, wrap files in a BufferedWriter
+     * @param out   where the text goes, it is flushed but not closed at the end
+     */
+    public EdgeListWriter(Appendable out){
+        this.out = out;
+    }
+
+    @Override
+    public void start(int vertices, boolean directed){
+        write(line.append(vertices).append(directed ? " directed" : " undirected").append('\n'));
+    }
+
+    @Override
+    public void edge(int from, int to, int weight){
+        write(line.append(from).append(' ').append(to).append(' ').append(weight).append('\n'));
+    }
+
+    @Override
+    public void finish(){
+        try {
+            if(out instanceof Flushable) ((Flushable) out).flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(StringBuilder text){
+        try {
+            out.append(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            text.setLength(0);
+        }
+    }
+}
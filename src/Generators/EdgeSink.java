@@ -0,0 +1,32 @@
+package Generators;
+
+/**
+ * Receives the edges of a generated graph one at a time
+ *
+ * Vertices are numbered 0 to vertices - 1. When a generator runs in parallel it hands over one chunk of edges at
+ * a time while holding the lock of the sink, so a sink never sees two threads at once.
+ *
+ * @version 1.0
+ */
+public interface EdgeSink {
+
+    /**
+     * Called once before the first edge
+     * @param vertices  the number of vertices
+     * @param directed  true when the edges only go one way
+     */
+    public default void start(int vertices, boolean directed){}
+
+    /**
+     * Called for every generated edge
+     * @param from  the number of the start vertex
+     * @param to    the number of the end vertex
+     * @param weight    the weight
+     */
+    public void edge(int from, int to, int weight);
+
+    /**
+     * Called once after the last edge
+     */
+    public default void finish(){}
+}
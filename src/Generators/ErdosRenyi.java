@@ -0,0 +1,80 @@
+package Generators;
+
+import java.util.SplittableRandom;
+
+/**
+ * Erdos-Renyi G(n, p) graphs, every possible edge exists with the same probability
+ *
+ * Instead of flipping a coin for all n^2 pairs the gap to the next edge is drawn from a geometric distribution, so
+ * the time taken follows the number of edges generated rather than the number of pairs. Each task covers a block
+ * of start vertices.
+ *
+ * @version 1.0
+ */
+public class ErdosRenyi extends GraphGenerator {
+
+    private final int n;
+    private final double p;
+    private final boolean directed;
+    private final boolean forwardOnly;  //only edges to higher numbers
+    private final int rowsPerTask;
+
+    /**
+     * Creates the generator
+     * @param n the number of vertices
+     * @param p the probability of every edge
+     * @param directed  true for a directed graph
+     * @param seed  the seed that decides every edge
+     */
+    public ErdosRenyi(int n, double p, boolean directed, long seed){
+        this(n, p, directed, !directed, seed);
+    }
+
+    ErdosRenyi(int n, double p, boolean directed, boolean forwardOnly, long seed){
+        super(seed);
+        if(n < 0) throw new IllegalArgumentException("The number of vertices can not be negative");
+        if(!(p >= 0 && p <= 1)) throw new IllegalArgumentException("The probability must be between 0 and 1");
+        this.n = n;
+        this.p = p;
+        this.directed = directed;
+        this.forwardOnly = forwardOnly;
+        double degree = Math.max(1, p * n);
+        this.rowsPerTask = (int) Math.max(1, Math.min(n, CHUNK / degree));
+    }
+
+    @Override
+    public int vertexCount(){
+        return n;
+    }
+
+    @Override
+    public boolean isDirected(){
+        return directed;
+    }
+
+    @Override
+    protected long tasks(){
+        return (n + (long) rowsPerTask - 1) / rowsPerTask;
+    }
+
+    @Override
+    protected void generate(long task, SplittableRandom random, Chunk out){
+        if(p == 0) return;
+        double logMiss = Math.log1p(-p);
+        int first = (int) (task * rowsPerTask);
+        int last = (int) Math.min(n, first + (long) rowsPerTask);
+
+        for(int u = first; u < last; u++){
+            long start = forwardOnly ? u + 1 : 0;
+            long end = forwardOnly ? n : n - 1;     //without forwardOnly u itself is skipped by shifting the rest down
+            for(long x = start - 1; ; ){
+                double skip = (p == 1) ? 0 : Math.floor(Math.log(1 - random.nextDouble()) / logMiss);  //pairs with no edge before the next one
+                if(x + 1 + skip >= end) break;
+                x += 1 + (long) skip;
+                int v = (int) x;
+                if(!forwardOnly && v >= u) v++;
+                out.add(u, v, random);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package Generators;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * Base for the seeded graph generators
+ *
+ * The work is cut into tasks that each get their own random numbers from the seed and the task number, so the
+ * same seed always gives the same edges whether the tasks run one after another or in parallel. Only the order in
+ * which the sink receives the chunks changes when running in parallel. Edges are buffered a chunk at a time, there
+ * is never a list of every edge.
+ *
+ * @version 1.0
+ */
+public abstract class GraphGenerator {
+
+    protected static final int CHUNK = 1 << 14;   //edges buffered before they are handed to the sink
+
+    private final long seed;
+    private int minWeight = 1;
+    private int maxWeight = 1;
+
+    /**
+     * @param seed  the seed that decides every edge
+     */
+    protected GraphGenerator(long seed){
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the range edge weights are drawn from, every weight is 1 by default
+     * @param min   the smallest weight
+     * @param max   the largest weight
+     * @return  this generator
+     */
+    public GraphGenerator setWeights(int min, int max){
+        if(min > max) throw new IllegalArgumentException("The smallest weight can not be above the largest");
+        minWeight = min;
+        maxWeight = max;
+        return this;
+    }
+
+    public abstract int vertexCount();
+
+    public abstract boolean isDirected();
+
+    /**
+     * @return  the number of independent tasks the work is cut into
+     */
+    protected abstract long tasks();
+
+    /**
+     * Generates the edges of one task
+     * @param task  the number of the task
+     * @param random    the random numbers of this task
+     * @param out   where the edges go
+     */
+    protected abstract void generate(long task, SplittableRandom random, Chunk out);
+
+    /**
+     * Streams every edge into the sink from the calling thread
+     * @param sink  receives the edges
+     * @return  the number of edges generated
+     */
+    public long generate(EdgeSink sink){
+        return generate(sink, false);
+    }
+
+    /**
+     * Streams every edge into the sink
+     *
+     * Runtime : O(V + E)
+     *
+     * @param sink  receives the edges
+     * @param parallel  true to run the tasks on the common fork join pool
+     * @return  the number of edges generated
+     */
+    public long generate(EdgeSink sink, boolean parallel){
+        sink.start(vertexCount(), isDirected());
+        AtomicLong edges = new AtomicLong();
+        LongStream tasks = LongStream.range(0, tasks());
+        if(parallel) tasks = tasks.parallel();
+        tasks.forEach(t -> {
+            Chunk out = new Chunk(sink);
+            generate(t, new SplittableRandom(mix(seed + t * 0x9E3779B97F4A7C15L)), out);
+            out.flush();
+            edges.addAndGet(out.total);
+        });
+        sink.finish();
+        return edges.get();
+    }
+
+    /**
+     * Scrambles the bits so neighbouring tasks do not get related random numbers
+     */
+    private static long mix(long z){
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+
+    /**
+     * The edges of one task waiting to be handed to the sink
+     */
+    protected class Chunk {
+        private final EdgeSink sink;
+        private final int[] from = new int[CHUNK];
+        private final int[] to = new int[CHUNK];
+        private final int[] weight = new int[CHUNK];
+        private int size;
+        private long total;
+
+        private Chunk(EdgeSink sink){
+            this.sink = sink;
+        }
+
+        /**
+         * Adds an edge with a weight drawn from the weight range
+         * @param a the number of the start vertex
+         * @param b the number of the end vertex
+         * @param random    the random numbers of the task
+         */
+        public void add(int a, int b, SplittableRandom random){
+            if(size == CHUNK) flush();
+            from[size] = a;
+            to[size] = b;
+            weight[size++] = (minWeight == maxWeight) ? minWeight : (int) random.nextLong(minWeight, maxWeight + 1L);
+        }
+
+        private void flush(){
+            synchronized (sink){
+                for(int i = 0; i < size; i++) sink.edge(from[i], to[i], weight[i]);
+            }
+            total += size;
+            size = 0;
+        }
+    }
+}
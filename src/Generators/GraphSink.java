@@ -0,0 +1,70 @@
+package Generators;
+
+import Graph.GraphInterface;
+
+import java.util.function.IntFunction;
+
+/**
+ * Adds the generated vertices and edges to a DirectedGraph or UndirectedGraph
+ *
+ * The graphs compare labels with ==, so every label is made once and kept for the edges. Edges that are already in
+ * the graph, which R-MAT can produce, are skipped.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class GraphSink<T extends Comparable<T>> implements EdgeSink {
+
+    private final GraphInterface<T> graph;
+    private final IntFunction<T> label;
+    private Object[] labels;
+    private long skipped;
+
+    /**
+     * Creates the sink
+     * @param graph the graph to add to
+     * @param label makes the data and or label of a vertex from its number
+     */
+    public GraphSink(GraphInterface<T> graph, IntFunction<T> label){
+        this.graph = graph;
+        this.label = label;
+    }
+
+    @Override
+    public void start(int vertices, boolean directed){
+        labels = new Object[vertices];
+        for(int v = 0; v < vertices; v++){
+            labels[v] = label.apply(v);
+            graph.addVertex(getLabel(v));
+        }
+    }
+
+    @Override
+    public void edge(int from, int to, int weight){
+        try {
+            graph.addEdge(getLabel(from), getLabel(to));
+        } catch (IllegalArgumentException e) {  //the edge already exists
+            skipped++;
+            return;
+        }
+        if(weight != 1) graph.setEdgeWeight(getLabel(from), getLabel(to), weight);
+    }
+
+    /**
+     * Retrieves the data and or label given to a vertex
+     * @param v the number of the vertex
+     * @return  the data and or label
+     */
+    @SuppressWarnings("unchecked")
+    public T getLabel(int v){
+        return (T) labels[v];
+    }
+
+    /**
+     * Retrieves the number of edges that were already in the graph
+     * @return  the number skipped
+     */
+    public long getSkipped(){
+        return skipped;
+    }
+}
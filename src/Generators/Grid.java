@@ -0,0 +1,61 @@
+package Generators;
+
+import java.util.SplittableRandom;
+
+/**
+ * Road like 2D grids
+ *
+ * Vertex r * columns + c sits at row r and column c and is joined to the vertex to its right and the one below.
+ * Each of those edges is kept with the given probability, which leaves the dead ends and detours of a real road
+ * network. Each task is one row.
+ *
+ * @version 1.0
+ */
+public class Grid extends GraphGenerator {
+
+    private final int rows;
+    private final int columns;
+    private final double keep;
+
+    /**
+     * Creates the generator for an undirected grid
+     * @param rows  the number of rows
+     * @param columns   the number of columns
+     * @param keep  the probability each edge of the full grid is kept
+     * @param seed  the seed that decides every edge
+     */
+    public Grid(int rows, int columns, double keep, long seed){
+        super(seed);
+        if(rows < 0 || columns < 0 || (long) rows * columns > Integer.MAX_VALUE) throw new IllegalArgumentException("The grid must have between 0 and " + Integer.MAX_VALUE + " vertices");
+        if(!(keep >= 0 && keep <= 1)) throw new IllegalArgumentException("The probability must be between 0 and 1");
+        this.rows = rows;
+        this.columns = columns;
+        this.keep = keep;
+    }
+
+    @Override
+    public int vertexCount(){
+        return rows * columns;
+    }
+
+    @Override
+    public boolean isDirected(){
+        return false;
+    }
+
+    @Override
+    protected long tasks(){
+        return rows;
+    }
+
+    @Override
+    protected void generate(long task, SplittableRandom random, Chunk out){
+        int r = (int) task;
+        int first = r * columns;
+        for(int c = 0; c < columns; c++){
+            int v = first + c;
+            if(c + 1 < columns && (keep == 1 || random.nextDouble() < keep)) out.add(v, v + 1, random);
+            if(r + 1 < rows && (keep == 1 || random.nextDouble() < keep)) out.add(v, v + columns, random);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package Generators;
+
+import java.util.SplittableRandom;
+
+/**
+ * R-MAT graphs, the recursive matrix form of a Kronecker graph
+ *
+ * Every edge picks one quarter of the adjacency matrix with probabilities a, b, c and d = 1 - a - b - c, then a
+ * quarter of that, until it lands on a single cell. Skewed probabilities give the heavy tailed degrees of social
+ * and web graphs. Edges to the same vertex are redrawn, but the same edge can come up more than once.
+ *
+ * @version 1.0
+ */
+public class RMat extends GraphGenerator {
+
+    private final int scale;
+    private final long edges;
+    private final double a, ab, abc;    //running totals of the quarter probabilities
+    private final boolean directed;
+
+    /**
+     * Creates the generator with the Graph500 probabilities 0.57, 0.19, 0.19, 0.05
+     * @param scale the graph has 2^scale vertices
+     * @param edges the number of edges
+     * @param directed  true for a directed graph
+     * @param seed  the seed that decides every edge
+     */
+    public RMat(int scale, long edges, boolean directed, long seed){
+        this(scale, edges, 0.57, 0.19, 0.19, directed, seed);
+    }
+
+    /**
+     * Creates the generator
+     * @param scale the graph has 2^scale vertices
+     * @param edges the number of edges
+     * @param a the probability of the top left quarter
+     * @param b the probability of the top right quarter
+     * @param c the probability of the bottom left quarter
+     * @param directed  true for a directed graph
+     * @param seed  the seed that decides every edge
+     */
+    public RMat(int scale, long edges, double a, double b, double c, boolean directed, long seed){
+        super(seed);
+        if(scale < 1 || scale > 30) throw new IllegalArgumentException("The scale must be between 1 and 30");
+        if(edges < 0) throw new IllegalArgumentException("The number of edges can not be negative");
+        if(a < 0 || b < 0 || c < 0 || a + b + c > 1) throw new IllegalArgumentException("The probabilities must be at least 0 and add up to at most 1");
+        this.scale = scale;
+        this.edges = edges;
+        this.a = a;
+        this.ab = a + b;
+        this.abc = a + b + c;
+        this.directed = directed;
+    }
+
+    @Override
+    public int vertexCount(){
+        return 1 << scale;
+    }
+
+    @Override
+    public boolean isDirected(){
+        return directed;
+    }
+
+    @Override
+    protected long tasks(){
+        return (edges + CHUNK - 1) / CHUNK;
+    }
+
+    @Override
+    protected void generate(long task, SplittableRandom random, Chunk out){
+        long count = Math.min(CHUNK, edges - task * CHUNK);
+        for(long e = 0; e < count; ){
+            int from = 0, to = 0;
+            for(int bit = scale - 1; bit >= 0; bit--){
+                double r = random.nextDouble();
+                if(r >= abc){   //bottom right
+                    from |= 1 << bit;
+                    to |= 1 << bit;
+                }
+                else if(r >= ab) from |= 1 << bit;  //bottom left
+                else if(r >= a) to |= 1 << bit;     //top right
+            }
+            if(from == to) continue;
+            out.add(from, to, random);
+            e++;
+        }
+    }
+}
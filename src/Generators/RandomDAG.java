@@ -0,0 +1,22 @@
+package Generators;
+
+/**
+ * Random directed acyclic graphs
+ *
+ * Every edge from a lower to a higher vertex number exists with the same probability, so the numbers are already
+ * a topological order.
+ *
+ * @version 1.0
+ */
+public class RandomDAG extends ErdosRenyi {
+
+    /**
+     * Creates the generator
+     * @param n the number of vertices
+     * @param p the probability of every forward edge
+     * @param seed  the seed that decides every edge
+     */
+    public RandomDAG(int n, double p, long seed){
+        super(n, p, true, true, seed);
+    }
+}
@@ -0,0 +1,56 @@
+package Graph;
+
+/**
+ * A graph with numbered vertices whose edges are walked with a NeighborCursor
+ *
+ * Implemented by the read only layouts such as CompactGraph and CompressedGraph and, through GraphInterface, by the
+ * graphs that can be changed, so the same search can run over any of them.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public interface Adjacency<T extends Comparable<T>> {
+
+    /**
+     * Retrieves the number of vertices
+     * @return  the number of vertices
+     */
+    int size();
+
+    /**
+     * Retrieves the number of stored edges, undirected edges count twice
+     * @return  the number of edges
+     */
+    int edgeCount();
+
+    /**
+     * Retrieves the number of edges leaving a vertex
+     * @param v the number of the vertex
+     * @return  the degree
+     */
+    int degree(int v);
+
+    /**
+     * Retrieves the number given to the vertex with that data and or label
+     * @param data  the data and or label
+     * @return  the number of the vertex | -1 when it does not exist
+     */
+    int indexOf(T data);
+
+    /**
+     * Retrieves the data and or label of a vertex
+     * @param v the number of the vertex
+     * @return  the data and or label
+     */
+    T getLabel(int v);
+
+    boolean isDirected();
+
+    boolean hasNegativeWeights();
+
+    /**
+     * Creates a cursor over the edges of this graph
+     * @return  a cursor that has not been reset to any vertex yet
+     */
+    NeighborCursor cursor();
+}
@@ -0,0 +1,401 @@
+package Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+/**
+ * Read only copy of a graph stored in flat arrays (compressed sparse rows)
+ *
+ * Vertices are numbered 0 to size() - 1 in the order the source graph lists them, unless relabel gave them new
+ * numbers. The edges leaving vertex v are stored at positions firstEdge(v) up to but not including lastEdge(v).
+ * Undirected edges are stored once in each direction. Nothing in here is written after construction, so any number
+ * of threads can read it at once.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class CompactGraph<T extends Comparable<T>> implements Adjacency<T> {
+
+    private final ArrayList<T> labels;
+    private final HashMap<T, Integer> ids;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    private final boolean directed;
+    private final boolean negativeWeights;
+
+    /**
+     * Copies a directed graph
+     *
+     * Runtime : O(V + E)
+     *
+     * @param graph the graph to copy
+     */
+    public CompactGraph(DirectedGraph<T> graph){
+        directed = true;
+        labels = new ArrayList<>(graph.getVertices().size());
+        ids = new HashMap<>();
+        IdentityHashMap<DirectedGraph.Vertex<T>, Integer> index = new IdentityHashMap<>();
+
+        int edgeCount = 0;
+        for(DirectedGraph.Vertex<T> v : graph.getVertices()){
+            index.put(v, labels.size());
+            ids.put(v.getData(), labels.size());
+            labels.add(v.getData());
+            edgeCount += v.getEdgeList().size();
+        }
+
+        offsets = new int[labels.size() + 1];
+        targets = new int[edgeCount];
+        weights = new int[edgeCount];
+
+        boolean negative = false;
+        int e = 0;
+        int v = 0;
+        for(DirectedGraph.Vertex<T> vertex : graph.getVertices()){
+            offsets[v++] = e;
+            for(DirectedGraph.Edge<T> edge : vertex.getEdgeList()){
+                targets[e] = index.get(edge.getTo());
+                weights[e++] = edge.getWeight();
+                negative |= edge.getWeight() < 0;
+            }
+        }
+        offsets[v] = e;
+        negativeWeights = negative;
+    }
+
+    /**
+     * Copies an undirected graph, every edge is stored in both directions
+     *
+     * Runtime : O(V + E)
+     *
+     * @param graph the graph to copy
+     */
+    public CompactGraph(UndirectedGraph<T> graph){
+        directed = false;
+        labels = new ArrayList<>(graph.getVertices().size());
+        ids = new HashMap<>();
+        IdentityHashMap<UndirectedGraph.Vertex<T>, Integer> index = new IdentityHashMap<>();
+
+        for(UndirectedGraph.Vertex<T> v : graph.getVertices()){
+            index.put(v, labels.size());
+            ids.put(v.getData(), labels.size());
+            labels.add(v.getData());
+        }
+
+        offsets = new int[labels.size() + 1];
+        boolean negative = false;
+        for(UndirectedGraph.Edge<T> edge : graph.getEdges()){  //counts the degree of every vertex
+            offsets[index.get(edge.getA()) + 1]++;
+            if(edge.getA() != edge.getB()) offsets[index.get(edge.getB()) + 1]++;
+            negative |= edge.getWeight() < 0;
+        }
+        for(int i = 0; i < labels.size(); i++) offsets[i + 1] += offsets[i];
+        negativeWeights = negative;
+
+        targets = new int[offsets[labels.size()]];
+        weights = new int[offsets[labels.size()]];
+        int[] next = new int[labels.size()];
+        System.arraycopy(offsets, 0, next, 0, labels.size());
+        for(UndirectedGraph.Edge<T> edge : graph.getEdges()){
+            int a = index.get(edge.getA());
+            int b = index.get(edge.getB());
+            targets[next[a]] = b;
+            weights[next[a]++] = edge.getWeight();
+            if(a == b) continue;
+            targets[next[b]] = a;
+            weights[next[b]++] = edge.getWeight();
+        }
+    }
+
+    /**
+     * Copies any graph through its Adjacency methods, so wrappers such as LoggedGraph, subclasses and views can be
+     * copied as well. Vertices keep the numbers the graph gives them
+     *
+     * Runtime : O(V + E)
+     *
+     * @param graph the graph to copy, it must not change while being copied
+     */
+    public CompactGraph(Adjacency<T> graph){
+        directed = graph.isDirected();
+        int n = graph.size();
+        labels = new ArrayList<>(n);
+        ids = new HashMap<>();
+        for(int v = 0; v < n; v++){
+            labels.add(graph.getLabel(v));
+            ids.put(graph.getLabel(v), v);
+        }
+
+        offsets = new int[n + 1];
+        NeighborCursor cursor = graph.cursor();
+        for(int v = 0; v < n; v++){     //counts the edges of every vertex, a view may not know its degrees
+            offsets[v + 1] = offsets[v];
+            cursor.reset(v);
+            while(cursor.next()) offsets[v + 1]++;
+        }
+        targets = new int[offsets[n]];
+        weights = new int[offsets[n]];
+
+        boolean negative = false;
+        for(int v = 0, e = 0; v < n; v++){
+            cursor.reset(v);
+            while(cursor.next()){
+                targets[e] = cursor.getTarget();
+                weights[e++] = cursor.getWeight();
+                negative |= cursor.getWeight() < 0;
+            }
+        }
+        negativeWeights = negative;
+    }
+
+    /**
+     * Creates a graph over the same vertices from arrays that were already built
+     */
+    private CompactGraph(CompactGraph<T> source, int[] offsets, int[] targets, int[] weights){
+        this(source, source.labels, source.ids, offsets, targets, weights);
+    }
+
+    private CompactGraph(CompactGraph<T> source, ArrayList<T> labels, HashMap<T, Integer> ids, int[] offsets, int[] targets, int[] weights){
+        this.labels = labels;
+        this.ids = ids;
+        directed = source.directed;
+        negativeWeights = source.negativeWeights;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Creates the graph with every edge pointing the other way, vertices keep their numbers
+     *
+     * Runtime : O(V + E), O(1) when undirected since it is its own reverse
+     *
+     * @return  the reversed graph
+     */
+    public CompactGraph<T> reverse(){
+        if(!directed) return this;
+        int n = size();
+        int[] reverseOffsets = new int[n + 1];
+        for(int target : targets) reverseOffsets[target + 1]++;
+        for(int i = 0; i < n; i++) reverseOffsets[i + 1] += reverseOffsets[i];
+
+        int[] reverseTargets = new int[targets.length];
+        int[] reverseWeights = new int[targets.length];
+        int[] next = Arrays.copyOf(reverseOffsets, n);
+        for(int v = 0; v < n; v++){
+            for(int e = offsets[v]; e < offsets[v + 1]; e++){
+                int slot = next[targets[e]]++;
+                reverseTargets[slot] = v;
+                reverseWeights[slot] = weights[e];
+            }
+        }
+        return new CompactGraph<>(this, reverseOffsets, reverseTargets, reverseWeights);
+    }
+
+    /**
+     * Creates the same graph with every vertex given a new number, the labels move with their vertices so indexOf
+     * and getLabel still map between the two. The edges of each vertex are stored in order of their targets
+     *
+     * Runtime : O( V + E log(deg) )
+     *
+     * @param rank  the new number of every vertex, rank[old number] = new number, such as from VertexOrder
+     * @return  the renumbered graph
+     */
+    public CompactGraph<T> relabel(int[] rank){
+        int n = size();
+        VertexOrder.check(rank, n);
+        int[] old = new int[n];
+        for(int v = 0; v < n; v++) old[rank[v]] = v;
+
+        ArrayList<T> newLabels = new ArrayList<>(n);
+        HashMap<T, Integer> newIds = new HashMap<>();
+        int[] newOffsets = new int[n + 1];
+        int[] newTargets = new int[targets.length];
+        int[] newWeights = new int[targets.length];
+        long[] edges = new long[16];
+        int e = 0;
+        for(int v = 0; v < n; v++){
+            int o = old[v];
+            newLabels.add(labels.get(o));
+            newIds.put(labels.get(o), v);
+            newOffsets[v] = e;
+
+            int degree = degree(o);     //sorts the edges by new target, the low half remembers where they were
+            if(degree > edges.length) edges = new long[Math.max(degree, edges.length * 2)];
+            for(int i = 0; i < degree; i++) edges[i] = ((long) rank[targets[offsets[o] + i]] << 32) | i;
+            Arrays.sort(edges, 0, degree);
+            for(int i = 0; i < degree; i++){
+                newTargets[e] = (int) (edges[i] >>> 32);
+                newWeights[e++] = weights[offsets[o] + (int) edges[i]];
+            }
+        }
+        newOffsets[n] = e;
+        return new CompactGraph<>(this, newLabels, newIds, newOffsets, newTargets, newWeights);
+    }
+
+    /**
+     * Copies whichever kind of graph is passed in, through its Adjacency methods
+     *
+     * Runtime : O(V + E)
+     *
+     * @param graph the graph to copy
+     * @param <T>   The type for the graph
+     * @return  the copy
+     */
+    public static <T extends Comparable<T>> CompactGraph<T> of(GraphInterface<T> graph){
+        return new CompactGraph<>(graph);
+    }
+
+    /**
+     * Copies whichever kind of graph is passed in and renumbers it in reverse Cuthill-McKee order, so the searches
+     * that walk it touch fewer cache lines than with the order the vertices were added in
+     *
+     * Runtime : O( V + E log(deg) )
+     *
+     * @param graph the graph to copy
+     * @param <T>   The type for the graph
+     * @return  the renumbered copy
+     */
+    public static <T extends Comparable<T>> CompactGraph<T> ordered(GraphInterface<T> graph){
+        CompactGraph<T> copy = of(graph);
+        return copy.relabel(VertexOrder.reverseCuthillMcKee(copy));
+    }
+
+    /**
+     * Retrieves the number of vertices
+     * @return  the number of vertices
+     */
+    public int size(){
+        return labels.size();
+    }
+
+    /**
+     * Retrieves the number of stored edges, undirected edges count twice
+     * @return  the number of edges
+     */
+    public int edgeCount(){
+        return targets.length;
+    }
+
+    /**
+     * Retrieves the number given to the vertex with that data and or label
+     *
+     * Runtime : O(1)
+     *
+     * @param data  the data and or label
+     * @return  the number of the vertex | -1 when it does not exist
+     */
+    public int indexOf(T data){
+        Integer id = ids.get(data);
+        return (id == null) ? -1 : id;
+    }
+
+    /**
+     * Retrieves the data and or label of a vertex
+     * @param v the number of the vertex
+     * @return  the data and or label
+     */
+    public T getLabel(int v){
+        return labels.get(v);
+    }
+
+    /**
+     * Retrieves the position of the first edge leaving a vertex
+     * @param v the number of the vertex
+     * @return  the position of the first edge
+     */
+    public int firstEdge(int v){
+        return offsets[v];
+    }
+
+    /**
+     * Retrieves the position right after the last edge leaving a vertex
+     * @param v the number of the vertex
+     * @return  the position after the last edge
+     */
+    public int lastEdge(int v){
+        return offsets[v + 1];
+    }
+
+    /**
+     * Retrieves the vertex an edge points to
+     * @param e the position of the edge
+     * @return  the number of the vertex
+     */
+    public int getTarget(int e){
+        return targets[e];
+    }
+
+    /**
+     * Retrieves the weight of an edge
+     * @param e the position of the edge
+     * @return  the weight
+     */
+    public int getWeight(int e){
+        return weights[e];
+    }
+
+    /**
+     * Retrieves the number of edges leaving a vertex
+     * @param v the number of the vertex
+     * @return  the degree
+     */
+    public int degree(int v){
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Checks if the copied graph was directed
+     * @return  true when directed
+     */
+    public boolean isDirected(){
+        return directed;
+    }
+
+    /**
+     * Checks if any edge has a weight below 0
+     * @return  true when there are negative weights
+     */
+    public boolean hasNegativeWeights(){
+        return negativeWeights;
+    }
+
+    /**
+     * Creates a cursor over the edges, which steps through the same arrays as firstEdge and lastEdge
+     * @return  the cursor
+     */
+    public NeighborCursor cursor(){
+        return new Cursor();
+    }
+
+
+    private class Cursor implements NeighborCursor {
+        private int e;
+        private int end;
+
+        @Override
+        public void reset(int v){
+            e = offsets[v] - 1;
+            end = offsets[v + 1];
+        }
+
+        @Override
+        public boolean next(){
+            return ++e < end;
+        }
+
+        @Override
+        public int getTarget(){
+            return targets[e];
+        }
+
+        @Override
+        public int getWeight(){
+            return weights[e];
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Read only graph with its edges packed into a single byte array, for graphs too large to keep as a CompactGraph
+ *
+ * The edges of each vertex are sorted by target and written as the gap from the previous target, so on a well
+ * numbered graph (see VertexOrder) most edges take one or two bytes instead of four. Each vertex's block starts
+ * with its degree. Numbers are written seven bits per byte with the high bit set while more follow. The first gap
+ * and every weight can be negative, so they are zigzag encoded first. When every edge has the same weight, as in
+ * unweighted graphs, no weights are stored at all.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class CompressedGraph<T extends Comparable<T>> implements Adjacency<T> {
+
+    private final ArrayList<T> labels;
+    private final HashMap<T, Integer> ids;
+
+    private final int[] offsets;    //where the block of every vertex starts in data
+    private final byte[] data;
+    private final int edges;
+    private final boolean weighted;     //false when every edge weighs uniformWeight
+    private final int uniformWeight;
+
+    private final boolean directed;
+    private final boolean negativeWeights;
+
+    /**
+     * Compresses a compact graph, vertices keep their numbers
+     *
+     * Runtime : O( V + E log(deg) )
+     *
+     * @param graph the graph to compress
+     */
+    public CompressedGraph(CompactGraph<T> graph){
+        int n = graph.size();
+        directed = graph.isDirected();
+        negativeWeights = graph.hasNegativeWeights();
+        edges = graph.edgeCount();
+        labels = new ArrayList<>(n);
+        ids = new HashMap<>();
+        for(int v = 0; v < n; v++){
+            labels.add(graph.getLabel(v));
+            ids.put(graph.getLabel(v), v);
+        }
+
+        boolean same = true;
+        int first = (edges == 0) ? 1 : graph.getWeight(0);
+        for(int e = 1; e < edges && same; e++) same = graph.getWeight(e) == first;
+        weighted = !same;
+        uniformWeight = same ? first : 0;
+
+        offsets = new int[n + 1];
+        byte[] out = new byte[Math.max(16, n + edges * (weighted ? 3 : 2))];
+        long[] sorted = new long[16];
+        int at = 0;
+        for(int v = 0; v < n; v++){
+            offsets[v] = at;
+            int degree = graph.degree(v);
+            if(out.length - at < 5 + degree * 10) out = Arrays.copyOf(out, Math.max(out.length * 2, at + 5 + degree * 10));
+            at = MutationLog.writeVarInt(out, at, degree);
+
+            if(degree > sorted.length) sorted = new long[Math.max(degree, sorted.length * 2)];
+            for(int i = 0; i < degree; i++) sorted[i] = ((long) graph.getTarget(graph.firstEdge(v) + i) << 32) | i;
+            Arrays.sort(sorted, 0, degree);
+
+            int previous = v;   //the first target is stored relative to the vertex itself
+            for(int i = 0; i < degree; i++){
+                int target = (int) (sorted[i] >>> 32);
+                at = MutationLog.writeVarInt(out, at, (i == 0) ? zigzag(target - previous) : target - previous);
+                previous = target;
+                if(weighted) at = MutationLog.writeVarInt(out, at, zigzag(graph.getWeight(graph.firstEdge(v) + (int) sorted[i])));
+            }
+        }
+        offsets[n] = at;
+        data = Arrays.copyOf(out, at);
+    }
+
+    /**
+     * Compresses whichever kind of graph is passed in, renumbered with CompactGraph.ordered so the gaps stay small
+     * @param graph the graph to compress
+     * @param <T>   The type for the graph
+     * @return  the compressed graph
+     */
+    public static <T extends Comparable<T>> CompressedGraph<T> of(GraphInterface<T> graph){
+        return new CompressedGraph<>(CompactGraph.ordered(graph));
+    }
+
+    private static int zigzag(int value){
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value){
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Override
+    public int size(){
+        return labels.size();
+    }
+
+    @Override
+    public int edgeCount(){
+        return edges;
+    }
+
+    /**
+     * Retrieves the number of edges leaving a vertex
+     *
+     * Runtime : O(1), the degree is the first number of the block
+     *
+     * @param v the number of the vertex
+     * @return  the degree
+     */
+    @Override
+    public int degree(int v){
+        int at = offsets[v];
+        int value = 0;
+        for(int shift = 0; ; shift += 7){
+            int b = data[at++];
+            value |= (b & 0x7F) << shift;
+            if(b >= 0) return value;
+        }
+    }
+
+    @Override
+    public int indexOf(T data){
+        Integer id = ids.get(data);
+        return (id == null) ? -1 : id;
+    }
+
+    @Override
+    public T getLabel(int v){
+        return labels.get(v);
+    }
+
+    @Override
+    public boolean isDirected(){
+        return directed;
+    }
+
+    @Override
+    public boolean hasNegativeWeights(){
+        return negativeWeights;
+    }
+
+    /**
+     * Retrieves the bytes used by the edges, the vertex offsets add 4 bytes per vertex on top
+     * @return  the size of the edge data
+     */
+    public int getEdgeBytes(){
+        return data.length;
+    }
+
+    @Override
+    public NeighborCursor cursor(){
+        return new Cursor();
+    }
+
+
+    /**
+     * Decodes the block of one vertex as it goes
+     */
+    private class Cursor implements NeighborCursor {
+        private int at;
+        private int remaining;
+        private boolean first;
+        private int target;
+        private int weight;
+
+        @Override
+        public void reset(int v){
+            at = offsets[v];
+            remaining = readVarInt();
+            first = true;
+            target = v;
+            weight = uniformWeight;
+        }
+
+        @Override
+        public boolean next(){
+            if(remaining == 0) return false;
+            remaining--;
+            int gap = readVarInt();
+            if(first){
+                target += unzigzag(gap);
+                first = false;
+            }
+            else target += gap;
+            if(weighted) weight = unzigzag(readVarInt());
+            return true;
+        }
+
+        private int readVarInt(){
+            byte[] d = data;
+            int b = d[at++];
+            if(b >= 0) return b;    //most gaps fit in one byte
+            int value = b & 0x7F;
+            for(int shift = 7; ; shift += 7){
+                b = d[at++];
+                value |= (b & 0x7F) << shift;
+                if(b >= 0) return value;
+            }
+        }
+
+        @Override
+        public int getTarget(){
+            return target;
+        }
+
+        @Override
+        public int getWeight(){
+            return weight;
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package Graph;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
 import java.util.Stack;
 
 /**
@@ -13,12 +19,14 @@ import java.util.Stack;
 public class DirectedGraph<T extends Comparable<T>> implements GraphInterface<T> {
 
     private final LinkedList<Vertex<T>> vertices;
+    private final ArrayList<Vertex<T>> numbered;    //vertex number v of the Adjacency methods is numbered.get(v)
 
     /**
      * Creates a Directed Graph with no vertices or edges
      */
     public DirectedGraph(){
         vertices = new LinkedList<>();
+        numbered = new ArrayList<>();
     }
 
     /**
@@ -27,19 +35,35 @@ public class DirectedGraph<T extends Comparable<T>> implements GraphInterface<T>
      */
     public void addVertex(T data){
         ensureUnique(data);
-        vertices.addLast(new Vertex<>(data));
+        Vertex<T> v = new Vertex<>(data);
+        v.index = numbered.size();
+        numbered.add(v);
+        vertices.addLast(v);
     }
 
     /**
-     * Removes the vertex in the graph with the data field of the argument passed in
+     * Removes the vertex in the graph with the data field of the argument passed in, along with every edge into or
+     * out of it. Only the vertices it shares an edge with are touched. The last numbered vertex takes over its
+     * number
      *
-     * Runtime : O(V)
+     * Runtime : O(V) to find it, then O( sum of the degrees of its neighbors )
      *
      * @param data  The label and or data saved in the vertex to be deleted
      */
     public void removeVertex(T data){
-        vertices.removeIf(v -> v.getData() == data);
-        for(Vertex<T> v : vertices) v.removeEdge(data);
+        for(Iterator<Vertex<T>> it = vertices.iterator(); it.hasNext();){
+            Vertex<T> v = it.next();
+            if(v.getData() != data) continue;
+            it.remove();
+            v.detach();
+            Vertex<T> last = numbered.remove(numbered.size() - 1);
+            if(last != v){
+                last.index = v.index;
+                numbered.set(v.index, last);
+            }
+            v.index = -1;
+            return;
+        }
     }
 
     /**
@@ -155,35 +179,57 @@ public class DirectedGraph<T extends Comparable<T>> implements GraphInterface<T>
         return null;
     }
 
+    /**
+     * Retrieves the vertex with that number, the same numbering the Adjacency methods use
+     *
+     * Runtime : O(1)
+     *
+     * @param v the number of the vertex
+     * @return  the vertex
+     */
+    public Vertex<T> getVertexAt(int v){
+        return numbered.get(v);
+    }
+
     /**
      * Sorts the vertices topologically
      *
      * Runtime : O(V + E)
      *
      * @return  a list of the sorted vertices
+     * @throws IllegalStateException    when the graph has a cycle, it has no topological order
      */
     public LinkedList<Vertex<T>> getTopologicalOrder(){
 
         Stack<Vertex<T>> processing = new Stack<>();    //emulates recursion
+        Set<Vertex<T>> onPath = Collections.newSetFromMap(new IdentityHashMap<>());   //the vertices on the stack
         LinkedList<Vertex<T>> order = new LinkedList<>();   //return data structure
 
         Vertex<T> cur;
-        processing.push(vertices.get(0));
-        vertices.get(0).setVisited(true);
-
-        for(Vertex<T> v : vertices) if (!v.getIsVisited()) {    //ensure that all vertices are included in the topological sort
-
-            while(!processing.isEmpty()) {
-                cur = processing.peek();
-                Vertex<T> temp = getNVEV(cur);  //finds neighbor to explore
-                if(temp == null) order.addFirst(processing.pop());  //when the vertex has no more neighbors to explore
-                else {  //found another neighbor to explore
-                    processing.push(temp);
-                    temp.setVisited(true);
+        try {
+            for(Vertex<T> v : vertices) if (!v.getIsVisited()) {    //ensure that all vertices are included in the topological sort
+                processing.push(v);
+                onPath.add(v);
+                v.setVisited(true);
+
+                while(!processing.isEmpty()) {
+                    cur = processing.peek();
+                    Vertex<T> temp = getNVEV(cur);  //finds neighbor to explore
+                    if(temp == null) {  //when the vertex has no more neighbors to explore
+                        for(Edge<T> e : cur.getEdgeList()) if (onPath.contains(e.getTo())) throw new IllegalStateException("The graph contains a cycle, it has no topological order");
+                        onPath.remove(cur);
+                        order.addFirst(processing.pop());
+                    }
+                    else {  //found another neighbor to explore
+                        processing.push(temp);
+                        onPath.add(temp);
+                        temp.setVisited(true);
+                    }
                 }
             }
+        } finally {
+            for (Vertex<T> v : vertices) v.setVisited(false);   //resets the vertices to unvisited
         }
-        for (Vertex<T> v : vertices) v.setVisited(false);   //resets the vertices to unvisited
         return order;
     }
 
@@ -200,25 +246,125 @@ public class DirectedGraph<T extends Comparable<T>> implements GraphInterface<T>
         return null;
     }
 
+    /**
+     * Retrieves the number of vertices
+     * @return  the number of vertices
+     */
+    public int size(){
+        return numbered.size();
+    }
+
+    /**
+     * Retrieves the number of edges
+     *
+     * Runtime : O(V)
+     *
+     * @return  the number of edges
+     */
+    public int edgeCount(){
+        int count = 0;
+        for(Vertex<T> v : numbered) count += v.edgeList.size();
+        return count;
+    }
+
+    public int degree(int v){
+        return numbered.get(v).edgeList.size();
+    }
+
+    /**
+     * Retrieves the number of the vertex with that data and or label, numbers run from 0 to size() - 1 and only
+     * change when a vertex is removed
+     *
+     * Runtime : O(V)
+     *
+     * @param data  the data and or label
+     * @return  the number of the vertex | -1 when it does not exist
+     */
+    public int indexOf(T data){
+        Vertex<T> v = getVertex(data);
+        return (v == null) ? -1 : v.index;
+    }
+
+    public T getLabel(int v){
+        return numbered.get(v).getData();
+    }
+
+    public boolean isDirected(){
+        return true;
+    }
+
+    /**
+     * Checks every edge, weights can be changed through the edges themselves so nothing is cached
+     *
+     * Runtime : O(V + E)
+     *
+     * @return  true when any edge has a weight below 0
+     */
+    public boolean hasNegativeWeights(){
+        for(Vertex<T> v : numbered) for(Edge<T> e : v.edgeList) if(e.getWeight() < 0) return true;
+        return false;
+    }
+
+    /**
+     * Creates a cursor that walks the edge list of each vertex in place
+     * @return  a cursor that has not been reset to any vertex yet
+     */
+    public NeighborCursor cursor(){
+        return new Cursor();
+    }
+
     @Override
     public String toString(){
-        String str = "";
-        str += "Edges in " + ConsoleColors.ANSI_RED + "Red" + ConsoleColors.ANSI_RESET + " are " + ConsoleColors.ANSI_RED +"Relaxed"+ConsoleColors.ANSI_RESET+", " +
+        StringBuilder str = new StringBuilder();
+        str.append("Edges in " + ConsoleColors.ANSI_RED + "Red" + ConsoleColors.ANSI_RESET + " are " + ConsoleColors.ANSI_RED +"Relaxed"+ConsoleColors.ANSI_RESET+", " +
                 ConsoleColors.ANSI_GREEN+"Green" + ConsoleColors.ANSI_RESET+ " are in the " +ConsoleColors.ANSI_GREEN+ "Path" + ConsoleColors.ANSI_RESET +", " +
                 ConsoleColors.ANSI_BLUE+"Blue" +ConsoleColors.ANSI_RESET+ " have been " + ConsoleColors.ANSI_BLUE + "Explored" + ConsoleColors.ANSI_RESET + " and " +
-                ConsoleColors.ANSI_YELLOW + "Yellow" + ConsoleColors.ANSI_RESET + " have " + ConsoleColors.ANSI_YELLOW + "not been Explored\n"+ConsoleColors.ANSI_RESET;
+                ConsoleColors.ANSI_YELLOW + "Yellow" + ConsoleColors.ANSI_RESET + " have " + ConsoleColors.ANSI_YELLOW + "not been Explored\n"+ConsoleColors.ANSI_RESET);
         for(Vertex<T> v : vertices){
-            str += v;
+            str.append(v);
             if(v.getEdgeList().size() > 0) {
-                str += "\n\t\tThis Vertex has " + v.getEdgeList().size() + " edge(s)\n";
+                str.append("\n\t\tThis Vertex has ").append(v.getEdgeList().size()).append(" edge(s)\n");
                 for(Edge<T> e : v.getEdgeList()){
-                    str += "\t\t" + e + ")\n";
+                    str.append("\t\t").append(e).append(")\n");
                 }
             }
-            else str += "\n\t\tThis Vertex had no edges\n";
+            else str.append("\n\t\tThis Vertex had no edges\n");
 
         }
-        return str;
+        return str.toString();
+    }
+
+
+    /**
+     * Walks the edge list of a vertex by position, so nothing is allocated per vertex
+     */
+    private class Cursor implements NeighborCursor {
+        private ArrayList<Edge<T>> edges;
+        private int i;
+        private Edge<T> edge;
+
+        @Override
+        public void reset(int v){
+            edges = numbered.get(v).edgeList;
+            i = 0;
+        }
+
+        @Override
+        public boolean next(){
+            if(i == edges.size()) return false;
+            edge = edges.get(i++);
+            return true;
+        }
+
+        @Override
+        public int getTarget(){
+            return edge.getTo().index;
+        }
+
+        @Override
+        public int getWeight(){
+            return edge.getWeight();
+        }
     }
 
 
@@ -230,7 +376,9 @@ public class DirectedGraph<T extends Comparable<T>> implements GraphInterface<T>
     public static class Vertex <T extends Comparable<T>> implements Comparable<Vertex<T>> {
 
         private T data;
-        private final LinkedList<Edge<T>> edgeList;
+        int index;  //its number in the graph | -1 when it is not in one
+        private final ArrayList<Edge<T>> edgeList;
+        private final LinkedList<Edge<T>> inEdgeList;   //edges from other vertices to this one, kept in step with their edgeList
 
         private int distance;
         private boolean isVisited;
@@ -244,7 +392,9 @@ public class DirectedGraph<T extends Comparable<T>> implements GraphInterface<T>
          */
         public Vertex(T data) {
             this.data = data;
-            edgeList = new LinkedList<>();
+            index = -1;
+            edgeList = new ArrayList<>();
+            inEdgeList = new LinkedList<>();
             distance = Integer.MAX_VALUE;
             isVisited = false;
         }
@@ -280,16 +430,41 @@ public class DirectedGraph<T extends Comparable<T>> implements GraphInterface<T>
          */
         public void addEdge(Vertex<T> to, int weight) {
             if (to == this) throw new IllegalArgumentException("You can not make an edge to yourself");
-            edgeList.addLast(new Edge<>(this, to, weight));
+            Edge<T> edge = new Edge<>(this, to, weight);
+            edgeList.add(edge);
+            to.inEdgeList.addLast(edge);
         }
 
         /**
          * Removes the specified edge from this vertex
+         *
+         * Runtime : O( deg(this) + indeg(to) )
+         *
          * @param data  the data and or label for the desired edge
          * @return  true only when an edge was removed
          */
         public boolean removeEdge(T data) {
-            return edgeList.removeIf(e -> e.getTo().getData() == data);
+            boolean removed = false;
+            for(Iterator<Edge<T>> it = edgeList.iterator(); it.hasNext();){
+                Edge<T> e = it.next();
+                if(e.getTo().getData() != data) continue;
+                it.remove();
+                e.getTo().inEdgeList.remove(e);
+                removed = true;
+            }
+            return removed;
+        }
+
+        /**
+         * Removes every edge into and out of this vertex from the vertices at their other end
+         *
+         * Runtime : O( sum of the degrees of its neighbors )
+         */
+        private void detach() {
+            for(Edge<T> e : inEdgeList) e.getFrom().edgeList.remove(e);
+            for(Edge<T> e : edgeList) e.getTo().inEdgeList.remove(e);
+            inEdgeList.clear();
+            edgeList.clear();
         }
 
         /**
@@ -378,10 +553,19 @@ public class DirectedGraph<T extends Comparable<T>> implements GraphInterface<T>
          * Retrieves the edge list for this Vertex
          * @return  the list
          */
-        public LinkedList<Edge<T>> getEdgeList() {
+        public List<Edge<T>> getEdgeList() {
             return edgeList;
         }
 
+        /**
+         * Retrieves the edges that point to this Vertex, so predecessors can be walked without a reversed copy of
+         * the graph. Edges are added and removed through the vertex they leave from
+         * @return  the edges in the order they were added | read only
+         */
+        public List<Edge<T>> inEdges() {
+            return Collections.unmodifiableList(inEdgeList);
+        }
+
         /**
          * Retrieves the edge from this vertex to the specified Vertex
          *
@@ -0,0 +1,77 @@
+package Graph;
+
+/**
+ * A change to one edge of a graph, fed to an EdgeIngestor
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class EdgeEvent<T> {
+
+    public enum Type { ADD, REMOVE, REWEIGHT }
+
+    private final Type type;
+    private final T from;
+    private final T to;
+    private final int weight;
+
+    private EdgeEvent(Type type, T from, T to, int weight){
+        this.type = type;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+    }
+
+    /**
+     * An edge to add
+     * @param from  the start vertex data and or label
+     * @param to    the end vertex data and or label
+     * @param weight    the weight
+     * @return  the event
+     */
+    public static <T> EdgeEvent<T> add(T from, T to, int weight){
+        return new EdgeEvent<>(Type.ADD, from, to, weight);
+    }
+
+    /**
+     * An edge to remove
+     * @param from  the start vertex data and or label
+     * @param to    the end vertex data and or label
+     * @return  the event
+     */
+    public static <T> EdgeEvent<T> remove(T from, T to){
+        return new EdgeEvent<>(Type.REMOVE, from, to, 0);
+    }
+
+    /**
+     * A new weight for an edge
+     * @param from  the start vertex data and or label
+     * @param to    the end vertex data and or label
+     * @param weight    the new weight
+     * @return  the event
+     */
+    public static <T> EdgeEvent<T> reweight(T from, T to, int weight){
+        return new EdgeEvent<>(Type.REWEIGHT, from, to, weight);
+    }
+
+    public Type getType(){
+        return type;
+    }
+
+    public T getFrom(){
+        return from;
+    }
+
+    public T getTo(){
+        return to;
+    }
+
+    public int getWeight(){
+        return weight;
+    }
+
+    @Override
+    public String toString(){
+        return type + " " + from + " -> " + to + ((type == Type.REMOVE) ? "" : " (" + weight + ")");
+    }
+}
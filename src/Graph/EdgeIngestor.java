@@ -0,0 +1,319 @@
+package Graph;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a stream of EdgeEvents to a graph in batches
+ *
+ * Events for the same edge within a batch are folded into the one change they add up to, so an add followed by a
+ * remove of a missing edge never touches the graph and only the last of several weights is written. The graph ends
+ * up the same as it would applying every event in order: an add of an edge that is already there is refused, and a
+ * remove or reweight of one that is not does nothing. Since a batch can not know which edges will be there, a change
+ * keeps what its events do to an edge that is there and what they do to one that is not, and looks when applied.
+ * The batch is applied in one pass while holding the lock of the graph, readers that synchronize on the graph never
+ * see half a batch.
+ *
+ * Only one batch is ever requested from the publisher at a time and the next is requested once the last has been
+ * applied. When the graph falls behind, a SubmissionPublisher fills its buffer and then blocks or drops, depending
+ * on how it was submitted to, instead of this queueing without bound.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class EdgeIngestor<T extends Comparable<T>> implements Flow.Subscriber<EdgeEvent<T>> {
+
+    private final GraphInterface<T> graph;
+    private final boolean undirected;
+    private final NeighborCursor cursor;
+    private final int batchSize;
+    private final long maxDelayNanos;
+
+    private final LinkedHashMap<Key<T>, Change<T>> pending = new LinkedHashMap<>();   //kept in the order edges first appear
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private ScheduledExecutorService timer;
+    private Flow.Subscription subscription;
+    private int received;       //events of the batch that was requested last
+    private long pendingSince;
+
+    private long events;
+    private long applied;
+    private long rejected;
+    private long batches;
+
+    /**
+     * Creates an ingestor that only applies a batch once it is full or the stream ends
+     * @param graph the graph to change
+     * @param batchSize the number of events requested and applied at a time
+     */
+    public EdgeIngestor(GraphInterface<T> graph, int batchSize){
+        this(graph, batchSize, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates an ingestor that also applies a partial batch once its oldest event has waited long enough
+     * @param graph the graph to change
+     * @param batchSize the number of events requested and applied at a time
+     * @param maxDelay  the longest an event waits while the stream is quiet | 0 to wait for a full batch
+     * @param unit  the unit of maxDelay
+     */
+    public EdgeIngestor(GraphInterface<T> graph, int batchSize, long maxDelay, TimeUnit unit){
+        if(batchSize < 1) throw new IllegalArgumentException("The batch size must be at least 1");
+        if(maxDelay < 0) throw new IllegalArgumentException("The delay can not be negative");
+        this.graph = graph;
+        this.undirected = !graph.isDirected();
+        this.cursor = graph.cursor();
+        this.batchSize = batchSize;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription){
+        synchronized (this){
+            if(this.subscription != null){
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+            if(maxDelayNanos > 0){
+                timer = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "edge-ingestor-timer");
+                    t.setDaemon(true);
+                    return t;
+                });
+                long period = Math.max(1, maxDelayNanos / 2);
+                timer.scheduleAtFixedRate(this::flushIfLate, period, period, TimeUnit.NANOSECONDS);
+            }
+        }
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(EdgeEvent<T> event){
+        boolean full;
+        synchronized (this){
+            events++;
+            if(pending.isEmpty()) pendingSince = System.nanoTime();
+            coalesce(Objects.requireNonNull(event));
+            full = ++received == batchSize;
+            if(full){
+                received = 0;
+                flush();
+            }
+        }
+        if(full) subscription.request(batchSize);   //only once the batch is in the graph
+    }
+
+    @Override
+    public void onError(Throwable throwable){
+        synchronized (this){
+            flush();
+            stopTimer();
+        }
+        done.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete(){
+        synchronized (this){
+            flush();
+            stopTimer();
+        }
+        done.complete(null);
+    }
+
+    /**
+     * Folds an event into the change already pending for its edge
+     */
+    private void coalesce(EdgeEvent<T> event){
+        T from = event.getFrom();
+        T to = event.getTo();
+        if(undirected && from.compareTo(to) > 0){   //both directions are the same edge
+            T temp = from;
+            from = to;
+            to = temp;
+        }
+        Key<T> key = new Key<>(from, to);
+        Change<T> change = pending.get(key);
+        if(change == null){
+            change = new Change<>(event.getFrom(), event.getTo());
+            pending.put(key, change);
+        }
+
+        switch (event.getType()){
+            case ADD:
+                if(change.existing == Op.REMOVE){   //removed then added back
+                    change.existing = Op.REWEIGHT;
+                    change.newWeight = event.getWeight();
+                }
+                else if(change.adds) break;     //a second add is refused, the edge is already there
+                change.adds = true;
+                change.weight = event.getWeight();
+                break;
+            case REMOVE:
+                change.existing = Op.REMOVE;
+                change.adds = false;
+                break;
+            case REWEIGHT:
+                if(change.existing != Op.REMOVE){   //nothing left to weigh once removed
+                    change.existing = Op.REWEIGHT;
+                    change.newWeight = event.getWeight();
+                }
+                if(change.adds) change.weight = event.getWeight();
+                break;
+        }
+    }
+
+    /**
+     * Applies everything pending now rather than waiting for the batch to fill
+     *
+     * Runtime : O( batch * cost of a change to the graph )
+     */
+    public synchronized void flush(){
+        if(pending.isEmpty()) return;
+        ArrayList<Change<T>> batch = new ArrayList<>(pending.values());
+        pending.clear();
+        batches++;
+        synchronized (graph){
+            for(Change<T> c : batch) apply(c);
+        }
+    }
+
+    /**
+     * Makes the change for whichever of there and not there the edge is now
+     */
+    private void apply(Change<T> c){
+        try {
+            if(exists(c.from, c.to)){
+                switch (c.existing){
+                    case REMOVE:
+                        graph.removeEdge(c.from, c.to);
+                        applied++;
+                        break;
+                    case REWEIGHT:
+                        graph.setEdgeWeight(c.from, c.to, c.newWeight);
+                        applied++;
+                        break;
+                    default:
+                        if(c.adds) rejected++;  //only added, and it is already there
+                }
+                return;
+            }
+            if(!c.adds) return;     //only an add does anything to a missing edge
+            if(!graph.addEdge(c.from, c.to)){
+                rejected++;
+                return;
+            }
+            if(c.weight != 1) graph.setEdgeWeight(c.from, c.to, c.weight);
+            applied++;
+        } catch (IllegalArgumentException e) {  //the graph refused the edge
+            rejected++;
+        }
+    }
+
+    /**
+     * Runtime : O( lookup of the labels + degree(from) )
+     */
+    private boolean exists(T from, T to){
+        int f = graph.indexOf(from);
+        int t = graph.indexOf(to);
+        if(f == -1 || t == -1) return false;
+        cursor.reset(f);
+        while(cursor.next()) if(cursor.getTarget() == t) return true;
+        return false;
+    }
+
+    private synchronized void flushIfLate(){
+        if(!pending.isEmpty() && System.nanoTime() - pendingSince >= maxDelayNanos) flush();
+    }
+
+    private void stopTimer(){
+        if(timer != null) timer.shutdownNow();
+    }
+
+    /**
+     * Retrieves a future that completes once the stream has ended and the last batch has been applied
+     * @return  the future, completed exceptionally when the publisher failed
+     */
+    public CompletableFuture<Void> getCompletion(){
+        return done;
+    }
+
+    /**
+     * @return  the events received so far
+     */
+    public synchronized long getEvents(){
+        return events;
+    }
+
+    /**
+     * @return  the changes made to the graph so far, always at most the number of events
+     */
+    public synchronized long getApplied(){
+        return applied;
+    }
+
+    /**
+     * @return  the changes the graph refused, such as an edge to a missing vertex
+     */
+    public synchronized long getRejected(){
+        return rejected;
+    }
+
+    /**
+     * @return  the batches applied so far
+     */
+    public synchronized long getBatches(){
+        return batches;
+    }
+
+
+    private enum Op { NONE, REMOVE, REWEIGHT }
+
+
+    /**
+     * The net change to one edge within the current batch
+     */
+    private static class Change<T> {
+        private final T from;
+        private final T to;
+        private Op existing = Op.NONE;  //what happens to the edge when it is there
+        private int newWeight;
+        private boolean adds;           //whether the edge is made when it is not there
+        private int weight;
+
+        Change(T from, T to){
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+
+    private static class Key<T> {
+        private final T from;
+        private final T to;
+
+        Key(T from, T to){
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object o){
+            if(!(o instanceof Key)) return false;
+            Key<?> k = (Key<?>) o;
+            return from.equals(k.from) && to.equals(k.to);
+        }
+
+        @Override
+        public int hashCode(){
+            return 31 * from.hashCode() + to.hashCode();
+        }
+    }
+}
@@ -1,6 +1,15 @@
 package Graph;
 
-public interface GraphInterface<T> {
+/**
+ * A graph that can be changed by data and or label and read through the Adjacency methods
+ *
+ * The Adjacency methods number the vertices from 0 to size() - 1 and walk their edges with a NeighborCursor, so one
+ * algorithm runs unchanged over these graphs and over the read only ones such as CompactGraph and CompressedGraph.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public interface GraphInterface<T extends Comparable<T>> extends Adjacency<T> {
 
     public void removeVertex(T v);
 
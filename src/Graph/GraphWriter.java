@@ -0,0 +1,217 @@
+package Graph;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a DirectedGraph or UndirectedGraph as DOT, GraphML or a plain edge list
+ *
+ * Everything goes straight to the output in one pass over the vertices and edges, nothing is built up in memory
+ * first. Vertices are named by the toString of their data and or label, so those should be distinct. With states
+ * on, every edge also carries its EDGESTATE, colored the same way as toString colors it.
+ *
+ * @version 1.0
+ */
+public class GraphWriter {
+
+    public enum Format { DOT, GRAPHML, EDGE_LIST }
+
+    private final Format format;
+    private final boolean states;
+
+    /**
+     * Creates a writer that leaves out the edge states
+     * @param format    the format to write
+     */
+    public GraphWriter(Format format){
+        this(format, false);
+    }
+
+    /**
+     * Creates a writer
+     * @param format    the format to write
+     * @param states    true to write the EDGESTATE of every edge
+     */
+    public GraphWriter(Format format, boolean states){
+        this.format = format;
+        this.states = states;
+    }
+
+    /**
+     * Writes a directed graph
+     *
+     * Runtime : O(V + E)
+     *
+     * @param graph the graph
+     * @param out   where the text goes, for example a Writer or StringBuilder
+     * @throws IOException  when the output fails
+     */
+    public <T extends Comparable<T>> void write(DirectedGraph<T> graph, Appendable out) throws IOException {
+        start(out, true);
+        for(DirectedGraph.Vertex<T> v : graph.getVertices()) vertex(out, v.getData());
+        for(DirectedGraph.Vertex<T> v : graph.getVertices()){
+            for(DirectedGraph.Edge<T> e : v.getEdgeList()) edge(out, true, v.getData(), e.getTo().getData(), e.getWeight(), e.getEdgeState());
+        }
+        end(out);
+    }
+
+    /**
+     * Writes an undirected graph
+     *
+     * Runtime : O(V + E)
+     *
+     * @param graph the graph
+     * @param out   where the text goes, for example a Writer or StringBuilder
+     * @throws IOException  when the output fails
+     */
+    public <T extends Comparable<T>> void write(UndirectedGraph<T> graph, Appendable out) throws IOException {
+        start(out, false);
+        for(UndirectedGraph.Vertex<T> v : graph.getVertices()) vertex(out, v.getData());
+        for(UndirectedGraph.Edge<T> e : graph.getEdges()) edge(out, false, e.getA().getData(), e.getB().getData(), e.getWeight(), e.getState());
+        end(out);
+    }
+
+    /**
+     * Writes a directed graph as UTF-8
+     * @param graph the graph
+     * @param out   where the bytes go, it is flushed but not closed
+     * @throws IOException  when the output fails
+     */
+    public <T extends Comparable<T>> void write(DirectedGraph<T> graph, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        write(graph, writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes an undirected graph as UTF-8
+     * @param graph the graph
+     * @param out   where the bytes go, it is flushed but not closed
+     * @throws IOException  when the output fails
+     */
+    public <T extends Comparable<T>> void write(UndirectedGraph<T> graph, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        write(graph, writer);
+        writer.flush();
+    }
+
+    private void start(Appendable out, boolean directed) throws IOException {
+        switch (format){
+            case DOT:
+                out.append(directed ? "digraph {\n" : "graph {\n");
+                break;
+            case GRAPHML:
+                out.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                        .append("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n")
+                        .append("  <key id=\"weight\" for=\"edge\" attr.name=\"weight\" attr.type=\"int\"/>\n");
+                if(states) out.append("  <key id=\"state\" for=\"edge\" attr.name=\"state\" attr.type=\"string\"/>\n");
+                out.append("  <graph edgedefault=\"").append(directed ? "directed" : "undirected").append("\">\n");
+                break;
+            case EDGE_LIST:
+                break;
+        }
+    }
+
+    private void vertex(Appendable out, Object data) throws IOException {
+        switch (format){
+            case DOT:
+                out.append("  ");
+                dotId(out, data);
+                out.append(";\n");
+                break;
+            case GRAPHML:
+                out.append("    <node id=\"");
+                xml(out, data);
+                out.append("\"/>\n");
+                break;
+            case EDGE_LIST:    //only edges are listed
+                break;
+        }
+    }
+
+    private void edge(Appendable out, boolean directed, Object from, Object to, int weight, EDGESTATE state) throws IOException {
+        switch (format){
+            case DOT:
+                out.append("  ");
+                dotId(out, from);
+                out.append(directed ? " -> " : " -- ");
+                dotId(out, to);
+                out.append(" [label=\"").append(Integer.toString(weight)).append('"');    //not weight=, graphviz rejects negative ones
+                if(states) out.append(", color=").append(color(state));
+                out.append("];\n");
+                break;
+            case GRAPHML:
+                out.append("    <edge source=\"");
+                xml(out, from);
+                out.append("\" target=\"");
+                xml(out, to);
+                out.append("\">\n      <data key=\"weight\">").append(Integer.toString(weight)).append("</data>\n");
+                if(states) out.append("      <data key=\"state\">").append(state.name()).append("</data>\n");
+                out.append("    </edge>\n");
+                break;
+            case EDGE_LIST:
+                out.append(String.valueOf(from)).append('\t').append(String.valueOf(to)).append('\t').append(Integer.toString(weight));
+                if(states) out.append('\t').append(state.name());
+                out.append('\n');
+                break;
+        }
+    }
+
+    private void end(Appendable out) throws IOException {
+        switch (format){
+            case DOT:
+                out.append("}\n");
+                break;
+            case GRAPHML:
+                out.append("  </graph>\n</graphml>\n");
+                break;
+            case EDGE_LIST:
+                break;
+        }
+    }
+
+    /**
+     * The DOT color matching the console color toString uses for the state
+     */
+    private static String color(EDGESTATE state){
+        switch (state){
+            case RELAXED: return "red";
+            case PATH: return "green";
+            case EXPLORED: return "blue";
+            default: return "gold";
+        }
+    }
+
+    /**
+     * Writes a quoted DOT id, one character at a time so the label is never copied
+     */
+    private static void dotId(Appendable out, Object data) throws IOException {
+        String s = String.valueOf(data);
+        out.append('"');
+        for(int i = 0; i < s.length(); i++){
+            char c = s.charAt(i);
+            if(c == '"' || c == '\\') out.append('\\');
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    private static void xml(Appendable out, Object data) throws IOException {
+        String s = String.valueOf(data);
+        for(int i = 0; i < s.length(); i++){
+            char c = s.charAt(i);
+            switch (c){
+                case '&': out.append("&amp;"); break;
+                case '<': out.append("&lt;"); break;
+                case '>': out.append("&gt;"); break;
+                case '"': out.append("&quot;"); break;
+                case '\'': out.append("&apos;"); break;
+                default: out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package Graph;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Turns vertex data and or labels into bytes and back for the MutationLog and its snapshots
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public interface LabelCodec<T> {
+
+    LabelCodec<String> STRING = new LabelCodec<>() {
+        public void write(DataOutput out, String label) throws IOException { out.writeUTF(label); }
+        public String read(DataInput in) throws IOException { return in.readUTF(); }
+    };
+
+    LabelCodec<Integer> INTEGER = new LabelCodec<>() {
+        public void write(DataOutput out, Integer label) throws IOException { out.writeInt(label); }
+        public Integer read(DataInput in) throws IOException { return in.readInt(); }
+    };
+
+    LabelCodec<Character> CHARACTER = new LabelCodec<>() {
+        public void write(DataOutput out, Character label) throws IOException { out.writeChar(label); }
+        public Character read(DataInput in) throws IOException { return in.readChar(); }
+    };
+
+    public void write(DataOutput out, T label) throws IOException;
+
+    public T read(DataInput in) throws IOException;
+}
@@ -0,0 +1,549 @@
+package Graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A DirectedGraph or UndirectedGraph whose changes are written to a MutationLog so it survives a restart
+ *
+ * The directory holds a snapshot of the whole graph and the log of the changes made since. open loads the snapshot
+ * and replays the log with sequential buffered reads, a snapshot every so many changes keeps the replay short.
+ * Change the graph only through this class, read it through getGraph while holding its lock.
+ *
+ * The graphs compare data and or labels with ==, but the ones read back from disk are new objects. This class
+ * looks every label up by equals, so callers may pass any equal label.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class LoggedGraph<T extends Comparable<T>> implements GraphInterface<T>, Closeable {
+
+    static final String SNAPSHOT = "graph.snapshot";
+    static final String LOG = "graph.wal";
+    private static final int SNAPSHOT_MAGIC = 0x47534E50;  //GSNP
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte REMOVE_VERTEX = 2;
+    private static final byte ADD_EDGE = 3;
+    private static final byte REMOVE_EDGE = 4;
+    private static final byte SET_WEIGHT = 5;
+    private static final String[] RECORDS = {null, "add vertex", "remove vertex", "add edge", "remove edge", "set weight"};
+
+    private final GraphInterface<T> graph;
+    private final LabelCodec<T> codec;
+    private final Path directory;
+    private final MutationLog.Sync sync;
+    private final long snapshotEvery;
+    private final HashMap<T, T> labels = new HashMap<>();   //equal label to the object the graph holds
+
+    private MutationLog log;
+    private long generation;
+    private long sinceSnapshot;
+
+    private final Scratch scratch = new Scratch();
+    private final DataOutputStream record = new DataOutputStream(scratch);
+
+    private LoggedGraph(GraphInterface<T> graph, LabelCodec<T> codec, Path directory, MutationLog.Sync sync, long snapshotEvery){
+        if(!(graph instanceof DirectedGraph) && !(graph instanceof UndirectedGraph)) throw new IllegalArgumentException("The graph must be Directed or Undirected");
+        this.graph = graph;
+        this.codec = codec;
+        this.directory = directory;
+        this.sync = sync;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    /**
+     * Opens the graph kept in a directory, changes are forced to disk every 10 ms and no snapshots are taken on
+     * their own
+     * @param directory the directory, created when missing
+     * @param graph an empty graph to load into
+     * @param codec turns the data and or labels into bytes
+     * @return  the graph as it was when last changed
+     * @throws IOException  when the files can not be read
+     */
+    public static <T extends Comparable<T>> LoggedGraph<T> open(Path directory, GraphInterface<T> graph, LabelCodec<T> codec) throws IOException {
+        return open(directory, graph, codec, MutationLog.Sync.PERIODIC, 10, TimeUnit.MILLISECONDS, 0);
+    }
+
+    /**
+     * Opens the graph kept in a directory
+     *
+     * Runtime : O( snapshot + changes since it )
+     *
+     * @param directory the directory, created when missing
+     * @param graph an empty graph to load into
+     * @param codec turns the data and or labels into bytes
+     * @param sync  how far a change has to get before the method making it returns
+     * @param groupCommit   the longest a change waits before it is written
+     * @param unit  the unit of groupCommit
+     * @param snapshotEvery take a snapshot after this many changes | 0 to only take them when asked
+     * @return  the graph as it was when last changed
+     * @throws IOException  when the files can not be read
+     */
+    public static <T extends Comparable<T>> LoggedGraph<T> open(Path directory, GraphInterface<T> graph, LabelCodec<T> codec, MutationLog.Sync sync,
+                                                                long groupCommit, TimeUnit unit, long snapshotEvery) throws IOException {
+        Files.createDirectories(directory);
+        LoggedGraph<T> logged = new LoggedGraph<>(graph, codec, directory, sync, snapshotEvery);
+        logged.generation = logged.loadSnapshot();
+        boolean current = logged.replay();
+        logged.log = new MutationLog(directory.resolve(LOG), logged.generation, sync, groupCommit, unit);
+        if(!current) logged.log.restart(logged.generation);     //left over from before the snapshot
+        return logged;
+    }
+
+    /**
+     * Retrieves the graph to read from, synchronize on it while reading when other threads make changes
+     * @return  the graph
+     */
+    public GraphInterface<T> getGraph(){
+        return graph;
+    }
+
+    /**
+     * Retrieves the object the graph holds for a data and or label
+     * @param data  any equal data and or label
+     * @return  the one in the graph | null when there is no such vertex
+     */
+    public T canonical(T data){
+        synchronized (graph){
+            return labels.get(data);
+        }
+    }
+
+    private T resolve(T data){
+        T held = labels.get(data);
+        return (held == null) ? data : held;
+    }
+
+    @Override
+    public void addVertex(T v){
+        long lsn;
+        synchronized (graph){
+            if(labels.containsKey(v)) throw new IllegalArgumentException("A vertex with that value already exists");
+            lsn = append(ADD_VERTEX, v, null, 0);
+            graph.addVertex(v);
+            labels.put(v, v);
+            changed();
+        }
+        commit(lsn);
+    }
+
+    @Override
+    public void removeVertex(T v){
+        long lsn;
+        synchronized (graph){
+            T held = labels.get(v);
+            if(held == null) return;
+            lsn = append(REMOVE_VERTEX, held, null, 0);
+            graph.removeVertex(held);
+            labels.remove(held);
+            changed();
+        }
+        commit(lsn);
+    }
+
+    @Override
+    public boolean addEdge(T a, T b){
+        return addEdge(a, b, 1);
+    }
+
+    /**
+     * Creates an edge with a specified weight
+     * @param a the vertex data and or label
+     * @param b the vertex data and or label
+     * @param weight    the weight
+     * @return  true only when both vertices exist and the edge was added | false when it already exists
+     */
+    public boolean addEdge(T a, T b, int weight){
+        long lsn;
+        synchronized (graph){
+            a = labels.get(a);
+            b = labels.get(b);
+            if(a == null || b == null || hasEdge(a, b)) return false;
+            lsn = append(ADD_EDGE, a, b, weight);
+            graph.addEdge(a, b);
+            if(weight != 1) graph.setEdgeWeight(a, b, weight);
+            changed();
+        }
+        commit(lsn);
+        return true;
+    }
+
+    @Override
+    public void removeEdge(T a, T b){
+        long lsn;
+        synchronized (graph){
+            a = labels.get(a);
+            b = labels.get(b);
+            if(a == null || b == null || !hasEdge(a, b)) return;    //nothing would change, so nothing is logged
+            lsn = append(REMOVE_EDGE, a, b, 0);
+            graph.removeEdge(a, b);
+            changed();
+        }
+        commit(lsn);
+    }
+
+    @Override
+    public void setEdgeWeight(T a, T b, int weight){
+        long lsn;
+        synchronized (graph){
+            a = labels.get(a);
+            b = labels.get(b);
+            if(a == null || b == null || !hasEdge(a, b)) return;
+            lsn = append(SET_WEIGHT, a, b, weight);
+            graph.setEdgeWeight(a, b, weight);
+            changed();
+        }
+        commit(lsn);
+    }
+
+    /**
+     * Same as the graph being logged, read it while holding its lock when other threads make changes
+     * @return  the number of vertices
+     */
+    @Override
+    public int size(){
+        return graph.size();
+    }
+
+    @Override
+    public int edgeCount(){
+        return graph.edgeCount();
+    }
+
+    @Override
+    public int degree(int v){
+        return graph.degree(v);
+    }
+
+    /**
+     * Looks the label up by equals first, like the methods that change the graph
+     * @param data  any equal data and or label
+     * @return  the number of the vertex | -1 when it does not exist
+     */
+    @Override
+    public int indexOf(T data){
+        synchronized (graph){
+            return graph.indexOf(resolve(data));
+        }
+    }
+
+    @Override
+    public T getLabel(int v){
+        return graph.getLabel(v);
+    }
+
+    @Override
+    public boolean isDirected(){
+        return graph.isDirected();
+    }
+
+    @Override
+    public boolean hasNegativeWeights(){
+        return graph.hasNegativeWeights();
+    }
+
+    @Override
+    public NeighborCursor cursor(){
+        return graph.cursor();
+    }
+
+    /**
+     * Runtime : O( lookup of the labels + degree(a) )
+     */
+    private boolean hasEdge(T a, T b){
+        int f = graph.indexOf(a);
+        int t = graph.indexOf(b);
+        NeighborCursor cursor = graph.cursor();
+        cursor.reset(f);
+        while(cursor.next()) if(cursor.getTarget() == t) return true;
+        return false;
+    }
+
+    /**
+     * Encodes a change into the log before it is made, so a label the codec can not write or a failed write leaves
+     * the graph as it was. The caller holds the lock of the graph
+     */
+    private long append(byte op, T a, T b, int weight){
+        try {
+            scratch.reset();
+            record.writeByte(op);
+            codec.write(record, a);
+            if(b != null) codec.write(record, b);
+            if(op == ADD_EDGE || op == SET_WEIGHT) MutationLog.writeVarInt(record, (weight << 1) ^ (weight >> 31));    //zigzag keeps small negatives short
+            return log.append(scratch.bytes(), scratch.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Counts a change made to the graph, taking a snapshot once enough have been, the caller holds the lock
+     */
+    private void changed(){
+        if(snapshotEvery > 0 && ++sinceSnapshot >= snapshotEvery){
+            try {
+                snapshot();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void commit(long lsn){
+        if(sync != MutationLog.Sync.COMMIT) return;
+        try {
+            log.awaitDurable(lsn);  //outside the lock so other changes can join the same group commit
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes every change so far to disk and waits for it
+     * @throws IOException  when the write failed
+     */
+    public void flush() throws IOException {
+        log.flush();
+    }
+
+    /**
+     * Writes the whole graph to a new snapshot and empties the log
+     *
+     * Runtime : O(V + E)
+     *
+     * @throws IOException  when the snapshot can not be written
+     */
+    public void snapshot() throws IOException {
+        synchronized (graph){
+            log.flush();
+            Path temp = directory.resolve(SNAPSHOT + ".tmp");
+            try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+                CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), new CRC32());
+                DataOutputStream out = new DataOutputStream(checked);
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(generation + 1);
+                writeGraph(out);
+                out.flush();
+                out.writeInt((int) checked.getChecksum().getValue());
+                out.flush();
+                file.getFD().sync();
+            }
+            Files.move(temp, directory.resolve(SNAPSHOT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            generation++;
+            log.restart(generation);    //a crash before this leaves an older log that open ignores
+            sinceSnapshot = 0;
+        }
+    }
+
+    private void writeGraph(DataOutputStream out) throws IOException {
+        IdentityHashMap<Object, Integer> ids = new IdentityHashMap<>();
+        if(graph instanceof DirectedGraph){
+            DirectedGraph<T> g = (DirectedGraph<T>) graph;
+            MutationLog.writeVarInt(out, g.getVertices().size());
+            for(DirectedGraph.Vertex<T> v : g.getVertices()){
+                ids.put(v, ids.size());
+                codec.write(out, v.getData());
+            }
+            int edges = 0;
+            for(DirectedGraph.Vertex<T> v : g.getVertices()) edges += v.getEdgeList().size();
+            MutationLog.writeVarInt(out, edges);
+            for(DirectedGraph.Vertex<T> v : g.getVertices()){
+                for(DirectedGraph.Edge<T> e : v.getEdgeList()) writeEdge(out, ids.get(v), ids.get(e.getTo()), e.getWeight());
+            }
+        }
+        else {
+            UndirectedGraph<T> g = (UndirectedGraph<T>) graph;
+            MutationLog.writeVarInt(out, g.getVertices().size());
+            for(UndirectedGraph.Vertex<T> v : g.getVertices()){
+                ids.put(v, ids.size());
+                codec.write(out, v.getData());
+            }
+            MutationLog.writeVarInt(out, g.getEdges().size());
+            for(UndirectedGraph.Edge<T> e : g.getEdges()) writeEdge(out, ids.get(e.getA()), ids.get(e.getB()), e.getWeight());
+        }
+    }
+
+    private static void writeEdge(DataOutputStream out, int from, int to, int weight) throws IOException {
+        MutationLog.writeVarInt(out, from);
+        MutationLog.writeVarInt(out, to);
+        MutationLog.writeVarInt(out, (weight << 1) ^ (weight >> 31));
+    }
+
+    private static int readWeight(DataInputStream in) throws IOException {
+        int z = MutationLog.readVarInt(in);
+        return (z >>> 1) ^ -(z & 1);
+    }
+
+    /**
+     * Loads the snapshot into the empty graph
+     * @return  the generation of the snapshot | 0 when there is none
+     */
+    @SuppressWarnings("unchecked")
+    private long loadSnapshot() throws IOException {
+        Path file = directory.resolve(SNAPSHOT);
+        if(!Files.exists(file)) return 0;
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            CheckedInputStream checked = new CheckedInputStream(raw, new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if(in.readInt() != SNAPSHOT_MAGIC) throw new IOException("Not a graph snapshot: " + file);
+            long gen = in.readLong();
+
+            int n = MutationLog.readVarInt(in);
+            Object[] byId = new Object[n];
+            for(int i = 0; i < n; i++){
+                T label = codec.read(in);
+                byId[i] = label;
+                graph.addVertex(label);
+                labels.put(label, label);
+            }
+            int edges = MutationLog.readVarInt(in);
+            for(int i = 0; i < edges; i++){
+                T a = (T) byId[MutationLog.readVarInt(in)];
+                T b = (T) byId[MutationLog.readVarInt(in)];
+                int weight = readWeight(in);
+                graph.addEdge(a, b);
+                if(weight != 1) graph.setEdgeWeight(a, b, weight);
+            }
+
+            int expected = (int) checked.getChecksum().getValue();
+            if(new DataInputStream(raw).readInt() != expected) throw new IOException("The graph snapshot is corrupt: " + file);
+            return gen;
+        }
+    }
+
+    /**
+     * Applies the records of the log that follow the snapshot, a record cut off by a crash and everything after it
+     * is cut from the file
+     * @return  false when the log is older than the snapshot and has to be emptied
+     */
+    private boolean replay() throws IOException {
+        Path file = directory.resolve(LOG);
+        if(!Files.exists(file) || Files.size(file) < MutationLog.HEADER) return true;
+
+        long good = MutationLog.HEADER;   //end of the last whole record
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if(in.readInt() != MutationLog.MAGIC) throw new IOException("Not a graph log: " + file);
+            long gen = in.readLong();
+            if(gen < generation) return false;
+            if(gen > generation) throw new IOException("The graph log is newer than its snapshot: " + file);
+
+            CRC32 crc = new CRC32();
+            byte[] bytes = new byte[256];
+            while(true){
+                int length;
+                try {
+                    length = MutationLog.readVarInt(in);
+                    if(length < 0 || length > (1 << 26)) break;
+                    if(length > bytes.length) bytes = new byte[Math.max(length, bytes.length * 2)];
+                    in.readFully(bytes, 0, length);
+                    crc.reset();
+                    crc.update(bytes, 0, length);
+                    if(in.readInt() != (int) crc.getValue()) break;
+                } catch (EOFException e) {
+                    break;
+                }
+                apply(new DataInputStream(new ByteArrayInputStream(bytes, 0, length)), file, good);
+                good += varIntSize(length) + length + 4;
+            }
+        }
+        if(good < Files.size(file)){
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(good);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies one record of the log. Every change is checked before it is logged, so a record that fails here
+     * means the log and snapshot do not belong together or were corrupted
+     * @param file  the log, for the message
+     * @param offset    where the record starts in the log, for the message
+     * @throws IOException  when the record can not be applied
+     */
+    private void apply(DataInputStream in, Path file, long offset) throws IOException {
+        byte op = in.readByte();
+        T a = resolve(codec.read(in));
+        try {
+            switch (op){
+                case ADD_VERTEX:
+                    graph.addVertex(a);
+                    labels.put(a, a);
+                    break;
+                case REMOVE_VERTEX:
+                    graph.removeVertex(a);
+                    labels.remove(a);
+                    break;
+                case ADD_EDGE: {
+                    T b = resolve(codec.read(in));
+                    int weight = readWeight(in);
+                    if(!graph.addEdge(a, b)) throw new IllegalArgumentException("No such vertex " + a + " or " + b);
+                    if(weight != 1) graph.setEdgeWeight(a, b, weight);
+                    break;
+                }
+                case REMOVE_EDGE:
+                    graph.removeEdge(a, resolve(codec.read(in)));
+                    break;
+                case SET_WEIGHT: {
+                    T b = resolve(codec.read(in));
+                    graph.setEdgeWeight(a, b, readWeight(in));
+                    break;
+                }
+                default:
+                    throw new IOException("Unknown record in the graph log: " + op);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("The " + RECORDS[op] + " record at byte " + offset + " of " + file + " does not fit the snapshot: " + e.getMessage(), e);
+        }
+    }
+
+    private static int varIntSize(int value){
+        int size = 1;
+        while((value & ~0x7F) != 0){
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Writes what is left of the log and closes it
+     * @throws IOException  when the last write failed
+     */
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+
+    /**
+     * Lets a record be handed to the log without copying it out first
+     */
+    private static class Scratch extends ByteArrayOutputStream {
+        byte[] bytes(){
+            return buf;
+        }
+    }
+}
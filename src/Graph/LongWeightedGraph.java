@@ -0,0 +1,245 @@
+package Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Graph with long edge weights stored in primitive arrays, nothing is boxed
+ *
+ * Vertices are numbered in the order they are added. The edges leaving a vertex form a linked list through
+ * plain arrays: firstArc(v), then nextArc(a) until it returns -1. An undirected edge is stored as two arcs.
+ * A missing edge or unreachable vertex is INFINITY, and add saturates at it instead of overflowing.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class LongWeightedGraph<T extends Comparable<T>> {
+
+    public static final long INFINITY = Long.MAX_VALUE;
+
+    private final boolean directed;
+    private final ArrayList<T> labels;
+    private final HashMap<T, Integer> ids;
+
+    private int[] head;     //first arc of every vertex | -1
+    private int[] next;     //arc after this one from the same vertex | -1
+    private int[] target;
+    private long[] weight;
+    private int arcs;
+    private int edges;
+    private int negativeArcs;
+
+    /**
+     * Creates a graph with no vertices or edges
+     * @param directed  true when edges only go one way
+     */
+    public LongWeightedGraph(boolean directed){
+        this.directed = directed;
+        labels = new ArrayList<>();
+        ids = new HashMap<>();
+        head = new int[16];
+        next = new int[16];
+        target = new int[16];
+        weight = new long[16];
+    }
+
+    /**
+     * Adds a vertex
+     *
+     * Runtime : O(1) amortized
+     *
+     * @param data  the data and or label of the vertex
+     * @return  the number given to the vertex
+     */
+    public int addVertex(T data){
+        if(ids.containsKey(data)) throw new IllegalArgumentException("A vertex with that value already exists");
+        int v = labels.size();
+        if(v == head.length) head = Arrays.copyOf(head, v * 2);
+        head[v] = -1;
+        labels.add(data);
+        ids.put(data, v);
+        return v;
+    }
+
+    /**
+     * Adds an edge with a specified weight
+     *
+     * Runtime : O( deg(from) ) to check that it does not already exist
+     *
+     * @param from  the vertex data and or label
+     * @param to    the vertex data and or label
+     * @param weight    the weight | INFINITY is not allowed
+     * @return  true only when both vertices exist and the edge was added
+     */
+    public boolean addEdge(T from, T to, long weight){
+        int f = indexOf(from);
+        int t = indexOf(to);
+        if(f == -1 || t == -1) return false;
+        if(weight == INFINITY) throw new IllegalArgumentException("An edge can not have an infinite weight");
+        if(findArc(f, t) != -1) throw new IllegalArgumentException("The edge you are attempting to create already exists");
+        addArc(f, t, weight);
+        if(!directed && f != t) addArc(t, f, weight);
+        edges++;
+        return true;
+    }
+
+    private void addArc(int from, int to, long w){
+        if(arcs == next.length){
+            int capacity = arcs * 2;
+            next = Arrays.copyOf(next, capacity);
+            target = Arrays.copyOf(target, capacity);
+            weight = Arrays.copyOf(weight, capacity);
+        }
+        target[arcs] = to;
+        weight[arcs] = w;
+        next[arcs] = head[from];
+        head[from] = arcs++;
+        if(w < 0) negativeArcs++;
+    }
+
+    /**
+     * Sets the weight for the edge
+     *
+     * Runtime : O( deg(from) )
+     *
+     * @param from  the vertex data and or label
+     * @param to    the vertex data and or label
+     * @param weight    the new weight
+     */
+    public void setEdgeWeight(T from, T to, long weight){
+        if(weight == INFINITY) throw new IllegalArgumentException("An edge can not have an infinite weight");
+        int f = indexOf(from);
+        int t = indexOf(to);
+        if(f == -1 || t == -1) return;
+        setArcWeight(findArc(f, t), weight);
+        if(!directed) setArcWeight(findArc(t, f), weight);
+    }
+
+    private void setArcWeight(int arc, long w){
+        if(arc == -1) return;
+        if(weight[arc] < 0) negativeArcs--;
+        if(w < 0) negativeArcs++;
+        weight[arc] = w;
+    }
+
+    /**
+     * Removes the edge, its slot is not reused
+     *
+     * Runtime : O( deg(from) )
+     *
+     * @param from  the vertex data and or label
+     * @param to    the vertex data and or label
+     */
+    public void removeEdge(T from, T to){
+        int f = indexOf(from);
+        int t = indexOf(to);
+        if(f == -1 || t == -1) return;
+        if(!unlink(f, t)) return;
+        if(!directed && f != t) unlink(t, f);
+        edges--;
+    }
+
+    private boolean unlink(int from, int to){
+        int previous = -1;
+        for(int a = head[from]; a != -1; previous = a, a = next[a]){
+            if(target[a] != to) continue;
+            if(previous == -1) head[from] = next[a];
+            else next[previous] = next[a];
+            if(weight[a] < 0) negativeArcs--;
+            return true;
+        }
+        return false;
+    }
+
+    private int findArc(int from, int to){
+        for(int a = head[from]; a != -1; a = next[a]) if(target[a] == to) return a;
+        return -1;
+    }
+
+    /**
+     * Retrieves the weight of an edge
+     * @param from  the vertex data and or label
+     * @param to    the vertex data and or label
+     * @return  the weight | INFINITY when there is no such edge
+     */
+    public long getEdgeWeight(T from, T to){
+        int f = indexOf(from);
+        int t = indexOf(to);
+        int arc = (f == -1 || t == -1) ? -1 : findArc(f, t);
+        return (arc == -1) ? INFINITY : weight[arc];
+    }
+
+    /**
+     * Adds two distances, saturating at INFINITY instead of overflowing
+     * @param a a distance
+     * @param b a distance or weight
+     * @return  the sum | INFINITY when either is INFINITY or the sum is too large
+     * @throws ArithmeticException  when the sum is too far below zero to fit
+     */
+    public static long add(long a, long b){
+        if(a == INFINITY || b == INFINITY) return INFINITY;
+        long sum = a + b;
+        if(((a ^ sum) & (b ^ sum)) < 0){    //both had the same sign and the sum flipped it
+            if(a > 0) return INFINITY;
+            throw new ArithmeticException("long overflow");
+        }
+        return sum;
+    }
+
+    public int size(){
+        return labels.size();
+    }
+
+    public int edgeCount(){
+        return edges;
+    }
+
+    public boolean isDirected(){
+        return directed;
+    }
+
+    public boolean hasNegativeWeights(){
+        return negativeArcs > 0;
+    }
+
+    /**
+     * Retrieves the number given to the vertex with that data and or label
+     * @param data  the data and or label
+     * @return  the number | -1 when it does not exist
+     */
+    public int indexOf(T data){
+        Integer id = ids.get(data);
+        return (id == null) ? -1 : id;
+    }
+
+    public T getLabel(int v){
+        return labels.get(v);
+    }
+
+    /**
+     * Retrieves the first arc leaving a vertex
+     * @param v the number of the vertex
+     * @return  the arc | -1 when there are none
+     */
+    public int firstArc(int v){
+        return head[v];
+    }
+
+    /**
+     * Retrieves the arc after this one leaving the same vertex
+     * @param arc   the arc
+     * @return  the next arc | -1 when it was the last
+     */
+    public int nextArc(int arc){
+        return next[arc];
+    }
+
+    public int getTarget(int arc){
+        return target[arc];
+    }
+
+    public long getWeight(int arc){
+        return weight[arc];
+    }
+}
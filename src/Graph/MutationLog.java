@@ -0,0 +1,262 @@
+package Graph;
+
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append only file of graph changes with group commit
+ *
+ * Records are copied into a buffer under a short lock and a background thread writes everything that has piled up
+ * with one write, and one fsync when the Sync policy asks for it. Callers that need their change on disk wait for
+ * the write that covers it, so many callers share one fsync.
+ *
+ * Every record is its length, its bytes and a CRC32 of them. A record cut off by a crash fails its check and it and
+ * everything after it are dropped when the log is read back. The header holds the generation of the snapshot the
+ * log continues from, so a log that outlived a newer snapshot is ignored.
+ *
+ * @version 1.0
+ */
+public class MutationLog implements Closeable {
+
+    /**
+     * How far a change has to get before it counts as committed
+     */
+    public enum Sync {
+        NONE,       //written to the operating system at every group commit but never forced to disk
+        PERIODIC,   //forced to disk at every group commit, callers do not wait for it
+        COMMIT      //callers wait until the group commit holding their change has been forced to disk
+    }
+
+    static final int MAGIC = 0x4757414C;    //GWAL
+    static final int HEADER = 12;           //magic and generation
+
+    private final FileChannel channel;
+    private final Sync sync;
+    private final long intervalNanos;
+    private final CRC32 crc = new CRC32();
+    private final Thread writer;
+
+    private byte[] pending = new byte[1 << 16];
+    private int pendingSize;
+    private byte[] spare = new byte[1 << 16];
+    private long appended;  //records handed to the log
+    private long durable;   //records written, and forced when the policy says so
+    private long firstPending;  //when the oldest record not yet written was appended
+    private boolean flushRequested;
+    private boolean writing;
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * Opens a log for appending after any records it already holds
+     * @param file  the file of the log
+     * @param generation    written to the header when the file is new
+     * @param sync  how far a change has to get before it counts as committed
+     * @param groupCommit   the longest a change waits before it is written
+     * @param unit  the unit of groupCommit
+     * @throws IOException  when the file can not be opened
+     */
+    MutationLog(Path file, long generation, Sync sync, long groupCommit, TimeUnit unit) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.sync = sync;
+        this.intervalNanos = Math.max(1, unit.toNanos(groupCommit));
+        if(channel.size() < HEADER) writeHeader(generation);
+        channel.position(channel.size());
+        writer = new Thread(this::run, "mutation-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void writeHeader(long generation) throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER).putInt(MAGIC).putLong(generation);
+        header.flip();
+        channel.write(header, 0);
+        channel.force(true);
+        channel.position(HEADER);
+    }
+
+    /**
+     * Adds a record to the next group commit
+     * @param record    the bytes of the record
+     * @param length    the number of bytes used
+     * @return  the number of the record, pass it to awaitDurable to wait for it
+     * @throws IOException  when an earlier write failed
+     */
+    synchronized long append(byte[] record, int length) throws IOException {
+        if(failure != null) throw failure;
+        if(closed) throw new IllegalStateException("The log is closed");
+        crc.reset();
+        crc.update(record, 0, length);
+        if(pendingSize == 0) firstPending = System.nanoTime();
+        ensure(pendingSize + length + 9);
+        pendingSize = writeVarInt(pending, pendingSize, length);
+        System.arraycopy(record, 0, pending, pendingSize, length);
+        pendingSize += length;
+        int check = (int) crc.getValue();
+        pending[pendingSize++] = (byte) (check >>> 24);
+        pending[pendingSize++] = (byte) (check >>> 16);
+        pending[pendingSize++] = (byte) (check >>> 8);
+        pending[pendingSize++] = (byte) check;
+        if(sync == Sync.COMMIT) notifyAll();    //someone is about to wait, no reason to hold the group back
+        return ++appended;
+    }
+
+    private void ensure(int capacity){
+        if(capacity > pending.length) pending = Arrays.copyOf(pending, Math.max(capacity, pending.length * 2));
+    }
+
+    /**
+     * Waits until a record has been committed as far as the Sync policy asks
+     * @param record    the number append returned
+     * @throws IOException  when the write failed
+     */
+    synchronized void awaitDurable(long record) throws IOException {
+        if(durable < record){
+            flushRequested = true;
+            notifyAll();
+        }
+        while(durable < record && failure == null){
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the log", e);
+            }
+        }
+        if(failure != null) throw failure;
+    }
+
+    /**
+     * Writes everything appended so far and waits for it, whatever the Sync policy
+     * @throws IOException  when the write failed
+     */
+    public void flush() throws IOException {
+        long last;
+        synchronized (this){
+            last = appended;
+        }
+        awaitDurable(last);
+    }
+
+    /**
+     * Empties the log once a snapshot holds everything in it
+     * @param generation    the generation of that snapshot
+     * @throws IOException  when the file can not be written
+     */
+    synchronized void restart(long generation) throws IOException {
+        flush();
+        while(writing){
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the log", e);
+            }
+        }
+        writeHeader(generation);
+    }
+
+    /**
+     * The group commit loop of the writer thread
+     */
+    private void run(){
+        while(true){
+            byte[] batch;
+            int size;
+            long last;
+            synchronized (this){
+                while(!closed && !(pendingSize > 0 && (sync == Sync.COMMIT || flushRequested || System.nanoTime() - firstPending >= intervalNanos))){
+                    long left = (pendingSize == 0) ? intervalNanos : intervalNanos - (System.nanoTime() - firstPending);
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(this, Math.max(1, left));
+                    } catch (InterruptedException e) {
+                        closed = true;
+                    }
+                }
+                if(pendingSize == 0) return;    //closed with nothing left to write
+                flushRequested = false;
+                batch = pending;
+                size = pendingSize;
+                last = appended;
+                pending = spare;
+                pendingSize = 0;
+                spare = batch;
+                writing = true;
+            }
+
+            IOException error = null;
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(batch, 0, size);
+                while(buffer.hasRemaining()) channel.write(buffer);
+                if(sync != Sync.NONE) channel.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+
+            synchronized (this){
+                writing = false;
+                if(error != null) failure = error;
+                else durable = last;
+                notifyAll();
+                if(failure != null) return;
+            }
+        }
+    }
+
+    /**
+     * Writes what is left and closes the file
+     * @throws IOException  when the last write failed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this){
+            if(closed) return;
+            closed = true;
+            notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if(failure != null) throw failure;
+    }
+
+    static int writeVarInt(byte[] out, int at, int value){
+        while((value & ~0x7F) != 0){
+            out[at++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[at++] = (byte) value;
+        return at;
+    }
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while((value & ~0x7F) != 0){
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for(int shift = 0; shift < 35; shift += 7){
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed number in the log");
+    }
+}
@@ -0,0 +1,36 @@
+package Graph;
+
+/**
+ * Walks the edges leaving one vertex at a time without allocating
+ *
+ * A cursor is reused: reset it to a vertex, then call next until it returns false. Each cursor belongs to one
+ * thread, but any number of cursors can walk the same graph at once.
+ *
+ * @version 1.0
+ */
+public interface NeighborCursor {
+
+    /**
+     * Moves the cursor to before the first edge of a vertex
+     * @param v the number of the vertex
+     */
+    void reset(int v);
+
+    /**
+     * Moves to the next edge
+     * @return  true when there was one, false once every edge of the vertex has been seen
+     */
+    boolean next();
+
+    /**
+     * Retrieves the vertex the current edge points to
+     * @return  the number of the vertex
+     */
+    int getTarget();
+
+    /**
+     * Retrieves the weight of the current edge
+     * @return  the weight
+     */
+    int getWeight();
+}
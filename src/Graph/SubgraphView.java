@@ -0,0 +1,224 @@
+package Graph;
+
+import java.util.Collection;
+import java.util.function.IntPredicate;
+
+/**
+ * Part of a graph seen through vertex and edge filters, nothing is copied
+ *
+ * The filters are checked as a cursor walks the edges, so a search over the view simply never sees a hidden vertex
+ * or edge. Vertices keep the numbers they have in the underlying graph, and a hidden vertex can not be found with
+ * indexOf and has no edges in or out. The filters are asked again on every walk, so filters that read changing state
+ * (closed roads for example) take effect on the next search.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class SubgraphView<T extends Comparable<T>> implements Adjacency<T> {
+
+    /**
+     * Decides if an edge is part of the view
+     */
+    public interface EdgeFilter {
+        /**
+         * @param from  the number of the vertex it leaves
+         * @param to    the number of the vertex it points to
+         * @param weight    its weight
+         * @return  true to keep the edge
+         */
+        boolean test(int from, int to, int weight);
+    }
+
+    private final Adjacency<T> graph;
+    private final IntPredicate vertices;
+    private final EdgeFilter edges;
+
+    /**
+     * Creates a view
+     * @param graph the graph underneath
+     * @param vertices  true for the vertex numbers to keep
+     * @param edges true for the edges to keep
+     */
+    public SubgraphView(Adjacency<T> graph, IntPredicate vertices, EdgeFilter edges){
+        this.graph = graph;
+        this.vertices = vertices;
+        this.edges = edges;
+    }
+
+    /**
+     * Creates a view that hides the edges heavier than a cap
+     * @param graph the graph underneath
+     * @param maxWeight the heaviest weight kept
+     * @param <T>   The type for the graph
+     * @return  the view
+     */
+    public static <T extends Comparable<T>> SubgraphView<T> maxWeight(Adjacency<T> graph, int maxWeight){
+        return new SubgraphView<>(graph, v -> true, (from, to, weight) -> weight <= maxWeight);
+    }
+
+    /**
+     * Creates a view that hides some vertices
+     *
+     * Runtime : O(V + hidden)
+     *
+     * @param graph the graph underneath
+     * @param hidden    the data and or labels of the vertices to hide, ones not in the graph are ignored
+     * @param <T>   The type for the graph
+     * @return  the view
+     */
+    public static <T extends Comparable<T>> SubgraphView<T> without(Adjacency<T> graph, Collection<T> hidden){
+        boolean[] gone = new boolean[graph.size()];
+        for(T data : hidden){
+            int v = graph.indexOf(data);
+            if(v != -1) gone[v] = true;
+        }
+        return new SubgraphView<>(graph, v -> !gone[v], (from, to, weight) -> true);
+    }
+
+    /**
+     * Creates a view of this view that also hides the edges the filter rejects
+     * @param more  true for the edges to keep
+     * @return  the narrower view
+     */
+    public SubgraphView<T> filterEdges(EdgeFilter more){
+        EdgeFilter current = edges;
+        return new SubgraphView<>(graph, vertices, (from, to, weight) -> current.test(from, to, weight) && more.test(from, to, weight));
+    }
+
+    /**
+     * Creates a view of this view that also hides the vertices the filter rejects
+     * @param more  true for the vertex numbers to keep
+     * @return  the narrower view
+     */
+    public SubgraphView<T> filterVertices(IntPredicate more){
+        return new SubgraphView<>(graph, vertices.and(more), edges);
+    }
+
+    /**
+     * Checks if a vertex is part of the view
+     * @param v the number of the vertex
+     * @return  true when it is kept
+     */
+    public boolean contains(int v){
+        return vertices.test(v);
+    }
+
+    /**
+     * Retrieves the number of vertex numbers, hidden vertices keep theirs so they are counted
+     * @return  the number of vertices underneath
+     */
+    @Override
+    public int size(){
+        return graph.size();
+    }
+
+    /**
+     * Counts the edges the view keeps
+     *
+     * Runtime : O(V + E)
+     *
+     * @return  the number of edges
+     */
+    @Override
+    public int edgeCount(){
+        NeighborCursor cursor = cursor();
+        int count = 0;
+        for(int v = 0; v < size(); v++){
+            cursor.reset(v);
+            while(cursor.next()) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Counts the edges the view keeps leaving a vertex
+     *
+     * Runtime : O( deg(v) )
+     *
+     * @param v the number of the vertex
+     * @return  the degree
+     */
+    @Override
+    public int degree(int v){
+        NeighborCursor cursor = cursor();
+        cursor.reset(v);
+        int degree = 0;
+        while(cursor.next()) degree++;
+        return degree;
+    }
+
+    @Override
+    public int indexOf(T data){
+        int v = graph.indexOf(data);
+        return (v == -1 || !vertices.test(v)) ? -1 : v;
+    }
+
+    @Override
+    public T getLabel(int v){
+        return graph.getLabel(v);
+    }
+
+    @Override
+    public boolean isDirected(){
+        return graph.isDirected();
+    }
+
+    /**
+     * Checks if the graph underneath has negative weights, they may all be hidden
+     * @return  true when there could be negative weights
+     */
+    @Override
+    public boolean hasNegativeWeights(){
+        return graph.hasNegativeWeights();
+    }
+
+    @Override
+    public NeighborCursor cursor(){
+        return new Cursor(graph.cursor());
+    }
+
+    public Adjacency<T> getGraph(){
+        return graph;
+    }
+
+
+    /**
+     * Walks the cursor underneath and skips what the filters reject
+     */
+    private class Cursor implements NeighborCursor {
+        private final NeighborCursor inner;
+        private int from;
+        private boolean hidden;
+
+        Cursor(NeighborCursor inner){
+            this.inner = inner;
+        }
+
+        @Override
+        public void reset(int v){
+            from = v;
+            hidden = !vertices.test(v);
+            inner.reset(v);
+        }
+
+        @Override
+        public boolean next(){
+            if(hidden) return false;
+            while(inner.next()){
+                int to = inner.getTarget();
+                if(vertices.test(to) && edges.test(from, to, inner.getWeight())) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int getTarget(){
+            return inner.getTarget();
+        }
+
+        @Override
+        public int getWeight(){
+            return inner.getWeight();
+        }
+    }
+}
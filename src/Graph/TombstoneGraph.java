@@ -0,0 +1,359 @@
+package Graph;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copy of a graph that vertices and edges can be removed from cheaply while other threads keep searching it
+ *
+ * Removing only marks a vertex or edge dead and the cursors skip it from then on, so nothing is moved when it is
+ * removed. Once the dead edges pass a set fraction of the stored ones a compaction pass copies the live edges into
+ * fresh arrays, either on a background thread or when compact is called. Searches never wait for it: the arrays
+ * are swapped in with a single write and a cursor picks up the new ones the next time it is reset. Vertices keep
+ * their numbers for the life of the graph, a removed vertex just has no edges.
+ *
+ * Removals are serialized with each other, searches can run on any number of threads at once.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class TombstoneGraph<T extends Comparable<T>> implements Adjacency<T> {
+
+    private final ArrayList<T> labels;
+    private final ConcurrentHashMap<T, Integer> ids;   //removed vertices are taken out so indexOf stops finding them
+    private final boolean[] deadVertex;
+    private final boolean directed;
+    private final boolean negativeWeights;
+    private final double threshold;
+    private final boolean background;
+
+    private volatile Layout layout;     //written after every removal so searches that reset a cursor see it
+    private final Object compactionLock = new Object();
+    private boolean compacting;
+    private ArrayList<long[]> removedWhileCompacting;    //edges to remove again from the arrays being built
+    private int compactions;
+
+    /**
+     * Copies a compact graph, compacting in the background once a quarter of the edges are dead
+     * @param graph the graph to copy
+     */
+    public TombstoneGraph(CompactGraph<T> graph){
+        this(graph, 0.25, true);
+    }
+
+    /**
+     * Copies a compact graph
+     *
+     * Runtime : O( V + E log(deg) )
+     *
+     * @param graph the graph to copy
+     * @param threshold the fraction of stored edges that are dead before a compaction starts
+     * @param background    true to compact on a background thread, false to only compact when compact is called
+     */
+    public TombstoneGraph(CompactGraph<T> graph, double threshold, boolean background){
+        if(!(threshold > 0 && threshold <= 1)) throw new IllegalArgumentException("The threshold must be above 0 and at most 1");
+        this.threshold = threshold;
+        this.background = background;
+        int n = graph.size();
+        directed = graph.isDirected();
+        negativeWeights = graph.hasNegativeWeights();
+        labels = new ArrayList<>(n);
+        ids = new ConcurrentHashMap<>();
+        for(int v = 0; v < n; v++){
+            labels.add(graph.getLabel(v));
+            ids.put(graph.getLabel(v), v);
+        }
+        deadVertex = new boolean[n];
+
+        //sorting each vertex's edges by target lets removeEdge find them with a binary search
+        CompactGraph<T> sorted = graph.relabel(identity(n));
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[sorted.edgeCount()];
+        int[] weights = new int[sorted.edgeCount()];
+        for(int v = 0; v < n; v++) offsets[v + 1] = sorted.lastEdge(v);
+        for(int e = 0; e < targets.length; e++){
+            targets[e] = sorted.getTarget(e);
+            weights[e] = sorted.getWeight(e);
+        }
+        layout = new Layout(offsets, targets, weights);
+    }
+
+    private static int[] identity(int n){
+        int[] rank = new int[n];
+        for(int v = 0; v < n; v++) rank[v] = v;
+        return rank;
+    }
+
+    /**
+     * Marks a vertex and every edge into or out of it dead
+     *
+     * Runtime : O(1)
+     *
+     * @param data  the data and or label of the vertex
+     * @return  true when the vertex existed and was removed
+     */
+    public synchronized boolean removeVertex(T data){
+        Integer v = ids.remove(data);
+        if(v == null) return false;
+        Layout current = layout;
+        deadVertex[v] = true;
+        current.dead += current.offsets[v + 1] - current.offsets[v] - current.deadOut[v];     //edges into it are only counted once compacted away
+        publish(current);
+        return true;
+    }
+
+    /**
+     * Marks an edge dead, undirected edges in both directions
+     *
+     * Runtime : O( log(deg) )
+     *
+     * @param from  the start vertex data and or label
+     * @param to    the end vertex data and or label
+     * @return  true when the edge existed and was removed
+     */
+    public synchronized boolean removeEdge(T from, T to){
+        Integer f = ids.get(from);
+        Integer t = ids.get(to);
+        if(f == null || t == null) return false;
+        Layout current = layout;
+        if(!current.kill(f, t)) return false;
+        if(!directed && !f.equals(t)) current.kill(t, f);
+        if(compacting){
+            removedWhileCompacting.add(new long[]{f, t});
+            if(!directed) removedWhileCompacting.add(new long[]{t, f});
+        }
+        publish(current);
+        return true;
+    }
+
+    /**
+     * Makes the removal visible to other threads and starts a compaction when there is enough to reclaim
+     */
+    private void publish(Layout current){
+        layout = current;
+        if(background && !compacting && current.dead > threshold * current.targets.length){
+            Thread t = new Thread(this::compact, "graph-compaction");
+            t.setDaemon(true);
+            compacting = true;  //set here so only one thread is started
+            removedWhileCompacting = new ArrayList<>();
+            t.start();
+        }
+    }
+
+    /**
+     * Copies the live edges into new arrays and swaps them in. Searches keep running on the old arrays until they
+     * reset a cursor, and edges removed in the meantime are removed again from the new arrays before the swap
+     *
+     * Runtime : O(V + E)
+     */
+    public void compact(){
+        synchronized(compactionLock){
+            Layout old;
+            synchronized(this){
+                old = layout;
+                compacting = true;
+                if(removedWhileCompacting == null) removedWhileCompacting = new ArrayList<>();
+            }
+
+            int n = labels.size();
+            int[] offsets = new int[n + 1];
+            int live = 0;
+            for(int v = 0; v < n; v++){
+                offsets[v] = live;
+                if(deadVertex[v]) continue;
+                for(int e = old.offsets[v]; e < old.offsets[v + 1]; e++) if(!old.deadEdge[e] && !deadVertex[old.targets[e]]) live++;
+            }
+            offsets[n] = live;
+            int[] targets = new int[live];
+            int[] weights = new int[live];
+            for(int v = 0, at = 0; v < n; v++){
+                if(deadVertex[v]) continue;
+                for(int e = old.offsets[v]; e < old.offsets[v + 1]; e++){
+                    if(old.deadEdge[e] || deadVertex[old.targets[e]]) continue;
+                    targets[at] = old.targets[e];
+                    weights[at++] = old.weights[e];
+                }
+            }
+            Layout fresh = new Layout(offsets, targets, weights);
+
+            synchronized(this){
+                for(long[] edge : removedWhileCompacting) fresh.kill((int) edge[0], (int) edge[1]);
+                for(int v = 0; v < n; v++) if(deadVertex[v]) fresh.dead += fresh.offsets[v + 1] - fresh.offsets[v] - fresh.deadOut[v];
+                removedWhileCompacting = null;
+                compacting = false;
+                compactions++;
+                layout = fresh;
+            }
+        }
+    }
+
+    /**
+     * Checks if the vertex with that number was removed
+     * @param v the number of the vertex
+     * @return  true when removed
+     */
+    public boolean isRemoved(int v){
+        return !ids.containsKey(labels.get(v));
+    }
+
+    /**
+     * Retrieves the number of vertices, removed vertices keep their numbers so they are still counted
+     * @return  the number of vertex numbers in use
+     */
+    @Override
+    public int size(){
+        return labels.size();
+    }
+
+    /**
+     * Retrieves the number of stored edges that have not been removed. Edges into a removed vertex still count
+     * until the next compaction
+     * @return  the number of edges
+     */
+    @Override
+    public int edgeCount(){
+        Layout current = layout;
+        return current.targets.length - current.dead;
+    }
+
+    /**
+     * Retrieves the number of live edges leaving a vertex
+     *
+     * Runtime : O( deg(v) )
+     *
+     * @param v the number of the vertex
+     * @return  the degree
+     */
+    @Override
+    public int degree(int v){
+        NeighborCursor cursor = cursor();
+        cursor.reset(v);
+        int degree = 0;
+        while(cursor.next()) degree++;
+        return degree;
+    }
+
+    @Override
+    public int indexOf(T data){
+        Integer id = ids.get(data);
+        return (id == null) ? -1 : id;
+    }
+
+    @Override
+    public T getLabel(int v){
+        return labels.get(v);
+    }
+
+    @Override
+    public boolean isDirected(){
+        return directed;
+    }
+
+    @Override
+    public boolean hasNegativeWeights(){
+        return negativeWeights;
+    }
+
+    /**
+     * Retrieves the fraction of the stored edges that are dead
+     * @return  a number from 0 to 1
+     */
+    public double getDeadFraction(){
+        Layout current = layout;
+        return (current.targets.length == 0) ? 0 : (double) current.dead / current.targets.length;
+    }
+
+    /**
+     * Retrieves the number of compactions that have finished
+     * @return  the number of compactions
+     */
+    public synchronized int getCompactions(){
+        return compactions;
+    }
+
+    @Override
+    public NeighborCursor cursor(){
+        return new Cursor();
+    }
+
+
+    /**
+     * One generation of the edge arrays, only the dead flags change once it is built
+     */
+    private static class Layout {
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] weights;
+        private final boolean[] deadEdge;
+        private final int[] deadOut;    //dead edges leaving each vertex, so removing the vertex does not count them twice
+        private int dead;   //guarded by the graph
+
+        Layout(int[] offsets, int[] targets, int[] weights){
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            deadEdge = new boolean[targets.length];
+            deadOut = new int[offsets.length - 1];
+        }
+
+        /**
+         * Marks the edge dead, the targets of a vertex are sorted so it is found with a binary search
+         * @return  true when it was live
+         */
+        boolean kill(int from, int to){
+            int low = offsets[from], high = offsets[from + 1] - 1;
+            while(low <= high){
+                int mid = (low + high) >>> 1;
+                if(targets[mid] < to) low = mid + 1;
+                else if(targets[mid] > to) high = mid - 1;
+                else {
+                    if(deadEdge[mid]) return false;
+                    deadEdge[mid] = true;
+                    deadOut[from]++;
+                    dead++;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+
+    /**
+     * Walks the layout that was current when it was reset, skipping dead edges and removed vertices
+     */
+    private class Cursor implements NeighborCursor {
+        private Layout current;
+        private int e;
+        private int end;
+
+        @Override
+        public void reset(int v){
+            current = layout;
+            if(deadVertex[v]){
+                e = end = 0;
+                return;
+            }
+            e = current.offsets[v] - 1;
+            end = current.offsets[v + 1];
+        }
+
+        @Override
+        public boolean next(){
+            while(++e < end){
+                if(!current.deadEdge[e] && !deadVertex[current.targets[e]]) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int getTarget(){
+            return current.targets[e];
+        }
+
+        @Override
+        public int getWeight(){
+            return current.weights[e];
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package Graph;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 
 /**
  * Graph Theory Directed Graphs that with the ability to have weighted edges
@@ -15,12 +19,15 @@ public class UndirectedGraph<T extends Comparable<T>> implements GraphInterface<
 
     private final LinkedList<Edge<T>> edgeLinkedList;
 
+    private final ArrayList<Vertex<T>> numbered;    //vertex number v of the Adjacency methods is numbered.get(v)
+
     /**
      * Creates a Directed Graph with no vertices or edges
      */
     public UndirectedGraph(){
         vertices = new LinkedList<>();
         edgeLinkedList = new LinkedList<>();
+        numbered = new ArrayList<>();
     }
 
     /**
@@ -32,21 +39,44 @@ public class UndirectedGraph<T extends Comparable<T>> implements GraphInterface<
      */
     public void addVertex(T data){
         ensureUnique(data);
-        vertices.addLast(new Vertex<>(data));
+        Vertex<T> v = new Vertex<>(data);
+        v.index = numbered.size();
+        numbered.add(v);
+        vertices.addLast(v);
     }
 
     /**
-     * Removes the vertex in the graph with the data field of the argument passed in
+     * Removes the vertex in the graph with the data field of the argument passed in, the last numbered vertex takes
+     * over its number
      *
      * Runtime O(V + E)
      *
      * @param data  The label and or data saved in the vertex to be deleted
      */
     public void removeVertex(T data){
-        vertices.removeIf(v -> v.getData() == data);
+        for(Iterator<Vertex<T>> it = vertices.iterator(); it.hasNext();){
+            Vertex<T> v = it.next();
+            if(v.getData() != data) continue;
+            it.remove();
+            for(Edge<T> e : v.incident) if(e.getA() != e.getB()) other(e, v).incident.remove(e);
+            v.incident.clear();
+            Vertex<T> last = numbered.remove(numbered.size() - 1);
+            if(last != v){
+                last.index = v.index;
+                numbered.set(v.index, last);
+            }
+            v.index = -1;
+        }
         edgeLinkedList.removeIf(e -> (e.getB().getData() == data || e.getA().getData() == data) );
     }
 
+    /**
+     * Retrieves the end of the edge that is not the given vertex
+     */
+    private static <T extends Comparable<T>> Vertex<T> other(Edge<T> e, Vertex<T> v){
+        return (e.getA() == v) ? e.getB() : e.getA();
+    }
+
     /**
      * Sets the weight for the edge
      *
@@ -78,7 +108,7 @@ public class UndirectedGraph<T extends Comparable<T>> implements GraphInterface<
     /**
      * Adds an edge with a specified weight
      *
-     * Runtime : O(E)
+     * Runtime : O(deg)
      *
      * @param a  the vertex
      * @param b the other vertex
@@ -86,15 +116,18 @@ public class UndirectedGraph<T extends Comparable<T>> implements GraphInterface<
      * @return  true only when the vertex was successfully added
      */
     public boolean addEdge(Vertex<T> a, Vertex<T> b, int weight){
-        if(!ensureUniqueEdge(a.data, b.getData())) throw new IllegalArgumentException("The edge you are attempting to create already exists");
-        edgeLinkedList.add(new Edge<>(a,b, weight));
+        if(a.getEdge(b.getData()) != null) throw new IllegalArgumentException("The edge you are attempting to create already exists");
+        Edge<T> edge = new Edge<>(a,b, weight);
+        edgeLinkedList.add(edge);
+        a.incident.add(edge);
+        if(b != a) b.incident.add(edge);
         return false;
     }
 
     /**
      * Adds an edge with a weight of 1
      *
-     * Runtime : O(V + E)
+     * Runtime : O(V)
      *
      * @param a the vertex data and or label
      * @param b the vertex data and or label
@@ -107,7 +140,7 @@ public class UndirectedGraph<T extends Comparable<T>> implements GraphInterface<
     /**
      * Adds an edge with a specified weight
      *
-     * Runtime : O(V + E)
+     * Runtime : O(V)
      *
      * @param a the vertex data and or label
      * @param b the vertex data and or label
@@ -167,7 +200,14 @@ public class UndirectedGraph<T extends Comparable<T>> implements GraphInterface<
      * @param b    the end vertex data and or label
      */
     public void removeEdge(T a, T b){
-        edgeLinkedList.removeIf(e -> ((e.getA().getData() == a && e.getB().getData() == b) || (e.getA().getData() == b && e.getA().getData() == a) ));
+        for(Iterator<Edge<T>> it = edgeLinkedList.iterator(); it.hasNext();){
+            Edge<T> e = it.next();
+            if((e.getA().getData() == a && e.getB().getData() == b) || (e.getA().getData() == b && e.getB().getData() == a)){
+                it.remove();
+                e.getA().incident.remove(e);
+                e.getB().incident.remove(e);
+            }
+        }
     }
 
     /**
@@ -186,6 +226,20 @@ public class UndirectedGraph<T extends Comparable<T>> implements GraphInterface<
         return edgeLinkedList;
     }
 
+    /**
+     * Retrieves the edge between two vertices in either direction
+     *
+     * Runtime : O(V + deg)
+     *
+     * @param a the vertex data and or label
+     * @param b the vertex data and or label
+     * @return  the edge when found | can be null
+     */
+    public Edge<T> getEdge(T a, T b){
+        Vertex<T> v = getVertex(a);
+        return (v == null) ? null : v.getEdge(b);
+    }
+
     /**
      * Retrieves the vertex in this graph that contains that data and or label
      *
@@ -201,16 +255,128 @@ public class UndirectedGraph<T extends Comparable<T>> implements GraphInterface<
         return null;
     }
 
+    /**
+     * Retrieves the vertex with that number, the same numbering the Adjacency methods use
+     *
+     * Runtime : O(1)
+     *
+     * @param v the number of the vertex
+     * @return  the vertex
+     */
+    public Vertex<T> getVertexAt(int v){
+        return numbered.get(v);
+    }
+
+    /**
+     * Retrieves the number of vertices
+     * @return  the number of vertices
+     */
+    public int size(){
+        return numbered.size();
+    }
+
+    /**
+     * Retrieves the number of edges as seen from both ends, so every edge but a self loop counts twice
+     *
+     * Runtime : O(V)
+     *
+     * @return  the number of edges
+     */
+    public int edgeCount(){
+        int count = 0;
+        for(Vertex<T> v : numbered) count += v.incident.size();
+        return count;
+    }
+
+    public int degree(int v){
+        return numbered.get(v).incident.size();
+    }
+
+    /**
+     * Retrieves the number of the vertex with that data and or label, numbers run from 0 to size() - 1 and only
+     * change when a vertex is removed
+     *
+     * Runtime : O(V)
+     *
+     * @param data  the data and or label
+     * @return  the number of the vertex | -1 when it does not exist
+     */
+    public int indexOf(T data){
+        Vertex<T> v = getVertex(data);
+        return (v == null) ? -1 : v.index;
+    }
+
+    public T getLabel(int v){
+        return numbered.get(v).getData();
+    }
+
+    public boolean isDirected(){
+        return false;
+    }
+
+    /**
+     * Checks every edge, weights can be changed through the edges themselves so nothing is cached
+     *
+     * Runtime : O(E)
+     *
+     * @return  true when any edge has a weight below 0
+     */
+    public boolean hasNegativeWeights(){
+        for(Edge<T> e : edgeLinkedList) if(e.getWeight() < 0) return true;
+        return false;
+    }
+
+    /**
+     * Creates a cursor that walks the edges touching each vertex in place
+     * @return  a cursor that has not been reset to any vertex yet
+     */
+    public NeighborCursor cursor(){
+        return new Cursor();
+    }
+
     @Override
     public String toString(){
-        String str = "";
-        str += "Edges in " + ConsoleColors.ANSI_RED + "Red" + ConsoleColors.ANSI_RESET + " are " + ConsoleColors.ANSI_RED +"Relaxed"+ConsoleColors.ANSI_RESET+", " +
+        StringBuilder str = new StringBuilder();
+        str.append("Edges in " + ConsoleColors.ANSI_RED + "Red" + ConsoleColors.ANSI_RESET + " are " + ConsoleColors.ANSI_RED +"Relaxed"+ConsoleColors.ANSI_RESET+", " +
                 ConsoleColors.ANSI_GREEN+"Green" + ConsoleColors.ANSI_RESET+ " are in the " +ConsoleColors.ANSI_GREEN+ "Path" + ConsoleColors.ANSI_RESET +", " +
                 ConsoleColors.ANSI_BLUE+"Blue" +ConsoleColors.ANSI_RESET+ " have been " + ConsoleColors.ANSI_BLUE + "Explored" + ConsoleColors.ANSI_RESET + " and " +
-                ConsoleColors.ANSI_YELLOW + "Yellow" + ConsoleColors.ANSI_RESET + " have " + ConsoleColors.ANSI_YELLOW + "not been Explored\n"+ConsoleColors.ANSI_RESET;
-        str += "This Graph has "+edgeLinkedList.size()+" Undirected Edge(s)\n";
-        for(Edge<T> e : edgeLinkedList) str+="\t\t"+e+"\n";
-        return str;
+                ConsoleColors.ANSI_YELLOW + "Yellow" + ConsoleColors.ANSI_RESET + " have " + ConsoleColors.ANSI_YELLOW + "not been Explored\n"+ConsoleColors.ANSI_RESET);
+        str.append("This Graph has ").append(edgeLinkedList.size()).append(" Undirected Edge(s)\n");
+        for(Edge<T> e : edgeLinkedList) str.append("\t\t").append(e).append("\n");
+        return str.toString();
+    }
+
+
+    /**
+     * Walks the edges touching a vertex by position, so nothing is allocated per vertex
+     */
+    private class Cursor implements NeighborCursor {
+        private Vertex<T> vertex;
+        private int i;
+        private Edge<T> edge;
+
+        @Override
+        public void reset(int v){
+            vertex = numbered.get(v);
+            i = 0;
+        }
+
+        @Override
+        public boolean next(){
+            if(i == vertex.incident.size()) return false;
+            edge = vertex.incident.get(i++);
+            return true;
+        }
+
+        @Override
+        public int getTarget(){
+            return other(edge, vertex).index;
+        }
+
+        @Override
+        public int getWeight(){
+            return edge.getWeight();
+        }
     }
 
 
@@ -222,6 +388,8 @@ public class UndirectedGraph<T extends Comparable<T>> implements GraphInterface<
     public static class Vertex <T extends Comparable<T>> implements Comparable<Vertex<T>> {
 
         private T data;
+        int index;  //its number in the graph | -1 when it is not in one
+        private final ArrayList<Edge<T>> incident;  //every edge with this vertex at either end, kept in step with the graph
 
         private int distance;
         private boolean isVisited;
@@ -235,6 +403,8 @@ public class UndirectedGraph<T extends Comparable<T>> implements GraphInterface<
          */
         public Vertex(T data) {
             this.data = data;
+            index = -1;
+            incident = new ArrayList<>();
             distance = Integer.MAX_VALUE;
             isVisited = false;
         }
@@ -308,6 +478,27 @@ public class UndirectedGraph<T extends Comparable<T>> implements GraphInterface<
             return isVisited;
         }
 
+        /**
+         * Retrieves every edge with this vertex at either end
+         * @return  the edges, read only
+         */
+        public List<Edge<T>> incidentEdges() {
+            return Collections.unmodifiableList(incident);
+        }
+
+        /**
+         * Retrieves the edge between this vertex and the specified Vertex
+         *
+         * Runtime : O(deg)
+         *
+         * @param other the data and or label of the specified Vertex
+         * @return  the Edge when found | can be null
+         */
+        public Edge<T> getEdge(T other) {
+            for(Edge<T> e : incident) if(UndirectedGraph.other(e, this).getData() == other) return e;
+            return null;
+        }
+
         @Override
         public String toString() {
             return  "Vertex (" + ((isVisited) ? ConsoleColors.ANSI_BLUE : ConsoleColors.ANSI_YELLOW) + data.toString() + ConsoleColors.ANSI_RESET + ")";
@@ -0,0 +1,36 @@
+package Pregel;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * Connected components by passing on the lowest vertex number heard so far, every vertex ends with the lowest
+ * number in its component
+ *
+ * Messages only follow edges forward, so on a directed graph this is only components when every edge also exists
+ * the other way. A CompactGraph of an UndirectedGraph always qualifies.
+ *
+ * @version 1.0
+ */
+public class ComponentsProgram implements VertexProgram<Integer, Integer> {
+
+    @Override
+    public Integer initialValue(int vertex, int vertices){
+        return vertex;
+    }
+
+    @Override
+    public void compute(Context<Integer, Integer> context, Iterable<Integer> messages){
+        int lowest = context.getValue();
+        for(int m : messages) lowest = Math.min(lowest, m);
+        if(context.getSuperstep() == 0 || lowest < context.getValue()){
+            context.setValue(lowest);
+            context.sendToNeighbors(lowest);
+        }
+        context.voteToHalt();
+    }
+
+    @Override
+    public BinaryOperator<Integer> combiner(){
+        return Math::min;
+    }
+}
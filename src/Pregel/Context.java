@@ -0,0 +1,57 @@
+package Pregel;
+
+/**
+ * What a vertex program can see and do for the vertex it is computing
+ *
+ * @param <V>   The type of the vertex values
+ * @param <M>   The type of the messages
+ * @version 1.0
+ */
+public interface Context<V, M> {
+
+    public int getVertex();
+
+    public int getSuperstep();
+
+    public int getVertexCount();
+
+    public V getValue();
+
+    public void setValue(V value);
+
+    /**
+     * @return  the number of edges leaving the vertex
+     */
+    public int getDegree();
+
+    /**
+     * @param i the edge, from 0 to getDegree() - 1
+     * @return  the number of the vertex at the other end
+     */
+    public int getTarget(int i);
+
+    /**
+     * @param i the edge, from 0 to getDegree() - 1
+     * @return  the weight of the edge
+     */
+    public int getWeight(int i);
+
+    /**
+     * Sends a message that arrives in the next superstep
+     * @param vertex    the number of the vertex
+     * @param message   the message
+     */
+    public void sendMessage(int vertex, M message);
+
+    /**
+     * Sends the same message along every edge leaving the vertex
+     * @param message   the message
+     */
+    public void sendToNeighbors(M message);
+
+    /**
+     * Stops computing this vertex until a message arrives for it, the run ends once every vertex has halted and no
+     * messages are left
+     */
+    public void voteToHalt();
+}
@@ -0,0 +1,81 @@
+package Pregel;
+
+import java.util.Arrays;
+
+/**
+ * Transport between threads of the same process
+ *
+ * Every pair of partitions has its own buffer that only the sender writes during a superstep and only the receiver
+ * reads after the barrier, so no locks are needed. Buffers are kept between supersteps and only grow.
+ *
+ * @param <M>   The type of the messages
+ * @version 1.0
+ */
+public class InMemoryTransport<M> implements Transport<M> {
+
+    private Buffer[][] sending;     //[from][to]
+    private Buffer[][] receiving;
+
+    @Override
+    public void open(int partitions){
+        sending = new Buffer[partitions][partitions];
+        receiving = new Buffer[partitions][partitions];
+        for(int i = 0; i < partitions; i++){
+            for(int j = 0; j < partitions; j++){
+                sending[i][j] = new Buffer();
+                receiving[i][j] = new Buffer();
+            }
+        }
+    }
+
+    @Override
+    public void send(int from, int to, int vertex, M message){
+        sending[from][to].add(vertex, message);
+    }
+
+    @Override
+    public void exchange(){
+        Buffer[][] temp = receiving;
+        receiving = sending;
+        sending = temp;
+        for(Buffer[] row : sending) for(Buffer b : row) b.clear();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public long receive(int partition, Sink<M> sink){
+        long count = 0;
+        for(Buffer[] row : receiving){
+            Buffer b = row[partition];
+            for(int i = 0; i < b.size; i++) sink.accept(b.vertices[i], (M) b.messages[i]);
+            count += b.size;
+        }
+        return count;
+    }
+
+    @Override
+    public void close(){
+        sending = receiving = null;
+    }
+
+
+    private static class Buffer {
+        private int[] vertices = new int[16];
+        private Object[] messages = new Object[16];
+        private int size;
+
+        void add(int vertex, Object message){
+            if(size == vertices.length){
+                vertices = Arrays.copyOf(vertices, size * 2);
+                messages = Arrays.copyOf(messages, size * 2);
+            }
+            vertices[size] = vertex;
+            messages[size++] = message;
+        }
+
+        void clear(){
+            Arrays.fill(messages, 0, size, null);
+            size = 0;
+        }
+    }
+}
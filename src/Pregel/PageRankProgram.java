@@ -0,0 +1,57 @@
+package Pregel;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * PageRank by power iteration, every vertex shares its rank equally along its edges each superstep
+ *
+ * The rank of vertices with no edges out is not passed on, so on graphs that have them the ranks add up to less
+ * than 1.
+ *
+ * @version 1.0
+ */
+public class PageRankProgram implements VertexProgram<Double, Double> {
+
+    private final int iterations;
+    private final double damping;
+
+    /**
+     * Uses the usual damping of 0.85
+     * @param iterations    the number of times ranks are passed on
+     */
+    public PageRankProgram(int iterations){
+        this(iterations, 0.85);
+    }
+
+    /**
+     * @param iterations    the number of times ranks are passed on
+     * @param damping   the chance of following an edge rather than jumping anywhere
+     */
+    public PageRankProgram(int iterations, double damping){
+        if(iterations < 0) throw new IllegalArgumentException("The number of iterations can not be negative");
+        if(!(damping >= 0 && damping <= 1)) throw new IllegalArgumentException("The damping must be between 0 and 1");
+        this.iterations = iterations;
+        this.damping = damping;
+    }
+
+    @Override
+    public Double initialValue(int vertex, int vertices){
+        return 1.0 / vertices;
+    }
+
+    @Override
+    public void compute(Context<Double, Double> context, Iterable<Double> messages){
+        if(context.getSuperstep() > 0){
+            double sum = 0;
+            for(double m : messages) sum += m;
+            context.setValue((1 - damping) / context.getVertexCount() + damping * sum);
+        }
+        if(context.getSuperstep() < iterations && context.getDegree() > 0) context.sendToNeighbors(context.getValue() / context.getDegree());
+        if(context.getSuperstep() >= iterations) context.voteToHalt();
+    }
+
+    @Override
+    public BinaryOperator<Double> combiner(){
+        return Double::sum;
+    }
+}
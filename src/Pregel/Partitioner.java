@@ -0,0 +1,38 @@
+package Pregel;
+
+/**
+ * Decides which partition, and so which worker, owns each vertex
+ *
+ * @version 1.0
+ */
+public interface Partitioner {
+
+    /**
+     * Retrieves the partition of a vertex, the same vertex must always get the same answer
+     * @param vertex    the number of the vertex
+     * @param vertices  the number of vertices in the graph
+     * @param partitions    the number of partitions
+     * @return  the partition, from 0 to partitions - 1
+     */
+    public int partition(int vertex, int vertices, int partitions);
+
+    /**
+     * Spreads neighbouring numbers across partitions, which evens out the work when the numbering has clusters
+     * @return  the partitioner
+     */
+    public static Partitioner hash(){
+        return (vertex, vertices, partitions) -> {
+            int h = vertex * 0x9E3779B9;
+            return (int) (((h ^ (h >>> 16)) & 0xFFFFFFFFL) % partitions);
+        };
+    }
+
+    /**
+     * Gives every partition one run of consecutive numbers, which keeps neighbours together when the numbering
+     * follows the shape of the graph
+     * @return  the partitioner
+     */
+    public static Partitioner range(){
+        return (vertex, vertices, partitions) -> (int) ((long) vertex * partitions / vertices);
+    }
+}
@@ -0,0 +1,380 @@
+package Pregel;
+
+import Algorithms.Deadline;
+import Graph.CompactGraph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BinaryOperator;
+
+/**
+ * Runs vertex programs in bulk synchronous supersteps, Pregel style
+ *
+ * The vertices of a CompactGraph are split into partitions and each partition is computed by its own worker thread.
+ * In a superstep every vertex that has not halted, or that has messages waiting, runs the program once. Messages go
+ * through the Transport and only arrive after the barrier at the end of the superstep, so workers never see each
+ * other part way through. The run ends once every vertex has halted and no messages are left, or after the most
+ * supersteps allowed.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class PregelEngine<T extends Comparable<T>> {
+
+    private final CompactGraph<T> graph;
+    private final int partitions;
+    private final int[] owner;      //partition of every vertex
+    private final int[][] members;  //vertices of every partition
+
+    /**
+     * Creates an engine with one hash partition per processor
+     * @param graph the graph
+     */
+    public PregelEngine(CompactGraph<T> graph){
+        this(graph, Runtime.getRuntime().availableProcessors(), Partitioner.hash());
+    }
+
+    /**
+     * Creates an engine
+     *
+     * Runtime : O(V)
+     *
+     * @param graph the graph
+     * @param partitions    the number of partitions and worker threads
+     * @param partitioner   decides which partition owns each vertex
+     */
+    public PregelEngine(CompactGraph<T> graph, int partitions, Partitioner partitioner){
+        if(partitions < 1) throw new IllegalArgumentException("There must be at least 1 partition");
+        this.graph = graph;
+        this.partitions = partitions;
+        int n = graph.size();
+        owner = new int[n];
+        int[] sizes = new int[partitions];
+        for(int v = 0; v < n; v++){
+            int p = partitioner.partition(v, n, partitions);
+            if(p < 0 || p >= partitions) throw new IllegalStateException("The partitioner gave vertex " + v + " the partition " + p);
+            owner[v] = p;
+            sizes[p]++;
+        }
+        members = new int[partitions][];
+        for(int p = 0; p < partitions; p++) members[p] = new int[sizes[p]];
+        int[] filled = new int[partitions];
+        for(int v = 0; v < n; v++) members[owner[v]][filled[owner[v]]++] = v;
+    }
+
+    /**
+     * Runs a program with messages passed in memory
+     * @param program   the vertex program
+     * @param maxSupersteps the most supersteps to run
+     * @return  the final value of every vertex
+     */
+    public <V, M> Result<T, V> run(VertexProgram<V, M> program, int maxSupersteps){
+        return run(program, new InMemoryTransport<>(), maxSupersteps, Deadline.NONE);
+    }
+
+    /**
+     * Runs a program with messages passed in memory, giving up once the deadline passes
+     * @param program   the vertex program
+     * @param maxSupersteps the most supersteps to run
+     * @param deadline  checked at every barrier
+     * @return  the value of every vertex after the last whole superstep
+     */
+    public <V, M> Result<T, V> run(VertexProgram<V, M> program, int maxSupersteps, Deadline deadline){
+        return run(program, new InMemoryTransport<>(), maxSupersteps, deadline);
+    }
+
+    /**
+     * Runs a program
+     *
+     * Runtime : O( supersteps * (V + messages) / partitions )
+     *
+     * @param program   the vertex program
+     * @param transport carries messages between partitions
+     * @param maxSupersteps the most supersteps to run
+     * @return  the final value of every vertex
+     */
+    public <V, M> Result<T, V> run(VertexProgram<V, M> program, Transport<M> transport, int maxSupersteps){
+        return run(program, transport, maxSupersteps, Deadline.NONE);
+    }
+
+    /**
+     * Runs a program, giving up once the deadline passes. The deadline is only read at the barriers, so the
+     * values are always those of a whole superstep and one superstep may run past it
+     *
+     * Runtime : O( supersteps * (V + messages) / partitions )
+     *
+     * @param program   the vertex program
+     * @param transport carries messages between partitions
+     * @param maxSupersteps the most supersteps to run
+     * @param deadline  checked at every barrier
+     * @return  the value of every vertex after the last whole superstep, see Result.wasStopped
+     */
+    public <V, M> Result<T, V> run(VertexProgram<V, M> program, Transport<M> transport, int maxSupersteps, Deadline deadline){
+        int n = graph.size();
+        Run<V, M> run = new Run<>(program, transport, n);
+        for(int v = 0; v < n; v++) run.values[v] = program.initialValue(v, n);
+
+        List<Worker<V, M>> workers = new ArrayList<>(partitions);
+        for(int p = 0; p < partitions; p++) workers.add(new Worker<>(this, run, p));
+
+        ExecutorService pool = Executors.newFixedThreadPool(partitions, r -> {
+            Thread t = new Thread(r, "pregel-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        transport.open(partitions);
+        try {
+            int superstep = 0;
+            long messages = 0;
+            boolean stopped = false;
+            while(superstep < maxSupersteps){
+                if(deadline.isExpired()){
+                    stopped = true;
+                    break;
+                }
+                int s = superstep;
+                long active = runAll(pool, workers, w -> w.compute(s));
+                transport.exchange();
+                long received = runAll(pool, workers, Worker::receive);
+                messages += received;
+                superstep++;
+                if(active == 0 && received == 0) break;     //everyone voted to halt and nothing can wake them
+            }
+            return new Result<>(graph, run.values, superstep, messages, stopped);
+        } finally {
+            pool.shutdownNow();
+            transport.close();
+        }
+    }
+
+    private interface Step<V, M> {
+        long apply(Worker<V, M> worker);
+    }
+
+    /**
+     * Runs one step on every worker and waits for all of them, this is the barrier
+     */
+    private static <V, M> long runAll(ExecutorService pool, List<Worker<V, M>> workers, Step<V, M> step){
+        List<Callable<Long>> tasks = new ArrayList<>(workers.size());
+        for(Worker<V, M> w : workers) tasks.add(() -> step.apply(w));
+        long total = 0;
+        try {
+            for(Future<Long> f : pool.invokeAll(tasks)) total += f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The run was interrupted", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+        return total;
+    }
+
+    public CompactGraph<T> getGraph(){
+        return graph;
+    }
+
+    public int getPartitions(){
+        return partitions;
+    }
+
+
+    /**
+     * The state shared by the workers of one run, each worker only touches the entries of its own vertices
+     */
+    private static class Run<V, M> {
+        private final VertexProgram<V, M> program;
+        private final Transport<M> transport;
+        private final BinaryOperator<M> combiner;
+        private final Object[] values;
+        private final boolean[] halted;
+        private final Object[] inbox;   //the combined message, a list of messages, or null for none
+
+        Run(VertexProgram<V, M> program, Transport<M> transport, int n){
+            this.program = program;
+            this.transport = transport;
+            this.combiner = program.combiner();
+            values = new Object[n];
+            halted = new boolean[n];
+            inbox = new Object[n];
+        }
+    }
+
+
+    /**
+     * Computes the vertices of one partition, and is the Context the program sees
+     */
+    private static class Worker<V, M> implements Context<V, M>, Transport.Sink<M> {
+        private final PregelEngine<?> engine;
+        private final Run<V, M> run;
+        private final int partition;
+        private int vertex;
+        private int superstep;
+
+        Worker(PregelEngine<?> engine, Run<V, M> run, int partition){
+            this.engine = engine;
+            this.run = run;
+            this.partition = partition;
+        }
+
+        /**
+         * @return  the vertices that have not voted to halt
+         */
+        @SuppressWarnings("unchecked")
+        long compute(int superstep){
+            this.superstep = superstep;
+            long active = 0;
+            for(int v : engine.members[partition]){
+                Object box = run.inbox[v];
+                if(run.halted[v] && box == null) continue;
+                run.halted[v] = false;
+                run.inbox[v] = null;
+                Iterable<M> messages;
+                if(box == null) messages = Collections.emptyList();
+                else if(run.combiner != null) messages = Collections.singletonList((M) box);
+                else messages = (List<M>) box;
+
+                vertex = v;
+                run.program.compute(this, messages);
+                if(!run.halted[v]) active++;
+            }
+            return active;
+        }
+
+        long receive(){
+            return run.transport.receive(partition, this);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void accept(int v, M message){
+            Object box = run.inbox[v];
+            if(run.combiner != null) run.inbox[v] = (box == null) ? message : run.combiner.apply((M) box, message);
+            else {
+                if(box == null) run.inbox[v] = box = new ArrayList<M>(2);
+                ((List<M>) box).add(message);
+            }
+        }
+
+        @Override
+        public int getVertex(){
+            return vertex;
+        }
+
+        @Override
+        public int getSuperstep(){
+            return superstep;
+        }
+
+        @Override
+        public int getVertexCount(){
+            return engine.graph.size();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue(){
+            return (V) run.values[vertex];
+        }
+
+        @Override
+        public void setValue(V value){
+            run.values[vertex] = value;
+        }
+
+        @Override
+        public int getDegree(){
+            return engine.graph.degree(vertex);
+        }
+
+        @Override
+        public int getTarget(int i){
+            return engine.graph.getTarget(engine.graph.firstEdge(vertex) + i);
+        }
+
+        @Override
+        public int getWeight(int i){
+            return engine.graph.getWeight(engine.graph.firstEdge(vertex) + i);
+        }
+
+        @Override
+        public void sendMessage(int to, M message){
+            run.transport.send(partition, engine.owner[to], to, message);
+        }
+
+        @Override
+        public void sendToNeighbors(M message){
+            CompactGraph<?> g = engine.graph;
+            for(int e = g.firstEdge(vertex), end = g.lastEdge(vertex); e < end; e++) sendMessage(g.getTarget(e), message);
+        }
+
+        @Override
+        public void voteToHalt(){
+            run.halted[vertex] = true;
+        }
+    }
+
+
+    /**
+     * The values the vertices were left with
+     * @param <T>   The type for the graph
+     * @param <V>   The type of the vertex values
+     */
+    public static class Result<T extends Comparable<T>, V> {
+        private final CompactGraph<T> graph;
+        private final Object[] values;
+        private final int supersteps;
+        private final long messages;
+        private final boolean stopped;
+
+        private Result(CompactGraph<T> graph, Object[] values, int supersteps, long messages, boolean stopped){
+            this.graph = graph;
+            this.values = values;
+            this.supersteps = supersteps;
+            this.messages = messages;
+            this.stopped = stopped;
+        }
+
+        /**
+         * @param v the number of the vertex
+         * @return  its final value
+         */
+        @SuppressWarnings("unchecked")
+        public V getValue(int v){
+            return (V) values[v];
+        }
+
+        /**
+         * @param data  the data and or label of the vertex
+         * @return  its final value | null when there is no such vertex
+         */
+        public V getValue(T data){
+            int v = graph.indexOf(data);
+            return (v == -1) ? null : getValue(v);
+        }
+
+        public int getSupersteps(){
+            return supersteps;
+        }
+
+        /**
+         * @return  the messages delivered over the whole run, before combining
+         */
+        public long getMessages(){
+            return messages;
+        }
+
+        /**
+         * @return  true when the deadline ended the run before the program was done
+         */
+        public boolean wasStopped(){
+            return stopped;
+        }
+    }
+}
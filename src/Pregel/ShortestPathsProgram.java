@@ -0,0 +1,52 @@
+package Pregel;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * Single source shortest paths, each vertex keeps the shortest distance it has heard of and passes on improvements
+ *
+ * Weights may be negative as long as there is no negative cycle, in which case the run stops at the superstep limit
+ * instead.
+ *
+ * @version 1.0
+ */
+public class ShortestPathsProgram implements VertexProgram<Long, Long> {
+
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final int source;
+
+    /**
+     * @param source    the number of the start vertex
+     */
+    public ShortestPathsProgram(int source){
+        this.source = source;
+    }
+
+    @Override
+    public Long initialValue(int vertex, int vertices){
+        return (vertex == source) ? 0L : UNREACHABLE;
+    }
+
+    @Override
+    public void compute(Context<Long, Long> context, Iterable<Long> messages){
+        long best = context.getValue();
+        boolean improved = context.getSuperstep() == 0 && context.getVertex() == source;
+        for(long m : messages){
+            if(m < best){
+                best = m;
+                improved = true;
+            }
+        }
+        if(improved){
+            context.setValue(best);
+            for(int i = 0; i < context.getDegree(); i++) context.sendMessage(context.getTarget(i), best + context.getWeight(i));
+        }
+        context.voteToHalt();
+    }
+
+    @Override
+    public BinaryOperator<Long> combiner(){
+        return Math::min;
+    }
+}
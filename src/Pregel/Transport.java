@@ -0,0 +1,56 @@
+package Pregel;
+
+/**
+ * Carries messages between partitions
+ *
+ * During a superstep the worker of each partition only calls send with itself as the sender. At the barrier the
+ * engine calls exchange once, then the worker of each partition calls receive for itself. Messages are addressed by
+ * vertex number alone, so an implementation can move them between processes as long as it can encode them.
+ *
+ * @param <M>   The type of the messages
+ * @version 1.0
+ */
+public interface Transport<M> {
+
+    /**
+     * Prepares for a run
+     * @param partitions    the number of partitions
+     */
+    public void open(int partitions);
+
+    /**
+     * Sends a message, it is delivered in the next superstep
+     * @param from  the partition of the sender
+     * @param to    the partition of the vertex
+     * @param vertex    the number of the vertex
+     * @param message   the message
+     */
+    public void send(int from, int to, int vertex, M message);
+
+    /**
+     * Makes everything sent during the superstep available to receive
+     */
+    public void exchange();
+
+    /**
+     * Hands every message sent to a partition in the last superstep to the sink
+     * @param partition the partition
+     * @param sink  receives the messages
+     * @return  the number of messages
+     */
+    public long receive(int partition, Sink<M> sink);
+
+    /**
+     * Releases anything held for the run
+     */
+    public default void close(){}
+
+
+    /**
+     * Takes delivered messages
+     * @param <M>   The type of the messages
+     */
+    public interface Sink<M> {
+        public void accept(int vertex, M message);
+    }
+}
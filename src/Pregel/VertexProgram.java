@@ -0,0 +1,36 @@
+package Pregel;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * The code every vertex runs in every superstep of a PregelEngine
+ *
+ * @param <V>   The type of the vertex values
+ * @param <M>   The type of the messages
+ * @version 1.0
+ */
+public interface VertexProgram<V, M> {
+
+    /**
+     * @param vertex    the number of the vertex
+     * @param vertices  the number of vertices in the graph
+     * @return  the value of the vertex before the first superstep
+     */
+    public V initialValue(int vertex, int vertices);
+
+    /**
+     * Computes one vertex for one superstep
+     * @param context   the vertex, its edges and a way to send messages
+     * @param messages  the messages sent to it in the last superstep, already combined when there is a combiner
+     */
+    public void compute(Context<V, M> context, Iterable<M> messages);
+
+    /**
+     * Retrieves a function that merges two messages for the same vertex into one, only programs that just need
+     * the sum, the minimum or the like of their messages should have one
+     * @return  the combiner | null to deliver every message
+     */
+    public default BinaryOperator<M> combiner(){
+        return null;
+    }
+}
@@ -0,0 +1,277 @@
+package Server;
+
+import Algorithms.BellmanFord;
+import Algorithms.DAG;
+import Algorithms.Deadline;
+import Algorithms.Dijkstra;
+import Algorithms.PrimJarnik;
+import Algorithms.QueryExecutors;
+import Algorithms.QueryResult;
+import Graph.Adjacency;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Answers graph queries over HTTP on the loopback address, using the HTTP server that ships with the JDK
+ *
+ * A batch is POSTed to /query as plain text with one query per line, the words split by spaces:
+ *
+ *      path A D    the shortest path from A to D and its cost
+ *      cost A D    only the cost of that path
+ *      mst A       the total weight of the minimum spanning tree grown from A, undirected graphs only
+ *      topo        the vertices in topological order, directed graphs only
+ *
+ * The reply is a JSON array with one object per query in the same order, for example
+ * [{"status":"COMPLETE","path":["A","B","D"],"cost":3},{"error":"Unknown query: walk"}]. A query that fails only
+ * fails its own entry. Labels are read with the parser given, so they can not hold spaces, and are written back as
+ * JSON numbers when they are numbers and strings otherwise. Shortest paths use Dijkstra unless the graph has
+ * negative weights, then Bellman-Ford. Every batch runs on its own thread, virtual when the JDK has them, with its
+ * own solvers so nothing is shared between requests. The graph is only read and must not change while serving.
+ *
+ * @param <T>   The type for the graph
+ * @version 1.0
+ */
+public class QueryServer<T extends Comparable<T>> implements AutoCloseable {
+
+    static final int MAX_BODY = 1 << 20;    //bytes in one batch
+
+    private final Adjacency<T> graph;
+    private final Function<String, T> parser;
+    private final long timeoutNanos;    //0 for no limit
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Starts serving with no time limit
+     * @param graph the directed or undirected graph to query
+     * @param parser    turns a label in a query into the vertex data and or label
+     * @param port  the port to listen on | 0 for any free one
+     * @throws IOException  when the port can not be bound
+     */
+    public QueryServer(Adjacency<T> graph, Function<String, T> parser, int port) throws IOException {
+        this(graph, parser, port, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts serving
+     * @param graph the directed or undirected graph to query
+     * @param parser    turns a label in a query into the vertex data and or label
+     * @param port  the port to listen on | 0 for any free one
+     * @param timeout   how long one batch may run before the rest of its queries return what they have | 0 for no limit
+     * @param unit  the unit of timeout
+     * @throws IOException  when the port can not be bound
+     */
+    public QueryServer(Adjacency<T> graph, Function<String, T> parser, int port, long timeout, TimeUnit unit) throws IOException {
+        if(timeout < 0) throw new IllegalArgumentException("The timeout can not be negative");
+        this.graph = Objects.requireNonNull(graph);
+        this.parser = Objects.requireNonNull(parser);
+        this.timeoutNanos = unit.toNanos(timeout);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = QueryExecutors.newQueryExecutor();
+        server.createContext("/query", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Retrieves the port being listened on
+     * @return  the port, the one picked when 0 was asked for
+     */
+    public int getPort(){
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Retrieves where batches are sent
+     * @return  the address of the query endpoint
+     */
+    public URI getUri(){
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + getPort() + "/query");
+    }
+
+    public Adjacency<T> getGraph(){
+        return graph;
+    }
+
+    /**
+     * Stops listening, the batches already running are dropped
+     */
+    @Override
+    public void close(){
+        server.stop(0);
+        executor.shutdown();
+    }
+
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if(!"POST".equals(exchange.getRequestMethod())){
+                exchange.getResponseHeaders().set("Allow", "POST");
+                reply(exchange, 405, "{\"error\":\"Queries must be sent with POST\"}");
+                return;
+            }
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readNBytes(MAX_BODY + 1);
+            }
+            if(body.length > MAX_BODY){
+                reply(exchange, 413, "{\"error\":\"The batch is larger than " + MAX_BODY + " bytes\"}");
+                return;
+            }
+            reply(exchange, 200, answer(new String(body, StandardCharsets.UTF_8)));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void reply(HttpExchange exchange, int code, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Answers every query of a batch, sharing one deadline
+     *
+     * Runtime : the sum of the queries
+     *
+     * @param batch one query per line
+     * @return  the JSON array of answers
+     */
+    private String answer(String batch){
+        Deadline deadline = (timeoutNanos == 0) ? Deadline.NONE : Deadline.after(timeoutNanos, TimeUnit.NANOSECONDS);
+        Solvers solvers = new Solvers();
+        StringBuilder out = new StringBuilder("[");
+        for(String line : batch.split("\n")){
+            line = line.trim();
+            if(line.isEmpty()) continue;
+            if(out.length() > 1) out.append(',');
+            int mark = out.length();
+            try {
+                answer(line.split("\\s+"), solvers, deadline, out);
+            } catch (RuntimeException e) {
+                out.setLength(mark);    //drop whatever part of the answer was written
+                out.append("{\"error\":");
+                string((e.getMessage() == null) ? e.toString() : e.getMessage(), out);
+                out.append('}');
+            }
+        }
+        return out.append(']').toString();
+    }
+
+    private void answer(String[] query, Solvers solvers, Deadline deadline, StringBuilder out){
+        switch (query[0]){
+            case "path":
+            case "cost": {
+                if(query.length != 3) throw new IllegalArgumentException(query[0] + " takes a start and an end");
+                T from = parser.apply(query[1]);
+                T to = parser.apply(query[2]);
+                QueryResult<T> result = graph.hasNegativeWeights() ? solvers.bellmanFord().shortestPath(from, to, deadline)
+                                                                   : solvers.dijkstra().shortestPath(from, to, deadline);
+                status(result, out);
+                if(query[0].equals("path")){
+                    out.append(",\"path\":");
+                    labels(result.getPath(), out);
+                }
+                out.append(",\"cost\":").append(result.getCost()).append('}');
+                return;
+            }
+            case "mst": {
+                if(query.length != 2) throw new IllegalArgumentException("mst takes a start");
+                QueryResult<T> result = solvers.primJarnik().minSpanningTree(parser.apply(query[1]), deadline);
+                status(result, out);
+                out.append(",\"cost\":").append(result.getCost()).append('}');
+                return;
+            }
+            case "topo": {
+                if(query.length != 1) throw new IllegalArgumentException("topo takes nothing");
+                out.append("{\"order\":");
+                labels(solvers.dag().topologicalOrder(), out);
+                out.append('}');
+                return;
+            }
+            default: throw new IllegalArgumentException("Unknown query: " + query[0]);
+        }
+    }
+
+    private static void status(QueryResult<?> result, StringBuilder out){
+        out.append("{\"status\":\"").append(result.getStatus()).append('"');
+    }
+
+    private static void labels(List<?> labels, StringBuilder out){
+        if(labels == null){
+            out.append("null");
+            return;
+        }
+        out.append('[');
+        boolean first = true;
+        for(Object label : labels){
+            if(!first) out.append(',');
+            first = false;
+            if(label instanceof Number) out.append(label);
+            else string(String.valueOf(label), out);
+        }
+        out.append(']');
+    }
+
+    /**
+     * Writes a JSON string, escaping what has to be
+     */
+    private static void string(String s, StringBuilder out){
+        out.append('"');
+        for(int i = 0; i < s.length(); i++){
+            char c = s.charAt(i);
+            if(c == '"' || c == '\\') out.append('\\').append(c);
+            else if(c < 0x20) out.append(String.format("\\u%04x", (int) c));
+            else out.append(c);
+        }
+        out.append('"');
+    }
+
+
+    /**
+     * The solvers of one batch, made the first time a query needs them
+     */
+    private final class Solvers {
+        private Dijkstra<T> dijkstra;
+        private BellmanFord<T> bellmanFord;
+        private PrimJarnik<T> primJarnik;
+        private DAG<T> dag;
+
+        Dijkstra<T> dijkstra(){
+            if(dijkstra == null) dijkstra = new Dijkstra<>(graph);
+            return dijkstra;
+        }
+
+        BellmanFord<T> bellmanFord(){
+            if(bellmanFord == null) bellmanFord = new BellmanFord<>(graph);
+            return bellmanFord;
+        }
+
+        PrimJarnik<T> primJarnik(){
+            if(primJarnik == null) primJarnik = new PrimJarnik<>(graph);
+            return primJarnik;
+        }
+
+        DAG<T> dag(){
+            if(dag == null) dag = new DAG<>(graph);
+            return dag;
+        }
+    }
+}
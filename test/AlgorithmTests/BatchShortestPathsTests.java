@@ -0,0 +1,145 @@
+package AlgorithmTests;
+
+import Algorithms.BatchShortestPaths;
+import Algorithms.BatchShortestPaths.Batch;
+import Algorithms.BatchShortestPaths.Query;
+import Algorithms.BellmanFord;
+import Algorithms.Dijkstra;
+import Graph.Adjacency;
+import Graph.CompactGraph;
+import Graph.DirectedGraph;
+import Graph.SubgraphView;
+import Graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class BatchShortestPathsTests {
+
+    private static final char[] LABELS = {'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H'};
+
+    private UndirectedGraph<Character> undirected(){
+        UndirectedGraph<Character> graph = new UndirectedGraph<>();
+        for(char c : LABELS) graph.addVertex(c);
+        graph.addEdge('A', 'D', 9);
+        graph.addEdge('A', 'E', 5);
+        graph.addEdge('D', 'B', 5);
+        graph.addEdge('B', 'C', 1);
+        graph.addEdge('C', 'E', 9);
+        graph.addEdge('D', 'F', 3);
+        graph.addEdge('B', 'G', 8);
+        graph.addEdge('B', 'F', 9);
+        graph.addEdge('C', 'G', 6);
+        graph.addEdge('G', 'H', 8);
+        return graph;
+    }
+
+    private DirectedGraph<Character> directed(){
+        DirectedGraph<Character> graph = new DirectedGraph<>();
+        for(char c : LABELS) graph.addVertex(c);
+        graph.addEdge('A', 'B', 4);
+        graph.addEdge('A', 'C', 2);
+        graph.addEdge('C', 'B', -1);
+        graph.addEdge('B', 'D', 3);
+        graph.addEdge('C', 'E', 6);
+        graph.addEdge('D', 'E', -2);
+        graph.addEdge('E', 'F', 1);
+        graph.addEdge('G', 'H', 1);
+        return graph;
+    }
+
+    private List<Query<Character>> allPairs(){
+        List<Query<Character>> queries = new ArrayList<>();
+        for(char a : LABELS) for(char b : LABELS) if(a != b) queries.add(new Query<>(a, b));
+        return queries;
+    }
+
+    @Test
+    public void matchesDijkstra(){
+        UndirectedGraph<Character> graph = undirected();
+        Batch<Character> batch = new BatchShortestPaths<>(graph).shortestPaths(allPairs());
+        Dijkstra<Character> dijkstra = new Dijkstra<>(graph);
+
+        Assertions.assertEquals(allPairs().size(), batch.getResults().size());
+        for(BatchShortestPaths.Result<Character> r : batch.getResults()){
+            Integer expected = dijkstra.shortestPathCost(r.getQuery().getFrom(), r.getQuery().getTo());
+            Assertions.assertEquals(expected == null ? null : expected.longValue(), r.getCost(), r.getQuery().toString());
+        }
+    }
+
+    @Test
+    public void negativeWeightsUseBellmanFord(){
+        DirectedGraph<Character> graph = directed();
+        Batch<Character> batch = new BatchShortestPaths<>(graph).shortestPaths(List.of(new Query<>('A', 'F'), new Query<>('F', 'A')));
+
+        Assertions.assertEquals(3L, batch.getResults().get(0).getCost());
+        Assertions.assertEquals(List.of('A', 'C', 'B', 'D', 'E', 'F'), batch.getResults().get(0).getPath());
+        Assertions.assertNull(batch.getResults().get(1).getPath());
+    }
+
+    @Test
+    public void keepsInputOrder(){
+        List<Query<Character>> queries = allPairs();
+        Batch<Character> batch = new BatchShortestPaths<>(undirected()).shortestPaths(queries);
+        for(int i = 0; i < queries.size(); i++) Assertions.assertSame(queries.get(i), batch.getResults().get(i).getQuery());
+        Assertions.assertTrue(batch.getElapsedNanos() > 0);
+    }
+
+    @Test
+    public void changingGraphIsCopied(){
+        DirectedGraph<Character> graph = directed();
+        Adjacency<Character> adjacency = graph;
+        BatchShortestPaths<Character> batch = new BatchShortestPaths<>(adjacency, 2);
+        Assertions.assertTrue(batch.getGraph() instanceof CompactGraph);
+
+        graph.addEdge('A', 'F', 1);     //a shortcut and a bridge to the other component, neither is seen
+        graph.addEdge('F', 'G', 1);
+        List<BatchShortestPaths.Result<Character>> results = batch.shortestPaths(List.of(new Query<>('A', 'F'), new Query<>('A', 'H'))).getResults();
+        Assertions.assertEquals(3L, results.get(0).getCost());
+        Assertions.assertNull(results.get(1).getPath());
+    }
+
+    @Test
+    public void viewComponentsFoundEveryBatch(){
+        boolean[] closed = new boolean[LABELS.length];
+        CompactGraph<Character> compact = CompactGraph.of(undirected());
+        closed[compact.indexOf('G')] = true;    //the only way to H
+        BatchShortestPaths<Character> batch = new BatchShortestPaths<>(new SubgraphView<>(compact, v -> !closed[v], (from, to, weight) -> true), 2);
+        List<Query<Character>> queries = List.of(new Query<>('A', 'H'));
+
+        Assertions.assertNull(batch.shortestPaths(queries).getResults().get(0).getPath());
+        closed[compact.indexOf('G')] = false;
+        Assertions.assertEquals(List.of('A', 'E', 'C', 'G', 'H'), batch.shortestPaths(queries).getResults().get(0).getPath());
+    }
+
+    /**
+     * Every vertex has an edge from each one before it, so the queue improves most vertices many more than V times
+     * without there being any cycle at all
+     */
+    @Test
+    public void negativeDagIsNotACycle(){
+        int n = 40;
+        Random random = new Random(7);
+        Integer[] labels = new Integer[n];
+        DirectedGraph<Integer> dag = new DirectedGraph<>();
+        for(int i = 0; i < n; i++){
+            labels[i] = i;
+            dag.addVertex(labels[i]);
+        }
+        List<int[]> edges = new ArrayList<>();
+        for(int i = 0; i < n; i++) for(int j = i + 1; j < n; j++) edges.add(new int[]{i, j});
+        Collections.shuffle(edges, random);
+        for(int[] e : edges) dag.addEdge(labels[e[0]], labels[e[1]], random.nextInt(41) - 30);
+
+        List<Query<Integer>> queries = new ArrayList<>();
+        for(int i = 1; i < n; i++) queries.add(new Query<>(labels[0], labels[i]));
+        BellmanFord<Integer> expected = new BellmanFord<>(dag);
+        for(BatchShortestPaths.Result<Integer> r : new BatchShortestPaths<>(dag).shortestPaths(queries).getResults()){
+            Assertions.assertEquals(expected.shortestPathCost(labels[0], r.getQuery().getTo()).longValue(), r.getCost());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package AlgorithmTests;
+
+import Algorithms.Betweenness;
+import Graph.Adjacency;
+import Graph.CompactGraph;
+import Graph.DirectedGraph;
+import Graph.UndirectedGraph;
+import GraphTests.RandomGraphs;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BetweennessTests {
+
+    private CompactGraph<Integer> randomDirected(int n, int edges, long seed){
+        return new CompactGraph<>(RandomGraphs.directed(n, edges, seed, random -> 1 + random.nextInt(3)));
+    }
+
+    /**
+     * Betweenness straight from its definition, counting shortest paths with Floyd-Warshall
+     */
+    private double[] bruteForce(CompactGraph<?> graph, boolean weighted){
+        int n = graph.size();
+        long none = Long.MAX_VALUE / 4;
+        long[][] d = new long[n][n];
+        double[][] count = new double[n][n];
+        for(int a = 0; a < n; a++){
+            for(int b = 0; b < n; b++) d[a][b] = none;
+            d[a][a] = 0;
+            count[a][a] = 1;
+            for(int e = graph.firstEdge(a); e < graph.lastEdge(a); e++){
+                d[a][graph.getTarget(e)] = weighted ? graph.getWeight(e) : 1;
+                count[a][graph.getTarget(e)] = 1;
+            }
+        }
+        for(int k = 0; k < n; k++) for(int a = 0; a < n; a++) for(int b = 0; b < n; b++){
+            if(a == k || b == k || a == b) continue;
+            long through = d[a][k] + d[k][b];
+            if(through < d[a][b]){
+                d[a][b] = through;
+                count[a][b] = count[a][k] * count[k][b];
+            }
+            else if(through == d[a][b] && through < none) count[a][b] += count[a][k] * count[k][b];
+        }
+
+        double[] scores = new double[n];
+        for(int v = 0; v < n; v++) for(int s = 0; s < n; s++) for(int t = 0; t < n; t++){
+            if(s == v || t == v || s == t || d[s][t] >= none) continue;
+            if(d[s][v] + d[v][t] == d[s][t]) scores[v] += count[s][v] * count[v][t] / count[s][t];
+        }
+        return scores;
+    }
+
+    @Test
+    public void unweightedMatchesDefinition(){
+        CompactGraph<Integer> graph = randomDirected(40, 120, 2);
+        Assertions.assertArrayEquals(bruteForce(graph, false), new Betweenness<>(graph, false, 4).exact(), 1e-9);
+    }
+
+    @Test
+    public void weightedMatchesDefinition(){
+        CompactGraph<Integer> graph = randomDirected(40, 120, 9);
+        Assertions.assertArrayEquals(bruteForce(graph, true), new Betweenness<>(graph, true, 4).exact(), 1e-9);
+    }
+
+    @Test
+    public void undirectedPathsCountOnce(){
+        UndirectedGraph<Character> graph = new UndirectedGraph<>();
+        for(char c = 'A'; c <= 'E'; c++) graph.addVertex(c);
+        graph.addEdge('A', 'B');
+        graph.addEdge('B', 'C');
+        graph.addEdge('C', 'D');
+        graph.addEdge('C', 'E');
+
+        Betweenness<Character> betweenness = new Betweenness<>(graph, false);
+        double[] scores = betweenness.exact();
+        Adjacency<Character> compact = betweenness.getGraph();
+        Assertions.assertEquals(0, scores[compact.indexOf('A')], 1e-9);
+        Assertions.assertEquals(3, scores[compact.indexOf('B')], 1e-9);   //A-C, A-D, A-E
+        Assertions.assertEquals(5, scores[compact.indexOf('C')], 1e-9);   //A-D, A-E, B-D, B-E, D-E
+        Assertions.assertEquals(0, scores[compact.indexOf('D')], 1e-9);
+    }
+
+    @Test
+    public void sampledIsRepeatableAndBecomesExact(){
+        CompactGraph<Integer> graph = randomDirected(60, 200, 5);
+        Betweenness<Integer> betweenness = new Betweenness<>(graph, false, 3);
+        double[] exact = betweenness.exact();
+
+        Assertions.assertArrayEquals(exact, betweenness.sampled(60, 1), 1e-9);
+        Assertions.assertArrayEquals(betweenness.sampled(20, 7), betweenness.sampled(20, 7), 0);
+
+        double exactTotal = 0, sampledTotal = 0;
+        double[] sampled = betweenness.sampled(30, 3);
+        for(int v = 0; v < exact.length; v++){
+            exactTotal += exact[v];
+            sampledTotal += sampled[v];
+        }
+        Assertions.assertEquals(exactTotal, sampledTotal, exactTotal * 0.5);
+    }
+
+    @Test
+    public void weightedRejectsZeroWeights(){
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        graph.addVertex(1);
+        graph.addVertex(2);
+        graph.addEdge(1, 2, 0);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Betweenness<>(graph, true));
+        Assertions.assertEquals(0, new Betweenness<>(graph, false).exact()[0]);
+    }
+}
@@ -0,0 +1,63 @@
+package AlgorithmTests;
+
+import Algorithms.BreadthFirstSearch;
+import Algorithms.ShortestPathSearch;
+import Graph.CompactGraph;
+import Graph.DirectedGraph;
+import Graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+public class BreadthFirstSearchTests {
+
+    @Test
+    public void hopsAndPath(){
+        UndirectedGraph<Character> graph = new UndirectedGraph<>();
+        for(char c : "ABCDE".toCharArray()) graph.addVertex(c);
+        graph.addEdge('A', 'B');
+        graph.addEdge('B', 'C');
+        graph.addEdge('C', 'D');
+        graph.addEdge('A', 'D', 10);
+
+        BreadthFirstSearch<Character> bfs = new BreadthFirstSearch<>(graph);
+        Assertions.assertEquals(Integer.valueOf(1), bfs.hops('A', 'D'));
+        Assertions.assertEquals(List.of('A', 'D'), bfs.shortestPath('A', 'D'));
+        Assertions.assertEquals(3, bfs.shortestPath('A', 'C').size());
+        Assertions.assertNull(bfs.hops('A', 'E'));
+    }
+
+    @Test
+    public void matchesShortestPathsOnUnitWeights(){
+        Random random = new Random(3);
+        int n = 2000;
+        String[] labels = new String[n];
+        DirectedGraph<String> graph = new DirectedGraph<>();
+        for(int i = 0; i < n; i++){
+            labels[i] = "v" + i;
+            graph.addVertex(labels[i]);
+        }
+        for(int i = 0; i < 6 * n; i++){
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            if(a != b && graph.getVertex(labels[a]).getEdge(labels[b]) == null) graph.addEdge(labels[a], labels[b]);
+        }
+        CompactGraph<String> compact = new CompactGraph<>(graph);
+
+        for(boolean parallel : new boolean[]{false, true}){
+            BreadthFirstSearch<String> bfs = new BreadthFirstSearch<>(compact, parallel);
+            ShortestPathSearch<String> dijkstra = new ShortestPathSearch<>(compact);
+            for(int source = 0; source < 20; source++){
+                bfs.search(source, -1);
+                dijkstra.search(source, -1);
+                for(int v = 0; v < n; v++){
+                    long expected = dijkstra.getDistance(v);
+                    Assertions.assertEquals(expected == ShortestPathSearch.UNREACHABLE ? -1 : expected, (long) bfs.getHops(v));
+                    if(bfs.getParent(v) != -1) Assertions.assertEquals(bfs.getHops(v) - 1, bfs.getHops(bfs.getParent(v)));
+                }
+            }
+        }
+    }
+}
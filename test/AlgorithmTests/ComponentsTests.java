@@ -0,0 +1,83 @@
+package AlgorithmTests;
+
+import Algorithms.Components;
+import Graph.CompactGraph;
+import Graph.UndirectedGraph;
+import GraphTests.RandomGraphs;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ComponentsTests {
+
+    private CompactGraph<String> randomDirected(int n, int edges, long seed){
+        String[] labels = new String[n];
+        for(int i = 0; i < n; i++) labels[i] = "v" + i;
+        return new CompactGraph<>(RandomGraphs.directed(labels, edges, seed, random -> 1));
+    }
+
+    private boolean[][] reachability(CompactGraph<?> graph){
+        int n = graph.size();
+        boolean[][] reach = new boolean[n][n];
+        for(int s = 0; s < n; s++){
+            int[] queue = new int[n];
+            int head = 0, tail = 0;
+            queue[tail++] = s;
+            reach[s][s] = true;
+            while(head < tail){
+                int v = queue[head++];
+                for(int e = graph.firstEdge(v); e < graph.lastEdge(v); e++){
+                    int w = graph.getTarget(e);
+                    if(!reach[s][w]){
+                        reach[s][w] = true;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+        }
+        return reach;
+    }
+
+    @Test
+    public void stronglyConnectedMatchesReachability(){
+        CompactGraph<String> graph = randomDirected(200, 260, 5);
+        boolean[][] reach = reachability(graph);
+        int[] ids = Components.stronglyConnected(graph);
+        for(int a = 0; a < graph.size(); a++) for(int b = 0; b < graph.size(); b++){
+            Assertions.assertEquals(reach[a][b] && reach[b][a], ids[a] == ids[b]);
+        }
+    }
+
+    @Test
+    public void parallelMatchesSequential(){
+        CompactGraph<String> graph = randomDirected(6000, 7000, 9);
+        int[] sequential = Components.stronglyConnected(graph);
+        int[] parallel = Components.stronglyConnectedParallel(graph);
+        Assertions.assertEquals(Components.count(sequential), Components.count(parallel));
+        samePartition(sequential, parallel);
+        samePartition(Components.connected(graph), Components.connectedParallel(graph));
+    }
+
+    private void samePartition(int[] a, int[] b){
+        int[] map = new int[a.length];
+        java.util.Arrays.fill(map, -1);
+        for(int v = 0; v < a.length; v++){
+            if(map[a[v]] == -1) map[a[v]] = b[v];
+            Assertions.assertEquals(map[a[v]], b[v]);
+        }
+    }
+
+    @Test
+    public void connectedUndirected(){
+        UndirectedGraph<Character> graph = new UndirectedGraph<>();
+        for(char c : "ABCDEF".toCharArray()) graph.addVertex(c);
+        graph.addEdge('A', 'B');
+        graph.addEdge('C', 'B');
+        graph.addEdge('D', 'E');
+        CompactGraph<Character> compact = new CompactGraph<>(graph);
+        int[] ids = Components.connected(compact);
+
+        Assertions.assertEquals(3, Components.count(ids));
+        Assertions.assertEquals(ids[compact.indexOf('A')], ids[compact.indexOf('C')]);
+        Assertions.assertNotEquals(ids[compact.indexOf('A')], ids[compact.indexOf('D')]);
+    }
+}
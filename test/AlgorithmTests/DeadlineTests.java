@@ -0,0 +1,178 @@
+package AlgorithmTests;
+
+import Algorithms.BatchShortestPaths;
+import Algorithms.BatchShortestPaths.Query;
+import Algorithms.BellmanFord;
+import Algorithms.Betweenness;
+import Algorithms.BreadthFirstSearch;
+import Algorithms.Components;
+import Algorithms.DAG;
+import Algorithms.Deadline;
+import Algorithms.Dijkstra;
+import Algorithms.KShortestPaths;
+import Algorithms.PrimJarnik;
+import Algorithms.QueryResult;
+import Algorithms.ShortestPathSearch;
+import Graph.CompactGraph;
+import Graph.DirectedGraph;
+import Graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class DeadlineTests {
+
+    private static final int N = 3000;
+
+    Integer[] labels;
+    DirectedGraph<Integer> chain;
+
+    /**
+     * Every edge points to the vertex numbered one lower, so Bellman-Ford only gets one vertex further per round
+     * and walks about N * N / 2 edges. The shortcut reaches the end at once but costs far more than the chain
+     */
+    @BeforeEach
+    void setUp(){
+        labels = new Integer[N];
+        chain = new DirectedGraph<>();
+        for(int i = 0; i < N; i++){
+            labels[i] = i;
+            chain.addVertex(labels[i]);
+        }
+        for(int i = 1; i < N; i++) chain.addEdge(labels[i], labels[i - 1], 1);
+    }
+
+    @Test
+    public void expiredDeadlineTimesOut(){
+        QueryResult<Integer> result = new BellmanFord<>(chain).shortestPath(labels[N - 1], labels[0], Deadline.after(0, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(QueryResult.Status.TIMED_OUT, result.getStatus());
+        Assertions.assertNull(result.getPath());
+
+        result = new BellmanFord<>(chain).shortestPath(labels[N - 1], labels[0], Deadline.after(1, TimeUnit.DAYS));
+        Assertions.assertTrue(result.isComplete());
+        Assertions.assertEquals(N, result.getPath().size());
+        Assertions.assertEquals(N - 1L, result.getCost());
+    }
+
+    @Test
+    public void partialKeepsBestPathSoFar(){
+        chain.addEdge(labels[N - 1], labels[0], 1_000_000);
+        Deadline deadline = Deadline.cancellable();
+        deadline.cancel();
+
+        QueryResult<Integer> result = new BellmanFord<>(chain).shortestPath(labels[N - 1], labels[0], deadline);
+        Assertions.assertEquals(QueryResult.Status.PARTIAL, result.getStatus());
+        Assertions.assertEquals(List.of(labels[N - 1], labels[0]), result.getPath());
+        Assertions.assertEquals(1_000_000L, result.getCost());
+        Assertions.assertTrue(deadline.isExpired());
+        Assertions.assertEquals(0, deadline.getRemainingNanos());
+
+        Assertions.assertEquals(N - 1L, new BellmanFord<>(chain).shortestPath(labels[N - 1], labels[0], Deadline.NONE).getCost());
+        Assertions.assertThrows(IllegalStateException.class, Deadline.NONE::cancel);
+    }
+
+    @Test
+    public void interruptStopsQuery(){
+        Thread.currentThread().interrupt();     //what cancelling the Future of a worker does
+        try {
+            Deadline deadline = Deadline.cancellable();
+            Assertions.assertFalse(new BellmanFord<>(chain).shortestPath(labels[N - 1], labels[0], deadline).isComplete());
+            Assertions.assertFalse(new DAG<>(chain).shortestPath(labels[N - 1], labels[0], deadline).isComplete());
+        } finally {
+            Thread.interrupted();
+        }
+        Assertions.assertTrue(new DAG<>(chain).shortestPath(labels[N - 1], labels[0], Deadline.cancellable()).isComplete());
+    }
+
+    @Test
+    public void everyAlgorithmTakesADeadline(){
+        UndirectedGraph<Integer> path = new UndirectedGraph<>();
+        for(int i = 0; i < N; i++) path.addVertex(labels[i]);
+        for(int i = 1; i < N; i++) path.addEdge(labels[i - 1], labels[i], 2);
+        Deadline expired = Deadline.after(0, TimeUnit.NANOSECONDS);
+
+        Assertions.assertEquals(QueryResult.Status.TIMED_OUT, new Dijkstra<>(path).shortestPath(labels[0], labels[N - 1], expired).getStatus());
+        Assertions.assertEquals(2L * (N - 1), new Dijkstra<>(path).shortestPath(labels[0], labels[N - 1], Deadline.NONE).getCost());
+
+        QueryResult<Integer> tree = new PrimJarnik<>(path).minSpanningTree(labels[0], expired);
+        Assertions.assertEquals(QueryResult.Status.PARTIAL, tree.getStatus());
+        Assertions.assertTrue(tree.getPath().size() < N);
+        Assertions.assertEquals(2L * (tree.getPath().size() - 1), tree.getCost());
+        Assertions.assertEquals(2L * (N - 1), new PrimJarnik<>(path).minSpanningTree(labels[0], Deadline.NONE).getCost());
+
+        Assertions.assertTrue(new Dijkstra<>(path).shortestPath(labels[0], -1, expired).isComplete());  //no such vertex, nothing to search
+    }
+
+    @Test
+    public void batchReportsUnfinishedQueries(){
+        BatchShortestPaths<Integer> batch = new BatchShortestPaths<>(CompactGraph.of(chain), 2);
+        List<Query<Integer>> queries = new ArrayList<>();
+        for(int i = 1; i < 10; i++) queries.add(new Query<>(labels[N - i], labels[0]));
+
+        for(BatchShortestPaths.Result<Integer> r : batch.shortestPaths(queries, Deadline.after(0, TimeUnit.SECONDS)).getResults()){
+            Assertions.assertEquals(QueryResult.Status.TIMED_OUT, r.getStatus());
+            Assertions.assertNull(r.getPath());
+        }
+        for(BatchShortestPaths.Result<Integer> r : batch.shortestPaths(queries, Deadline.after(1, TimeUnit.MINUTES)).getResults()){
+            Assertions.assertEquals(QueryResult.Status.COMPLETE, r.getStatus());
+            Assertions.assertEquals(r.getQuery().getFrom().longValue(), r.getCost());
+        }
+    }
+
+    /**
+     * A Bellman-Ford stopped inside a negative cycle can leave the parents looping, the path is then not given
+     */
+    @Test
+    public void stoppedInsideNegativeCycleGivesNoPath(){
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        Integer[] numbers = new Integer[2003];
+        for(int i = 0; i < numbers.length; i++){
+            numbers[i] = i;
+            graph.addVertex(numbers[i]);
+        }
+        graph.addEdge(numbers[0], numbers[1], 1);
+        graph.addEdge(numbers[1], numbers[2], 1);
+        graph.addEdge(numbers[2], numbers[0], -5);
+
+        ShortestPathSearch<Integer> search = new ShortestPathSearch<>(CompactGraph.of(graph));
+        Deadline deadline = Deadline.cancellable();
+        deadline.cancel();
+        search.search(0, 2, deadline);
+        Assertions.assertTrue(search.wasStopped());
+        Assertions.assertEquals(-1, search.getPath(2, new int[numbers.length]));
+        Assertions.assertNull(search.getPath(2));
+        Assertions.assertThrows(IllegalStateException.class, () -> search.search(0, 2));
+    }
+
+    @Test
+    public void searchesAndCentralityTakeADeadline(){
+        Deadline expired = Deadline.after(0, TimeUnit.NANOSECONDS);
+
+        KShortestPaths<Integer> yen = new KShortestPaths<>(chain);
+        Assertions.assertTrue(yen.shortestPaths(labels[N - 1], labels[0], 3, expired).isEmpty());
+        Assertions.assertEquals(1, yen.shortestPaths(labels[N - 1], labels[0], 3, Deadline.NONE).size());
+
+        BreadthFirstSearch<Integer> bfs = new BreadthFirstSearch<>(chain);
+        Assertions.assertEquals(QueryResult.Status.TIMED_OUT, bfs.shortestPath(labels[N - 1], labels[0], expired).getStatus());
+        Assertions.assertTrue(bfs.wasStopped());
+        QueryResult<Integer> hops = bfs.shortestPath(labels[N - 1], labels[0], Deadline.NONE);
+        Assertions.assertTrue(hops.isComplete());
+        Assertions.assertEquals(N - 1L, hops.getCost());
+        Assertions.assertFalse(bfs.wasStopped());
+
+        Betweenness<Integer> centrality = new Betweenness<>(chain, false);
+        Assertions.assertNull(centrality.exact(expired));
+        Assertions.assertNull(centrality.sampled(10, 1, expired));
+        Assertions.assertEquals(N - 2.0, centrality.exact(Deadline.NONE)[centrality.getGraph().indexOf(labels[1])]);
+
+        CompactGraph<Integer> compact = CompactGraph.of(chain);
+        Assertions.assertNull(Components.connected(compact, expired));
+        Assertions.assertNull(Components.stronglyConnected(compact, expired));
+        Assertions.assertEquals(1, Components.count(Components.connected(compact, Deadline.NONE)));
+        Assertions.assertEquals(N, Components.count(Components.stronglyConnected(compact, Deadline.NONE)));
+    }
+}
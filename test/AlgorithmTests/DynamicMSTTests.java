@@ -0,0 +1,132 @@
+package AlgorithmTests;
+
+import Algorithms.DynamicMST;
+import Graph.UndirectedGraph;
+import Graph.UndirectedGraph.Edge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+
+public class DynamicMSTTests {
+
+    UndirectedGraph<Integer> graph;
+
+    @BeforeEach
+    void setUp(){
+        graph = new UndirectedGraph<>();
+        for(int i = 0; i < 6; i++) graph.addVertex(i);
+        graph.addEdge(0, 1, 4);
+        graph.addEdge(0, 2, 3);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(1, 3, 2);
+        graph.addEdge(2, 3, 4);
+        graph.addEdge(3, 4, 2);
+        graph.addEdge(4, 5, 6);
+    }
+
+    @Test
+    public void initialTree(){
+        DynamicMST<Integer> mst = new DynamicMST<>(graph);
+        Assertions.assertEquals(14, mst.minSpanningTreeCost());
+        Assertions.assertEquals(5, mst.minSpanningTree().size());
+    }
+
+    @Test
+    public void insertReplacesHeaviestEdge(){
+        DynamicMST<Integer> mst = new DynamicMST<>(graph);
+        mst.addEdge(3, 5, 1);
+        Assertions.assertEquals(9, mst.minSpanningTreeCost());
+    }
+
+    @Test
+    public void removeFindsReplacement(){
+        DynamicMST<Integer> mst = new DynamicMST<>(graph);
+        mst.removeEdge(2, 1);
+        Assertions.assertEquals(17, mst.minSpanningTreeCost());
+        mst.removeEdge(4, 5);
+        Assertions.assertFalse(mst.connected(0, 5));
+        Assertions.assertEquals(11, mst.minSpanningTreeCost());
+    }
+
+    @Test
+    public void reweight(){
+        DynamicMST<Integer> mst = new DynamicMST<>(graph);
+        mst.setEdgeWeight(1, 3, 10);
+        Assertions.assertEquals(16, mst.minSpanningTreeCost());
+        mst.setEdgeWeight(0, 1, 0);
+        Assertions.assertEquals(13, mst.minSpanningTreeCost());
+    }
+
+    @Test
+    public void matchesRebuildUnderRandomChanges(){
+        Random random = new Random(7);
+        UndirectedGraph<Integer> g = new UndirectedGraph<>();
+        for(int i = 0; i < 40; i++) g.addVertex(i);
+        DynamicMST<Integer> mst = new DynamicMST<>(g);
+
+        for(int step = 0; step < 2000; step++){
+            int a = random.nextInt(40);
+            int b = random.nextInt(40);
+            if(a == b) continue;
+            boolean exists = !g.ensureUniqueEdge(a, b);
+            int op = random.nextInt(3);
+            if(!exists) mst.addEdge(a, b, random.nextInt(50));
+            else if(op == 0) mst.removeEdge(a, b);
+            else mst.setEdgeWeight(a, b, random.nextInt(50));
+
+            Assertions.assertEquals(kruskal(g), mst.minSpanningTreeCost());
+        }
+    }
+
+    @Test
+    public void matchesRebuildAfterRemovingVertices(){
+        Random random = new Random(3);
+        UndirectedGraph<Integer> g = new UndirectedGraph<>();
+        for(int i = 0; i < 40; i++) g.addVertex(i);
+        for(int e = 0; e < 300; e++){
+            int a = random.nextInt(40);
+            int b = random.nextInt(40);
+            if(a != b && g.ensureUniqueEdge(a, b)) g.addEdge(a, b, random.nextInt(50));
+        }
+        DynamicMST<Integer> mst = new DynamicMST<>(g);
+        Assertions.assertEquals(kruskal(g), mst.minSpanningTreeCost());
+
+        for(int next = 40; next < 100; next++){     //labels below 128 are the same Integer every time
+            mst.removeVertex(g.getVertices().get(random.nextInt(g.getVertices().size())).getData());
+            Assertions.assertEquals(kruskal(g), mst.minSpanningTreeCost());
+
+            mst.addVertex(next);
+            for(int e = 0; e < 4; e++){
+                int other = g.getVertices().get(random.nextInt(g.getVertices().size())).getData();
+                if(other != next && g.ensureUniqueEdge(next, other)) mst.addEdge(next, other, random.nextInt(50));
+            }
+            Assertions.assertEquals(kruskal(g), mst.minSpanningTreeCost());
+        }
+    }
+
+    private long kruskal(UndirectedGraph<Integer> g){
+        List<Edge<Integer>> edges = new ArrayList<>(g.getEdges());
+        edges.sort(null);
+        IdentityHashMap<Object, Object> parent = new IdentityHashMap<>();
+        for(UndirectedGraph.Vertex<Integer> v : g.getVertices()) parent.put(v, v);
+        long cost = 0;
+        for(Edge<Integer> e : edges){
+            Object a = find(parent, e.getA());
+            Object b = find(parent, e.getB());
+            if(a == b) continue;
+            parent.put(a, b);
+            cost += e.getWeight();
+        }
+        return cost;
+    }
+
+    private Object find(IdentityHashMap<Object, Object> parent, Object x){
+        while(parent.get(x) != x) x = parent.get(x);
+        return x;
+    }
+}
@@ -0,0 +1,82 @@
+package AlgorithmTests;
+
+import Algorithms.KShortestPaths;
+import Algorithms.KShortestPaths.Path;
+import Graph.CompactGraph;
+import Graph.DirectedGraph;
+import Graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class KShortestPathsTests {
+
+    @Test
+    public void yenExample(){
+        DirectedGraph<Character> graph = new DirectedGraph<>();
+        for(char c : "CDEFGH".toCharArray()) graph.addVertex(c);
+        graph.addEdge('C', 'D', 3);
+        graph.addEdge('C', 'E', 2);
+        graph.addEdge('D', 'F', 4);
+        graph.addEdge('E', 'D', 1);
+        graph.addEdge('E', 'F', 2);
+        graph.addEdge('E', 'G', 3);
+        graph.addEdge('F', 'G', 2);
+        graph.addEdge('F', 'H', 1);
+        graph.addEdge('G', 'H', 2);
+
+        List<Path<Character>> paths = new KShortestPaths<>(graph).shortestPaths('C', 'H', 3);
+        Assertions.assertEquals(3, paths.size());
+        Assertions.assertEquals(List.of('C', 'E', 'F', 'H'), paths.get(0).getPath());
+        Assertions.assertEquals(5, paths.get(0).getCost());
+        Assertions.assertEquals(7, paths.get(1).getCost());
+        Assertions.assertEquals(8, paths.get(2).getCost());
+    }
+
+    @Test
+    public void noPath(){
+        DirectedGraph<Character> graph = new DirectedGraph<>();
+        graph.addVertex('A');
+        graph.addVertex('B');
+        graph.addEdge('B', 'A');
+        Assertions.assertTrue(new KShortestPaths<>(graph).shortestPaths('A', 'B', 4).isEmpty());
+    }
+
+    @Test
+    public void matchesEnumeration(){
+        Random random = new Random(11);
+        UndirectedGraph<Integer> graph = new UndirectedGraph<>();
+        for(int i = 0; i < 9; i++) graph.addVertex(i);
+        for(int i = 0; i < 20; i++){
+            int a = random.nextInt(9);
+            int b = random.nextInt(9);
+            if(a != b && graph.ensureUniqueEdge(a, b)) graph.addEdge(a, b, 1 + random.nextInt(9));
+        }
+        CompactGraph<Integer> compact = new CompactGraph<>(graph);
+
+        List<Long> all = new ArrayList<>();
+        enumerate(compact, 0, 8, new boolean[9], 0, all);
+        Collections.sort(all);
+
+        List<Path<Integer>> paths = new KShortestPaths<>(compact).shortestPaths(0, 8, 15);
+        Assertions.assertEquals(Math.min(15, all.size()), paths.size());
+        for(int i = 0; i < paths.size(); i++) Assertions.assertEquals(all.get(i), paths.get(i).getCost());
+    }
+
+    private void enumerate(CompactGraph<Integer> graph, int v, int target, boolean[] onPath, long cost, List<Long> out){
+        if(v == target){
+            out.add(cost);
+            return;
+        }
+        onPath[v] = true;
+        for(int e = graph.firstEdge(v); e < graph.lastEdge(v); e++){
+            int next = graph.getTarget(e);
+            if(!onPath[next]) enumerate(graph, next, target, onPath, cost + graph.getWeight(e), out);
+        }
+        onPath[v] = false;
+    }
+}
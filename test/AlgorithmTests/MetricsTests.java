@@ -0,0 +1,99 @@
+package AlgorithmTests;
+
+import Algorithms.BellmanFord;
+import Algorithms.Dijkstra;
+import Algorithms.Metrics;
+import Algorithms.PrimJarnik;
+import Graph.DirectedGraph;
+import Graph.UndirectedGraph;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class MetricsTests {
+
+    UndirectedGraph<Character> undirected;
+    DirectedGraph<Character> directed;
+
+    @BeforeEach
+    void setUp(){
+        Metrics.reset();
+        undirected = new UndirectedGraph<>();
+        directed = new DirectedGraph<>();
+        for(char c : "ABCD".toCharArray()){
+            undirected.addVertex(c);
+            directed.addVertex(c);
+        }
+        undirected.addEdge('A', 'B', 1);
+        undirected.addEdge('B', 'C', 2);
+        undirected.addEdge('A', 'C', 5);
+        undirected.addEdge('C', 'D', 1);
+        directed.addEdge('A', 'B', 1);
+        directed.addEdge('B', 'C', 2);
+        directed.addEdge('A', 'C', 5);
+        directed.addEdge('C', 'D', 1);
+    }
+
+    @AfterEach
+    void tearDown(){
+        Metrics.setEnabled(false);
+    }
+
+    @Test
+    public void disabledRecordsNothing(){
+        new Dijkstra<>(undirected).shortestPath('A', 'D');
+        Assertions.assertEquals(0, Metrics.get("Dijkstra").getQueries());
+    }
+
+    @Test
+    public void countsEveryQuery(){
+        Metrics.setEnabled(true);
+        Dijkstra<Character> dijkstra = new Dijkstra<>(undirected);
+        dijkstra.shortestPath('A', 'D');
+        dijkstra.shortestPath('D', 'A');
+
+        Metrics.Snapshot stats = Metrics.get("Dijkstra");
+        Assertions.assertEquals(2, stats.getQueries());
+        Assertions.assertEquals(8, stats.getVerticesSettled());
+        Assertions.assertEquals(stats.getHeapPushes(), stats.getHeapPops());
+        Assertions.assertTrue(stats.getEdgesRelaxed() >= 6);
+        Assertions.assertTrue(stats.getMaxNanos() > 0 && stats.getTotalNanos() >= stats.getMaxNanos());
+
+        new BellmanFord<>(directed).shortestPath('A', 'D');
+        Assertions.assertTrue(Metrics.get("BellmanFord").getIterations() >= 2);
+        new PrimJarnik<>(undirected).minSpanningTreeCost('A');
+        Assertions.assertEquals(4, Metrics.get("PrimJarnik").getVerticesSettled());
+        Assertions.assertTrue(Metrics.getAll().containsKey("PrimJarnik"));
+
+        Metrics.reset();
+        Assertions.assertEquals(0, Metrics.get("Dijkstra").getQueries());
+    }
+
+    @Test
+    public void flightRecorderEvent() throws Exception {
+        Path file = Files.createTempFile("query", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("Graph.Query");
+            recording.start();
+            new Dijkstra<>(undirected).shortestPath('A', 'D');
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            Assertions.assertEquals(1, events.size());
+            Assertions.assertEquals("Dijkstra", events.get(0).getString("algorithm"));
+            Assertions.assertEquals("A", events.get(0).getString("from"));
+            Assertions.assertEquals(4, events.get(0).getInt("settled"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
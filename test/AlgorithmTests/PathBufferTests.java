@@ -0,0 +1,159 @@
+package AlgorithmTests;
+
+import Algorithms.BellmanFord;
+import Algorithms.DAG;
+import Algorithms.Dijkstra;
+import Algorithms.PathBuffer;
+import Algorithms.PrimJarnik;
+import Algorithms.ShortestPathSearch;
+import Graph.CompactGraph;
+import Graph.CompressedGraph;
+import Graph.DirectedGraph;
+import Graph.EDGESTATE;
+import Graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class PathBufferTests {
+
+    UndirectedGraph<Character> undirected;
+    DirectedGraph<Character> directed;
+
+    @BeforeEach
+    void setUp(){
+        undirected = new UndirectedGraph<>();
+        directed = new DirectedGraph<>();
+        for(char c : "ABCDE".toCharArray()){
+            undirected.addVertex(c);
+            directed.addVertex(c);
+        }
+        undirected.addEdge('A', 'B', 1);
+        undirected.addEdge('B', 'C', 2);
+        undirected.addEdge('A', 'C', 5);
+        undirected.addEdge('C', 'D', 1);
+        directed.addEdge('A', 'B', 1);
+        directed.addEdge('B', 'C', 2);
+        directed.addEdge('A', 'C', 5);
+        directed.addEdge('C', 'D', 1);
+    }
+
+    private <V> String labels(PathBuffer<V> path, Function<V, Character> data){
+        StringBuilder s = new StringBuilder();
+        for(int i = 0; i < path.size(); i++) s.append(data.apply(path.get(i)));
+        return s.toString();
+    }
+
+    @Test
+    public void dijkstraReusesBuffer(){
+        Dijkstra<Character> dijkstra = new Dijkstra<>(undirected);
+        PathBuffer<UndirectedGraph.Vertex<Character>> path = new PathBuffer<>(2);
+
+        Assertions.assertEquals(4, dijkstra.shortestPath('A', 'D', path));
+        Assertions.assertEquals("ABCD", labels(path, UndirectedGraph.Vertex::getData));
+        Assertions.assertEquals(dijkstra.shortestPath('A', 'D'), path.toList());
+
+        Assertions.assertEquals(2, dijkstra.shortestPath('C', 'D', path));
+        Assertions.assertEquals("CD", labels(path, UndirectedGraph.Vertex::getData));
+
+        Assertions.assertEquals(-1, dijkstra.shortestPath('A', 'E', path));
+        Assertions.assertTrue(path.isEmpty());
+        Assertions.assertNull(dijkstra.shortestPathCost('A', 'E'));
+        Assertions.assertEquals(4, dijkstra.shortestPathCost('A', 'D'));
+    }
+
+    @Test
+    public void directedBuffers(){
+        PathBuffer<DirectedGraph.Vertex<Character>> path = new PathBuffer<>();
+        BellmanFord<Character> bellmanFord = new BellmanFord<>(directed);
+        Assertions.assertEquals(4, bellmanFord.shortestPath('A', 'D', path));
+        Assertions.assertEquals("ABCD", labels(path, DirectedGraph.Vertex::getData));
+        Assertions.assertEquals(-1, bellmanFord.shortestPath('D', 'A', path));
+        Assertions.assertNull(bellmanFord.shortestPathCost('D', 'A'));
+        Assertions.assertEquals(4, bellmanFord.shortestPathCost('A', 'D'));
+
+        DAG<Character> dag = new DAG<>(directed);
+        Assertions.assertEquals(3, dag.shortestPath('B', 'D', path));
+        Assertions.assertEquals("BCD", labels(path, DirectedGraph.Vertex::getData));
+        Assertions.assertEquals(4, dag.shortestPathCost('A', 'D'));
+        Assertions.assertNull(dag.shortestPathCost('D', 'A'));
+        Assertions.assertNull(dag.shortestPath('D', 'A'));
+    }
+
+    @Test
+    public void vertexNumbers(){
+        CompactGraph<Character> graph = new CompactGraph<>(undirected);
+        ShortestPathSearch<Character> search = new ShortestPathSearch<>(graph);
+        int[] path = new int[graph.size()];
+
+        search.search(graph.indexOf('A'), graph.indexOf('D'));
+        int length = search.getPath(graph.indexOf('D'), path);
+        Assertions.assertEquals(4, length);
+        StringBuilder s = new StringBuilder();
+        for(int i = 0; i < length; i++) s.append(graph.getLabel(path[i]));
+        Assertions.assertEquals("ABCD", s.toString());
+
+        Assertions.assertEquals(-1, search.getPath(graph.indexOf('E'), path));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> search.getPath(graph.indexOf('D'), new int[2]));
+    }
+
+    @Test
+    public void anyAdjacency(){
+        Assertions.assertEquals("[A, B, C, D]", new Dijkstra<>(directed).shortestPathLabels('A', 'D').toString());
+        Assertions.assertNull(new Dijkstra<>(directed).shortestPathLabels('D', 'A'));
+        Assertions.assertEquals(4, new Dijkstra<>(CompressedGraph.of(undirected)).shortestPathCost('D', 'A'));
+        Assertions.assertEquals(4, new DAG<>(CompactGraph.of(directed)).shortestPathCost('A', 'D'));
+        Assertions.assertEquals(4, new BellmanFord<>(CompressedGraph.of(directed)).shortestPathCost('A', 'D'));
+        Assertions.assertEquals(4, new PrimJarnik<>(CompactGraph.of(undirected)).minSpanningTreeCost('D'));
+        Assertions.assertEquals("[A, B, C, D]", new PrimJarnik<>(undirected).minSpanningTreeLabels('A').toString());
+        PathBuffer<Character> path = new PathBuffer<>();
+        Assertions.assertEquals(3, new DAG<>(CompactGraph.of(directed)).shortestPathLabels('B', 'D', path));
+        Assertions.assertEquals("BCD", labels(path, c -> c));
+        Assertions.assertThrows(IllegalStateException.class, () -> new Dijkstra<>(directed).shortestPath('A', 'D'));
+        Assertions.assertThrows(IllegalStateException.class, () -> new BellmanFord<>(undirected).shortestPath('A', 'D'));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PrimJarnik<>(directed));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new DAG<>(undirected));
+
+        undirected.setEdgeWeight('C', 'D', -1);     //an undirected negative edge can be walked back and forth
+        Assertions.assertThrows(IllegalStateException.class, () -> new BellmanFord<>(undirected).shortestPathCost('A', 'D'));
+        Assertions.assertThrows(IllegalStateException.class, () -> new Dijkstra<>(undirected).shortestPathCost('A', 'D'));
+        directed.addEdge('D', 'A');
+        Assertions.assertThrows(IllegalStateException.class, () -> new DAG<>(directed).shortestPathCost('A', 'D'));
+    }
+
+    @Test
+    public void linkedGraphsAreMarked(){
+        List<UndirectedGraph.Vertex<Character>> path = new Dijkstra<>(undirected).shortestPath('A', 'D');
+        Assertions.assertEquals(4, path.get(3).getDistance());
+        Assertions.assertSame(path.get(2), path.get(3).getShortestVertex());
+        for(UndirectedGraph.Edge<Character> e : undirected.getEdges()){
+            EDGESTATE expected = (e.getWeight() == 5) ? EDGESTATE.RELAXED : EDGESTATE.PATH;     //only A to C is not on the tree
+            Assertions.assertEquals(expected, e.getState(), e.toString());
+        }
+        Assertions.assertFalse(undirected.getVertex('E').getIsVisited());
+
+        new BellmanFord<>(directed).shortestPath('B', 'D');
+        Assertions.assertEquals(EDGESTATE.UNEXPLORED, directed.getVertex('A').getEdge('C').getEdgeState());
+        Assertions.assertEquals(EDGESTATE.PATH, directed.getVertex('B').getEdge('C').getEdgeState());
+        Assertions.assertEquals(3, directed.getVertex('D').getDistance());
+
+        DAG<Character> dag = new DAG<>(directed);
+        dag.shortestPath('A', 'D');
+        Assertions.assertEquals(EDGESTATE.RELAXED, directed.getVertex('A').getEdge('C').getEdgeState());
+        dag.reset();
+        Assertions.assertEquals(EDGESTATE.UNEXPLORED, directed.getVertex('B').getEdge('C').getEdgeState());
+        Assertions.assertEquals(Integer.MAX_VALUE, directed.getVertex('D').getDistance());
+
+        PrimJarnik<Character> prim = new PrimJarnik<>(undirected);
+        StringBuilder joined = new StringBuilder();
+        for(UndirectedGraph.Vertex<Character> v : prim.minSpanningTree('A')) joined.append(v.getData());
+        Assertions.assertEquals("ABCD", joined.toString());
+        int cost = 0;
+        for(UndirectedGraph.Edge<Character> e : undirected.getEdges()) if(e.getState() == EDGESTATE.PATH) cost += e.getWeight();
+        Assertions.assertEquals(prim.minSpanningTreeCost('A'), cost);
+    }
+}
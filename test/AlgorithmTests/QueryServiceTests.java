@@ -0,0 +1,176 @@
+package AlgorithmTests;
+
+import Algorithms.QueryResult;
+import Algorithms.QueryService;
+import Algorithms.QueryService.Algorithm;
+import Algorithms.QueryService.Overload;
+import Graph.CompactGraph;
+import Graph.DirectedGraph;
+import Graph.SubgraphView;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class QueryServiceTests {
+
+    CompactGraph<Character> graph;
+    CountDownLatch release;
+    Thread test;
+    SubgraphView<Character> stuck;  //every edge waits for release unless the test thread itself is walking it
+
+    @BeforeEach
+    void setUp(){
+        DirectedGraph<Character> directed = new DirectedGraph<>();
+        for(char c : "ABCD".toCharArray()) directed.addVertex(c);
+        directed.addEdge('A', 'B', 1);
+        directed.addEdge('B', 'C', 2);
+        directed.addEdge('A', 'C', 5);
+        directed.addEdge('C', 'D', 1);
+        graph = CompactGraph.of(directed);
+
+        release = new CountDownLatch(1);
+        test = Thread.currentThread();
+        stuck = new SubgraphView<>(graph, v -> true, (from, to, weight) -> {
+            if(Thread.currentThread() == test) return true;
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        });
+    }
+
+    private static Throwable failure(CompletableFuture<?> future){
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (Exception e) {
+            return e;
+        }
+        return null;
+    }
+
+    @Test
+    public void answersEveryAlgorithm() throws Exception {
+        try (QueryService<Character> service = new QueryService<>(graph)) {
+            for(Algorithm a : Algorithm.values()){
+                QueryResult<Character> result = service.shortestPath(a, 'A', 'D').get(5, TimeUnit.SECONDS);
+                Assertions.assertTrue(result.isComplete());
+                Assertions.assertEquals(List.of('A', 'B', 'C', 'D'), result.getPath());
+                Assertions.assertEquals(4L, result.getCost());
+            }
+            Assertions.assertNull(service.shortestPath(Algorithm.DIJKSTRA, 'D', 'A').get(5, TimeUnit.SECONDS).getPath());
+            Assertions.assertEquals(4, service.getSubmitted());
+        }
+    }
+
+    @Test
+    public void identicalQueriesShareOneRun() throws Exception {
+        try (QueryService<Character> service = new QueryService<>(stuck, 1, 1, Overload.REJECT, 0, TimeUnit.SECONDS)) {
+            CompletableFuture<QueryResult<Character>> first = service.shortestPath(Algorithm.DIJKSTRA, 'A', 'D');     //running
+            CompletableFuture<QueryResult<Character>> second = service.shortestPath(Algorithm.DIJKSTRA, 'A', 'D');    //joins it
+            CompletableFuture<QueryResult<Character>> queued = service.shortestPath(Algorithm.DIJKSTRA, 'A', 'C');
+            CompletableFuture<QueryResult<Character>> turnedAway = service.shortestPath(Algorithm.BELLMAN_FORD, 'A', 'D');
+
+            Assertions.assertEquals(1, service.getCoalesced());
+            Assertions.assertEquals(1, service.getQueued());
+            Assertions.assertTrue(failure(turnedAway) instanceof RejectedExecutionException);
+            Assertions.assertEquals(1, service.getRejected());
+
+            second.cancel(true);    //only this caller gives up
+            release.countDown();
+            Assertions.assertEquals(4L, first.get(5, TimeUnit.SECONDS).getCost());
+            Assertions.assertEquals(3L, queued.get(5, TimeUnit.SECONDS).getCost());
+            Assertions.assertTrue(second.isCancelled());
+
+            service.shortestPath(Algorithm.DIJKSTRA, 'A', 'D').get(5, TimeUnit.SECONDS);    //finished ones are not reused
+            Assertions.assertEquals(1, service.getCoalesced());
+        }
+    }
+
+    @Test
+    public void abandonedQueriesStop() throws Exception {
+        int n = 5000;
+        Integer[] labels = new Integer[n];
+        DirectedGraph<Integer> line = new DirectedGraph<>();
+        for(int i = 0; i < n; i++){
+            labels[i] = i;
+            line.addVertex(labels[i]);
+        }
+        for(int i = 1; i < n; i++) line.addEdge(labels[i - 1], labels[i], 1);
+        AtomicInteger walked = new AtomicInteger();
+        SubgraphView<Integer> slow = new SubgraphView<>(CompactGraph.of(line), v -> true, (from, to, weight) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            walked.incrementAndGet();
+            return true;
+        });
+
+        try (QueryService<Integer> service = new QueryService<>(slow, 1, 4, Overload.REJECT, 0, TimeUnit.SECONDS)) {
+            CompletableFuture<QueryResult<Integer>> first = service.shortestPath(Algorithm.DIJKSTRA, labels[0], labels[n - 1]);
+            CompletableFuture<QueryResult<Integer>> second = service.shortestPath(Algorithm.DIJKSTRA, labels[0], labels[n - 1]);
+            CompletableFuture<QueryResult<Integer>> queued = service.shortestPath(Algorithm.BELLMAN_FORD, labels[0], labels[n - 1]);
+            Assertions.assertEquals(1, service.getQueued());
+
+            queued.cancel(true);
+            Assertions.assertEquals(0, service.getQueued());    //nobody wants it, so it never runs
+            first.cancel(true);
+            second.cancel(true);
+            service.shortestPath(Algorithm.DIJKSTRA, labels[0], labels[n - 1]).cancel(true);   //a new computation, not the abandoned one
+            Assertions.assertEquals(1, service.getCoalesced());
+
+            release.countDown();
+            Assertions.assertEquals(1L, service.shortestPath(Algorithm.DIJKSTRA, labels[0], labels[1]).get(5, TimeUnit.SECONDS).getCost());
+            Assertions.assertTrue(walked.get() < n, "walked " + walked.get());   //the long searches stopped at their first check
+        }
+    }
+
+    @Test
+    public void shedOldestKeepsNewest() throws Exception {
+        try (QueryService<Character> service = new QueryService<>(stuck, 1, 1, Overload.SHED_OLDEST, 0, TimeUnit.SECONDS)) {
+            CompletableFuture<QueryResult<Character>> running = service.shortestPath(Algorithm.DIJKSTRA, 'A', 'D');
+            CompletableFuture<QueryResult<Character>> oldest = service.shortestPath(Algorithm.DIJKSTRA, 'A', 'C');
+            CompletableFuture<QueryResult<Character>> newest = service.shortestPath(Algorithm.DIJKSTRA, 'B', 'D');
+
+            Assertions.assertTrue(failure(oldest) instanceof RejectedExecutionException);
+            release.countDown();
+            Assertions.assertEquals(4L, running.get(5, TimeUnit.SECONDS).getCost());
+            Assertions.assertEquals(3L, newest.get(5, TimeUnit.SECONDS).getCost());
+            Assertions.assertEquals(1, service.getRejected());
+        }
+    }
+
+    @Test
+    public void callerRunsWhenFull() throws Exception {
+        try (QueryService<Character> service = new QueryService<>(stuck, 1, 0, Overload.CALLER_RUNS, 0, TimeUnit.SECONDS)) {
+            CompletableFuture<QueryResult<Character>> running = service.shortestPath(Algorithm.DIJKSTRA, 'A', 'D');
+            CompletableFuture<QueryResult<Character>> here = service.shortestPath(Algorithm.DAG, 'B', 'D');
+            Assertions.assertTrue(here.isDone());   //answered before shortestPath returned
+            Assertions.assertEquals(3L, here.get().getCost());
+            Assertions.assertEquals(0, service.getRejected());
+            release.countDown();
+            Assertions.assertEquals(4L, running.get(5, TimeUnit.SECONDS).getCost());
+        }
+    }
+
+    @Test
+    public void failuresAndClose() throws Exception {
+        QueryService<Character> service = new QueryService<>(graph);
+        Assertions.assertNull(service.shortestPath(Algorithm.DAG, 'A', 'Z').get(5, TimeUnit.SECONDS).getPath());
+        service.close();
+        Assertions.assertTrue(failure(service.shortestPath(Algorithm.DIJKSTRA, 'A', 'D')) instanceof RejectedExecutionException);
+    }
+}
@@ -0,0 +1,97 @@
+package AlgorithmTests;
+
+import Algorithms.ReachabilityIndex;
+import Graph.DirectedGraph;
+import GraphTests.RandomGraphs;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+public class ReachabilityIndexTests {
+
+    private static final int N = 100;
+
+    private DirectedGraph<Integer> randomDag(int edges, long seed){
+        return RandomGraphs.dag(N, edges, seed);
+    }
+
+    private boolean search(DirectedGraph<Integer> graph, Integer from, Integer to){
+        ArrayDeque<DirectedGraph.Vertex<Integer>> queue = new ArrayDeque<>();
+        boolean[] seen = new boolean[N + 10];
+        queue.add(graph.getVertex(from));
+        seen[from] = true;
+        while(!queue.isEmpty()){
+            DirectedGraph.Vertex<Integer> v = queue.poll();
+            if(v.getData().equals(to)) return true;
+            for(DirectedGraph.Edge<Integer> e : v.getEdgeList()){
+                if(seen[e.getTo().getData()]) continue;
+                seen[e.getTo().getData()] = true;
+                queue.add(e.getTo());
+            }
+        }
+        return false;
+    }
+
+    private void assertMatches(DirectedGraph<Integer> graph, ReachabilityIndex<Integer> index){
+        for(DirectedGraph.Vertex<Integer> a : graph.getVertices()) for(DirectedGraph.Vertex<Integer> b : graph.getVertices()){
+            Assertions.assertEquals(search(graph, a.getData(), b.getData()), index.reaches(a.getData(), b.getData()), a.getData() + " -> " + b.getData());
+        }
+    }
+
+    @Test
+    public void matchesSearchOnSparseAndDenseDags(){
+        for(int edges : new int[]{80, 150, 600}){
+            DirectedGraph<Integer> graph = randomDag(edges, edges);
+            assertMatches(graph, new ReachabilityIndex<>(graph));
+            assertMatches(graph, new ReachabilityIndex<>(graph, 1, 7));
+        }
+    }
+
+    @Test
+    public void appendedEdgesAndVertices(){
+        DirectedGraph<Integer> graph = randomDag(120, 4);
+        ReachabilityIndex<Integer> index = new ReachabilityIndex<>(graph, 2, 9);
+
+        Random random = new Random(12);
+        int added = 0;
+        while(added < 60){
+            int a = random.nextInt(N);
+            int b = random.nextInt(N);
+            if(a >= b || graph.getVertex(a).getEdge(b) != null) continue;
+            Assertions.assertTrue(index.addEdge(a, b));
+            added++;
+        }
+        Assertions.assertNotNull(graph.getVertex(0));
+        assertMatches(graph, index);
+
+        index.addVertex(N);
+        index.addVertex(N + 1);
+        Assertions.assertFalse(index.reaches(0, N));
+        index.addEdge(N, 0);
+        index.addEdge(N - 1, N + 1);
+        Assertions.assertEquals(N + 2, index.size());
+        assertMatches(graph, index);
+    }
+
+    @Test
+    public void cyclesAreRejected(){
+        DirectedGraph<Character> graph = new DirectedGraph<>();
+        for(char c = 'A'; c <= 'D'; c++) graph.addVertex(c);
+        graph.addEdge('A', 'B');
+        graph.addEdge('B', 'C');
+        ReachabilityIndex<Character> index = new ReachabilityIndex<>(graph);
+
+        Assertions.assertTrue(index.reaches('A', 'C'));
+        Assertions.assertFalse(index.reaches('C', 'A'));
+        Assertions.assertTrue(index.reaches('D', 'D'));
+        Assertions.assertFalse(index.reaches('A', 'Z'));
+        Assertions.assertThrows(IllegalStateException.class, () -> index.addEdge('C', 'A'));
+        Assertions.assertNull(graph.getVertex('C').getEdge('A'));
+        Assertions.assertFalse(index.addEdge('A', 'Z'));
+
+        graph.addEdge('C', 'A');
+        Assertions.assertThrows(IllegalStateException.class, () -> new ReachabilityIndex<>(graph));
+    }
+}
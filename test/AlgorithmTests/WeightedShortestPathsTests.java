@@ -0,0 +1,100 @@
+package AlgorithmTests;
+
+import Algorithms.DoubleShortestPaths;
+import Algorithms.LongShortestPaths;
+import Graph.DoubleWeightedGraph;
+import Graph.LongWeightedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class WeightedShortestPathsTests {
+
+    @Test
+    public void longPathsSaturateInsteadOfOverflowing(){
+        LongWeightedGraph<String> graph = new LongWeightedGraph<>(true);
+        for(String s : List.of("A", "B", "C", "D")) graph.addVertex(s);
+        long big = Long.MAX_VALUE / 2;
+        graph.addEdge("A", "B", big);
+        graph.addEdge("B", "C", big);
+        graph.addEdge("C", "D", big);   //A to D is past Long.MAX_VALUE
+        graph.addEdge("A", "C", 3 * (long) Integer.MAX_VALUE);
+
+        LongShortestPaths<String> solve = new LongShortestPaths<>(graph);
+        Assertions.assertEquals(3 * (long) Integer.MAX_VALUE, solve.shortestPathCost("A", "C"));
+        Assertions.assertEquals(List.of("A", "C"), solve.shortestPath("A", "C"));
+        Assertions.assertEquals(3 * (long) Integer.MAX_VALUE + big, solve.shortestPathCost("A", "D"));
+
+        graph.removeEdge("A", "C");
+        Assertions.assertEquals(LongWeightedGraph.INFINITY, solve.shortestPathCost("A", "D"));
+        Assertions.assertEquals(LongWeightedGraph.INFINITY, solve.shortestPathCost("D", "A"));
+    }
+
+    @Test
+    public void longNegativeWeights(){
+        LongWeightedGraph<String> graph = new LongWeightedGraph<>(true);
+        for(String s : List.of("A", "B", "C")) graph.addVertex(s);
+        graph.addEdge("A", "B", 5);
+        graph.addEdge("A", "C", 2);
+        graph.addEdge("C", "B", -4);
+        LongShortestPaths<String> solve = new LongShortestPaths<>(graph);
+        Assertions.assertEquals(-2, solve.shortestPathCost("A", "B"));
+
+        graph.addEdge("B", "C", 1);
+        Assertions.assertThrows(IllegalStateException.class, () -> solve.shortestPathCost("A", "B"));
+    }
+
+    @Test
+    public void doubleTravelTimes(){
+        DoubleWeightedGraph<String> graph = new DoubleWeightedGraph<>(false);
+        for(String s : List.of("A", "B", "C", "D")) graph.addVertex(s);
+        graph.addEdge("A", "B", 0.5);
+        graph.addEdge("B", "C", 0.25);
+        graph.addEdge("A", "C", 1.0);
+
+        DoubleShortestPaths<String> solve = new DoubleShortestPaths<>(graph);
+        Assertions.assertEquals(0.75, solve.shortestPathCost("C", "A"), 1e-12);
+        Assertions.assertEquals(List.of("C", "B", "A"), solve.shortestPath("C", "A"));
+        Assertions.assertEquals(DoubleWeightedGraph.INFINITY, solve.shortestPathCost("A", "D"), 0);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> graph.addEdge("A", "D", Double.NaN));
+    }
+
+    /**
+     * Edges only go from lower to higher numbers, so the costs can be checked by relaxing the vertices in order
+     */
+    @Test
+    public void negativeDagIsNotACycle(){
+        int n = 40;
+        Random random = new Random(11);
+        LongWeightedGraph<Integer> longs = new LongWeightedGraph<>(true);
+        DoubleWeightedGraph<Integer> doubles = new DoubleWeightedGraph<>(true);
+        for(int i = 0; i < n; i++){
+            longs.addVertex(i);
+            doubles.addVertex(i);
+        }
+        List<int[]> edges = new ArrayList<>();
+        for(int i = 0; i < n; i++) for(int j = i + 1; j < n; j++) edges.add(new int[]{i, j, random.nextInt(41) - 30});
+        Collections.shuffle(edges, random);
+        long[] expected = new long[n];
+        for(int[] e : edges){
+            longs.addEdge(e[0], e[1], e[2]);
+            doubles.addEdge(e[0], e[1], e[2]);
+        }
+        edges.sort((a, b) -> Integer.compare(a[0], b[0]));
+        Arrays.fill(expected, Long.MAX_VALUE);
+        expected[0] = 0;
+        for(int[] e : edges) if(expected[e[0]] != Long.MAX_VALUE) expected[e[1]] = Math.min(expected[e[1]], expected[e[0]] + e[2]);
+
+        LongShortestPaths<Integer> longSolve = new LongShortestPaths<>(longs);
+        DoubleShortestPaths<Integer> doubleSolve = new DoubleShortestPaths<>(doubles);
+        for(int i = 1; i < n; i++){
+            Assertions.assertEquals(expected[i], longSolve.shortestPathCost(0, i));
+            Assertions.assertEquals(expected[i], doubleSolve.shortestPathCost(0, i), 0);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package GeneratorTests;
+
+import Generators.EdgeListWriter;
+import Generators.EdgeSink;
+import Generators.ErdosRenyi;
+import Generators.GraphGenerator;
+import Generators.GraphSink;
+import Generators.Grid;
+import Generators.RMat;
+import Generators.RandomDAG;
+import Graph.DirectedGraph;
+import Graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class GeneratorTests {
+
+    /**
+     * Keeps every edge as "from to weight" so runs can be compared
+     */
+    private static class Recorder implements EdgeSink {
+        final List<String> edges = new ArrayList<>();
+        int vertices;
+
+        @Override
+        public void start(int vertices, boolean directed){
+            this.vertices = vertices;
+        }
+
+        @Override
+        public void edge(int from, int to, int weight){
+            Assertions.assertTrue(from >= 0 && from < vertices && to >= 0 && to < vertices);
+            edges.add(from + " " + to + " " + weight);
+        }
+    }
+
+    private List<String> record(GraphGenerator generator, boolean parallel){
+        Recorder recorder = new Recorder();
+        long count = generator.generate(recorder, parallel);
+        Assertions.assertEquals(count, recorder.edges.size());
+        return recorder.edges;
+    }
+
+    @Test
+    public void sameSeedSameEdges(){
+        List<String> first = record(new RMat(12, 50000, true, 3).setWeights(1, 9), false);
+        Assertions.assertEquals(first, record(new RMat(12, 50000, true, 3).setWeights(1, 9), false));
+
+        List<String> parallel = record(new RMat(12, 50000, true, 3).setWeights(1, 9), true);
+        Collections.sort(first);
+        Collections.sort(parallel);
+        Assertions.assertEquals(first, parallel);
+        Assertions.assertNotEquals(first, record(new RMat(12, 50000, true, 4).setWeights(1, 9), false));
+    }
+
+    @Test
+    public void erdosRenyiEdgeCount(){
+        int n = 2000;
+        double p = 0.01;
+        List<String> edges = record(new ErdosRenyi(n, p, true, 7), true);
+        double expected = p * n * (n - 1);
+        Assertions.assertTrue(Math.abs(edges.size() - expected) < 5 * Math.sqrt(expected));
+        Assertions.assertEquals(edges.size(), edges.stream().distinct().count());
+        for(String e : edges){
+            String[] parts = e.split(" ");
+            Assertions.assertNotEquals(parts[0], parts[1]);
+        }
+
+        Assertions.assertEquals(n * (n - 1) / 2, record(new ErdosRenyi(n, 1, false, 7), false).size());
+        Assertions.assertEquals(0, record(new ErdosRenyi(n, 0, false, 7), false).size());
+    }
+
+    @Test
+    public void fullGrid(){
+        List<String> edges = record(new Grid(30, 40, 1, 1), true);
+        Assertions.assertEquals(30 * 39 + 29 * 40, edges.size());
+        Assertions.assertTrue(record(new Grid(30, 40, 0.5, 1), true).size() < edges.size());
+    }
+
+    @Test
+    public void randomDAGIntoGraph(){
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        GraphSink<Integer> sink = new GraphSink<>(graph, v -> v);
+        long count = new RandomDAG(100, 0.1, 11).setWeights(1, 5).generate(sink, true);
+
+        Assertions.assertEquals(100, graph.getTopologicalOrder().size());
+        Assertions.assertEquals(0, sink.getSkipped());
+        int edges = 0;
+        for(int v = 0; v < 100; v++) edges += graph.getVertex(sink.getLabel(v)).getEdgeList().size();
+        Assertions.assertEquals(count, edges);
+    }
+
+    @Test
+    public void rmatIntoGraphSkipsRepeats(){
+        UndirectedGraph<String> graph = new UndirectedGraph<>();
+        GraphSink<String> sink = new GraphSink<>(graph, v -> "v" + v);
+        long count = new RMat(5, 300, false, 2).generate(sink);
+        Assertions.assertTrue(sink.getSkipped() > 0);
+        Assertions.assertTrue(sink.getSkipped() < count);
+    }
+
+    @Test
+    public void edgeListWriter(){
+        StringBuilder out = new StringBuilder();
+        new Grid(1, 3, 1, 5).setWeights(4, 4).generate(new EdgeListWriter(out));
+        Assertions.assertEquals("3 undirected\n0 1 4\n1 2 4\n", out.toString());
+    }
+}
@@ -0,0 +1,112 @@
+package GraphTests;
+
+import Algorithms.ShortestPathSearch;
+import Graph.CompactGraph;
+import Graph.CompressedGraph;
+import Graph.DirectedGraph;
+import Graph.NeighborCursor;
+import Graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class CompressedGraphTests {
+
+    private CompactGraph<Integer> randomDirected(int n, int edges, int maxWeight, int lowest, long seed){
+        return new CompactGraph<>(RandomGraphs.directed(n, edges, seed, random -> maxWeight == 1 ? 1 : random.nextInt(maxWeight) - lowest));
+    }
+
+    private List<Long> edgesOf(CompactGraph<?> graph, int v){
+        List<Long> edges = new ArrayList<>();
+        for(int e = graph.firstEdge(v); e < graph.lastEdge(v); e++) edges.add(((long) graph.getTarget(e) << 32) | (graph.getWeight(e) & 0xFFFFFFFFL));
+        Collections.sort(edges);
+        return edges;
+    }
+
+    private List<Long> edgesOf(NeighborCursor cursor, int v){
+        List<Long> edges = new ArrayList<>();
+        cursor.reset(v);
+        while(cursor.next()) edges.add(((long) cursor.getTarget() << 32) | (cursor.getWeight() & 0xFFFFFFFFL));
+        return edges;
+    }
+
+    @Test
+    public void decodesEveryEdgeInTargetOrder(){
+        for(int maxWeight : new int[]{1, 100, 1 << 20}){
+            CompactGraph<Integer> graph = randomDirected(100, 600, maxWeight, maxWeight / 4, maxWeight);
+            CompressedGraph<Integer> compressed = new CompressedGraph<>(graph);
+            NeighborCursor cursor = compressed.cursor();
+
+            Assertions.assertEquals(graph.edgeCount(), compressed.edgeCount());
+            Assertions.assertEquals(graph.hasNegativeWeights(), compressed.hasNegativeWeights());
+            for(int v = 0; v < graph.size(); v++){
+                Assertions.assertEquals(graph.degree(v), compressed.degree(v));
+                Assertions.assertEquals(edgesOf(graph, v), edgesOf(cursor, v));
+                Assertions.assertEquals(v, compressed.indexOf(compressed.getLabel(v)));
+            }
+        }
+    }
+
+    @Test
+    public void searchesGiveTheSameDistances(){
+        CompactGraph<Integer> graph = randomDirected(120, 700, 50, -1, 6);
+        ShortestPathSearch<Integer> compact = new ShortestPathSearch<>(graph);
+        ShortestPathSearch<Integer> compressed = new ShortestPathSearch<>(new CompressedGraph<>(graph));
+        for(int from = 0; from < 10; from++){
+            compact.search(from, -1);
+            compressed.search(from, -1);
+            for(int v = 0; v < graph.size(); v++) Assertions.assertEquals(compact.getDistance(v), compressed.getDistance(v));
+        }
+    }
+
+    @Test
+    public void orderedGridFitsInAFewBytesPerEdge(){
+        int side = 60;
+        Integer[] labels = new Integer[side * side];
+        List<Integer> order = new ArrayList<>();
+        for(int i = 0; i < labels.length; i++){
+            labels[i] = i;
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(2));
+        UndirectedGraph<Integer> graph = new UndirectedGraph<>();
+        for(int i : order) graph.addVertex(labels[i]);
+        for(int r = 0; r < side; r++) for(int c = 0; c < side; c++){
+            int v = r * side + c;
+            if(c + 1 < side) graph.addEdge(labels[v], labels[v + 1]);
+            if(r + 1 < side) graph.addEdge(labels[v], labels[v + side]);
+        }
+
+        CompressedGraph<Integer> compressed = CompressedGraph.of(graph);
+        int edges = compressed.edgeCount();
+        Assertions.assertEquals(2 * 2 * side * (side - 1), edges);
+        Assertions.assertTrue(compressed.getEdgeBytes() < 2 * edges, compressed.getEdgeBytes() + " bytes for " + edges + " edges");
+
+        ShortestPathSearch<Integer> search = new ShortestPathSearch<>(compressed);
+        search.search(compressed.indexOf(labels[0]), -1);
+        Assertions.assertEquals(2 * (side - 1), search.getDistance(compressed.indexOf(labels[side * side - 1])));
+    }
+
+    @Test
+    public void emptyAndLoneVertices(){
+        DirectedGraph<Character> graph = new DirectedGraph<>();
+        Assertions.assertEquals(0, new CompressedGraph<>(new CompactGraph<>(graph)).size());
+
+        graph.addVertex('A');
+        graph.addVertex('B');
+        graph.addEdge('B', 'A', -7);
+        CompressedGraph<Character> compressed = new CompressedGraph<>(new CompactGraph<>(graph));
+        NeighborCursor cursor = compressed.cursor();
+        cursor.reset(compressed.indexOf('A'));
+        Assertions.assertFalse(cursor.next());
+        cursor.reset(compressed.indexOf('B'));
+        Assertions.assertTrue(cursor.next());
+        Assertions.assertEquals(compressed.indexOf('A'), cursor.getTarget());
+        Assertions.assertEquals(-7, cursor.getWeight());
+        Assertions.assertFalse(cursor.next());
+    }
+}
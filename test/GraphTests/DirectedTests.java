@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.LinkedList;
+
 public class DirectedTests {
 
     DirectedGraph<String> graph;
@@ -65,4 +67,50 @@ public class DirectedTests {
         Assertions.assertEquals(EDGESTATE.PATH, graph.getVertex("Riko").getEdge("Adam").getEdgeState());
     }
 
+    @Test
+    public void topologicalOrder(){
+        addEdge();
+        graph.addVertex("Lone");
+        LinkedList<DirectedGraph.Vertex<String>> order = graph.getTopologicalOrder();
+        Assertions.assertEquals(3, order.size());
+        Assertions.assertTrue(order.indexOf(graph.getVertex("Riko")) < order.indexOf(graph.getVertex("Adam")));
+
+        graph.addEdge("Adam", "Riko");
+        Assertions.assertThrows(IllegalStateException.class, () -> graph.getTopologicalOrder());
+        Assertions.assertFalse(graph.getVertex("Riko").getIsVisited());
+    }
+
+    @Test
+    public void inEdges(){
+        addEdge();
+        graph.addVertex("Lone");
+        graph.addEdge("Lone", "Adam", 3);
+        Assertions.assertEquals(2, graph.getVertex("Adam").inEdges().size());
+        Assertions.assertTrue(graph.getVertex("Riko").inEdges().isEmpty());
+        Assertions.assertSame(graph.getVertex("Riko").getEdge("Adam"), graph.getVertex("Adam").inEdges().get(0));
+        Assertions.assertSame(graph.getVertex("Lone"), graph.getVertex("Adam").inEdges().get(1).getFrom());
+
+        graph.removeEdge("Riko", "Adam");
+        Assertions.assertEquals(1, graph.getVertex("Adam").inEdges().size());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> graph.getVertex("Adam").inEdges().clear());
+    }
+
+    @Test
+    public void removeVertexDropsEdgesBothWays(){
+        addEdge();
+        graph.addVertex("Lone");
+        graph.addEdge("Adam", "Lone");
+        graph.addEdge("Lone", "Riko");
+        DirectedGraph.Vertex<String> lone = graph.getVertex("Lone");
+
+        graph.removeVertex("Adam");
+        Assertions.assertTrue(graph.getVertex("Riko").getEdgeList().isEmpty());
+        Assertions.assertTrue(lone.inEdges().isEmpty());
+        Assertions.assertEquals(1, graph.getVertex("Riko").inEdges().size());
+
+        graph.removeVertex("Riko");
+        Assertions.assertTrue(lone.getEdgeList().isEmpty());
+        Assertions.assertEquals(1, graph.getVertices().size());
+    }
+
 }
@@ -0,0 +1,253 @@
+package GraphTests;
+
+import Graph.DirectedGraph;
+import Graph.EdgeEvent;
+import Graph.EdgeIngestor;
+import Graph.GraphInterface;
+import Graph.LabelCodec;
+import Graph.LoggedGraph;
+import Graph.NeighborCursor;
+import Graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public class EdgeIngestorTests {
+
+    @Test
+    public void coalescesWithinBatch() throws Exception {
+        DirectedGraph<Character> graph = new DirectedGraph<>();
+        for(char c : "ABCD".toCharArray()) graph.addVertex(c);
+        graph.addEdge('C', 'D', 9);
+
+        EdgeIngestor<Character> ingestor = new EdgeIngestor<>(graph, 100);
+        try (SubmissionPublisher<EdgeEvent<Character>> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(ingestor);
+            publisher.submit(EdgeEvent.add('A', 'B', 5));
+            publisher.submit(EdgeEvent.remove('A', 'B'));      //cancels the add, there was no edge
+            publisher.submit(EdgeEvent.add('B', 'C', 2));
+            publisher.submit(EdgeEvent.reweight('B', 'C', 7));  //folds into the add
+            publisher.submit(EdgeEvent.remove('C', 'D'));
+            publisher.submit(EdgeEvent.add('C', 'D', 4));       //replaces the old edge
+            publisher.submit(EdgeEvent.add('A', 'Z', 1));       //no such vertex
+        }
+        ingestor.getCompletion().get(5, TimeUnit.SECONDS);
+
+        Assertions.assertNull(graph.getVertex('A').getEdge('B'));
+        Assertions.assertEquals(7, graph.getVertex('B').getEdge('C').getWeight());
+        Assertions.assertEquals(4, graph.getVertex('C').getEdge('D').getWeight());
+        Assertions.assertEquals(7, ingestor.getEvents());
+        Assertions.assertEquals(2, ingestor.getApplied());
+        Assertions.assertEquals(1, ingestor.getRejected());
+        Assertions.assertEquals(1, ingestor.getBatches());
+    }
+
+    @Test
+    public void undirectedDirectionsAreOneEdge() throws Exception {
+        UndirectedGraph<Character> graph = new UndirectedGraph<>();
+        graph.addVertex('A');
+        graph.addVertex('B');
+
+        EdgeIngestor<Character> ingestor = new EdgeIngestor<>(graph, 2);
+        try (SubmissionPublisher<EdgeEvent<Character>> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(ingestor);
+            publisher.submit(EdgeEvent.add('B', 'A', 3));
+            publisher.submit(EdgeEvent.remove('A', 'B'));
+            publisher.submit(EdgeEvent.add('A', 'B', 6));
+        }
+        ingestor.getCompletion().get(5, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(1, graph.getEdges().size());
+        Assertions.assertEquals(6, graph.getEdges().getFirst().getWeight());
+        Assertions.assertEquals(2, ingestor.getBatches());
+    }
+
+    /**
+     * Hands events straight to the ingestor and ends the stream, everything lands in one batch
+     */
+    private static <T extends Comparable<T>> void ingest(EdgeIngestor<T> ingestor, List<EdgeEvent<T>> events){
+        ingestor.onSubscribe(new Flow.Subscription() {
+            public void request(long n){}
+            public void cancel(){}
+        });
+        for(EdgeEvent<T> e : events) ingestor.onNext(e);
+        ingestor.onComplete();
+    }
+
+    private static <T extends Comparable<T>> void applyInOrder(GraphInterface<T> graph, List<EdgeEvent<T>> events){
+        for(EdgeEvent<T> e : events){
+            try {
+                switch (e.getType()){
+                    case ADD:
+                        if(graph.addEdge(e.getFrom(), e.getTo())) graph.setEdgeWeight(e.getFrom(), e.getTo(), e.getWeight());
+                        break;
+                    case REMOVE:
+                        graph.removeEdge(e.getFrom(), e.getTo());
+                        break;
+                    case REWEIGHT:
+                        graph.setEdgeWeight(e.getFrom(), e.getTo(), e.getWeight());
+                        break;
+                }
+            } catch (IllegalArgumentException ex) {   //the edge already exists
+            }
+        }
+    }
+
+    private static List<String> edges(GraphInterface<?> graph){
+        List<String> edges = new ArrayList<>();
+        NeighborCursor cursor = graph.cursor();
+        for(int v = 0; v < graph.size(); v++){
+            cursor.reset(v);
+            while(cursor.next()) edges.add(graph.getLabel(v) + "-" + graph.getLabel(cursor.getTarget()) + ":" + cursor.getWeight());
+        }
+        Collections.sort(edges);
+        return edges;
+    }
+
+    private static GraphInterface<Character> graph(boolean directed, boolean[] initial){
+        GraphInterface<Character> graph = directed ? new DirectedGraph<>() : new UndirectedGraph<>();
+        for(char c : "ABC".toCharArray()) graph.addVertex(c);
+        if(initial[0]) graph.addEdge('A', 'B');
+        if(initial[1]) graph.addEdge('B', 'A');
+        return graph;
+    }
+
+    @Test
+    public void coalescedBatchMatchesEventsInOrder(){
+        Random random = new Random(11);
+        char[][] pairs = {{'A', 'B'}, {'B', 'A'}, {'B', 'C'}};
+        for(int trial = 0; trial < 2000; trial++){
+            boolean directed = random.nextBoolean();
+            boolean[] initial = {random.nextBoolean(), directed && random.nextBoolean()};
+            List<EdgeEvent<Character>> events = new ArrayList<>();
+            for(int i = random.nextInt(7); i > 0; i--){
+                char[] pair = pairs[random.nextInt(pairs.length)];
+                int weight = 1 + random.nextInt(4);
+                switch (random.nextInt(3)){
+                    case 0: events.add(EdgeEvent.add(pair[0], pair[1], weight)); break;
+                    case 1: events.add(EdgeEvent.remove(pair[0], pair[1])); break;
+                    default: events.add(EdgeEvent.reweight(pair[0], pair[1], weight));
+                }
+            }
+            GraphInterface<Character> expected = graph(directed, initial);
+            applyInOrder(expected, events);
+            GraphInterface<Character> actual = graph(directed, initial);
+            ingest(new EdgeIngestor<>(actual, 100), events);
+            Assertions.assertEquals(edges(expected), edges(actual), "trial " + trial + " " + directed + " " + events);
+        }
+    }
+
+    @Test
+    public void secondAddOfAnEdgeIsRefused(){
+        DirectedGraph<Character> graph = new DirectedGraph<>();
+        graph.addVertex('A');
+        graph.addVertex('B');
+        graph.addVertex('C');
+        graph.addEdge('B', 'C', 3);
+
+        EdgeIngestor<Character> ingestor = new EdgeIngestor<>(graph, 100);
+        ingest(ingestor, List.of(EdgeEvent.add('A', 'B', 5), EdgeEvent.add('A', 'B', 9),
+                                 EdgeEvent.add('B', 'C', 4), EdgeEvent.remove('B', 'C')));     //the add did not make it, so the remove still does
+
+        Assertions.assertEquals(5, graph.getVertex('A').getEdge('B').getWeight());
+        Assertions.assertNull(graph.getVertex('B').getEdge('C'));
+        Assertions.assertEquals(2, ingestor.getApplied());
+        Assertions.assertEquals(0, ingestor.getRejected());
+    }
+
+    @Test
+    public void undirectedBehindALoggedGraph() throws IOException {
+        Path directory = Files.createTempDirectory("edge-ingestor");
+        try (LoggedGraph<String> graph = LoggedGraph.open(directory, new UndirectedGraph<>(), LabelCodec.STRING)) {
+            graph.addVertex("A");
+            graph.addVertex("B");
+
+            ingest(new EdgeIngestor<>(graph, 100), List.of(EdgeEvent.remove("B", "A"), EdgeEvent.add("A", "B", 4), EdgeEvent.remove("B", "A")));
+            Assertions.assertEquals(0, graph.edgeCount());
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    public void partialBatchFlushedAfterDelay() throws Exception {
+        DirectedGraph<Character> graph = new DirectedGraph<>();
+        graph.addVertex('A');
+        graph.addVertex('B');
+
+        EdgeIngestor<Character> ingestor = new EdgeIngestor<>(graph, 1000, 20, TimeUnit.MILLISECONDS);
+        try (SubmissionPublisher<EdgeEvent<Character>> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(ingestor);
+            publisher.submit(EdgeEvent.add('A', 'B', 2));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while(ingestor.getApplied() == 0 && System.nanoTime() < deadline) Thread.sleep(5);
+            Assertions.assertNotNull(graph.getVertex('A').getEdge('B'));
+        }
+    }
+
+    @Test
+    public void backPressureWhenGraphFallsBehind() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        DirectedGraph<Integer> inner = new DirectedGraph<>();
+        Integer[] labels = new Integer[100];
+        for(int i = 0; i < labels.length; i++){
+            labels[i] = i;
+            inner.addVertex(labels[i]);
+        }
+        GraphInterface<Integer> slow = new GraphInterface<>() {
+            public void removeVertex(Integer v){ inner.removeVertex(v); }
+            public void addVertex(Integer v){ inner.addVertex(v); }
+            public void removeEdge(Integer a, Integer b){ inner.removeEdge(a, b); }
+            public void setEdgeWeight(Integer a, Integer b, int weight){ inner.setEdgeWeight(a, b, weight); }
+            public boolean addEdge(Integer a, Integer b){
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return inner.addEdge(a, b);
+            }
+            public int size(){ return inner.size(); }
+            public int edgeCount(){ return inner.edgeCount(); }
+            public int degree(int v){ return inner.degree(v); }
+            public int indexOf(Integer data){ return inner.indexOf(data); }
+            public Integer getLabel(int v){ return inner.getLabel(v); }
+            public boolean isDirected(){ return inner.isDirected(); }
+            public boolean hasNegativeWeights(){ return inner.hasNegativeWeights(); }
+            public NeighborCursor cursor(){ return inner.cursor(); }
+        };
+
+        EdgeIngestor<Integer> ingestor = new EdgeIngestor<>(slow, 4);
+        int offered = 0;
+        try (SubmissionPublisher<EdgeEvent<Integer>> publisher = new SubmissionPublisher<>(ForkJoinPool.commonPool(), 8)) {
+            publisher.subscribe(ingestor);
+            boolean dropped = false;
+            for(int i = 1; i < labels.length && !dropped; i++){
+                dropped = publisher.offer(EdgeEvent.add(labels[0], labels[i], 1), null) < 0;
+                if(!dropped) offered++;
+            }
+            Assertions.assertTrue(dropped);     //the publisher had to hold back while the graph was stuck
+            Assertions.assertTrue(offered < 40);
+            release.countDown();
+        }
+        ingestor.getCompletion().get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(offered, ingestor.getApplied());
+        Assertions.assertEquals(offered, inner.getVertex(labels[0]).getEdgeList().size());
+    }
+}
@@ -0,0 +1,72 @@
+package GraphTests;
+
+import Graph.DirectedGraph;
+import Graph.EDGESTATE;
+import Graph.GraphWriter;
+import Graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class GraphWriterTests {
+
+    private DirectedGraph<String> directed(){
+        DirectedGraph<String> graph = new DirectedGraph<>();
+        graph.addVertex("A");
+        graph.addVertex("B \"b\"");
+        graph.addVertex("C&D");
+        graph.addEdge("A", "B \"b\"", 4);
+        graph.addEdge("A", "C&D", -2);
+        graph.getVertex("A").getEdge("C&D").setEdgeState(EDGESTATE.PATH);
+        return graph;
+    }
+
+    @Test
+    public void dot() throws IOException {
+        StringBuilder out = new StringBuilder();
+        new GraphWriter(GraphWriter.Format.DOT, true).write(directed(), out);
+        Assertions.assertEquals("digraph {\n  \"A\";\n  \"B \\\"b\\\"\";\n  \"C&D\";\n"
+                + "  \"A\" -> \"B \\\"b\\\"\" [label=\"4\", color=gold];\n"
+                + "  \"A\" -> \"C&D\" [label=\"-2\", color=green];\n}\n", out.toString());
+    }
+
+    @Test
+    public void graphML() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new GraphWriter(GraphWriter.Format.GRAPHML, true).write(directed(), bytes);
+        String xml = bytes.toString(StandardCharsets.UTF_8);
+        Assertions.assertTrue(xml.contains("<graph edgedefault=\"directed\">"));
+        Assertions.assertTrue(xml.contains("<node id=\"B &quot;b&quot;\"/>"));
+        Assertions.assertTrue(xml.contains("<edge source=\"A\" target=\"C&amp;D\">\n      <data key=\"weight\">-2</data>\n      <data key=\"state\">PATH</data>"));
+        Assertions.assertTrue(xml.endsWith("</graphml>\n"));
+    }
+
+    @Test
+    public void undirectedEdgeList() throws IOException {
+        UndirectedGraph<Character> graph = new UndirectedGraph<>();
+        graph.addVertex('A');
+        graph.addVertex('B');
+        graph.addVertex('C');
+        graph.addEdge('A', 'B', 3);
+        graph.addEdge('B', 'C');
+
+        StringBuilder out = new StringBuilder();
+        new GraphWriter(GraphWriter.Format.EDGE_LIST).write(graph, out);
+        Assertions.assertEquals("A\tB\t3\nB\tC\t1\n", out.toString());
+
+        out.setLength(0);
+        new GraphWriter(GraphWriter.Format.DOT).write(graph, out);
+        Assertions.assertTrue(out.toString().startsWith("graph {\n"));
+        Assertions.assertTrue(out.toString().contains("\"A\" -- \"B\" [label=\"3\"];"));
+    }
+
+    @Test
+    public void toStringUnchanged(){
+        DirectedGraph<String> graph = directed();
+        Assertions.assertTrue(graph.toString().contains("This Vertex has 2 edge(s)"));
+        Assertions.assertTrue(graph.toString().contains("This Vertex had no edges"));
+    }
+}
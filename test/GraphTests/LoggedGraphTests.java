@@ -0,0 +1,237 @@
+package GraphTests;
+
+import Algorithms.BatchShortestPaths;
+import Algorithms.Betweenness;
+import Algorithms.BreadthFirstSearch;
+import Algorithms.KShortestPaths;
+import Graph.CompressedGraph;
+import Graph.DirectedGraph;
+import Graph.LabelCodec;
+import Graph.LoggedGraph;
+import Graph.MutationLog;
+import Graph.UndirectedGraph;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public class LoggedGraphTests {
+
+    Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("logged-graph");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private LoggedGraph<String> open() throws IOException {
+        return LoggedGraph.open(directory, new DirectedGraph<>(), LabelCodec.STRING);
+    }
+
+    private DirectedGraph<String> graphOf(LoggedGraph<String> logged){
+        return (DirectedGraph<String>) logged.getGraph();
+    }
+
+    private void build(LoggedGraph<String> graph){
+        graph.addVertex("A");
+        graph.addVertex("B");
+        graph.addVertex("C");
+        graph.addEdge("A", "B", 4);
+        graph.addEdge("B", "C", -3);
+        graph.addEdge("A", "C");
+        graph.setEdgeWeight("A", "C", 9);
+        graph.removeEdge("A", "B");
+    }
+
+    private void assertBuilt(LoggedGraph<String> graph){
+        assertBuilt(graph, 3);
+    }
+
+    private void assertBuilt(LoggedGraph<String> graph, int vertices){
+        DirectedGraph<String> g = graphOf(graph);
+        String a = graph.canonical("A");
+        Assertions.assertEquals(vertices, g.getVertices().size());
+        Assertions.assertNull(g.getVertex(a).getEdge(graph.canonical("B")));
+        Assertions.assertEquals(9, g.getVertex(a).getEdge(graph.canonical("C")).getWeight());
+        Assertions.assertEquals(-3, g.getVertex(graph.canonical("B")).getEdge(graph.canonical("C")).getWeight());
+    }
+
+    @Test
+    public void replaysLog() throws IOException {
+        try (LoggedGraph<String> graph = open()) {
+            build(graph);
+        }
+        try (LoggedGraph<String> graph = open()) {
+            assertBuilt(graph);
+            graph.addEdge(new String("A"), new String("B"), 2);    //equal labels find the vertices read back from disk
+        }
+        try (LoggedGraph<String> graph = open()) {
+            Assertions.assertEquals(2, graphOf(graph).getVertex(graph.canonical("A")).getEdge(graph.canonical("B")).getWeight());
+        }
+    }
+
+    @Test
+    public void snapshotThenLog() throws IOException {
+        try (LoggedGraph<String> graph = open()) {
+            build(graph);
+            graph.snapshot();
+            Assertions.assertEquals(12, Files.size(directory.resolve("graph.wal")));
+            graph.addVertex("D");
+            graph.addEdge("C", "D", 1);
+        }
+        try (LoggedGraph<String> graph = open()) {
+            assertBuilt(graph, 4);
+            Assertions.assertNotNull(graphOf(graph).getVertex(graph.canonical("C")).getEdge(graph.canonical("D")));
+        }
+    }
+
+    @Test
+    public void tornTailIsCut() throws IOException {
+        try (LoggedGraph<String> graph = open()) {
+            build(graph);
+        }
+        Path log = directory.resolve("graph.wal");
+        long size = Files.size(log);
+        Files.write(log, new byte[]{9, 3, 1}, StandardOpenOption.APPEND);   //a record cut off part way
+        try (LoggedGraph<String> graph = open()) {
+            assertBuilt(graph);
+            Assertions.assertEquals(size, Files.size(log));
+        }
+    }
+
+    @Test
+    public void staleLogIgnoredAfterSnapshot() throws IOException {
+        Path log = directory.resolve("graph.wal");
+        Path old = directory.resolve("old.wal");
+        try (LoggedGraph<String> graph = open()) {
+            build(graph);
+            graph.flush();
+            Files.copy(log, old);
+            graph.snapshot();
+        }
+        Files.move(old, log, StandardCopyOption.REPLACE_EXISTING);   //as if the crash came before the log was emptied
+        try (LoggedGraph<String> graph = open()) {
+            assertBuilt(graph);
+        }
+    }
+
+    @Test
+    public void refusedChangesAreNotLogged() throws IOException {
+        try (LoggedGraph<String> graph = open()) {
+            build(graph);
+            Assertions.assertFalse(graph.addEdge("A", "C", 5));    //already there
+            Assertions.assertFalse(graph.addEdge("A", "Z", 5));    //no such vertex
+            Assertions.assertThrows(UncheckedIOException.class, () -> graph.addVertex("D".repeat(70000)));   //too long to write
+            Assertions.assertEquals(3, graph.size());
+
+            graph.flush();
+            long length = Files.size(directory.resolve("graph.wal"));
+            graph.removeEdge("A", "B");     //removed by build
+            graph.removeEdge("A", "Z");
+            graph.setEdgeWeight("C", "A", 2);   //only A to C exists
+            graph.setEdgeWeight("Z", "C", 2);
+            graph.flush();
+            Assertions.assertEquals(length, Files.size(directory.resolve("graph.wal")));
+
+            graph.addVertex("D".repeat(70000 / 3));
+        }
+        try (LoggedGraph<String> graph = open()) {
+            assertBuilt(graph, 4);
+        }
+    }
+
+    @Test
+    public void logFromAnotherSnapshotIsRefused() throws IOException {
+        Path other = directory.resolve("other");
+        try (LoggedGraph<String> graph = LoggedGraph.open(other, new DirectedGraph<>(), LabelCodec.STRING)) {
+            graph.addVertex("A");
+            graph.addVertex("B");
+            graph.snapshot();
+            graph.addEdge("A", "B");
+        }
+        try (LoggedGraph<String> graph = open()) {
+            graph.addVertex("X");
+            graph.snapshot();
+        }
+        Files.copy(other.resolve("graph.wal"), directory.resolve("graph.wal"), StandardCopyOption.REPLACE_EXISTING);
+
+        IOException e = Assertions.assertThrows(IOException.class, this::open);
+        Assertions.assertTrue(e.getMessage().contains("add edge"), e.getMessage());
+    }
+
+    @Test
+    public void copiedByTheAlgorithmsLikeAnyGraph() throws IOException {
+        DirectedGraph<Integer> subclass = new DirectedGraph<>() {};
+        Integer[] labels = {0, 1, 2};
+        for(Integer l : labels) subclass.addVertex(l);
+        subclass.addEdge(labels[0], labels[1], 1);
+        subclass.addEdge(labels[1], labels[2], 2);
+        subclass.addEdge(labels[0], labels[2], 5);
+
+        try (LoggedGraph<String> graph = open()) {
+            graph.addVertex("A");
+            graph.addVertex("B");
+            graph.addVertex("C");
+            graph.addEdge("A", "B", 1);
+            graph.addEdge("B", "C", 2);
+            graph.addEdge("A", "C", 5);
+
+            List<KShortestPaths.Path<String>> paths = new KShortestPaths<>(graph).shortestPaths("A", "C", 2);
+            Assertions.assertEquals(List.of(List.of("A", "B", "C"), List.of("A", "C")), List.of(paths.get(0).getPath(), paths.get(1).getPath()));
+            Assertions.assertEquals(1, new BreadthFirstSearch<>(graph).hops("A", "C"));
+            Assertions.assertEquals(1.0, Arrays.stream(new Betweenness<>(graph, true).exact()).sum(), 1e-9);
+        }
+        Assertions.assertEquals(3L, new BatchShortestPaths<>(subclass).shortestPaths(List.of(new BatchShortestPaths.Query<>(labels[0], labels[2]))).getResults().get(0).getCost());
+        Assertions.assertEquals(3, CompressedGraph.of(subclass).edgeCount());
+        Assertions.assertEquals(1, new BreadthFirstSearch<>(subclass).hops(labels[0], labels[2]));
+    }
+
+    @Test
+    public void groupCommitFromManyThreads() throws Exception {
+        Integer[] labels = new Integer[100];
+        try (LoggedGraph<Integer> graph = LoggedGraph.open(directory, new UndirectedGraph<>(), LabelCodec.INTEGER, MutationLog.Sync.COMMIT, 5, TimeUnit.MILLISECONDS, 40)) {
+            for(int i = 0; i < labels.length; i++){
+                labels[i] = i;
+                graph.addVertex(labels[i]);
+            }
+            List<Thread> threads = new ArrayList<>();
+            for(int t = 0; t < 4; t++){
+                int first = t;
+                Thread thread = new Thread(() -> {
+                    for(int i = first + 1; i < labels.length; i += 4) graph.addEdge(labels[0], labels[i], i);
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for(Thread t : threads) t.join();
+        }
+        try (LoggedGraph<Integer> graph = LoggedGraph.open(directory, new UndirectedGraph<>(), LabelCodec.INTEGER)) {
+            UndirectedGraph<Integer> g = (UndirectedGraph<Integer>) graph.getGraph();
+            Assertions.assertEquals(100, g.getVertices().size());
+            Assertions.assertEquals(99, g.getEdges().size());
+            int total = 0;
+            for(UndirectedGraph.Edge<Integer> e : g.getEdges()) total += e.getWeight();
+            Assertions.assertEquals(99 * 100 / 2, total);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package GraphTests;
+
+import Graph.DirectedGraph;
+
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+/**
+ * Seeded random directed graphs shared by the tests
+ *
+ * Every edge is a random pair of vertices, and a pair is skipped when it is a loop, is already an edge or, for a
+ * DAG, points from a higher to a lower vertex number, so a graph has at most the number of edges asked for. The
+ * weight is only drawn for the edges kept. The labels are the vertex numbers, boxed once and reused since the
+ * graphs compare labels with ==.
+ *
+ * @version 1.0
+ */
+public final class RandomGraphs {
+
+    private RandomGraphs(){}
+
+    /**
+     * Boxes the numbers 0 to n - 1 once
+     * @param n the number of labels
+     * @return  the labels, label i is i
+     */
+    public static Integer[] numbers(int n){
+        Integer[] labels = new Integer[n];
+        for(int i = 0; i < n; i++) labels[i] = i;
+        return labels;
+    }
+
+    /**
+     * Creates a directed graph that may have cycles
+     * @param n the number of vertices
+     * @param edges the number of pairs drawn
+     * @param seed  the seed that decides every edge
+     * @param weight    draws the weight of an edge
+     * @return  the graph
+     */
+    public static DirectedGraph<Integer> directed(int n, int edges, long seed, ToIntFunction<Random> weight){
+        return directed(numbers(n), edges, seed, weight);
+    }
+
+    /**
+     * Creates a directed graph that may have cycles over the labels given
+     * @param labels    the data and or label of every vertex
+     * @param edges the number of pairs drawn
+     * @param seed  the seed that decides every edge
+     * @param weight    draws the weight of an edge
+     * @return  the graph
+     */
+    public static <T extends Comparable<T>> DirectedGraph<T> directed(T[] labels, int edges, long seed, ToIntFunction<Random> weight){
+        return build(labels, edges, seed, false, weight);
+    }
+
+    /**
+     * Creates a directed acyclic graph with every edge of weight 1, every edge goes to a higher vertex number
+     * @param n the number of vertices
+     * @param edges the number of pairs drawn
+     * @param seed  the seed that decides every edge
+     * @return  the graph
+     */
+    public static DirectedGraph<Integer> dag(int n, int edges, long seed){
+        return build(numbers(n), edges, seed, true, random -> 1);
+    }
+
+    private static <T extends Comparable<T>> DirectedGraph<T> build(T[] labels, int edges, long seed, boolean forward, ToIntFunction<Random> weight){
+        Random random = new Random(seed);
+        DirectedGraph<T> graph = new DirectedGraph<>();
+        for(T label : labels) graph.addVertex(label);
+        int n = labels.length;
+        for(int i = 0; i < edges; i++){
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            if((forward ? a < b : a != b) && graph.getVertex(labels[a]).getEdge(labels[b]) == null) graph.addEdge(labels[a], labels[b], weight.applyAsInt(random));
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,102 @@
+package GraphTests;
+
+import Algorithms.BatchShortestPaths;
+import Algorithms.Components;
+import Algorithms.ShortestPathSearch;
+import Graph.CompactGraph;
+import Graph.SubgraphView;
+import Graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class SubgraphViewTests {
+
+    private static final int N = 80;
+
+    private UndirectedGraph<Integer> randomGraph(int cap, Set<Integer> hidden, long seed){
+        Random random = new Random(seed);
+        UndirectedGraph<Integer> full = new UndirectedGraph<>();
+        UndirectedGraph<Integer> graph = new UndirectedGraph<>();
+        for(int i = 0; i < N; i++){
+            full.addVertex(i);
+            graph.addVertex(i);
+        }
+        for(int i = 0; i < 300; i++){
+            int a = random.nextInt(N);
+            int b = random.nextInt(N);
+            int weight = 1 + random.nextInt(30);
+            if(a == b || !full.ensureUniqueEdge(a, b)) continue;
+            full.addEdge(a, b, weight);
+            if(weight <= cap && !hidden.contains(a) && !hidden.contains(b)) graph.addEdge(a, b, weight);
+        }
+        return graph;
+    }
+
+    private void assertSameDistances(CompactGraph<Integer> expected, SubgraphView<Integer> view){
+        ShortestPathSearch<Integer> a = new ShortestPathSearch<>(expected);
+        ShortestPathSearch<Integer> b = new ShortestPathSearch<>(view);
+        for(int from = 0; from < N; from += 5){
+            if(view.indexOf(from) == -1) continue;
+            a.search(expected.indexOf(from), -1);
+            b.search(view.indexOf(from), -1);
+            for(int v = 0; v < N; v++){
+                if(view.indexOf(v) == -1) continue;
+                Assertions.assertEquals(a.getDistance(expected.indexOf(v)), b.getDistance(view.indexOf(v)));
+            }
+        }
+    }
+
+    @Test
+    public void weightCapMatchesAGraphWithoutTheHeavyEdges(){
+        CompactGraph<Integer> full = new CompactGraph<>(randomGraph(Integer.MAX_VALUE, Set.of(), 3));
+        CompactGraph<Integer> capped = new CompactGraph<>(randomGraph(12, Set.of(), 3));
+        SubgraphView<Integer> view = SubgraphView.maxWeight(full, 12);
+
+        Assertions.assertEquals(capped.edgeCount(), view.edgeCount());
+        assertSameDistances(capped, view);
+    }
+
+    @Test
+    public void hiddenVerticesDisappear(){
+        Set<Integer> hidden = new HashSet<>(List.of(0, 7, 19, 33, 50));
+        CompactGraph<Integer> full = new CompactGraph<>(randomGraph(Integer.MAX_VALUE, Set.of(), 6));
+        CompactGraph<Integer> without = new CompactGraph<>(randomGraph(Integer.MAX_VALUE, hidden, 6));
+        SubgraphView<Integer> view = SubgraphView.without(full, hidden);
+
+        Assertions.assertEquals(-1, view.indexOf(7));
+        Assertions.assertEquals(0, view.degree(full.indexOf(7)));
+        Assertions.assertEquals(without.edgeCount(), view.edgeCount());
+        assertSameDistances(without, view);
+    }
+
+    @Test
+    public void closedRoadsTakeEffectOnTheNextSearch(){
+        UndirectedGraph<Character> graph = new UndirectedGraph<>();
+        for(char c = 'A'; c <= 'D'; c++) graph.addVertex(c);
+        graph.addEdge('A', 'B', 1);
+        graph.addEdge('B', 'C', 1);
+        graph.addEdge('A', 'D', 5);
+        graph.addEdge('D', 'C', 5);
+        CompactGraph<Character> compact = new CompactGraph<>(graph);
+
+        Set<Integer> closed = new HashSet<>();
+        SubgraphView<Character> view = new SubgraphView<>(compact, v -> true, (from, to, weight) -> true).filterVertices(v -> !closed.contains(v));
+        BatchShortestPaths<Character> batch = new BatchShortestPaths<>(view, 1);
+        List<BatchShortestPaths.Query<Character>> query = List.of(new BatchShortestPaths.Query<>('A', 'C'));
+
+        Assertions.assertEquals(2L, batch.shortestPaths(query).getResults().get(0).getCost());
+        closed.add(compact.indexOf('B'));
+        ShortestPathSearch<Character> search = new ShortestPathSearch<>(view);
+        search.search(view.indexOf('A'), -1);
+        Assertions.assertEquals(10, search.getDistance(view.indexOf('C')));
+
+        SubgraphView<Character> noDetour = view.filterEdges((from, to, weight) -> weight < 5);
+        Assertions.assertEquals(4, Components.count(Components.connected(noDetour)));   //B is closed and the detour is too heavy
+        Assertions.assertEquals(1, Components.count(Components.connected(compact)));
+    }
+}
@@ -0,0 +1,136 @@
+package GraphTests;
+
+import Algorithms.ShortestPathSearch;
+import Graph.CompactGraph;
+import Graph.DirectedGraph;
+import Graph.NeighborCursor;
+import Graph.TombstoneGraph;
+import Graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TombstoneGraphTests {
+
+    private static final int N = 100;
+
+    private DirectedGraph<Integer> randomDirected(long seed){
+        return RandomGraphs.directed(N, 600, seed, random -> 1 + random.nextInt(20));
+    }
+
+    /**
+     * Checks that searching the tombstone graph gives the same distances as a fresh copy of the graph
+     */
+    private void assertSameDistances(DirectedGraph<Integer> expected, TombstoneGraph<Integer> actual){
+        CompactGraph<Integer> compact = new CompactGraph<>(expected);
+        ShortestPathSearch<Integer> a = new ShortestPathSearch<>(compact);
+        ShortestPathSearch<Integer> b = new ShortestPathSearch<>(actual);
+        for(int from = 0; from < compact.size(); from += 7){
+            a.search(from, -1);
+            b.search(actual.indexOf(compact.getLabel(from)), -1);
+            for(int v = 0; v < compact.size(); v++){
+                Assertions.assertEquals(a.getDistance(v), b.getDistance(actual.indexOf(compact.getLabel(v))));
+            }
+        }
+    }
+
+    @Test
+    public void removalsAreHiddenBeforeAndAfterCompaction(){
+        DirectedGraph<Integer> graph = randomDirected(3);
+        TombstoneGraph<Integer> tombstones = new TombstoneGraph<>(new CompactGraph<>(graph), 0.5, false);
+        int stored = tombstones.edgeCount();
+
+        Random random = new Random(8);
+        int removed = 0;
+        for(int i = 0; i < 300; i++){
+            Integer a = random.nextInt(N), b = random.nextInt(N);
+            if(graph.getVertex(a) == null || graph.getVertex(a).getEdge(b) == null) continue;
+            graph.removeEdge(a, b);
+            Assertions.assertTrue(tombstones.removeEdge(a, b));
+            Assertions.assertFalse(tombstones.removeEdge(a, b));
+            removed++;
+        }
+        for(int v = 0; v < N; v += 9){
+            graph.removeVertex(v);
+            Assertions.assertTrue(tombstones.removeVertex(v));
+        }
+        Assertions.assertEquals(-1, tombstones.indexOf(9));
+        Assertions.assertTrue(tombstones.isRemoved(9));
+        Assertions.assertTrue(tombstones.edgeCount() <= stored - removed);
+        assertSameDistances(graph, tombstones);
+
+        tombstones.compact();
+        Assertions.assertEquals(1, tombstones.getCompactions());
+        Assertions.assertEquals(0, tombstones.getDeadFraction());
+        Assertions.assertEquals(new CompactGraph<>(graph).edgeCount(), tombstones.edgeCount());
+        assertSameDistances(graph, tombstones);
+
+        Assertions.assertFalse(tombstones.removeVertex(9));
+        Assertions.assertEquals(0, tombstones.degree(9));
+    }
+
+    @Test
+    public void undirectedEdgesDieBothWays(){
+        UndirectedGraph<Character> graph = new UndirectedGraph<>();
+        for(char c = 'A'; c <= 'D'; c++) graph.addVertex(c);
+        graph.addEdge('A', 'B');
+        graph.addEdge('B', 'C');
+        graph.addEdge('C', 'D');
+        TombstoneGraph<Character> tombstones = new TombstoneGraph<>(new CompactGraph<>(graph), 1, false);
+
+        Assertions.assertTrue(tombstones.removeEdge('C', 'B'));
+        Assertions.assertEquals(1, tombstones.degree(tombstones.indexOf('B')));
+        Assertions.assertEquals(1, tombstones.degree(tombstones.indexOf('C')));
+        Assertions.assertEquals(4, tombstones.edgeCount());
+
+        NeighborCursor cursor = tombstones.cursor();
+        cursor.reset(tombstones.indexOf('B'));
+        Assertions.assertTrue(cursor.next());
+        Assertions.assertEquals(tombstones.indexOf('A'), cursor.getTarget());
+        Assertions.assertFalse(cursor.next());
+    }
+
+    @Test
+    public void compactsInTheBackgroundPastTheThreshold() throws InterruptedException {
+        DirectedGraph<Integer> graph = randomDirected(5);
+        TombstoneGraph<Integer> tombstones = new TombstoneGraph<>(new CompactGraph<>(graph), 0.1, true);
+        for(int v = 0; v < N && tombstones.getDeadFraction() <= 0.1 && tombstones.getCompactions() == 0; v++) tombstones.removeVertex(v);  //a fast compaction lowers the fraction again, more removals would start a second one
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while(tombstones.getCompactions() == 0 && System.currentTimeMillis() < deadline) Thread.sleep(5);
+        Assertions.assertTrue(tombstones.getCompactions() > 0);
+        Assertions.assertTrue(tombstones.getDeadFraction() < 0.1);
+    }
+
+    @Test
+    public void searchesRunThroughRemovalsAndCompactions() throws InterruptedException {
+        DirectedGraph<Integer> graph = randomDirected(7);
+        TombstoneGraph<Integer> tombstones = new TombstoneGraph<>(new CompactGraph<>(graph), 0.05, true);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread reader = new Thread(() -> {
+            ShortestPathSearch<Integer> search = new ShortestPathSearch<>(tombstones);
+            try {
+                for(int from = 0; !done.get(); from = (from + 1) % N) search.search(from, -1);
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        reader.start();
+        Random random = new Random(1);
+        for(int i = 0; i < 2000; i++){
+            if(i % 50 == 0) tombstones.removeVertex(random.nextInt(N));
+            else tombstones.removeEdge(random.nextInt(N), random.nextInt(N));
+            if(i % 400 == 0) tombstones.compact();
+        }
+        done.set(true);
+        reader.join();
+
+        Assertions.assertNull(failure.get());
+        Assertions.assertTrue(tombstones.getCompactions() > 0);
+    }
+}
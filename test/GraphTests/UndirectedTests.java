@@ -1,6 +1,7 @@
 package GraphTests;
 
 import Graph.EDGESTATE;
+import Graph.NeighborCursor;
 import Graph.UndirectedGraph;
 import Graph.UndirectedGraph.Edge;
 import org.junit.jupiter.api.Assertions;
@@ -51,6 +52,27 @@ public class UndirectedTests {
 
     }
 
+    @Test
+    public void getEdgeFromEitherEnd(){
+        addEdge();
+        graph.addVertex("Loop");
+        graph.addEdge("Loop", "Loop", 3);
+
+        Edge<String> edge = graph.getEdges().getFirst();
+        Assertions.assertSame(edge, graph.getEdge("Riko", "Adam"));
+        Assertions.assertSame(edge, graph.getEdge("Adam", "Riko"));
+        Assertions.assertSame(edge, graph.getVertex("Adam").getEdge("Riko"));
+        Assertions.assertEquals(3, graph.getEdge("Loop", "Loop").getWeight());
+        Assertions.assertNull(graph.getEdge("Riko", "Loop"));
+        Assertions.assertNull(graph.getEdge("Nobody", "Riko"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> graph.addEdge("Adam", "Riko"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> graph.getVertex("Riko").incidentEdges().clear());
+
+        graph.removeEdge("Adam", "Riko");
+        Assertions.assertNull(graph.getEdge("Riko", "Adam"));
+        Assertions.assertTrue(graph.getVertex("Riko").incidentEdges().isEmpty());
+    }
+
     @Test
     public void removeEdge(){
         addEdge();
@@ -79,4 +101,35 @@ public class UndirectedTests {
         Assertions.assertEquals(EDGESTATE.PATH, edge.getState());
     }
 
+    @Test
+    public void cursorFollowsRemovals(){
+        graph.addVertex("Riko");
+        graph.addVertex("Adam");
+        graph.addVertex("Lone");
+        graph.addEdge("Riko", "Adam", 4);
+        graph.addEdge("Adam", "Lone", -2);
+        Assertions.assertEquals(4, graph.edgeCount());
+        Assertions.assertTrue(graph.hasNegativeWeights());
+
+        NeighborCursor cursor = graph.cursor();
+        cursor.reset(graph.indexOf("Adam"));
+        int weights = 0;
+        while(cursor.next()) weights += cursor.getWeight();
+        Assertions.assertEquals(2, weights);
+
+        graph.removeVertex("Riko");     //Lone takes over the number Riko had
+        Assertions.assertEquals(2, graph.size());
+        Assertions.assertEquals(0, graph.indexOf("Lone"));
+        Assertions.assertEquals("Lone", graph.getLabel(0));
+        Assertions.assertEquals(-1, graph.indexOf("Riko"));
+        cursor.reset(graph.indexOf("Adam"));
+        Assertions.assertTrue(cursor.next());
+        Assertions.assertEquals(0, cursor.getTarget());
+        Assertions.assertFalse(cursor.next());
+
+        graph.removeEdge("Lone", "Adam");
+        Assertions.assertEquals(0, graph.degree(graph.indexOf("Adam")));
+        Assertions.assertFalse(graph.hasNegativeWeights());
+    }
+
 }
@@ -0,0 +1,130 @@
+package GraphTests;
+
+import Algorithms.ShortestPathSearch;
+import Graph.CompactGraph;
+import Graph.DirectedGraph;
+import Graph.UndirectedGraph;
+import Graph.VertexOrder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class VertexOrderTests {
+
+    private static final int SIDE = 20;
+
+    /**
+     * A full grid whose vertices were added in a random order, so neighbors get numbers far apart
+     */
+    private CompactGraph<Integer> shuffledGrid(){
+        Integer[] labels = new Integer[SIDE * SIDE];
+        List<Integer> order = new ArrayList<>();
+        for(int i = 0; i < labels.length; i++){
+            labels[i] = i;
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(4));
+
+        UndirectedGraph<Integer> graph = new UndirectedGraph<>();
+        for(int i : order) graph.addVertex(labels[i]);
+        Random random = new Random(9);
+        for(int r = 0; r < SIDE; r++) for(int c = 0; c < SIDE; c++){
+            int v = r * SIDE + c;
+            if(c + 1 < SIDE) graph.addEdge(labels[v], labels[v + 1], 1 + random.nextInt(9));
+            if(r + 1 < SIDE) graph.addEdge(labels[v], labels[v + SIDE], 1 + random.nextInt(9));
+        }
+        return new CompactGraph<>(graph);
+    }
+
+    private int bandwidth(CompactGraph<?> graph){
+        int widest = 0;
+        for(int v = 0; v < graph.size(); v++){
+            for(int e = graph.firstEdge(v); e < graph.lastEdge(v); e++) widest = Math.max(widest, Math.abs(v - graph.getTarget(e)));
+        }
+        return widest;
+    }
+
+    private void assertSameGraph(CompactGraph<Integer> a, CompactGraph<Integer> b){
+        Assertions.assertEquals(a.size(), b.size());
+        Assertions.assertEquals(a.edgeCount(), b.edgeCount());
+        for(int v = 0; v < a.size(); v++){
+            int w = b.indexOf(a.getLabel(v));
+            Assertions.assertEquals(a.degree(v), b.degree(w));
+            for(int e = a.firstEdge(v); e < a.lastEdge(v); e++){
+                int target = b.indexOf(a.getLabel(a.getTarget(e)));
+                boolean found = false;
+                for(int f = b.firstEdge(w); f < b.lastEdge(w); f++) found |= b.getTarget(f) == target && b.getWeight(f) == a.getWeight(e);
+                Assertions.assertTrue(found);
+            }
+        }
+    }
+
+    @Test
+    public void reverseCuthillMcKeeNarrowsTheBand(){
+        CompactGraph<Integer> graph = shuffledGrid();
+        CompactGraph<Integer> ordered = graph.relabel(VertexOrder.reverseCuthillMcKee(graph));
+
+        assertSameGraph(graph, ordered);
+        Assertions.assertTrue(bandwidth(graph) > 10 * SIDE);
+        Assertions.assertTrue(bandwidth(ordered) <= 2 * SIDE, "bandwidth " + bandwidth(ordered));
+    }
+
+    @Test
+    public void everyOrderKeepsTheGraphAndItsDistances(){
+        CompactGraph<Integer> graph = shuffledGrid();
+        ShortestPathSearch<Integer> before = new ShortestPathSearch<>(graph);
+        before.search(graph.indexOf(0), -1);
+
+        for(int[] rank : new int[][]{VertexOrder.reverseCuthillMcKee(graph), VertexOrder.breadthFirst(graph), VertexOrder.byDegree(graph)}){
+            VertexOrder.check(rank, graph.size());
+            CompactGraph<Integer> ordered = graph.relabel(rank);
+            assertSameGraph(graph, ordered);
+
+            ShortestPathSearch<Integer> after = new ShortestPathSearch<>(ordered);
+            after.search(ordered.indexOf(0), -1);
+            for(int v = 0; v < graph.size(); v++) Assertions.assertEquals(before.getDistance(v), after.getDistance(rank[v]));
+        }
+    }
+
+    @Test
+    public void edgesAreSortedByTarget(){
+        CompactGraph<Integer> ordered = CompactGraph.ordered(new UndirectedGraph<Integer>());
+        Assertions.assertEquals(0, ordered.size());
+
+        CompactGraph<Integer> graph = shuffledGrid().relabel(VertexOrder.breadthFirst(shuffledGrid()));
+        for(int v = 0; v < graph.size(); v++){
+            for(int e = graph.firstEdge(v) + 1; e < graph.lastEdge(v); e++) Assertions.assertTrue(graph.getTarget(e - 1) < graph.getTarget(e));
+        }
+    }
+
+    @Test
+    public void degreeOrderPutsHubsFirst(){
+        DirectedGraph<Character> graph = new DirectedGraph<>();
+        for(char c = 'A'; c <= 'E'; c++) graph.addVertex(c);
+        graph.addEdge('E', 'A');
+        graph.addEdge('E', 'B');
+        graph.addEdge('E', 'C');
+        graph.addEdge('C', 'A');
+        graph.addEdge('C', 'B');
+        graph.addEdge('A', 'B');
+
+        CompactGraph<Character> compact = new CompactGraph<>(graph);
+        CompactGraph<Character> ordered = compact.relabel(VertexOrder.byDegree(compact));
+        Assertions.assertEquals((Character) 'E', ordered.getLabel(0));
+        Assertions.assertEquals((Character) 'C', ordered.getLabel(1));
+        Assertions.assertEquals((Character) 'A', ordered.getLabel(2));
+        Assertions.assertEquals(0, ordered.degree(3));
+        Assertions.assertTrue(ordered.isDirected());
+    }
+
+    @Test
+    public void relabelRejectsBadRanks(){
+        CompactGraph<Integer> graph = shuffledGrid();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> graph.relabel(new int[3]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> graph.relabel(new int[graph.size()]));
+    }
+}
@@ -0,0 +1,132 @@
+package PregelTests;
+
+import Algorithms.Components;
+import Algorithms.Deadline;
+import Algorithms.ShortestPathSearch;
+import Graph.CompactGraph;
+import Graph.DirectedGraph;
+import Graph.UndirectedGraph;
+import GraphTests.RandomGraphs;
+import Pregel.ComponentsProgram;
+import Pregel.Context;
+import Pregel.Partitioner;
+import Pregel.PageRankProgram;
+import Pregel.PregelEngine;
+import Pregel.ShortestPathsProgram;
+import Pregel.VertexProgram;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class PregelTests {
+
+    private CompactGraph<Integer> randomDirected(int n, int edges, long seed){
+        return new CompactGraph<>(RandomGraphs.directed(n, edges, seed, random -> 1 + random.nextInt(20)));
+    }
+
+    @Test
+    public void shortestPathsMatchSearch(){
+        CompactGraph<Integer> graph = randomDirected(300, 900, 3);
+        ShortestPathSearch<Integer> search = new ShortestPathSearch<>(graph);
+        search.search(0, -1);
+
+        PregelEngine.Result<Integer, Long> result = new PregelEngine<>(graph, 4, Partitioner.hash()).run(new ShortestPathsProgram(0), 1000);
+        for(int v = 0; v < graph.size(); v++) Assertions.assertEquals(search.getDistance(v), (long) result.getValue(v), "vertex " + v);
+        Assertions.assertTrue(result.getSupersteps() < 1000);
+    }
+
+    @Test
+    public void componentsMatchUnionFind(){
+        Random random = new Random(11);
+        UndirectedGraph<Integer> graph = new UndirectedGraph<>();
+        Integer[] labels = new Integer[120];
+        for(int i = 0; i < labels.length; i++){
+            labels[i] = i;
+            graph.addVertex(labels[i]);
+        }
+        for(int i = 0; i < 90; i++){
+            int a = random.nextInt(labels.length);
+            int b = random.nextInt(labels.length);
+            if(a != b && graph.ensureUniqueEdge(labels[a], labels[b])) graph.addEdge(labels[a], labels[b]);
+        }
+        CompactGraph<Integer> compact = new CompactGraph<>(graph);
+        int[] ids = Components.connected(compact);
+
+        PregelEngine.Result<Integer, Integer> result = new PregelEngine<>(compact, 3, Partitioner.range()).run(new ComponentsProgram(), 1000);
+        for(int a = 0; a < compact.size(); a++) for(int b = 0; b < compact.size(); b++){
+            Assertions.assertEquals(ids[a] == ids[b], result.getValue(a).equals(result.getValue(b)));
+        }
+    }
+
+    @Test
+    public void pageRankOfACycleIsEven(){
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        for(int i = 0; i < 10; i++) graph.addVertex(i);
+        for(int i = 0; i < 10; i++) graph.addEdge(i, (i + 1) % 10);
+        CompactGraph<Integer> compact = new CompactGraph<>(graph);
+
+        PregelEngine.Result<Integer, Double> result = new PregelEngine<>(compact, 2, Partitioner.hash()).run(new PageRankProgram(20), 100);
+        Assertions.assertEquals(21, result.getSupersteps());
+        for(int v = 0; v < 10; v++) Assertions.assertEquals(0.1, result.getValue(v), 1e-9);
+    }
+
+    @Test
+    public void pageRankSumsToOneWithoutDeadEnds(){
+        CompactGraph<Integer> graph = randomDirected(50, 400, 8);
+        for(int v = 0; v < graph.size(); v++) Assertions.assertTrue(graph.degree(v) > 0);
+        PregelEngine.Result<Integer, Double> result = new PregelEngine<>(graph).run(new PageRankProgram(30), 100);
+        double sum = 0;
+        for(int v = 0; v < graph.size(); v++) sum += result.getValue(v);
+        Assertions.assertEquals(1.0, sum, 1e-9);
+    }
+
+    @Test
+    public void messagesWithoutCombinerAreAllDelivered(){
+        CompactGraph<Integer> graph = randomDirected(40, 200, 4);
+        VertexProgram<Integer, Integer> inDegree = new VertexProgram<>() {
+            @Override
+            public Integer initialValue(int vertex, int vertices){
+                return 0;
+            }
+
+            @Override
+            public void compute(Context<Integer, Integer> context, Iterable<Integer> messages){
+                if(context.getSuperstep() == 0) context.sendToNeighbors(1);
+                else for(int m : messages) context.setValue(context.getValue() + m);
+                context.voteToHalt();
+            }
+        };
+        PregelEngine.Result<Integer, Integer> result = new PregelEngine<>(graph, 3, Partitioner.hash()).run(inDegree, 10);
+
+        int[] expected = new int[graph.size()];
+        for(int e = 0; e < graph.edgeCount(); e++) expected[graph.getTarget(e)]++;
+        for(int v = 0; v < graph.size(); v++) Assertions.assertEquals(expected[v], result.getValue(v));
+        Assertions.assertEquals(graph.edgeCount(), result.getMessages());
+        Assertions.assertEquals(2, result.getSupersteps());
+    }
+
+    @Test
+    public void deadlineEndsTheRunAtABarrier(){
+        CompactGraph<Integer> graph = randomDirected(300, 900, 5);
+        Deadline deadline = Deadline.cancellable();
+        VertexProgram<Integer, Integer> counter = new VertexProgram<>() {
+            @Override
+            public Integer initialValue(int vertex, int vertices){
+                return 0;
+            }
+
+            @Override
+            public void compute(Context<Integer, Integer> context, Iterable<Integer> messages){
+                context.setValue(context.getSuperstep() + 1);
+                if(context.getSuperstep() == 2 && context.getVertex() == 0) deadline.cancel();  //never votes to halt
+            }
+        };
+        PregelEngine.Result<Integer, Integer> result = new PregelEngine<>(graph, 3, Partitioner.hash()).run(counter, 1000, deadline);
+
+        Assertions.assertTrue(result.wasStopped());
+        Assertions.assertEquals(3, result.getSupersteps());
+        for(int v = 0; v < graph.size(); v++) Assertions.assertEquals(3, result.getValue(v));   //every vertex finished the superstep it was cancelled in
+        Assertions.assertFalse(new PregelEngine<>(graph).run(new ShortestPathsProgram(0), 1000, Deadline.NONE).wasStopped());
+    }
+}
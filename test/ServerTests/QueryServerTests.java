@@ -0,0 +1,110 @@
+package ServerTests;
+
+import Graph.DirectedGraph;
+import Graph.UndirectedGraph;
+import Server.QueryServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+public class QueryServerTests {
+
+    DirectedGraph<Character> directed;
+    UndirectedGraph<Character> undirected;
+    HttpClient client;
+    QueryServer<Character> server;
+
+    @BeforeEach
+    void setUp(){
+        directed = new DirectedGraph<>();
+        undirected = new UndirectedGraph<>();
+        for(char c : "ABCD".toCharArray()){
+            directed.addVertex(c);
+            undirected.addVertex(c);
+        }
+        directed.addEdge('A', 'B', 1);
+        directed.addEdge('B', 'C', 2);
+        directed.addEdge('A', 'C', 5);
+        directed.addEdge('C', 'D', 1);
+        undirected.addEdge('A', 'B', 1);
+        undirected.addEdge('B', 'C', 2);
+        undirected.addEdge('A', 'C', 5);
+        undirected.addEdge('C', 'D', 1);
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown(){
+        if(server != null) server.close();
+    }
+
+    private HttpResponse<String> post(String batch) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(server.getUri()).POST(HttpRequest.BodyPublishers.ofString(batch)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Character label(String s){
+        if(s.length() != 1) throw new IllegalArgumentException("Labels are one character: " + s);
+        return s.charAt(0);
+    }
+
+    @Test
+    public void answersABatchInOneCall() throws Exception {
+        server = new QueryServer<>(directed, QueryServerTests::label, 0);
+        Assertions.assertEquals("127.0.0.1", server.getUri().getHost());
+
+        HttpResponse<String> response = post("path A D\ncost A D\n\ncost D A\ntopo\n");
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals("[{\"status\":\"COMPLETE\",\"path\":[\"A\",\"B\",\"C\",\"D\"],\"cost\":4},"
+                + "{\"status\":\"COMPLETE\",\"cost\":4},"
+                + "{\"status\":\"COMPLETE\",\"cost\":null},"
+                + "{\"order\":[\"A\",\"B\",\"C\",\"D\"]}]", response.body());
+    }
+
+    @Test
+    public void badQueriesOnlyFailThemselves() throws Exception {
+        server = new QueryServer<>(directed, QueryServerTests::label, 0);
+
+        String body = post("walk A\npath A\nmst A\npath AB D\ncost A B").body();
+        Assertions.assertEquals("[{\"error\":\"Unknown query: walk\"},"
+                + "{\"error\":\"path takes a start and an end\"},"
+                + "{\"error\":\"The graph must be Undirected\"},"
+                + "{\"error\":\"Labels are one character: AB\"},"
+                + "{\"status\":\"COMPLETE\",\"cost\":1}]", body);
+
+        directed.addEdge('D', 'A', 1);
+        Assertions.assertEquals("[{\"error\":\"The graph contains a cycle, it has no topological order\"}]", post("topo").body());
+    }
+
+    @Test
+    public void servesUndirectedGraphs() throws Exception {
+        server = new QueryServer<>(undirected, QueryServerTests::label, 0);
+
+        Assertions.assertEquals("[{\"status\":\"COMPLETE\",\"cost\":4},"
+                + "{\"status\":\"COMPLETE\",\"path\":[\"D\",\"C\",\"B\",\"A\"],\"cost\":4},"
+                + "{\"error\":\"The graph must be Directed\"}]", post("mst A\npath D A\ntopo").body());
+    }
+
+    @Test
+    public void numbersStayNumbersAndOnlyPostIsServed() throws Exception {
+        Integer[] labels = {0, 1, 2};
+        DirectedGraph<Integer> numbers = new DirectedGraph<>();
+        for(Integer l : labels) numbers.addVertex(l);
+        numbers.addEdge(labels[0], labels[1], -2);
+        numbers.addEdge(labels[1], labels[2], 3);
+        try (QueryServer<Integer> s = new QueryServer<>(numbers, Integer::valueOf, 0)) {
+            HttpRequest request = HttpRequest.newBuilder(s.getUri()).POST(HttpRequest.BodyPublishers.ofString("path 0 2")).build();
+            Assertions.assertEquals("[{\"status\":\"COMPLETE\",\"path\":[0,1,2],\"cost\":1}]", client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+
+            HttpResponse<String> get = client.send(HttpRequest.newBuilder(s.getUri()).GET().build(), HttpResponse.BodyHandlers.ofString());
+            Assertions.assertEquals(405, get.statusCode());
+            Assertions.assertEquals("POST", get.headers().firstValue("Allow").orElse(null));
+        }
+    }
+}